@@ -1,5 +1,7 @@
 package com.example.crawler.admin.controller;
 
+import com.example.crawler.common.queue.CrawlJob;
+import com.example.crawler.common.queue.CrawlJobHistoryRepository;
 import com.example.crawler.common.queue.CrawlJobProducer;
 import com.example.crawler.common.queue.CrawlJobRepository;
 import com.example.crawler.common.queue.JobStatus;
@@ -42,6 +44,7 @@ public class AdminTestController {
     private final NaverSeriesJobProducer naverSeriesJobProducer;
     private final CrawlJobProducer crawlJobProducer;
     private final CrawlJobRepository crawlJobRepository;
+    private final CrawlJobHistoryRepository crawlJobHistoryRepository;
 
     private final IngestPipeline ingestPipeline;
     private final TransformSchedulingService transformSchedulingService;
@@ -58,6 +61,7 @@ public class AdminTestController {
             NaverSeriesJobProducer naverSeriesJobProducer,
             CrawlJobProducer crawlJobProducer,
             CrawlJobRepository crawlJobRepository,
+            CrawlJobHistoryRepository crawlJobHistoryRepository,
             IngestPipeline ingestPipeline,
             TransformSchedulingService transformSchedulingService,
             RawItemRepository rawRepo,
@@ -73,6 +77,7 @@ public class AdminTestController {
         this.naverSeriesJobProducer = naverSeriesJobProducer;
         this.crawlJobProducer = crawlJobProducer;
         this.crawlJobRepository = crawlJobRepository;
+        this.crawlJobHistoryRepository = crawlJobHistoryRepository;
         this.ingestPipeline = ingestPipeline;
         this.transformSchedulingService = transformSchedulingService;
         this.rawRepo = rawRepo;
@@ -109,10 +114,12 @@ public class AdminTestController {
         }
         int deleted = 0;
         int enqueued = 0;
-        // IN 절 과대 방지 청크 (프로듀서의 존재 검사도 청크 단위로 수행됨)
+        // IN 절 과대 방지 청크 (프로듀서는 멀티로우 INSERT ON CONFLICT로 중복을 건너뜀)
         for (int i = 0; i < targetIds.size(); i += 500) {
             List<String> chunk = targetIds.subList(i, Math.min(i + 500, targetIds.size()));
+            // 보존 시간이 지난 잡은 큐가 아니라 crawl_job_history에 있으므로 양쪽 다 지움
             deleted += crawlJobRepository.deleteByJobTypeAndTargetIdIn(jobType, chunk);
+            deleted += crawlJobHistoryRepository.deleteByJobTypeAndTargetIdIn(jobType, chunk);
             enqueued += crawlJobProducer.createJobs(jobType, chunk, 3);
         }
         return Map.of("success", true,
@@ -131,6 +138,7 @@ public class AdminTestController {
 
     /**
      * 어드민 페이지 상태 패널용: crawl_job_queue 상태별 카운트 + 미변환 raw_items 수
+     * (종료 상태 카운트에는 crawl_job_history로 압축된 작업도 포함)
      */
     @GetMapping("/status/summary")
     public Map<String, Object> statusSummary() {
@@ -141,6 +149,9 @@ public class AdminTestController {
         for (Object[] row : crawlJobRepository.getStatusStatistics()) {
             jobCounts.put(((JobStatus) row[0]).name(), ((Number) row[1]).longValue());
         }
+        for (Object[] row : crawlJobHistoryRepository.getStatusStatistics()) {
+            jobCounts.merge(((JobStatus) row[0]).name(), ((Number) row[1]).longValue(), Long::sum);
+        }
         return Map.of(
                 "jobCounts", jobCounts,
                 "pendingRaw", rawRepo.countByProcessedFalse());
@@ -168,7 +179,7 @@ public class AdminTestController {
     public Map<String, Object> enqueueSteamGame(@RequestBody Map<String, Object> body) {
         try {
             Long appId = ((Number) body.get("appId")).longValue();
-            crawlJobProducer.createJob(JobType.STEAM_GAME, String.valueOf(appId), 1, null);
+            crawlJobProducer.createJob(JobType.STEAM_GAME, String.valueOf(appId), CrawlJob.ADMIN_PRIORITY, null);
             return Map.of(
                     "success", true,
                     "message", "AppID " + appId + " 큐 등록 완료. Consumer가 수 초 내 처리합니다.");
@@ -390,6 +401,24 @@ public class AdminTestController {
 
     /* ===================== TMDB (The Movie Database) ===================== */
 
+    // TMDB 변경 피드 동기화 (Job Queue 등록)
+    @PostMapping("/crawl/tmdb/changes")
+    public Map<String, Object> crawlTmdbChanges() {
+        try {
+            tmdbJobProducer.syncChangesDaily();
+
+            return Map.of(
+                    "success", true,
+                    "message", "TMDB 변경 피드 작업이 Job Queue에 등록되었습니다. Consumer가 주기적으로 처리합니다.",
+                    "note", "마지막 동기화 이후 변경된 영화/TV 쇼 중 보유 작품은 재수집, 신규는 OTT 제공 작품만 등록됩니다.");
+
+        } catch (Exception e) {
+            return Map.of(
+                    "success", false,
+                    "error", e.getMessage());
+        }
+    }
+
     // TMDB 신규 콘텐츠 크롤링 (Job Queue 등록)
     @PostMapping("/crawl/tmdb/new-content")
     public Map<String, Object> crawlTmdbNewContent() {
@@ -0,0 +1,189 @@
+package com.example.crawler.common.browser;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selenium 페이지 로더 — 요청 차단 + DOM 조건 대기 + 페이지별 지표
+ *
+ * - DevTools(Fetch) 요청 가로채기로 ResourcePolicy에 어긋나는 요청을 브라우저 밖으로 내보내지 않는다
+ *   (Selenium NetworkInterceptor — CDP 버전 비종속 API)
+ * - 고정 implicit wait 대신 readyScript(JS 조건식)가 참이 될 때까지 100ms 간격으로 확인
+ * - 페이지마다 소요 시간, 전송 바이트(Resource Timing transferSize 합), 허용/차단 요청 수 기록
+ *
+ * 정책은 crawler.browser.policy.&lt;platform&gt;.allowed-hosts / blocked-hosts / blocked-extensions,
+ * 없으면 DEFAULT_POLICIES, 그것도 없으면 차단 없음.
+ */
+@Slf4j
+@Component
+public class BrowserPageLoader {
+
+    public static final String NAVER_WEBTOON = "naver-webtoon";
+
+    /** 이미지·폰트·스타일·미디어 — DOM 텍스트/속성만 읽는 파서에는 필요 없음 */
+    static final String STATIC_EXTENSIONS = "png,jpg,jpeg,gif,webp,svg,ico,woff,woff2,ttf,otf,eot,css,mp4,webm,mp3";
+
+    static final Map<String, ResourcePolicy> DEFAULT_POLICIES = Map.of(
+            // 문서·API는 comic.naver.com, 앱 번들은 pstatic CDN — 태그 매니저·로그 수집은 차단
+            NAVER_WEBTOON, ResourcePolicy.of("comic.naver.com,.pstatic.net",
+                    "ntm.pstatic.net,lcs.naver.com,nam.veta.naver.com,siape.veta.naver.com", STATIC_EXTENSIONS));
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final String TRANSFER_BYTES_SCRIPT =
+            "return performance.getEntries()"
+                    + ".filter(e => e.entryType === 'navigation' || e.entryType === 'resource')"
+                    + ".reduce((sum, e) => sum + (e.transferSize || 0), 0);";
+
+    /**
+     * 페이지 한 번 로딩 결과
+     *
+     * @param ready         readyScript가 제한 시간 안에 참이 됨
+     * @param elapsedMillis driver.get 시작부터 ready(또는 시간 초과)까지
+     * @param transferBytes 네트워크로 받은 바이트 (캐시 적중·차단 요청 제외)
+     * @param allowed       통과시킨 요청 수 (가로채기 미설치면 0)
+     * @param blocked       차단한 요청 수
+     */
+    public record PageLoad(boolean ready, long elapsedMillis, long transferBytes, int allowed, int blocked) {
+    }
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ResourcePolicy> policies = new ConcurrentHashMap<>();
+
+    public BrowserPageLoader(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ResourcePolicy policy(String platform) {
+        return policies.computeIfAbsent(platform, this::createPolicy);
+    }
+
+    /**
+     * url을 열고 readyScript가 참이 될 때까지 대기
+     *
+     * @param readyScript "return ..." 형태의 JS (arguments로 args 전달)
+     * @throws org.openqa.selenium.WebDriverException 페이지 로딩 자체가 실패 (드라이버 상태를 믿을 수 없음)
+     */
+    public PageLoad load(WebDriver driver, String platform, String url, Duration timeout,
+                         String readyScript, Object... args) {
+        ResourcePolicy policy = policy(platform);
+        AtomicInteger allowed = new AtomicInteger();
+        AtomicInteger blocked = new AtomicInteger();
+        NetworkInterceptor interceptor = intercept(driver, policy, allowed, blocked);
+
+        long start = System.nanoTime();
+        boolean ready;
+        try {
+            driver.get(url);
+            ready = awaitReady(driver, timeout, readyScript, args);
+        } finally {
+            closeQuietly(interceptor);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long bytes = transferBytes(driver);
+
+        meterRegistry.timer("crawl.browser.page.load", "platform", platform, "outcome", ready ? "ready" : "timeout")
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("crawl.browser.page.bytes")
+                .description("페이지당 전송 바이트")
+                .baseUnit("bytes")
+                .tag("platform", platform)
+                .register(meterRegistry)
+                .record(bytes);
+        meterRegistry.counter("crawl.browser.requests", "platform", platform, "result", "allowed").increment(allowed.get());
+        meterRegistry.counter("crawl.browser.requests", "platform", platform, "result", "blocked").increment(blocked.get());
+
+        PageLoad load = new PageLoad(ready, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), bytes, allowed.get(), blocked.get());
+        log.debug("페이지 로딩 {}: {}ms, {}KB, 요청 허용 {} / 차단 {} ({})", ready ? "완료" : "시간 초과",
+                load.elapsedMillis(), bytes / 1024, load.allowed(), load.blocked(), url);
+        return load;
+    }
+
+    private static boolean awaitReady(WebDriver driver, Duration timeout, String readyScript, Object... args) {
+        try {
+            new WebDriverWait(driver, timeout)
+                    .pollingEvery(POLL_INTERVAL)
+                    .until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(readyScript, args)));
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 정책에 따라 요청을 통과/차단하는 가로채기 설치 (DevTools 미지원 드라이버나 차단 없는 정책이면 null)
+     */
+    private NetworkInterceptor intercept(WebDriver driver, ResourcePolicy policy,
+                                         AtomicInteger allowed, AtomicInteger blocked) {
+        if (policy.isAllowAll() || !(driver instanceof HasDevTools)) {
+            return null;
+        }
+        Filter filter = next -> request -> {
+            if (policy.allows(request.getUri())) {
+                allowed.incrementAndGet();
+                return next.execute(request);
+            }
+            blocked.incrementAndGet();
+            return new HttpResponse().setStatus(204);
+        };
+        try {
+            return new NetworkInterceptor(driver, filter);
+        } catch (Exception e) {
+            log.warn("⚠️ [Browser] 요청 가로채기 설치 실패 - 차단 없이 로딩: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static long transferBytes(WebDriver driver) {
+        try {
+            Object value = ((JavascriptExecutor) driver).executeScript(TRANSFER_BYTES_SCRIPT);
+            return value instanceof Number number ? number.longValue() : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static void closeQuietly(NetworkInterceptor interceptor) {
+        if (interceptor == null) {
+            return;
+        }
+        try {
+            interceptor.close();
+        } catch (Exception e) {
+            log.debug("요청 가로채기 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    private ResourcePolicy createPolicy(String platform) {
+        String prefix = "crawler.browser.policy." + platform;
+        ResourcePolicy defaults = DEFAULT_POLICIES.getOrDefault(platform, ResourcePolicy.ALLOW_ALL);
+        if (!environment.containsProperty(prefix + ".allowed-hosts")
+                && !environment.containsProperty(prefix + ".blocked-hosts")
+                && !environment.containsProperty(prefix + ".blocked-extensions")) {
+            return defaults;
+        }
+        return ResourcePolicy.of(
+                environment.getProperty(prefix + ".allowed-hosts", String.join(",", defaults.allowedHosts())),
+                environment.getProperty(prefix + ".blocked-hosts", String.join(",", defaults.blockedHosts())),
+                environment.getProperty(prefix + ".blocked-extensions", String.join(",", defaults.blockedExtensions())));
+    }
+}
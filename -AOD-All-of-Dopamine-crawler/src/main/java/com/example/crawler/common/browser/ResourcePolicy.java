@@ -0,0 +1,85 @@
+package com.example.crawler.common.browser;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 플랫폼별 브라우저 요청 허용 규칙
+ *
+ * 허용 호스트 목록에 없는 요청과 차단 확장자(이미지·폰트·스타일·미디어)는 네트워크로 나가기 전에 끊는다.
+ * 문서와 파서가 기다리는 스크립트·XHR만 허용 호스트에서 받는다.
+ *
+ * @param allowedHosts      허용 호스트 ("comic.naver.com" = 정확히 일치, ".pstatic.net" = 하위 도메인 포함), 비어 있으면 전체 허용
+ * @param blockedHosts      허용 호스트 안에서도 막을 호스트 (분석·태그 매니저 등, 같은 표기법)
+ * @param blockedExtensions 경로 확장자 (소문자, 점 제외)
+ */
+public record ResourcePolicy(List<String> allowedHosts, List<String> blockedHosts, Set<String> blockedExtensions) {
+
+    /** 차단 없음 */
+    public static final ResourcePolicy ALLOW_ALL = new ResourcePolicy(List.of(), List.of(), Set.of());
+
+    /**
+     * 쉼표 구분 설정값으로 생성 (빈 값은 무시)
+     */
+    public static ResourcePolicy of(String allowedHosts, String blockedHosts, String blockedExtensions) {
+        return new ResourcePolicy(split(allowedHosts), split(blockedHosts), Set.copyOf(split(blockedExtensions)));
+    }
+
+    public boolean isAllowAll() {
+        return allowedHosts.isEmpty() && blockedHosts.isEmpty() && blockedExtensions.isEmpty();
+    }
+
+    /**
+     * 요청 허용 여부 (http/https 외 스킴 — data:, blob: 등 — 은 네트워크를 타지 않으므로 허용)
+     */
+    public boolean allows(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        String scheme = uri.getScheme();
+        if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+            return true;
+        }
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        if (!allowedHosts.isEmpty() && allowedHosts.stream().noneMatch(rule -> hostMatches(rule, host))) {
+            return false;
+        }
+        if (blockedHosts.stream().anyMatch(rule -> hostMatches(rule, host))) {
+            return false;
+        }
+        return !blockedExtensions.contains(extension(uri.getPath()));
+    }
+
+    private static boolean hostMatches(String rule, String host) {
+        if (rule.startsWith(".")) {
+            return host.endsWith(rule) || host.equals(rule.substring(1));
+        }
+        return host.equals(rule);
+    }
+
+    private static String extension(String path) {
+        if (path == null) {
+            return "";
+        }
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        return dot > slash ? path.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .map(token -> token.toLowerCase(Locale.ROOT))
+                .toList();
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.crawler.common.browser;
+
+import com.example.crawler.util.ChromeDriverProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 헤드리스 Chrome 재사용 풀
+ *
+ * 작업마다 Chrome을 띄우고 끄던 ThreadLocal 방식 대체 — 최대 size개의 드라이버를 데워 두고 빌려 쓴다.
+ * - borrow()는 빈 드라이버가 없고 size개가 모두 쓰이는 중이면 borrow-timeout-ms까지 대기
+ * - 빌려줄 때 세션 생존 확인(getWindowHandle), 실패하면 버리고 새로 만든다
+ * - 반납 시 about:blank로 비우고 JS 힙이 max-heap-mb를 넘으면 폐기 (메모리 워터마크)
+ * - max-uses회 사용 또는 max-age-minutes 경과 시 교체, max-idle-minutes 동안 안 쓰인 드라이버는 정리
+ *
+ * 드라이버는 처음 빌릴 때 만들어지므로 Selenium 작업을 받지 않는 노드에서는 Chrome이 뜨지 않는다.
+ */
+@Slf4j
+@Component
+public class WebDriverPool {
+
+    /** 폐기 사유 (crawl.webdriver.destroyed 태그) */
+    enum DestroyReason { MAX_USES, MAX_AGE, UNHEALTHY, MEMORY, INVALIDATED, IDLE, SHUTDOWN }
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int size;
+    private final int maxUses;
+    private final long maxAgeMillis;
+    private final long maxIdleMillis;
+    private final long maxHeapBytes;
+    private final long borrowTimeoutMillis;
+    private final LongSupplier clock;
+    private final MeterRegistry meterRegistry;
+
+    /** 빌려줄 수 있는 드라이버 (최근 반납분을 앞에 둬 따뜻한 것부터 쓴다) */
+    private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    /** 살아 있는 드라이버 수 상한 (대여 중 + 대기 중) */
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger live = new AtomicInteger();
+    private volatile boolean closed;
+
+    private final Timer borrowWait;
+    private final Timer startup;
+
+    @Autowired
+    public WebDriverPool(ChromeDriverProvider chromeDriverProvider,
+                         MeterRegistry meterRegistry,
+                         @Value("${crawler.webdriver.pool.size:2}") int size,
+                         @Value("${crawler.webdriver.pool.max-uses:50}") int maxUses,
+                         @Value("${crawler.webdriver.pool.max-age-minutes:30}") long maxAgeMinutes,
+                         @Value("${crawler.webdriver.pool.max-idle-minutes:10}") long maxIdleMinutes,
+                         @Value("${crawler.webdriver.pool.max-heap-mb:256}") long maxHeapMb,
+                         @Value("${crawler.webdriver.pool.borrow-timeout-ms:120000}") long borrowTimeoutMillis) {
+        this(chromeDriverProvider::getPooledDriver, meterRegistry, size, maxUses,
+                Duration.ofMinutes(maxAgeMinutes).toMillis(), Duration.ofMinutes(maxIdleMinutes).toMillis(),
+                maxHeapMb * 1024 * 1024, borrowTimeoutMillis, System::currentTimeMillis);
+    }
+
+    WebDriverPool(Supplier<WebDriver> driverFactory, MeterRegistry meterRegistry, int size, int maxUses,
+                  long maxAgeMillis, long maxIdleMillis, long maxHeapBytes, long borrowTimeoutMillis,
+                  LongSupplier clock) {
+        this.driverFactory = driverFactory;
+        this.size = Math.max(1, size);
+        this.maxUses = maxUses;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxIdleMillis = maxIdleMillis;
+        this.maxHeapBytes = maxHeapBytes;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(this.size, true);
+
+        Gauge.builder("crawl.webdriver.pool", active, AtomicInteger::get)
+                .description("WebDriver 풀 드라이버 수")
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("crawl.webdriver.pool", idle, BlockingDeque::size)
+                .description("WebDriver 풀 드라이버 수")
+                .tag("state", "idle")
+                .register(meterRegistry);
+        borrowWait = Timer.builder("crawl.webdriver.borrow.wait")
+                .description("WebDriver 대여 대기 시간")
+                .register(meterRegistry);
+        startup = Timer.builder("crawl.webdriver.startup")
+                .description("Chrome 기동 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 드라이버 대여 — 반드시 close()로 반납 (try-with-resources 또는 finally)
+     *
+     * @throws IllegalStateException 풀이 닫혔거나 borrow-timeout-ms 안에 드라이버를 얻지 못함
+     * @throws InterruptedException  대기 중 인터럽트
+     */
+    public Lease borrow() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("WebDriver 풀이 종료됨");
+        }
+        long start = System.nanoTime();
+        if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            borrowWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new IllegalStateException("WebDriver 대여 대기 시간 초과 (" + borrowTimeoutMillis + "ms)");
+        }
+        borrowWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            PooledDriver pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                DestroyReason reason = expiry(pooled);
+                if (reason == null && !isHealthy(pooled.driver)) {
+                    reason = DestroyReason.UNHEALTHY;
+                }
+                if (reason == null) {
+                    break;
+                }
+                destroy(pooled, reason);
+            }
+            if (pooled == null) {
+                pooled = create();
+            }
+            pooled.uses++;
+            active.incrementAndGet();
+            return new Lease(pooled);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * max-idle-minutes 동안 안 쓰였거나 max-age를 넘긴 대기 드라이버 정리
+     */
+    @Scheduled(fixedDelayString = "${crawler.webdriver.pool.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        Iterator<PooledDriver> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            PooledDriver pooled = iterator.next();
+            DestroyReason reason = now - pooled.returnedAt >= maxIdleMillis ? DestroyReason.IDLE : expiry(pooled);
+            if (reason != null && idle.remove(pooled)) {
+                destroy(pooled, reason);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled, DestroyReason.SHUTDOWN);
+        }
+        log.info("🧹 [WebDriverPool] 종료 - 대여 중 {}개는 반납 시 정리", active.get());
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getLiveCount() {
+        return live.get();
+    }
+
+    private PooledDriver create() {
+        long start = System.nanoTime();
+        WebDriver driver = driverFactory.get();
+        startup.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        live.incrementAndGet();
+        meterRegistry.counter("crawl.webdriver.created").increment();
+        log.debug("WebDriver 생성 ({}ms, 풀 {}/{})", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), live.get(), size);
+        return new PooledDriver(driver, clock.getAsLong());
+    }
+
+    private void release(PooledDriver pooled, boolean invalidated) {
+        active.decrementAndGet();
+        try {
+            DestroyReason reason = invalidated ? DestroyReason.INVALIDATED : expiry(pooled);
+            if (reason == null && closed) {
+                reason = DestroyReason.SHUTDOWN;
+            }
+            if (reason == null) {
+                reason = reset(pooled.driver);
+            }
+            if (reason != null) {
+                destroy(pooled, reason);
+            } else {
+                pooled.returnedAt = clock.getAsLong();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** 사용 횟수·수명 기준 교체 사유 (교체 대상 아니면 null) */
+    private DestroyReason expiry(PooledDriver pooled) {
+        if (pooled.uses >= maxUses) {
+            return DestroyReason.MAX_USES;
+        }
+        if (clock.getAsLong() - pooled.createdAt >= maxAgeMillis) {
+            return DestroyReason.MAX_AGE;
+        }
+        return null;
+    }
+
+    /**
+     * 다음 대여자를 위해 페이지를 비우고 메모리 확인 (폐기해야 하면 사유 반환)
+     */
+    private DestroyReason reset(WebDriver driver) {
+        try {
+            if (maxHeapBytes > 0 && driver instanceof JavascriptExecutor js) {
+                Object used = js.executeScript(
+                        "return window.performance && performance.memory ? performance.memory.usedJSHeapSize : 0;");
+                if (used instanceof Number bytes && bytes.longValue() > maxHeapBytes) {
+                    log.debug("WebDriver JS 힙 {}MB > 워터마크 - 폐기", bytes.longValue() / 1024 / 1024);
+                    return DestroyReason.MEMORY;
+                }
+            }
+            driver.get("about:blank");
+            return null;
+        } catch (Exception e) {
+            log.debug("WebDriver 반납 정리 실패 - 폐기: {}", e.getMessage());
+            return DestroyReason.UNHEALTHY;
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledDriver pooled, DestroyReason reason) {
+        live.decrementAndGet();
+        meterRegistry.counter("crawl.webdriver.destroyed", "reason", reason.name().toLowerCase()).increment();
+        try {
+            pooled.driver.quit();
+            log.debug("WebDriver 폐기 ({}, {}회 사용)", reason, pooled.uses);
+        } catch (Exception e) {
+            log.warn("WebDriver 종료 실패 ({}): {}", reason, e.getMessage());
+        }
+    }
+
+    /** 풀이 관리하는 드라이버와 수명 정보 */
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private final long createdAt;
+        private int uses;
+        private long returnedAt;
+
+        private PooledDriver(WebDriver driver, long createdAt) {
+            this.driver = driver;
+            this.createdAt = createdAt;
+            this.returnedAt = createdAt;
+        }
+    }
+
+    /**
+     * 대여한 드라이버 — close()로 반납, 페이지 로딩 실패 등으로 상태를 믿을 수 없으면 invalidate() 후 반납
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final PooledDriver pooled;
+        private boolean invalidated;
+        private boolean released;
+
+        private Lease(PooledDriver pooled) {
+            this.pooled = pooled;
+        }
+
+        public WebDriver driver() {
+            return pooled.driver;
+        }
+
+        /** 반납 시 재사용하지 않고 폐기 */
+        public void invalidate() {
+            invalidated = true;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            release(pooled, invalidated);
+        }
+    }
+}
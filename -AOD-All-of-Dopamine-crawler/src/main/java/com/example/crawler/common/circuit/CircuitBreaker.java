@@ -0,0 +1,432 @@
+package com.example.crawler.common.circuit;
+
+import com.example.crawler.common.http.CrawlHttpException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 플랫폼 단위 서킷 브레이커 (CLOSED → OPEN → HALF_OPEN → CLOSED)
+ *
+ * - CLOSED: 최근 windowSize건 결과의 실패율 또는 느린 호출 비율이 임계값 이상이면 OPEN
+ *   (minimumCalls건이 쌓이기 전에는 판단하지 않음)
+ * - OPEN: 모든 호출을 바로 거절 (CircuitOpenException). openDuration이 지나면 HALF_OPEN
+ * - HALF_OPEN: 시험 호출 halfOpenPermits건만 통과 — 모두 성공하면 CLOSED,
+ *   하나라도 실패하면 다시 OPEN (연속으로 다시 열릴 때마다 대기 2배, maxOpenDuration까지)
+ *
+ * 실패로 세는 것은 업스트림 상태를 나타내는 오류뿐이다 (연결/타임아웃, 429, 5xx).
+ * 404·파싱 오류는 응답이 왔다는 뜻이므로 성공으로 센다.
+ * 상태가 바뀐 뒤 도착한 이전 상태의 결과는 버린다 (Permit의 generation으로 구분).
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /** HALF_OPEN에서 시험 호출이 이미 나가 거절된 호출의 재시도 간격 */
+    static final Duration HALF_OPEN_RETRY = Duration.ofSeconds(5);
+
+    public enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        /** 게이지 값 (crawl.circuit.state) */
+        public int code() {
+            return code;
+        }
+    }
+
+    /**
+     * @param windowSize             판단에 쓰는 최근 호출 수
+     * @param minimumCalls           판단을 시작하는 최소 호출 수
+     * @param failureRateThreshold   실패율(%) 임계값
+     * @param slowCallRateThreshold  느린 호출 비율(%) 임계값
+     * @param slowCallDuration       이보다 오래 걸리면 느린 호출 (재시도 포함 전체 시간)
+     * @param halfOpenPermits        HALF_OPEN에서 통과시키는 시험 호출 수
+     * @param openDuration           처음 열렸을 때 대기
+     * @param maxOpenDuration        연속으로 다시 열릴 때 대기 상한
+     */
+    public record Settings(int windowSize, int minimumCalls, double failureRateThreshold,
+                           double slowCallRateThreshold, Duration slowCallDuration, int halfOpenPermits,
+                           Duration openDuration, Duration maxOpenDuration) {
+
+        public Settings {
+            windowSize = Math.max(1, windowSize);
+            minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+            halfOpenPermits = Math.max(1, halfOpenPermits);
+        }
+    }
+
+    /** 상태 전이 알림 (CircuitBreakerRegistry → 지연 HALF_OPEN 예약, Consumer → 작업 점유 재개) */
+    public interface TransitionListener {
+        void onTransition(CircuitBreaker breaker, State from, State to);
+    }
+
+    /**
+     * 허가 1건 — 호출이 끝나면 결과를 정확히 한 번 기록한다
+     */
+    public final class Permit {
+
+        private final long generation;
+        private final long startNanos;
+
+        private Permit(long generation, long startNanos) {
+            this.generation = generation;
+            this.startNanos = startNanos;
+        }
+
+        public void onSuccess() {
+            record(generation, nanoClock.getAsLong() - startNanos, false, null);
+        }
+
+        /** error가 업스트림 장애가 아니면(isFailure=false) 성공으로 기록 */
+        public void onError(Throwable error) {
+            boolean failure = isFailure(error);
+            record(generation, nanoClock.getAsLong() - startNanos, failure, failure ? retryAfterOf(error) : null);
+        }
+
+        /** 응답 상태 코드로 기록 (429/5xx = 실패) */
+        public void onStatus(int status, Duration retryAfter) {
+            boolean failure = isFailureStatus(status);
+            record(generation, nanoClock.getAsLong() - startNanos, failure, failure ? retryAfter : null);
+        }
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final TransitionListener listener;
+    private final LongSupplier nanoClock;
+
+    // 최근 결과 링 버퍼 (CLOSED에서만 채움)
+    private final boolean[] failures;
+    private final boolean[] slows;
+    private int cursor;
+    private int recorded;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openUntilNanos;
+    private Duration currentOpenDuration;
+    private int consecutiveOpens;
+    private int halfOpenIssued;
+    private int halfOpenSucceeded;
+
+    private final Counter rejected;
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreaker(String name, Settings settings, MeterRegistry meterRegistry, TransitionListener listener) {
+        this(name, settings, meterRegistry, listener, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, Settings settings, MeterRegistry meterRegistry, TransitionListener listener,
+                   LongSupplier nanoClock) {
+        this.name = name;
+        this.settings = settings;
+        this.listener = listener;
+        this.nanoClock = nanoClock;
+        this.failures = new boolean[settings.windowSize()];
+        this.slows = new boolean[settings.windowSize()];
+        this.currentOpenDuration = settings.openDuration();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("crawl.circuit.state", this, breaker -> breaker.getState().code())
+                .description("서킷 상태 (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN)")
+                .tag("platform", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("crawl.circuit.rejected")
+                .description("서킷이 열려 보내지 않은 호출 수")
+                .tag("platform", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * 호출 허가 — 거절이면 null (OPEN이거나 HALF_OPEN 시험 호출이 이미 나감)
+     */
+    public Permit tryAcquire() {
+        State from;
+        Permit permit;
+        synchronized (this) {
+            from = promoteIfDue();
+            permit = switch (state) {
+                case CLOSED -> new Permit(generation, nanoClock.getAsLong());
+                case HALF_OPEN -> halfOpenIssued < settings.halfOpenPermits()
+                        ? new Permit(generation, trial())
+                        : null;
+                case OPEN -> null;
+            };
+        }
+        notifyIfPromoted(from);
+        if (permit == null) {
+            rejected.increment();
+        }
+        return permit;
+    }
+
+    /**
+     * 호출 허가 — 거절이면 CircuitOpenException (작업 큐가 남은 대기 후로 재예약)
+     */
+    public Permit acquire() {
+        Permit permit = tryAcquire();
+        if (permit == null) {
+            throw rejection();
+        }
+        return permit;
+    }
+
+    /** 거절 예외 — 재시도 시각은 OPEN이면 남은 대기, HALF_OPEN이면 HALF_OPEN_RETRY */
+    public CircuitOpenException rejection() {
+        Duration remaining = remainingOpen();
+        return new CircuitOpenException(name, remaining.isZero() ? HALF_OPEN_RETRY : remaining);
+    }
+
+    /**
+     * 동기 호출 감싸기 (RestTemplate 등) — 예외는 그대로 다시 던진다
+     */
+    public <T> T execute(Supplier<T> call) {
+        Permit permit = acquire();
+        try {
+            T result = call.get();
+            permit.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            permit.onError(e);
+            throw e;
+        }
+    }
+
+    public State getState() {
+        State from;
+        State current;
+        synchronized (this) {
+            from = promoteIfDue();
+            current = state;
+        }
+        notifyIfPromoted(from);
+        return current;
+    }
+
+    /**
+     * 지금 새로 점유해도 되는 작업 수 상한 (Consumer용)
+     * CLOSED = 제한 없음, OPEN = 0, HALF_OPEN = 남은 시험 호출 수
+     */
+    public int claimLimit() {
+        State from;
+        int limit;
+        synchronized (this) {
+            from = promoteIfDue();
+            limit = switch (state) {
+                case CLOSED -> Integer.MAX_VALUE;
+                case HALF_OPEN -> settings.halfOpenPermits() - halfOpenIssued;
+                case OPEN -> 0;
+            };
+        }
+        notifyIfPromoted(from);
+        return limit;
+    }
+
+    /** OPEN이 끝나기까지 남은 시간 (OPEN이 아니면 0) */
+    public synchronized Duration remainingOpen() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntilNanos - nanoClock.getAsLong()));
+    }
+
+    public synchronized String getStats() {
+        return String.format("%s: %s (실패 %d/%d, 느림 %d/%d, 열림 대기 %ds)", name, state,
+                failureCount, recorded, slowCount, recorded, currentOpenDuration.toSeconds());
+    }
+
+    /**
+     * 업스트림 장애로 볼 오류인지 (연결·타임아웃, 429, 5xx)
+     */
+    public static boolean isFailure(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof CircuitOpenException) {
+            return false;
+        }
+        if (cause instanceof CrawlHttpException http) {
+            return isFailureStatus(http.getStatus());
+        }
+        if (cause instanceof RestClientResponseException http) {
+            return isFailureStatus(http.getStatusCode().value());
+        }
+        return cause instanceof IOException
+                || cause instanceof ResourceAccessException
+                || cause instanceof TimeoutException;
+    }
+
+    static boolean isFailureStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private static Duration retryAfterOf(Throwable error) {
+        return unwrap(error) instanceof CrawlHttpException http ? http.getRetryAfter() : null;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private long trial() {
+        halfOpenIssued++;
+        return nanoClock.getAsLong();
+    }
+
+    private void record(long permitGeneration, long elapsedNanos, boolean failure, Duration retryAfter) {
+        State from;
+        State to;
+        synchronized (this) {
+            if (permitGeneration != generation) {
+                return; // 허가 이후 상태가 바뀜 — 이전 상태의 결과
+            }
+            from = state;
+            boolean slow = elapsedNanos >= settings.slowCallDuration().toNanos();
+            if (state == State.HALF_OPEN) {
+                if (failure) {
+                    open(retryAfter);
+                } else if (++halfOpenSucceeded >= settings.halfOpenPermits()) {
+                    close();
+                }
+            } else if (state == State.CLOSED) {
+                push(failure, slow);
+                if (recorded >= settings.minimumCalls()
+                        && (failureCount * 100.0 / recorded >= settings.failureRateThreshold()
+                        || slowCount * 100.0 / recorded >= settings.slowCallRateThreshold())) {
+                    open(retryAfter);
+                }
+            }
+            to = state;
+        }
+        if (from != to) {
+            onTransition(from, to);
+        }
+    }
+
+    private void push(boolean failure, boolean slow) {
+        if (recorded == failures.length) {
+            if (failures[cursor]) failureCount--;
+            if (slows[cursor]) slowCount--;
+        } else {
+            recorded++;
+        }
+        failures[cursor] = failure;
+        slows[cursor] = slow;
+        if (failure) failureCount++;
+        if (slow) slowCount++;
+        cursor = (cursor + 1) % failures.length;
+    }
+
+    /**
+     * OPEN 진입 — HALF_OPEN에서 다시 열리면 대기 2배 (maxOpenDuration까지),
+     * 업스트림이 Retry-After를 줬으면 그보다 짧게 열지 않는다
+     */
+    private void open(Duration retryAfter) {
+        if (state == State.HALF_OPEN) {
+            consecutiveOpens++;
+            Duration doubled = currentOpenDuration.multipliedBy(2);
+            currentOpenDuration = doubled.compareTo(settings.maxOpenDuration()) > 0
+                    ? settings.maxOpenDuration() : doubled;
+        } else {
+            consecutiveOpens = 1;
+            currentOpenDuration = settings.openDuration();
+        }
+        Duration wait = retryAfter != null && retryAfter.compareTo(currentOpenDuration) > 0
+                ? retryAfter : currentOpenDuration;
+        state = State.OPEN;
+        generation++;
+        openUntilNanos = nanoClock.getAsLong() + wait.toNanos();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        consecutiveOpens = 0;
+        currentOpenDuration = settings.openDuration();
+        resetWindow();
+    }
+
+    /** OPEN 대기가 끝났으면 HALF_OPEN으로 — 바뀌었으면 이전 상태(OPEN) 반환 */
+    private State promoteIfDue() {
+        if (state != State.OPEN || nanoClock.getAsLong() - openUntilNanos < 0) {
+            return null;
+        }
+        state = State.HALF_OPEN;
+        generation++;
+        halfOpenIssued = 0;
+        halfOpenSucceeded = 0;
+        resetWindow();
+        return State.OPEN;
+    }
+
+    private void resetWindow() {
+        cursor = 0;
+        recorded = 0;
+        failureCount = 0;
+        slowCount = 0;
+        Arrays.fill(failures, false);
+        Arrays.fill(slows, false);
+    }
+
+    private void notifyIfPromoted(State from) {
+        if (from != null) {
+            onTransition(from, State.HALF_OPEN);
+        }
+    }
+
+    /** 락 밖에서 호출 — 지표 기록과 리스너 알림 */
+    private void onTransition(State from, State to) {
+        Counter.builder("crawl.circuit.transitions")
+                .description("서킷 상태 전이 수")
+                .tags("platform", name, "from", from.name(), "to", to.name())
+                .register(meterRegistry)
+                .increment();
+        if (to == State.OPEN) {
+            log.warn("🔌 [Circuit] {} 열림 ({} → OPEN, {}초 동안 호출 차단, 연속 {}회)",
+                    name, from, remainingOpen().toSeconds(), consecutiveOpens());
+        } else {
+            log.info("🔌 [Circuit] {} {} → {}", name, from, to);
+        }
+        if (listener != null) {
+            try {
+                listener.onTransition(this, from, to);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ [Circuit] {} 전이 알림 실패: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized int consecutiveOpens() {
+        return consecutiveOpens;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.crawler.common.circuit;
+
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼별 서킷 브레이커 레지스트리 (키는 RateLimiterRegistry와 같은 플랫폼 키)
+ *
+ * 키마다 CircuitBreaker 하나를 지연 생성해 그 플랫폼의 Fetcher·Executor·Consumer가 공유한다.
+ * 설정은 crawler.circuit-breaker.&lt;key&gt;.* 가 있으면 그 값, 없으면 공통 기본값
+ * (느린 호출 기준만 DEFAULT_SLOW_CALL_MS로 플랫폼마다 다름).
+ *
+ * OPEN이 되면 대기가 끝나는 시각에 상태를 다시 확인해 HALF_OPEN 전이를 바로 알린다
+ * — 다음 요청이나 폴링을 기다리지 않고 Consumer가 시험 작업을 점유하도록.
+ */
+@Slf4j
+@Component
+public class CircuitBreakerRegistry {
+
+    /** 느린 호출 기준 (재시도 포함 전체 시간) */
+    static final Map<String, Long> DEFAULT_SLOW_CALL_MS = Map.of(
+            RateLimiterRegistry.STEAM, 8_000L,
+            RateLimiterRegistry.TMDB, 5_000L,
+            RateLimiterRegistry.NAVER_SERIES, 8_000L,
+            RateLimiterRegistry.NAVER_WEBTOON, 8_000L,
+            RateLimiterRegistry.KAKAO_PAGE, 8_000L);
+
+    static final long FALLBACK_SLOW_CALL_MS = 10_000L;
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<CircuitBreaker.TransitionListener> listeners = new CopyOnWriteArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    /**
+     * 키에 해당하는 브레이커 (처음 요청 시 생성)
+     */
+    public CircuitBreaker get(String key) {
+        return breakers.computeIfAbsent(key, this::create);
+    }
+
+    public Collection<CircuitBreaker> getAll() {
+        return List.copyOf(breakers.values());
+    }
+
+    /**
+     * 모든 브레이커의 상태 전이 구독
+     */
+    public void addListener(CircuitBreaker.TransitionListener listener) {
+        listeners.add(listener);
+    }
+
+    private CircuitBreaker create(String key) {
+        String prefix = "crawler.circuit-breaker." + key;
+        CircuitBreaker.Settings settings = new CircuitBreaker.Settings(
+                environment.getProperty(prefix + ".window-size", Integer.class, 20),
+                environment.getProperty(prefix + ".minimum-calls", Integer.class, 10),
+                environment.getProperty(prefix + ".failure-rate-threshold", Double.class, 50.0),
+                environment.getProperty(prefix + ".slow-call-rate-threshold", Double.class, 80.0),
+                Duration.ofMillis(environment.getProperty(prefix + ".slow-call-ms", Long.class,
+                        DEFAULT_SLOW_CALL_MS.getOrDefault(key, FALLBACK_SLOW_CALL_MS))),
+                environment.getProperty(prefix + ".half-open-permits", Integer.class, 2),
+                Duration.ofMillis(environment.getProperty(prefix + ".open-ms", Long.class, 30_000L)),
+                Duration.ofMillis(environment.getProperty(prefix + ".max-open-ms", Long.class, 600_000L)));
+        CircuitBreaker breaker = new CircuitBreaker(key, settings, meterRegistry, this::onTransition);
+        log.info("🔌 [Circuit] 브레이커 생성: {}", breaker.getStats());
+        return breaker;
+    }
+
+    private void onTransition(CircuitBreaker breaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+        if (to == CircuitBreaker.State.OPEN) {
+            scheduleHalfOpenCheck(breaker);
+        }
+        for (CircuitBreaker.TransitionListener listener : listeners) {
+            listener.onTransition(breaker, from, to);
+        }
+    }
+
+    /** 대기가 끝나는 시각에 getState()로 HALF_OPEN 전이(와 알림)를 일으킨다 */
+    private void scheduleHalfOpenCheck(CircuitBreaker breaker) {
+        long delayMs = breaker.remainingOpen().toMillis() + 1;
+        CompletableFuture.runAsync(breaker::getState,
+                CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.crawler.common.circuit;
+
+import com.example.crawler.common.queue.RetryAfterException;
+
+import java.time.Duration;
+
+/**
+ * 서킷이 열려 있어 요청을 보내지 않았음
+ *
+ * RetryAfterException이므로 Executor가 그대로 던지면 Consumer가 남은 대기 이후로 작업을 미룬다.
+ * 업스트림이 실패한 것이 아니라 보내지 않은 것이므로 재시도 횟수는 늘리지 않는다 (CrawlJob.defer).
+ */
+public class CircuitOpenException extends RetryAfterException {
+
+    private final String circuit;
+
+    public CircuitOpenException(String circuit, Duration retryAfter) {
+        super("서킷 열림: " + circuit + " (" + retryAfter.toSeconds() + "초 후 재시도)", retryAfter);
+        this.circuit = circuit;
+    }
+
+    public String getCircuit() {
+        return circuit;
+    }
+}
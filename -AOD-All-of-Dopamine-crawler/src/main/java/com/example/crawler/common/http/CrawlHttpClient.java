@@ -0,0 +1,367 @@
+package com.example.crawler.common.http;
+
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.queue.RetryAfterException;
+import com.example.crawler.common.queue.RetryBackoff;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 크롤러 공용 HTTP 클라이언트 (HttpClientConfig의 java.net.http.HttpClient 위)
+ *
+ * Jsoup.connect()는 요청마다 HttpURLConnection을 새로 열어 페이지마다 TLS 핸드셰이크를 치를 수 있으므로,
+ * 모든 Fetcher가 이 클라이언트 하나를 공유해 호스트별 연결(HTTP/2면 스트림 다중화)을 재사용한다.
+ * - Accept-Encoding: gzip, deflate 요청 후 직접 해제 (JDK 클라이언트는 자동 해제를 하지 않음)
+ * - 연결/타임아웃 오류, 429, 5xx는 지수 백오프(+Retry-After)로 최대 max-attempts회 시도
+ *   단, Retry-After가 max-inline-retry-after-ms보다 길면 바로 CrawlHttpException으로 넘겨
+ *   작업 큐가 워커를 붙잡지 않고 재예약하게 한다.
+ * - 호스트별 요청 시간·재시도·바이트(압축/해제) 지표
+ * - cached() 요청은 HttpResponseCache로 조건부 GET (304 → 저장된 본문, unchanged = true)
+ * - circuit() 요청은 서킷이 열려 있으면 보내지 않고(CircuitOpenException), 재시도 후 최종 결과를 기록
+ */
+@Slf4j
+@Component
+public class CrawlHttpClient {
+
+    private final HttpClient httpClient;
+    private final HttpResponseCache cache;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final RetryBackoff backoff;
+    private final Duration maxInlineRetryAfter;
+    private final Duration defaultTimeout;
+
+    public CrawlHttpClient(HttpClient httpClient,
+                           HttpResponseCache cache,
+                           MeterRegistry meterRegistry,
+                           @Value("${crawler.http.max-attempts:3}") int maxAttempts,
+                           @Value("${crawler.http.backoff-base-ms:500}") long backoffBaseMs,
+                           @Value("${crawler.http.max-inline-retry-after-ms:10000}") long maxInlineRetryAfterMs,
+                           @Value("${crawler.http.default-timeout-ms:15000}") long defaultTimeoutMs) {
+        this.httpClient = httpClient;
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = new RetryBackoff(Duration.ofMillis(backoffBaseMs), 2.0, 0.2, Duration.ofMillis(maxInlineRetryAfterMs));
+        this.maxInlineRetryAfter = Duration.ofMillis(maxInlineRetryAfterMs);
+        this.defaultTimeout = Duration.ofMillis(defaultTimeoutMs);
+    }
+
+    /**
+     * 비동기 요청 (재시도 대기도 지연 실행기로 이어 붙여 스레드를 잡지 않음)
+     *
+     * 상태 코드와 무관하게 마지막 응답으로 완료된다. 2xx만 받으려면 send/getString/getDocument를 쓴다.
+     */
+    public CompletableFuture<CrawlResponse> sendAsync(CrawlRequest request) {
+        boolean useCache = request.isCached() && cache.isEnabled();
+        HttpResponseCache.Entry cached = useCache ? cache.lookup(request.getUrl()) : null;
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request, cached);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String host = hostOf(httpRequest.uri());
+
+        if (useCache && cache.isOffline()) {
+            return replay(request, cached, host);
+        }
+        CircuitBreaker circuit = request.getCircuit();
+        CircuitBreaker.Permit permit = circuit != null ? circuit.tryAcquire() : null;
+        if (circuit != null && permit == null) {
+            return CompletableFuture.failedFuture(circuit.rejection());
+        }
+        CompletableFuture<CrawlResponse> response = attempt(httpRequest, host, 1);
+        if (permit != null) {
+            response = response.whenComplete((result, error) -> {
+                if (error != null) {
+                    permit.onError(error);
+                } else {
+                    permit.onStatus(result.status(),
+                            RetryAfterException.parseHeader(result.header("Retry-After"), null));
+                }
+            });
+        }
+        if (!useCache) {
+            return response;
+        }
+        return response.thenCompose(result -> {
+            try {
+                return CompletableFuture.completedFuture(reconcile(request, cached, result, host));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    /**
+     * 캐시 항목 제거 — 받은 본문의 처리(파싱·저장)가 실패했을 때 호출해 다음 요청이 unchanged로 건너뛰지 않게 한다
+     */
+    public void invalidate(String url) {
+        cache.invalidate(url);
+    }
+
+    /**
+     * 동기 요청 — 재시도 후에도 2xx가 아니면 CrawlHttpException
+     */
+    public CrawlResponse send(CrawlRequest request) throws IOException {
+        CrawlResponse response = await(sendAsync(request));
+        if (!response.isSuccess()) {
+            throw new CrawlHttpException(response.status(), request.getUrl(),
+                    RetryAfterException.parseHeader(response.header("Retry-After"), null));
+        }
+        return response;
+    }
+
+    public String getString(CrawlRequest request) throws IOException {
+        return send(request).bodyAsString();
+    }
+
+    /**
+     * HTML 문서 요청 (charset은 Content-Type → meta 순으로 감지, 상대 링크 기준은 최종 URI)
+     */
+    public Document getDocument(CrawlRequest request) throws IOException {
+        return send(request).document();
+    }
+
+    /** 오프라인 재생 — 저장된 본문만 사용, 없으면 504 */
+    private CompletableFuture<CrawlResponse> replay(CrawlRequest request, HttpResponseCache.Entry cached, String host) {
+        if (cached == null) {
+            cacheCounter(host, "offline_miss").increment();
+            return CompletableFuture.failedFuture(new CrawlHttpException(504, request.getUrl(), null));
+        }
+        try {
+            byte[] body = cache.read(cached);
+            cacheCounter(host, "offline_hit").increment();
+            return CompletableFuture.completedFuture(new CrawlResponse(200, URI.create(request.getUrl()),
+                    HttpHeaders.of(Map.of(), (name, value) -> true), body, charsetOf(cached.charset()), 0, false));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 캐시 요청의 응답 정리
+     * - 304 → 저장된 본문으로 200 응답을 만들고 unchanged
+     * - 2xx → 본문·검증자 저장, 저장돼 있던 본문과 해시가 같으면 unchanged
+     */
+    private CrawlResponse reconcile(CrawlRequest request, HttpResponseCache.Entry cached,
+                                    CrawlResponse response, String host) throws IOException {
+        if (response.status() == 304 && cached != null) {
+            cacheCounter(host, "not_modified").increment();
+            return new CrawlResponse(200, response.uri(), response.headers(), cache.read(cached),
+                    charsetOf(cached.charset()), response.wireBytes(), true);
+        }
+        if (!response.isSuccess()) {
+            return response;
+        }
+        HttpResponseCache.Entry stored = cache.store(request.getUrl(), response.body(),
+                response.header("ETag"), response.header("Last-Modified"),
+                response.charset() != null ? response.charset().name() : null);
+        boolean identical = cached != null && cached.contentHash().equals(stored.contentHash());
+        cacheCounter(host, identical ? "identical" : cached != null ? "changed" : "miss").increment();
+        if (!identical) {
+            return response;
+        }
+        return new CrawlResponse(response.status(), response.uri(), response.headers(), response.body(),
+                response.charset(), response.wireBytes(), true);
+    }
+
+    private CompletableFuture<CrawlResponse> attempt(HttpRequest httpRequest, String host, int attempt) {
+        long start = System.nanoTime();
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        requestTimer(host, "error").record(elapsed, TimeUnit.NANOSECONDS);
+                        if (attempt < maxAttempts && cause instanceof IOException) {
+                            return retryLater(httpRequest, host, attempt, null, "io");
+                        }
+                        return CompletableFuture.<CrawlResponse>failedFuture(cause);
+                    }
+
+                    int status = response.statusCode();
+                    requestTimer(host, status / 100 + "xx").record(elapsed, TimeUnit.NANOSECONDS);
+                    if (attempt < maxAttempts && isRetryable(status)) {
+                        Duration retryAfter = RetryAfterException.parseHeader(
+                                response.headers().firstValue("Retry-After").orElse(null), null);
+                        if (retryAfter == null || retryAfter.compareTo(maxInlineRetryAfter) <= 0) {
+                            return retryLater(httpRequest, host, attempt, retryAfter, String.valueOf(status));
+                        }
+                    }
+                    try {
+                        return CompletableFuture.completedFuture(toCrawlResponse(response, host));
+                    } catch (IOException e) {
+                        return CompletableFuture.<CrawlResponse>failedFuture(e);
+                    }
+                })
+                .thenCompose(future -> future);
+    }
+
+    private CompletableFuture<CrawlResponse> retryLater(HttpRequest httpRequest, String host, int attempt,
+                                                        Duration retryAfter, String reason) {
+        Duration delay = backoff.delayFor(attempt, retryAfter);
+        Counter.builder("crawl.http.retries")
+                .description("HTTP 재시도 수")
+                .tags("host", host, "reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.debug("🔁 [Http] {} 재시도 {}/{} ({}ms 후, 사유 {})",
+                httpRequest.uri(), attempt, maxAttempts - 1, delay.toMillis(), reason);
+        return CompletableFuture.supplyAsync(() -> null,
+                        CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> attempt(httpRequest, host, attempt + 1));
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private HttpRequest toHttpRequest(CrawlRequest request, HttpResponseCache.Entry cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+                .timeout(request.getTimeout() != null ? request.getTimeout() : defaultTimeout)
+                .header("Accept-Encoding", "gzip, deflate");
+        request.getHeaders().forEach(builder::header);
+        if (cached != null) {
+            if (cached.etag() != null) {
+                builder.header("If-None-Match", cached.etag());
+            }
+            if (cached.lastModified() != null) {
+                builder.header("If-Modified-Since", cached.lastModified());
+            }
+        }
+        if ("POST".equals(request.getMethod())) {
+            builder.POST(HttpRequest.BodyPublishers.ofString(request.getBody()));
+        } else {
+            builder.GET();
+        }
+        return builder.build();
+    }
+
+    private CrawlResponse toCrawlResponse(HttpResponse<byte[]> response, String host) throws IOException {
+        byte[] wire = response.body() != null ? response.body() : new byte[0];
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity")
+                .trim().toLowerCase(Locale.ROOT);
+        byte[] decoded = decode(wire, encoding);
+
+        byteCounter(host, "wire").increment(wire.length);
+        byteCounter(host, "decoded").increment(decoded.length);
+
+        return new CrawlResponse(response.statusCode(), response.uri(), response.headers(), decoded,
+                charsetOf(response.headers().firstValue("Content-Type").orElse(null)), wire.length, false);
+    }
+
+    static byte[] decode(byte[] wire, String encoding) throws IOException {
+        if (wire.length == 0) {
+            return wire;
+        }
+        InputStream in = switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(wire));
+            case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(wire));
+            default -> null;
+        };
+        if (in == null) {
+            return wire;
+        }
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        if (!contentType.contains("=")) {
+            // 캐시 항목에는 charset 이름만 저장됨
+            try {
+                return Charset.forName(contentType.trim());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        for (String part : contentType.split(";")) {
+            String trimmed = part.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                try {
+                    return Charset.forName(trimmed.substring(8).replace("\"", "").trim());
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String hostOf(URI uri) {
+        return uri.getHost() != null ? uri.getHost() : "unknown";
+    }
+
+    private Timer requestTimer(String host, String outcome) {
+        return Timer.builder("crawl.http.request")
+                .description("HTTP 요청 1회 왕복 시간 (재시도는 각각 기록)")
+                .tags("host", host, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter cacheCounter(String host, String result) {
+        return Counter.builder("crawl.http.cache")
+                .description("캐시 요청 결과 (not_modified/identical = 파싱·저장 생략 가능)")
+                .tags("host", host, "result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter byteCounter(String host, String stage) {
+        return Counter.builder("crawl.http.bytes")
+                .description("받은 본문 바이트 (wire = 압축 상태, decoded = 해제 후)")
+                .baseUnit("bytes")
+                .tags("host", host, "stage", stage)
+                .register(meterRegistry);
+    }
+
+    private static CrawlResponse await(CompletableFuture<CrawlResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("HTTP 요청 대기 중 인터럽트");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
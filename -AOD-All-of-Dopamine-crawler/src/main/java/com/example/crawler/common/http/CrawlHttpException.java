@@ -0,0 +1,37 @@
+package com.example.crawler.common.http;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 재시도 후에도 2xx가 아닌 응답
+ *
+ * IOException이므로 Jsoup의 HttpStatusException을 잡던 기존 catch 블록이 그대로 처리한다.
+ * 429/503에서 Retry-After가 있었으면 retryAfter로 전달해 호출 측이 RetryAfterException으로 바꿀 수 있다.
+ */
+public class CrawlHttpException extends IOException {
+
+    private final int status;
+    private final String url;
+    private final Duration retryAfter;
+
+    public CrawlHttpException(int status, String url, Duration retryAfter) {
+        super("HTTP " + status + " " + url);
+        this.status = status;
+        this.url = url;
+        this.retryAfter = retryAfter;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /** Retry-After 헤더 값 (없으면 null) */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.crawler.common.http;
+
+import com.example.crawler.common.circuit.CircuitBreaker;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CrawlHttpClient 요청 정의
+ *
+ * Jsoup.connect(url).userAgent(..).referrer(..).header(..).timeout(..) 체인을 그대로 옮길 수 있는 형태.
+ * 쿠키가 비어 있으면 헤더를 붙이지 않는다 (기존 호출부의 isBlank 분기 대체).
+ */
+public final class CrawlRequest {
+
+    private final String method;
+    private final String url;
+    private final String body;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private Duration timeout;
+    private boolean cached;
+    private CircuitBreaker circuit;
+
+    private CrawlRequest(String method, String url, String body) {
+        this.method = method;
+        this.url = url;
+        this.body = body;
+    }
+
+    public static CrawlRequest get(String url) {
+        return new CrawlRequest("GET", url, null);
+    }
+
+    public static CrawlRequest post(String url, String body, String contentType) {
+        return new CrawlRequest("POST", url, body).header("Content-Type", contentType);
+    }
+
+    public CrawlRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public CrawlRequest userAgent(String userAgent) {
+        return header("User-Agent", userAgent);
+    }
+
+    public CrawlRequest referrer(String referrer) {
+        return header("Referer", referrer);
+    }
+
+    public CrawlRequest cookie(String cookieString) {
+        if (cookieString != null && !cookieString.isBlank()) {
+            header("Cookie", cookieString);
+        }
+        return this;
+    }
+
+    /** 응답 대기 한도 (미지정 시 crawler.http.default-timeout-ms) */
+    public CrawlRequest timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * HttpResponseCache 사용 (GET 전용) — 저장된 검증자로 조건부 요청하고,
+     * 304이거나 본문이 같으면 CrawlResponse.unchanged()가 true
+     */
+    public CrawlRequest cached() {
+        this.cached = "GET".equals(method);
+        return this;
+    }
+
+    /**
+     * 플랫폼 서킷 브레이커 적용 — 열려 있으면 보내지 않고 CircuitOpenException,
+     * 보냈으면 재시도까지 끝난 최종 결과(연결 오류·429·5xx = 실패)를 기록
+     */
+    public CrawlRequest circuit(CircuitBreaker circuit) {
+        this.circuit = circuit;
+        return this;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public CircuitBreaker getCircuit() {
+        return circuit;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.crawler.common.http;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CrawlHttpClient 응답 (본문은 gzip/deflate 해제 후 바이트)
+ *
+ * @param status    HTTP 상태 코드
+ * @param uri       리다이렉트를 따라간 최종 URI (Jsoup 상대 링크 기준)
+ * @param headers   응답 헤더
+ * @param body      해제된 본문
+ * @param charset   Content-Type의 charset (없으면 null — HTML은 meta에서 감지)
+ * @param wireBytes 네트워크로 받은 바이트 수 (압축 상태, 304·오프라인 재생이면 0)
+ * @param unchanged 캐시 요청(CrawlRequest.cached())에서 304이거나 저장된 본문과 같음 — 파싱·저장 생략 가능
+ */
+public record CrawlResponse(int status, URI uri, HttpHeaders headers, byte[] body, Charset charset, long wireBytes,
+                            boolean unchanged) {
+
+    public boolean isSuccess() {
+        return status >= 200 && status < 300;
+    }
+
+    public String header(String name) {
+        return headers.firstValue(name).orElse(null);
+    }
+
+    /**
+     * HTML 문서로 파싱 (charset은 Content-Type → meta 순으로 감지, 상대 링크 기준은 최종 URI)
+     */
+    public Document document() throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(body), charset != null ? charset.name() : null, uri.toString());
+    }
+
+    /** 본문 문자열 (charset 미지정 시 UTF-8) */
+    public String bodyAsString() {
+        return new String(body, charset != null ? charset : StandardCharsets.UTF_8);
+    }
+}
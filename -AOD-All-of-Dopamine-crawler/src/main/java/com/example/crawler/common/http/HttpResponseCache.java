@@ -0,0 +1,273 @@
+package com.example.crawler.common.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * URL별 HTTP 응답 캐시 (조건부 GET + 내용 주소 디스크 저장소)
+ *
+ * 디렉터리 구성:
+ * - objects/ab/abcd….gz : 본문(해제 후)의 SHA-256을 이름으로 한 gzip 파일 — 같은 본문은 한 번만 저장
+ * - meta/&lt;sha256(url)&gt;.json : URL → ETag / Last-Modified / 본문 해시 / charset
+ *
+ * 객체 파일 합계가 max-size-mb를 넘으면 가장 오래 쓰이지 않은 객체부터 지우고(LRU),
+ * 그 객체를 가리키던 URL 항목도 함께 지운다. 접근 시각은 메모리에만 두고 재기동 시 파일 수정 시각으로 복원한다.
+ *
+ * 모드:
+ * - OFF        : 캐시 미사용
+ * - REVALIDATE : 저장된 검증자로 If-None-Match / If-Modified-Since 요청, 304면 저장된 본문 사용
+ * - OFFLINE    : 네트워크 없이 저장된 본문만 재생 (테스트·벤치마크용, 없는 URL은 실패)
+ */
+@Slf4j
+@Component
+public class HttpResponseCache {
+
+    public enum Mode { OFF, REVALIDATE, OFFLINE }
+
+    /**
+     * URL 하나의 캐시 항목
+     *
+     * @param contentHash 본문(해제 후) SHA-256 hex — 객체 파일 이름
+     */
+    public record Entry(String url, String etag, String lastModified, String contentHash, String charset, long storedAt) {
+    }
+
+    private final Path objectsDir;
+    private final Path metaDir;
+    private final long maxBytes;
+    private final Mode mode;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> objectSizes = new ConcurrentHashMap<>();
+    private final Map<String, Long> objectAccess = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    @Autowired
+    public HttpResponseCache(@Value("${crawler.http.cache.dir:./data/http-cache}") String dir,
+                             @Value("${crawler.http.cache.max-size-mb:512}") long maxSizeMb,
+                             @Value("${crawler.http.cache.mode:revalidate}") String mode) {
+        this(Path.of(dir), maxSizeMb * 1024 * 1024, Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    public HttpResponseCache(Path root, long maxBytes, Mode mode) {
+        this.objectsDir = root.resolve("objects");
+        this.metaDir = root.resolve("meta");
+        this.maxBytes = maxBytes;
+        this.mode = mode;
+        if (mode != Mode.OFF) {
+            load();
+        }
+    }
+
+    /** 캐시를 쓰지 않는 인스턴스 (단위 테스트·캐시 없는 클라이언트용) */
+    public static HttpResponseCache disabled() {
+        return new HttpResponseCache(Path.of("."), 0, Mode.OFF);
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    public boolean isOffline() {
+        return mode == Mode.OFFLINE;
+    }
+
+    /**
+     * 본문 파일이 남아 있는 항목만 반환
+     */
+    public Entry lookup(String url) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Entry entry = entries.get(url);
+        if (entry == null || !objectSizes.containsKey(entry.contentHash())) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 저장된 본문 읽기 (LRU 접근 시각 갱신)
+     */
+    public byte[] read(Entry entry) throws IOException {
+        Path file = objectPath(entry.contentHash());
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] body = in.readAllBytes();
+            objectAccess.put(entry.contentHash(), System.currentTimeMillis());
+            return body;
+        }
+    }
+
+    /**
+     * 응답 본문과 검증자 저장 — 같은 본문이 이미 있으면 객체는 다시 쓰지 않음
+     */
+    public Entry store(String url, byte[] body, String etag, String lastModified, String charset) throws IOException {
+        String hash = sha256(body);
+        if (!objectSizes.containsKey(hash)) {
+            writeObject(hash, body);
+        }
+        objectAccess.put(hash, System.currentTimeMillis());
+
+        Entry entry = new Entry(url, etag, lastModified, hash, charset, System.currentTimeMillis());
+        Path metaFile = metaPath(url);
+        Files.createDirectories(metaDir);
+        writeAtomically(metaFile, objectMapper.writeValueAsBytes(entry));
+        entries.put(url, entry);
+
+        evictIfNeeded();
+        return entry;
+    }
+
+    /**
+     * URL 항목 제거 (본문 처리가 실패해 다음 요청에서 다시 받아야 할 때)
+     * 객체 파일은 다른 URL이 공유할 수 있으므로 LRU에 맡긴다.
+     */
+    public void invalidate(String url) {
+        if (!isEnabled() || entries.remove(url) == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(metaPath(url));
+        } catch (IOException e) {
+            log.debug("캐시 항목 삭제 실패: {} ({})", url, e.getMessage());
+        }
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void writeObject(String hash, byte[] body) throws IOException {
+        Path file = objectPath(hash);
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), hash, ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+            out.write(body);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long size = Files.size(file);
+        if (objectSizes.putIfAbsent(hash, size) == null) {
+            totalBytes.addAndGet(size);
+        }
+    }
+
+    /** 한도를 넘는 동안 가장 오래 쓰이지 않은 객체와 그 객체를 가리키는 항목 삭제 */
+    private synchronized void evictIfNeeded() {
+        while (totalBytes.get() > maxBytes && !objectAccess.isEmpty()) {
+            String victim = objectAccess.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            if (victim == null) {
+                return;
+            }
+            objectAccess.remove(victim);
+            Long size = objectSizes.remove(victim);
+            if (size != null) {
+                totalBytes.addAndGet(-size);
+            }
+            try {
+                Files.deleteIfExists(objectPath(victim));
+            } catch (IOException e) {
+                log.debug("캐시 객체 삭제 실패: {} ({})", victim, e.getMessage());
+            }
+            entries.values().removeIf(entry -> {
+                if (!entry.contentHash().equals(victim)) {
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(metaPath(entry.url()));
+                } catch (IOException e) {
+                    log.debug("캐시 항목 삭제 실패: {} ({})", entry.url(), e.getMessage());
+                }
+                return true;
+            });
+        }
+    }
+
+    /** 디스크에 남은 객체·항목을 메모리 색인으로 복원 */
+    private void load() {
+        try {
+            if (Files.isDirectory(objectsDir)) {
+                try (Stream<Path> files = Files.walk(objectsDir)) {
+                    files.filter(path -> path.toString().endsWith(".gz")).forEach(path -> {
+                        try {
+                            String hash = path.getFileName().toString().replace(".gz", "");
+                            long size = Files.size(path);
+                            objectSizes.put(hash, size);
+                            objectAccess.put(hash, Files.getLastModifiedTime(path).toMillis());
+                            totalBytes.addAndGet(size);
+                        } catch (IOException e) {
+                            log.debug("캐시 객체 읽기 실패: {}", path);
+                        }
+                    });
+                }
+            }
+            if (Files.isDirectory(metaDir)) {
+                try (Stream<Path> files = Files.list(metaDir)) {
+                    files.filter(path -> path.toString().endsWith(".json")).forEach(path -> {
+                        try {
+                            Entry entry = objectMapper.readValue(path.toFile(), Entry.class);
+                            entries.put(entry.url(), entry);
+                        } catch (IOException e) {
+                            log.debug("캐시 항목 읽기 실패: {}", path);
+                        }
+                    });
+                }
+            }
+            if (!entries.isEmpty()) {
+                log.info("🗄️ [HttpCache] {} 모드, URL {}개 / 본문 {}KB 복원", mode, entries.size(), totalBytes.get() / 1024);
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ [HttpCache] 캐시 디렉터리 읽기 실패 - 빈 캐시로 시작: {}", e.getMessage());
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash + ".gz");
+    }
+
+    private Path metaPath(String url) {
+        return metaDir.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)) + ".json");
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path tmp = Files.createTempFile(file.getParent(), "meta", ".tmp");
+        Files.copy(new ByteArrayInputStream(content), tmp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.crawler.common.http;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 지정한 업스트림 호스트로 가는 요청을 다른 주소(로컬 스텁 서버 등)로 보내는 HttpClient
+ *
+ * Fetcher들이 URL을 상수로 들고 있어도 CrawlHttpClient와 RestTemplate이 같은 HttpClient를 쓰므로
+ * 여기 한 곳에서 scheme·host·port만 바꾸고 경로·쿼리·헤더는 그대로 둔다.
+ * crawler.http.upstream-overrides가 비어 있으면 HttpClientConfig가 감싸지 않는다 (운영 경로 영향 없음).
+ */
+public class UpstreamOverrideHttpClient extends HttpClient {
+
+    private final HttpClient delegate;
+    private final Map<String, URI> overrides;
+
+    public UpstreamOverrideHttpClient(HttpClient delegate, Map<String, URI> overrides) {
+        this.delegate = delegate;
+        this.overrides = Map.copyOf(overrides);
+    }
+
+    /**
+     * "host=http://127.0.0.1:18080,host2=http://..." 형식 파싱 (빈 문자열이면 빈 맵)
+     */
+    public static Map<String, URI> parse(String spec) {
+        Map<String, URI> overrides = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return overrides;
+        }
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) continue;
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0 || eq == trimmed.length() - 1) {
+                throw new IllegalArgumentException("업스트림 대체 형식 오류 (host=url): " + trimmed);
+            }
+            overrides.put(trimmed.substring(0, eq).trim().toLowerCase(Locale.ROOT),
+                    URI.create(trimmed.substring(eq + 1).trim()));
+        }
+        return overrides;
+    }
+
+    /** 대체 대상 호스트면 scheme·host·port만 바꾼 URI, 아니면 그대로 */
+    URI rewrite(URI uri) {
+        URI target = uri.getHost() != null ? overrides.get(uri.getHost().toLowerCase(Locale.ROOT)) : null;
+        if (target == null) {
+            return uri;
+        }
+        String query = uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "";
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        return URI.create(target.getScheme() + "://" + target.getRawAuthority() + path + query);
+    }
+
+    private HttpRequest rewrite(HttpRequest request) {
+        URI rewritten = rewrite(request.uri());
+        if (rewritten == request.uri()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true).uri(rewritten).build();
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        return delegate.send(rewrite(request), responseBodyHandler);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> responseBodyHandler) {
+        return delegate.sendAsync(rewrite(request), responseBodyHandler);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> responseBodyHandler,
+                                                            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        return delegate.sendAsync(rewrite(request), responseBodyHandler, pushPromiseHandler);
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    @Override
+    public WebSocket.Builder newWebSocketBuilder() {
+        return delegate.newWebSocketBuilder();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.crawler.common.node;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 크롤러 인스턴스(노드) 등록 정보
+ *
+ * 각 인스턴스는 기동 시 자기 노드 ID와 실행 가능 범위(Selenium 여부, 허용 JobType)를 등록하고
+ * 주기적으로 lastHeartbeatAt을 갱신한다. 갱신이 끊긴 노드는 CrawlerNodeRegistry가 정리하며
+ * 그 노드가 점유한 작업의 lease를 즉시 만료시켜 다른 노드가 회수하게 한다.
+ */
+@Entity
+@Table(name = "crawler_node")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlerNode {
+
+    /**
+     * 노드 ID (crawl_job_queue.lease_owner와 같은 값)
+     */
+    @Id
+    @Column(length = 100)
+    private String nodeId;
+
+    @Column(length = 255)
+    private String hostname;
+
+    /**
+     * Selenium(Chrome) 작업 실행 가능 여부
+     */
+    @Column(nullable = false)
+    private boolean seleniumEnabled;
+
+    /**
+     * 실행하는 JobType 목록 (쉼표 구분, 실제 등록된 Executor 기준)
+     */
+    @Column(columnDefinition = "TEXT")
+    private String jobTypes;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastHeartbeatAt;
+}
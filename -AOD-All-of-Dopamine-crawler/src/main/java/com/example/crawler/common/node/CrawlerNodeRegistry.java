@@ -0,0 +1,159 @@
+package com.example.crawler.common.node;
+
+import com.example.crawler.common.queue.CrawlJobMetrics;
+import com.example.crawler.common.queue.CrawlJobRepository;
+import com.example.crawler.common.queue.JobExecutorRegistry;
+import com.example.crawler.common.queue.JobType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 크롤러 노드 등록 / 생존 신호 / 죽은 노드 정리
+ *
+ * - 기동 완료 시 crawler_node에 자기 노드(ID, Selenium 여부, 실행 JobType)를 등록
+ * - heartbeat-interval-ms마다 lastHeartbeatAt 갱신
+ * - dead-after-seconds 넘게 갱신이 없는 다른 노드는 행을 지우고, 그 노드가 점유한 작업의 lease를
+ *   즉시 만료시킨다 → 다음 CrawlJobLeaseService.reclaimExpiredLeases에서 RETRY로 회수
+ *   (lease-seconds(10분)를 다 기다리지 않고 1~2분 안에 다른 노드가 이어받음)
+ *
+ * 작업 점유 자체는 노드 등록과 무관하게 SKIP LOCKED로 안전하다. 등록 테이블은 생존 판정과 운영 가시성용이다.
+ */
+@Slf4j
+@Component
+public class CrawlerNodeRegistry {
+
+    private final CrawlerNodeRepository crawlerNodeRepository;
+    private final CrawlJobRepository crawlJobRepository;
+    private final NodeCapabilities nodeCapabilities;
+    private final JobExecutorRegistry executorRegistry;
+    private final CrawlJobMetrics crawlJobMetrics;
+    private final long deadAfterSeconds;
+
+    public CrawlerNodeRegistry(CrawlerNodeRepository crawlerNodeRepository,
+                               CrawlJobRepository crawlJobRepository,
+                               NodeCapabilities nodeCapabilities,
+                               JobExecutorRegistry executorRegistry,
+                               CrawlJobMetrics crawlJobMetrics,
+                               @Value("${crawler.node.dead-after-seconds:120}") long deadAfterSeconds) {
+        this.crawlerNodeRepository = crawlerNodeRepository;
+        this.crawlJobRepository = crawlJobRepository;
+        this.nodeCapabilities = nodeCapabilities;
+        this.executorRegistry = executorRegistry;
+        this.crawlJobMetrics = crawlJobMetrics;
+        this.deadAfterSeconds = deadAfterSeconds;
+    }
+
+    /**
+     * 자기 노드 등록 (재기동 시 같은 ID면 덮어씀)
+     * 기동 이벤트에서 실패가 전파되지 않도록 트랜잭션은 save 자체의 것만 쓴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            CrawlerNode node = CrawlerNode.builder()
+                    .nodeId(nodeCapabilities.getNodeId())
+                    .hostname(hostname())
+                    .seleniumEnabled(nodeCapabilities.isSeleniumEnabled())
+                    .jobTypes(executorRegistry.getAllExecutors().keySet().stream()
+                            .map(JobType::name)
+                            .collect(Collectors.joining(",")))
+                    .startedAt(now)
+                    .lastHeartbeatAt(now)
+                    .build();
+            crawlerNodeRepository.save(node);
+            log.info("🖥️ [Node] 노드 등록: {} (Selenium {}, 타입 {})",
+                    node.getNodeId(), node.isSeleniumEnabled(), node.getJobTypes());
+        } catch (Exception e) {
+            log.warn("⚠️ [Node] 노드 등록 실패 - 점유는 계속 가능: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 생존 신호 — 다른 노드가 이 노드를 죽은 것으로 정리했으면(행 없음) 다시 등록
+     */
+    @Scheduled(fixedDelayString = "${crawler.node.heartbeat-interval-ms:30000}", initialDelay = 30000)
+    @Transactional
+    public void heartbeat() {
+        try {
+            if (crawlerNodeRepository.touch(nodeCapabilities.getNodeId(), LocalDateTime.now()) == 0) {
+                log.warn("⚠️ [Node] 노드 행이 없음 (장기 정지 후 정리됨?) - 재등록");
+                register();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [Node] 생존 신호 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 생존 신호가 끊긴 노드 정리 + 그 노드가 점유한 작업의 lease 즉시 만료
+     */
+    @Scheduled(fixedDelayString = "${crawler.node.sweep-interval-ms:60000}", initialDelay = 60000)
+    @Transactional
+    public void sweepDeadNodes() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<CrawlerNode> dead = crawlerNodeRepository.findByLastHeartbeatAtBefore(now.minusSeconds(deadAfterSeconds))
+                    .stream()
+                    .filter(node -> !node.getNodeId().equals(nodeCapabilities.getNodeId()))
+                    .toList();
+            crawlJobMetrics.setLiveNodes(crawlerNodeRepository.countByLastHeartbeatAtAfter(now.minusSeconds(deadAfterSeconds)));
+            if (dead.isEmpty()) {
+                return;
+            }
+            List<String> deadIds = dead.stream().map(CrawlerNode::getNodeId).toList();
+            int expired = crawlJobRepository.expireLeasesOwnedBy(deadIds, now);
+            crawlerNodeRepository.deleteAll(dead);
+            crawlJobMetrics.recordDeadNodes(dead.size());
+            log.warn("💀 [Node] 응답 없는 노드 {}개 정리 {} - 점유 작업 {}건 lease 만료 처리", dead.size(), deadIds, expired);
+        } catch (Exception e) {
+            log.warn("⚠️ [Node] 죽은 노드 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이 타입을 이어받을 Selenium 노드가 살아 있는지 (SeleniumRequiredException 연기 판단용)
+     * 조회에 실패하면 false — 영원히 미루기보다 일반 실패로 재시도 횟수를 쓰는 쪽을 택한다.
+     */
+    public boolean hasLiveSeleniumNode(JobType jobType) {
+        try {
+            return crawlerNodeRepository.existsLiveSeleniumNode(jobType.name(),
+                    LocalDateTime.now().minusSeconds(deadAfterSeconds));
+        } catch (Exception e) {
+            log.warn("⚠️ [Node] Selenium 노드 조회 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 정상 종료 시 등록 해제 (남은 점유 작업은 워커 풀 종료 대기 동안 끝나거나 lease 만료로 회수됨)
+     */
+    @PreDestroy
+    public void deregister() {
+        try {
+            crawlerNodeRepository.deleteById(nodeCapabilities.getNodeId());
+            log.info("🖥️ [Node] 노드 등록 해제: {}", nodeCapabilities.getNodeId());
+        } catch (Exception e) {
+            log.debug("노드 등록 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.crawler.common.node;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 크롤러 노드 레지스트리 레포지토리
+ */
+@Repository
+public interface CrawlerNodeRepository extends JpaRepository<CrawlerNode, String> {
+
+    /**
+     * 생존 신호 갱신 (행이 없으면 0 — 다른 노드가 죽은 것으로 정리한 경우)
+     */
+    @Modifying
+    @Query("UPDATE CrawlerNode n SET n.lastHeartbeatAt = :now WHERE n.nodeId = :nodeId")
+    int touch(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    /**
+     * 마지막 생존 신호가 기준 시각보다 오래된 노드
+     */
+    List<CrawlerNode> findByLastHeartbeatAtBefore(LocalDateTime threshold);
+
+    /**
+     * 생존 노드 수
+     */
+    long countByLastHeartbeatAtAfter(LocalDateTime threshold);
+
+    /**
+     * 해당 타입을 실행하는 Selenium 노드가 살아 있는지 (jobTypes는 쉼표 구분 문자열)
+     */
+    @Query("SELECT COUNT(n) > 0 FROM CrawlerNode n WHERE n.seleniumEnabled = true "
+            + "AND n.lastHeartbeatAt > :threshold "
+            + "AND CONCAT(',', n.jobTypes, ',') LIKE CONCAT('%,', :jobType, ',%')")
+    boolean existsLiveSeleniumNode(@Param("jobType") String jobType, @Param("threshold") LocalDateTime threshold);
+}
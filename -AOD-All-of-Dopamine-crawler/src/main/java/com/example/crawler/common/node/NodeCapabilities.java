@@ -0,0 +1,91 @@
+package com.example.crawler.common.node;
+
+import com.example.crawler.common.queue.JobExecutor;
+import com.example.crawler.common.queue.JobType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 이 인스턴스의 노드 ID와 실행 가능 범위
+ *
+ * - crawler.node-id: 점유자 ID (미설정 시 pid@hostname)
+ * - crawler.node.selenium-enabled: false면 Selenium 작업(usesSelenium)을 점유하지 않음
+ *   (Chrome 메모리 여유가 없는 작은 인스턴스를 API 전용 노드로 붙일 때)
+ * - crawler.node.job-types: 실행할 JobType 목록 (쉼표 구분, 비우면 전체)
+ *
+ * JobExecutorRegistry가 이 범위 밖의 Executor를 등록하지 않으므로
+ * 점유·워커 풀·튜너 모두 실행 가능한 타입만 다룬다.
+ */
+@Slf4j
+@Component
+public class NodeCapabilities {
+
+    private final String nodeId;
+    private final boolean seleniumEnabled;
+    /** 비어 있으면 전체 허용 */
+    private final Set<JobType> allowedJobTypes;
+
+    public NodeCapabilities(@Value("${crawler.node-id:}") String nodeId,
+                            @Value("${crawler.node.selenium-enabled:true}") boolean seleniumEnabled,
+                            @Value("${crawler.node.job-types:}") String jobTypes) {
+        this.nodeId = resolveNodeId(nodeId);
+        this.seleniumEnabled = seleniumEnabled;
+        this.allowedJobTypes = parseJobTypes(jobTypes);
+    }
+
+    /** 모든 작업을 실행하는 노드 (단일 인스턴스/테스트용) */
+    public static NodeCapabilities all() {
+        return new NodeCapabilities("", true, "");
+    }
+
+    /**
+     * 설정된 노드 ID, 없으면 "pid@hostname" — 같은 호스트의 재기동도 다른 점유자로 구분됨
+     */
+    public static String resolveNodeId(String configured) {
+        return (configured == null || configured.isBlank())
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : configured;
+    }
+
+    private static Set<JobType> parseJobTypes(String jobTypes) {
+        Set<JobType> parsed = EnumSet.noneOf(JobType.class);
+        if (jobTypes == null || jobTypes.isBlank()) {
+            return parsed;
+        }
+        Arrays.stream(jobTypes.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .forEach(name -> {
+                    try {
+                        parsed.add(JobType.valueOf(name));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("⚠️ [Node] 알 수 없는 JobType 설정 무시: {}", name);
+                    }
+                });
+        return parsed;
+    }
+
+    /**
+     * 이 노드가 해당 Executor의 작업을 점유해도 되는지
+     */
+    public boolean supports(JobExecutor executor) {
+        if (executor.usesSelenium() && !seleniumEnabled) {
+            return false;
+        }
+        return allowedJobTypes.isEmpty() || allowedJobTypes.contains(executor.getJobType());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isSeleniumEnabled() {
+        return seleniumEnabled;
+    }
+}
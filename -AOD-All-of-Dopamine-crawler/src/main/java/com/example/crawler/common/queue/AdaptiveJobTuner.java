@@ -0,0 +1,192 @@
+package com.example.crawler.common.queue;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * JobType별 배치 크기 / 동시성 적응형 조정기 (EWMA + AIMD)
+ *
+ * 작업이 끝날 때마다 실행 시간·실패 여부·레이트리미터 대기를 EWMA로 누적하고,
+ * 주기적으로 다음 규칙에 따라 목표값을 조정한다.
+ * - 429(RetryAfterException) 발생 또는 실패율 급증 → 동시성·배치 절반 (multiplicative decrease)
+ * - 건강함(실패율 낮음, 대기 대부분이 레이트리미터가 아님) → 동시성 +1 (additive increase),
+ *   배치는 관측 지연 기준 5초 분량으로 재계산
+ * - 레이트리미터 대기가 큼 → 유지 (스레드를 늘려도 리미터 앞에서 기다릴 뿐)
+ *
+ * 동시성은 Executor의 getMaxConcurrency()(정적 값)에서 시작해 건강하면 그 위로 올라간다.
+ * 상한 = crawler.queue.adaptive.max-concurrency.&lt;JobType&gt;, 없으면 정적 값 × max-concurrency-multiplier.
+ * 배치 범위는 1~20. 비활성화하면 Executor가 선언한 정적 값을 그대로 쓴다.
+ */
+@Slf4j
+@Component
+public class AdaptiveJobTuner {
+
+    /** EWMA 가중치 (최근 관측 비중) */
+    static final double ALPHA = 0.2;
+    /** 이 실패율을 넘으면 감속 */
+    static final double FAILURE_BACKOFF_THRESHOLD = 0.3;
+    /** 이 실패율 미만이어야 가속 */
+    static final double FAILURE_HEALTHY_THRESHOLD = 0.1;
+    /** 실행 시간 중 레이트리미터 대기 비중이 이 이상이면 가속하지 않음 */
+    static final double LIMITER_BOUND_RATIO = 0.5;
+    /** 조정 주기 동안 최소 관측 수 (유휴 타입이 근거 없이 가속하지 않도록) */
+    static final int MIN_SAMPLES = 5;
+    static final int MAX_BATCH_SIZE = 20;
+
+    private final Map<JobType, TypeState> states = new EnumMap<>(JobType.class);
+    private final CrawlJobWorkerPools workerPools;
+    private final boolean enabled;
+
+    public AdaptiveJobTuner(JobExecutorRegistry executorRegistry,
+                            CrawlJobWorkerPools workerPools,
+                            CrawlJobMetrics crawlJobMetrics,
+                            Environment environment,
+                            @Value("${crawler.queue.adaptive.enabled:true}") boolean enabled,
+                            @Value("${crawler.queue.adaptive.max-concurrency-multiplier:2}") int ceilingMultiplier) {
+        this.workerPools = workerPools;
+        this.enabled = enabled;
+        for (JobExecutor executor : executorRegistry.getAllExecutors().values()) {
+            int ceiling = environment.getProperty("crawler.queue.adaptive.max-concurrency." + executor.getJobType(),
+                    Integer.class, executor.getMaxConcurrency() * Math.max(1, ceilingMultiplier));
+            TypeState state = new TypeState(executor, ceiling);
+            states.put(executor.getJobType(), state);
+            crawlJobMetrics.bindTuner(executor.getJobType(), state);
+        }
+    }
+
+    /**
+     * 작업 하나의 결과 반영 (워커 스레드에서 호출)
+     *
+     * @param throttled 업스트림이 429 등으로 속도를 낮추라고 응답했는지
+     */
+    public void recordOutcome(JobType jobType, long durationMs, long limiterWaitMs, boolean success, boolean throttled) {
+        TypeState state = states.get(jobType);
+        if (state != null) {
+            state.observe(durationMs, limiterWaitMs, success, throttled);
+        }
+    }
+
+    /** 현재 목표 배치 크기 */
+    public int getBatchSize(JobType jobType, JobExecutor executor) {
+        TypeState state = states.get(jobType);
+        if (!enabled || state == null) {
+            return executor.getRecommendedBatchSize();
+        }
+        return state.getBatchSize();
+    }
+
+    /** 관측 평균 실행 시간(ms), 관측 전이면 Executor 선언값 */
+    public long getLatencyMs(JobType jobType, JobExecutor executor) {
+        TypeState state = states.get(jobType);
+        return state != null ? Math.round(state.getLatencyMs()) : executor.getAverageExecutionTime();
+    }
+
+    /**
+     * 관측값으로 목표 동시성·배치를 조정하고 워커 풀에 반영
+     */
+    @Scheduled(fixedDelayString = "${crawler.queue.adaptive.interval-ms:30000}", initialDelay = 30000)
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        states.forEach((jobType, state) -> {
+            Decision decision = state.adjust();
+            if (decision == Decision.HOLD) {
+                return;
+            }
+            workerPools.resize(jobType, state.getConcurrency());
+            log.info("🎛️ [Tuner] {} {} → 동시성 {}, 배치 {} (지연 {}ms, 실패율 {}%, 리미터 대기 {}ms)",
+                    jobType, decision == Decision.DECREASE ? "감속" : "가속",
+                    state.getConcurrency(), state.getBatchSize(), Math.round(state.getLatencyMs()),
+                    Math.round(state.getFailureRate() * 100), Math.round(state.getLimiterWaitMs()));
+        });
+    }
+
+    enum Decision { INCREASE, DECREASE, HOLD }
+
+    /**
+     * JobType 하나의 관측 EWMA와 현재 목표값
+     * (observe는 워커 스레드들, adjust는 스케줄러 스레드에서 호출 — 인스턴스 단위로 동기화)
+     */
+    static final class TypeState {
+        private final int maxConcurrency;
+
+        private double latencyMs;
+        private double failureRate;
+        private double limiterWaitMs;
+        private int samplesSinceAdjust;
+        private boolean throttledSinceAdjust;
+
+        private volatile int concurrency;
+        private volatile int batchSize;
+
+        /**
+         * @param maxConcurrency 가속 상한 (정적 값보다 작으면 정적 값)
+         */
+        TypeState(JobExecutor executor, int maxConcurrency) {
+            int initial = Math.max(1, executor.getMaxConcurrency());
+            this.maxConcurrency = Math.max(initial, maxConcurrency);
+            this.latencyMs = executor.getAverageExecutionTime();
+            this.concurrency = initial;
+            this.batchSize = executor.getRecommendedBatchSize();
+        }
+
+        synchronized void observe(long durationMs, long limiterWaitMs, boolean success, boolean throttled) {
+            this.latencyMs = ewma(this.latencyMs, durationMs);
+            this.failureRate = ewma(this.failureRate, success ? 0 : 1);
+            this.limiterWaitMs = ewma(this.limiterWaitMs, limiterWaitMs);
+            this.samplesSinceAdjust++;
+            this.throttledSinceAdjust |= throttled;
+        }
+
+        synchronized Decision adjust() {
+            Decision decision = decide();
+            if (decision == Decision.DECREASE) {
+                concurrency = Math.max(1, concurrency / 2);
+                batchSize = Math.max(1, batchSize / 2);
+            } else if (decision == Decision.INCREASE) {
+                concurrency = Math.min(maxConcurrency, concurrency + 1);
+                batchSize = latencyBasedBatch();
+            }
+            samplesSinceAdjust = 0;
+            throttledSinceAdjust = false;
+            return decision;
+        }
+
+        private Decision decide() {
+            if (throttledSinceAdjust || failureRate > FAILURE_BACKOFF_THRESHOLD) {
+                boolean atFloor = concurrency == 1 && batchSize == 1;
+                return atFloor ? Decision.HOLD : Decision.DECREASE;
+            }
+            if (samplesSinceAdjust < MIN_SAMPLES
+                    || failureRate >= FAILURE_HEALTHY_THRESHOLD
+                    || limiterWaitMs >= latencyMs * LIMITER_BOUND_RATIO) {
+                return Decision.HOLD;
+            }
+            boolean atCeiling = concurrency == maxConcurrency && batchSize == latencyBasedBatch();
+            return atCeiling ? Decision.HOLD : Decision.INCREASE;
+        }
+
+        /** 관측 지연 기준 5초 분량 (JobExecutor.getRecommendedBatchSize와 같은 식) */
+        private int latencyBasedBatch() {
+            if (latencyMs <= 0) return 1;
+            return (int) Math.max(1, Math.min(MAX_BATCH_SIZE, 5000 / latencyMs));
+        }
+
+        private static double ewma(double previous, double sample) {
+            return previous + ALPHA * (sample - previous);
+        }
+
+        int getConcurrency() { return concurrency; }
+        int getBatchSize() { return batchSize; }
+        synchronized double getLatencyMs() { return latencyMs; }
+        synchronized double getFailureRate() { return failureRate; }
+        synchronized double getLimiterWaitMs() { return limiterWaitMs; }
+    }
+}
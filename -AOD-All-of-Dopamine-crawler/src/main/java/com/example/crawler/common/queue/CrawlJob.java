@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -20,7 +21,9 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_job_status_priority", columnList = "status, priority, createdAt"),
         @Index(name = "idx_job_type_status", columnList = "jobType, status")
-    }
+    },
+    // V2의 uk_job_type_target과 동일 — ddl-auto로만 생성된 환경에서도 ON CONFLICT 대상이 존재하도록
+    uniqueConstraints = @UniqueConstraint(name = "uk_job_type_target", columnNames = {"jobType", "targetId"})
 )
 @Data
 @Builder
@@ -28,6 +31,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class CrawlJob {
 
+    /**
+     * 어드민(사용자 요청) 작업 우선순위 — 이 값 이하는 어드민 풀/예약 허가로 즉시 실행된다.
+     * 스케줄 수집 Producer는 2 이상을 쓴다.
+     */
+    public static final int ADMIN_PRIORITY = 1;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -104,6 +113,29 @@ public class CrawlJob {
      */
     private LocalDateTime completedAt;
 
+    /**
+     * 작업을 점유한 크롤러 인스턴스 (PROCESSING 동안만 유효)
+     */
+    @Column(length = 100)
+    private String leaseOwner;
+
+    /**
+     * 점유 만료 시각 (이 시각이 지나면 점유자가 죽은 것으로 간주)
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * 다음 시도 가능 시각 (null = 즉시). 실패 시 JobExecutor의 RetryBackoff로 계산
+     */
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Selenium 노드만 점유 가능 (API 전용 노드가 Selenium 대체가 필요해 넘긴 작업)
+     * null은 false와 같다 — 일괄 등록 INSERT는 이 컬럼을 채우지 않는다.
+     */
+    @Builder.Default
+    private Boolean requiresSelenium = false;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -123,26 +155,106 @@ public class CrawlJob {
         this.startedAt = LocalDateTime.now();
     }
 
+    /**
+     * 작업 점유 처리 (PROCESSING 전이 + 점유자/만료 시각 기록)
+     */
+    public void claim(String owner, LocalDateTime leaseExpiresAt) {
+        markAsProcessing();
+        this.leaseOwner = owner;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    /**
+     * 해당 점유자가 아직 이 작업을 점유 중인지
+     */
+    public boolean isLeasedBy(String owner) {
+        return this.status == JobStatus.PROCESSING && owner != null && owner.equals(this.leaseOwner);
+    }
+
     /**
      * 작업 성공 처리
      */
     public void markAsCompleted() {
         this.status = JobStatus.COMPLETED;
         this.completedAt = LocalDateTime.now();
+        releaseLease();
     }
 
     /**
-     * 작업 실패 처리 (재시도 가능 여부 판단)
+     * 작업 실패 처리 (재시도 가능 여부 판단, 즉시 재시도)
      */
     public void markAsFailed(String errorMessage) {
+        markAsFailed(errorMessage, null, null);
+    }
+
+    /**
+     * 작업 실패 처리 + 재시도 시각 예약
+     *
+     * @param backoff    재시도 간격 정책 (null이면 즉시 재시도 가능)
+     * @param retryAfter 업스트림이 알려준 최소 대기 (없으면 null)
+     */
+    public void markAsFailed(String errorMessage, RetryBackoff backoff, Duration retryAfter) {
         this.retryCount++;
         this.errorMessage = errorMessage;
+        releaseLease();
         
         if (this.retryCount >= this.maxRetries) {
             this.status = JobStatus.FAILED;
         } else {
             this.status = JobStatus.RETRY;
+            this.nextAttemptAt = backoff != null
+                    ? LocalDateTime.now().plus(backoff.delayFor(this.retryCount, retryAfter))
+                    : null;
+        }
+    }
+
+    /**
+     * 시도하지 않은 작업 되돌리기 — 재시도 횟수는 그대로 두고 지정 시각 이후로 미룸
+     * (서킷이 열려 업스트림에 요청을 보내지 않은 경우)
+     */
+    public void defer(String reason, Duration delay) {
+        this.errorMessage = reason;
+        releaseLease();
+        this.status = JobStatus.RETRY;
+        this.nextAttemptAt = LocalDateTime.now().plus(delay);
+    }
+
+    /**
+     * Selenium 노드 몫으로 넘기기 — defer와 같되 이후로는 Selenium 비활성 노드가 점유하지 않는다
+     */
+    public void deferToSeleniumNode(String reason, Duration delay) {
+        defer(reason, delay);
+        this.requiresSelenium = true;
+    }
+
+    /**
+     * 점유 만료 회수 (점유자가 죽었거나 heartbeat가 끊긴 작업)
+     * 실패 1회로 센다 — 매번 JVM을 죽이는 작업이 무한히 재점유되지 않도록
+     */
+    public void reclaimExpiredLease() {
+        markAsFailed("점유 만료로 회수됨 (이전 점유자: " + this.leaseOwner + ")");
+    }
+
+    private void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+
+    /**
+     * 시도 가능해진 시각 (등록 시각과 재시도 예정 시각 중 늦은 쪽) — 큐 대기 시간 측정 기준
+     */
+    public LocalDateTime eligibleSince() {
+        if (nextAttemptAt != null && (createdAt == null || nextAttemptAt.isAfter(createdAt))) {
+            return nextAttemptAt;
         }
+        return createdAt;
+    }
+
+    /**
+     * 어드민 작업 여부
+     */
+    public boolean isAdminRequested() {
+        return priority != null && priority <= ADMIN_PRIORITY;
     }
 
     /**
@@ -0,0 +1,83 @@
+package com.example.crawler.common.queue;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종료된 작업을 큐에서 이력 테이블로 옮기는 압축기
+ *
+ * crawl_job_queue에서 종료 상태(COMPLETED/FAILED/SKIPPED)이고 retain-minutes보다 오래된 행을
+ * 배치 단위로 DELETE ... RETURNING 해 crawl_job_history에 넣는다 (한 문장 = 한 트랜잭션).
+ * 여러 인스턴스가 동시에 돌아도 SKIP LOCKED로 같은 행을 나눠 갖지 않는다.
+ *
+ * 보존 시간 동안은 종료 행이 큐에 남아 어드민/로그에서 바로 확인할 수 있고,
+ * 이후 dedup은 crawl_job_history PK가 담당한다.
+ */
+@Slf4j
+@Component
+public class CrawlJobCompactor {
+
+    /** 한 문장에서 옮기는 최대 행 수 */
+    static final int BATCH_SIZE = 5000;
+    /** 한 번 실행에서 최대 반복 수 (적체 해소 중에도 스케줄러 스레드를 오래 잡지 않도록) */
+    static final int MAX_BATCHES_PER_RUN = 20;
+
+    static final String MOVE_SQL = """
+            WITH moved AS (
+                DELETE FROM crawl_job_queue
+                WHERE id IN (
+                    SELECT id FROM crawl_job_queue
+                    WHERE status IN ('COMPLETED', 'FAILED', 'SKIPPED')
+                      AND updated_at < now() - make_interval(mins => ?)
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING job_type, target_id, status, retry_count, error_message, completed_at, updated_at
+            )
+            INSERT INTO crawl_job_history (job_type, target_id, final_status, retry_count, error_message, finished_at)
+            SELECT job_type, target_id, status, COALESCE(retry_count, 0),
+                   CASE WHEN status = 'FAILED' THEN error_message END,
+                   COALESCE(completed_at, updated_at, now())
+            FROM moved
+            ON CONFLICT (job_type, target_id) DO UPDATE
+                SET final_status = EXCLUDED.final_status,
+                    retry_count = EXCLUDED.retry_count,
+                    error_message = EXCLUDED.error_message,
+                    finished_at = EXCLUDED.finished_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CrawlJobMetrics crawlJobMetrics;
+    private final int retainMinutes;
+
+    public CrawlJobCompactor(JdbcTemplate jdbcTemplate,
+                             CrawlJobMetrics crawlJobMetrics,
+                             @Value("${crawler.queue.compactor.retain-minutes:60}") int retainMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.crawlJobMetrics = crawlJobMetrics;
+        this.retainMinutes = retainMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${crawler.queue.compactor.interval-ms:300000}", initialDelay = 60000)
+    public void compact() {
+        try {
+            int total = 0;
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                int moved = jdbcTemplate.update(MOVE_SQL, retainMinutes, BATCH_SIZE);
+                total += moved;
+                if (moved < BATCH_SIZE) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                crawlJobMetrics.recordCompacted(total);
+                log.info("🗜️ [Compactor] 종료 작업 {}건 → crawl_job_history 이동", total);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [Compactor] 큐 압축 실패: {}", e.getMessage());
+        }
+    }
+}
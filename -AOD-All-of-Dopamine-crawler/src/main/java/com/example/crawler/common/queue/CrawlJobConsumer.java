@@ -1,72 +1,99 @@
 package com.example.crawler.common.queue;
 
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.circuit.CircuitOpenException;
+import com.example.crawler.common.node.CrawlerNodeRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 크롤링 작업 소비자 (Consumer)
  * 
  * 큐에서 작업을 가져와 실제 크롤링을 수행합니다.
- * 플랫폼별 처리 속도에 따라 동적으로 배치 크기를 조정합니다.
+ * 플랫폼별 관측 처리 속도에 따라 배치 크기·동시성을 조정하고(AdaptiveJobTuner),
+ * JobType별 워커 풀(CrawlJobWorkerPools)에서 병렬로 실행합니다.
+ * 점유와 결과 기록은 CrawlJobLeaseService의 짧은 트랜잭션으로 분리됩니다.
+ *
+ * 스케줄링:
+ * - 타입 내: 노화 우선순위 순 (1시간 대기 = 우선순위 1단계, CrawlJobRepository.AGED_PRIORITY_ORDER)
+ * - 타입 간: 전역 실행 허가를 crawler.queue.weights 가중치로 나눔 (WeightedFairPermits)
+ * - 어드민 작업(CrawlJob.ADMIN_PRIORITY): 배정 때마다 먼저 점유해 예약 허가를 쓰는 어드민 풀로 실행
+ *
+ * 배정 계기:
+ * - notify: 새 작업 등록 알림 (CrawlJobWakeupListener → wakeUp, 해당 타입만)
+ * - refill: 워커가 작업을 끝내 선점분이 한 바퀴 이하로 줄었을 때 (해당 타입만)
+ * - poll:   알림 유실/재시도 대기분을 위한 느린 보조 폴링 (전체 타입)
+ * - circuit: 플랫폼 서킷이 HALF_OPEN/CLOSED로 바뀜 (해당 플랫폼 타입만)
+ *
+ * 서킷(JobExecutor.getCircuitBreakerKey)이 OPEN인 타입은 점유하지 않고,
+ * HALF_OPEN이면 시험 호출 수만큼만 점유해 복구 여부를 확인한다.
+ *
+ * Selenium 비활성 노드가 Chrome이 필요한 작업을 만나면(SeleniumRequiredException)
+ * 살아 있는 Selenium 노드가 있을 때만 재시도 횟수를 쓰지 않고 미룬다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CrawlJobConsumer {
 
+    private final CrawlJobLeaseService leaseService;
     private final CrawlJobRepository crawlJobRepository;
     private final JobExecutorRegistry executorRegistry;
     private final CrawlJobMetrics crawlJobMetrics;
-    
-    // 🚀 리소스 제어: EC2 t3.small 안전 한계
-    private static final int MAX_CONCURRENT_JOBS = 10;  // 전역 최대 동시 처리
-    private static final int MAX_SELENIUM_JOBS = 2;     // Selenium 최대 동시 처리
-    
-    // 현재 처리 중인 Job 수 추적
-    private final java.util.concurrent.atomic.AtomicInteger currentProcessing = 
-        new java.util.concurrent.atomic.AtomicInteger(0);
-    private final java.util.concurrent.atomic.AtomicInteger seleniumProcessing = 
-        new java.util.concurrent.atomic.AtomicInteger(0);
+    private final CrawlJobWorkerPools workerPools;
+    private final AdaptiveJobTuner jobTuner;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final CrawlerNodeRegistry nodeRegistry;
+
+    /** 타입별 배정 락 — 폴링/알림/보충이 같은 타입을 동시에 점유해 상한을 넘지 않도록 */
+    private final Map<JobType, ReentrantLock> dispatchLocks = new ConcurrentHashMap<>();
+
+    /** 이 인스턴스가 점유해 풀에 넘긴 뒤 아직 결과를 기록하지 않은 작업 (heartbeat 대상) */
+    private final Set<Long> heldJobIds = ConcurrentHashMap.newKeySet();
 
     /**
-     * 주기적으로 큐에서 작업을 동적으로 가져와 처리합니다.
+     * 주기적으로 큐에서 작업을 점유해 타입별 워커 풀에 배정합니다. (보조 폴링)
      * 
-     * fixedDelay: 이전 작업이 끝나고 5초 후 다시 실행
-     * 플랫폼별 처리 속도에 따라 자동으로 배치 크기 조정
+     * fixedDelay: 이전 배정이 끝나고 crawler.queue.poll-interval-ms 후 다시 실행
+     * 평시 깨우기는 LISTEN/NOTIFY와 워커 보충이 담당하므로 주기는 길게 둡니다.
+     * 트랜잭션은 점유(claim) 순간에만 짧게 열리고, 크롤링은 커밋 이후 워커에서 실행됩니다.
+     * (네트워크 호출 동안 행 락·DB 커넥션을 붙잡지 않음)
      */
-    @Scheduled(fixedDelay = 10000, initialDelay = 3000)  // 🚀 5초 → 10초 (EC2 t3.small 최적화)
-    @Transactional
+    @Scheduled(fixedDelayString = "${crawler.queue.poll-interval-ms:10000}", initialDelay = 3000)
     public void processBatchBalanced() {
         log.debug("🔍 [Consumer] 배치 처리 시작 - 큐에서 작업 조회 중...");
         try {
-            Map<JobType, Integer> processedCounts = new HashMap<>();
+            Map<JobType, Integer> dispatchedCounts = new EnumMap<>(JobType.class);
             
-            // 등록된 모든 Executor에 대해 동적으로 처리
+            // 등록된 모든 Executor에 대해 점유 → 타입별 풀에 제출 (타입 간·타입 내 모두 병렬)
             for (Map.Entry<JobType, JobExecutor> entry : executorRegistry.getAllExecutors().entrySet()) {
-                JobType jobType = entry.getKey();
-                JobExecutor executor = entry.getValue();
-                
-                // Executor가 권장하는 배치 크기로 처리
-                int batchSize = executor.getRecommendedBatchSize();
-                int processed = processByType(jobType, executor, batchSize);
-                
-                if (processed > 0) {
-                    processedCounts.put(jobType, processed);
+                int dispatched = dispatchByType(entry.getKey(), entry.getValue(), "poll");
+                if (dispatched > 0) {
+                    dispatchedCounts.put(entry.getKey(), dispatched);
                 }
             }
 
-            if (!processedCounts.isEmpty()) {
-                log.info("📦 [Consumer] 배치 처리 완료 - {}", formatProcessedCounts(processedCounts));
+            if (!dispatchedCounts.isEmpty()) {
+                log.info("📦 [Consumer] 작업 배정 완료 - {}", formatProcessedCounts(dispatchedCounts));
             } else {
-                log.debug("⏸️ [Consumer] 처리할 작업 없음 - 큐가 비어있습니다");
+                log.debug("⏸️ [Consumer] 배정할 작업 없음 - 큐가 비어있거나 워커가 가득 찼습니다");
             }
 
         } catch (Exception e) {
@@ -75,102 +102,266 @@ public class CrawlJobConsumer {
     }
 
     /**
-     * 특정 타입의 작업을 지정된 개수만큼 처리
+     * 특정 타입만 즉시 배정합니다. (LISTEN/NOTIFY 수신 스레드 등에서 호출)
+     *
+     * @param source 배정 계기 (메트릭 태그)
+     * @return 새로 배정한 작업 수
      */
-    private int processByType(JobType jobType, JobExecutor executor, int batchSize) {
-        // 🚀 Phase 1: 전역 동시 처리 제한 체크
-        int currentJobs = currentProcessing.get();
-        if (currentJobs >= MAX_CONCURRENT_JOBS) {
-            log.warn("🚫 [Consumer] 전역 동시 처리 한계 도달 ({}/{}), {} 작업 대기",
-                currentJobs, MAX_CONCURRENT_JOBS, jobType);
+    public int wakeUp(JobType jobType, String source) {
+        JobExecutor executor = executorRegistry.findExecutor(jobType);
+        if (executor == null) {
+            log.debug("⏭️ [Consumer] 처리할 Executor가 없는 타입 알림 무시: {}", jobType);
             return 0;
         }
-        
-        // 🚀 Phase 1: Selenium Job 특별 제한 체크
-        boolean isSeleniumJob = isSeleniumJob(jobType);
-        if (isSeleniumJob && seleniumProcessing.get() >= MAX_SELENIUM_JOBS) {
-            log.warn("🚫 [Consumer] Selenium Job 한계 도달 ({}/{}), {} 작업 대기",
-                seleniumProcessing.get(), MAX_SELENIUM_JOBS, jobType);
+        try {
+            return dispatchByType(jobType, executor, source);
+        } catch (Exception e) {
+            log.error("❌ [Consumer] {} 배정 중 오류 발생 ({})", jobType, source, e);
             return 0;
         }
-        
-        // 처리 가능한 Job 수 계산
-        int available = MAX_CONCURRENT_JOBS - currentJobs;
-        int effectiveBatchSize = Math.min(batchSize, available);
-        
-        // Selenium Job인 경우 추가 제한
-        if (isSeleniumJob) {
-            int seleniumAvailable = MAX_SELENIUM_JOBS - seleniumProcessing.get();
-            effectiveBatchSize = Math.min(effectiveBatchSize, seleniumAvailable);
-        }
-        
-        List<CrawlJob> jobs = crawlJobRepository.findPendingJobsByTypeWithLock(jobType, effectiveBatchSize);
-        
-        if (jobs.isEmpty()) {
-            return 0;
+    }
+
+    /**
+     * 서킷 상태 전이 구독 — 복구(HALF_OPEN/CLOSED) 즉시 해당 플랫폼 타입을 배정
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void watchCircuits() {
+        circuitBreakers.addListener(this::onCircuitTransition);
+    }
+
+    /**
+     * 전이를 일으킨 스레드(HTTP 콜백 등)에서 점유 트랜잭션을 돌리지 않도록 비동기로 깨운다
+     */
+    void onCircuitTransition(CircuitBreaker breaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+        if (to == CircuitBreaker.State.OPEN) {
+            return;
         }
-        
-        log.info("🎯 [Consumer] {} 작업 {}개 처리 시작 (권장: {}, 제한 적용: {}, 평균 {}ms)",
-                jobType, jobs.size(), batchSize, effectiveBatchSize, executor.getAverageExecutionTime());
-        
-        int processed = 0;
-        for (CrawlJob job : jobs) {
-            // 처리 시작 전 카운터 증가
-            currentProcessing.incrementAndGet();
-            if (isSeleniumJob) {
-                seleniumProcessing.incrementAndGet();
+        executorRegistry.getAllExecutors().forEach((jobType, executor) -> {
+            if (breaker.getName().equals(executor.getCircuitBreakerKey())) {
+                CompletableFuture.runAsync(() -> wakeUp(jobType, "circuit"));
             }
-            
-            try {
-                processJob(job, executor);
-                processed++;
-            } finally {
-                // 처리 완료 후 카운터 감소
-                currentProcessing.decrementAndGet();
-                if (isSeleniumJob) {
-                    seleniumProcessing.decrementAndGet();
-                }
+        });
+    }
+
+    /**
+     * 특정 타입의 작업을 점유해 해당 타입 워커 풀에 제출
+     * 
+     * 어드민 작업을 어드민 풀 여유만큼 먼저 점유한 뒤, 일반 작업을 점유합니다.
+     * 타입별 선점 상한 = 워커 수 × 배치 크기 (워커 하나가 한 배치 분량을 들고 있음, 둘 다 튜너 목표값)
+     * 이미 풀에 남아 있는 작업만큼은 새로 점유하지 않습니다.
+     * 서킷이 열려 있으면 점유하지 않고, HALF_OPEN이면 남은 시험 호출 수까지만 점유합니다.
+     * 다른 스레드가 같은 타입을 배정 중이면 그쪽에 맡기고 바로 반환합니다.
+     */
+    private int dispatchByType(JobType jobType, JobExecutor executor, String source) {
+        ReentrantLock lock = dispatchLocks.computeIfAbsent(jobType, t -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            return 0;
+        }
+        try {
+            int limit = circuitClaimLimit(jobType, executor);
+            if (limit <= 0) {
+                return 0;
             }
+            int admin = dispatchAdmin(jobType, executor, limit);
+            return admin + dispatchRegular(jobType, executor, source, limit - admin);
+        } finally {
+            lock.unlock();
         }
-        
-        return processed;
     }
-    
+
     /**
-     * Selenium을 사용하는 Job인지 확인
+     * 서킷 상태에 따른 이번 배정의 점유 상한 (서킷 없음·CLOSED = 제한 없음)
+     * HALF_OPEN이면 풀에 남은 작업도 시험 호출을 쓰므로 그만큼 뺀다
      */
-    private boolean isSeleniumJob(JobType jobType) {
-        return jobType == JobType.NAVER_WEBTOON;
+    private int circuitClaimLimit(JobType jobType, JobExecutor executor) {
+        String key = executor.getCircuitBreakerKey();
+        if (key == null) {
+            return Integer.MAX_VALUE;
+        }
+        CircuitBreaker breaker = circuitBreakers.get(key);
+        int limit = breaker.claimLimit();
+        if (limit == Integer.MAX_VALUE) {
+            return limit;
+        }
+        if (limit > 0) {
+            limit -= workerPools.getInFlight(jobType);
+        }
+        if (limit <= 0) {
+            log.debug("🔌 [Consumer] {} 서킷 {} - 점유 보류", jobType, breaker.getState());
+        }
+        return limit;
     }
 
     /**
-     * 개별 작업 처리 (Executor 위임)
+     * 어드민 작업 점유 → 어드민 풀 제출 (타입 풀 적체·가중치 배분과 무관하게 바로 실행)
      */
-    private void processJob(CrawlJob job, JobExecutor executor) {
-        job.markAsProcessing();
+    private int dispatchAdmin(JobType jobType, JobExecutor executor, int limit) {
+        int capacity = Math.min(workerPools.getAdminCapacity(), limit);
+        if (capacity <= 0) {
+            return 0;
+        }
+        List<CrawlJob> jobs = leaseService.claimAdmin(jobType, capacity);
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        log.info("👤 [Consumer] {} 어드민 작업 {}개 점유 - 예약 허가로 실행", jobType, jobs.size());
+        submitAll(jobs, executor, true);
+        return jobs.size();
+    }
 
+    private int dispatchRegular(JobType jobType, JobExecutor executor, String source, int limit) {
+        int concurrency = workerPools.getConcurrency(jobType);
+        if (concurrency <= 0) {
+            return 0;
+        }
+        int batchSize = jobTuner.getBatchSize(jobType, executor);
+        int claimSize = Math.min(concurrency * batchSize - workerPools.getInFlight(jobType), limit);
+        if (claimSize <= 0) {
+            return 0;
+        }
+
+        crawlJobMetrics.recordWakeup(jobType, source);
+        List<CrawlJob> jobs = leaseService.claim(jobType, claimSize);
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        log.info("🎯 [Consumer] {} 작업 {}개 점유 (워커 {}개 × 배치 {}, 평균 {}ms, {})",
+                jobType, jobs.size(), concurrency, batchSize, jobTuner.getLatencyMs(jobType, executor), source);
+
+        submitAll(jobs, executor, false);
+        return jobs.size();
+    }
+
+    private void submitAll(List<CrawlJob> jobs, JobExecutor executor, boolean admin) {
+        for (CrawlJob job : jobs) {
+            heldJobIds.add(job.getId());
+            try {
+                workerPools.submit(executor, () -> processJob(job, executor), admin);
+            } catch (RuntimeException e) {
+                heldJobIds.remove(job.getId());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 개별 작업 처리 (Executor 위임) — 워커 스레드에서 실행
+     * 결과는 작업마다 별도의 짧은 트랜잭션으로 기록됩니다.
+     */
+    private void processJob(CrawlJob job, JobExecutor executor) {
         JobType jobType = job.getJobType();
+        crawlJobMetrics.recordQueueWait(jobType, job.eligibleSince());
         Timer.Sample sample = crawlJobMetrics.startTimer();
+        long startedAt = System.currentTimeMillis();
+        RateLimitWaitRecorder.drainMillis(); // 이전 작업의 잔여 대기 기록 제거
+        boolean success = false;
+        boolean throttled = false;
         try {
-            boolean success = executor.execute(job.getTargetId());
+            success = executor.execute(job.getTargetId());
 
             if (success) {
-                job.markAsCompleted();
+                leaseService.complete(job.getId());
                 crawlJobMetrics.recordCompleted(jobType);
                 log.debug("✅ [Consumer] 작업 성공: {} - {}", job.getJobType(), job.getTargetId());
             } else {
-                job.markAsFailed("크롤링 실패 (상세 정보 없음)");
+                leaseService.fail(job.getId(), "크롤링 실패 (상세 정보 없음)", executor.getRetryBackoff(), null);
                 crawlJobMetrics.recordFailed(jobType);
                 log.warn("❌ [Consumer] 작업 실패: {} - {}", job.getJobType(), job.getTargetId());
             }
 
+        } catch (CircuitOpenException e) {
+            // 업스트림에 보내지 않았으므로 실패로 세지 않고 서킷이 닫힐 즈음으로 미룸
+            throttled = true;
+            log.info("🔌 [Consumer] 서킷 열림으로 연기: {} - {} ({}초 후)",
+                    job.getJobType(), job.getTargetId(), e.getRetryAfter().toSeconds());
+            try {
+                leaseService.defer(job.getId(), e.getMessage(), e.getRetryAfter());
+            } catch (Exception recordError) {
+                log.error("❌ [Consumer] 연기 기록 중 오류: {} - {}", job.getJobType(), job.getTargetId(), recordError);
+            }
+        } catch (SeleniumRequiredException e) {
+            if (nodeRegistry.hasLiveSeleniumNode(jobType)) {
+                // 이 노드의 능력 문제 — 시도 횟수를 쓰지 않고 미루며, 이후로는 Selenium 노드만 점유
+                log.info("🖥️ [Consumer] Selenium 필요로 연기: {} - {} ({}초 후)",
+                        job.getJobType(), job.getTargetId(), e.getRetryAfter().toSeconds());
+                try {
+                    leaseService.deferToSeleniumNode(job.getId(), e.getMessage(), e.getRetryAfter());
+                } catch (Exception recordError) {
+                    log.error("❌ [Consumer] 연기 기록 중 오류: {} - {}", job.getJobType(), job.getTargetId(), recordError);
+                }
+            } else {
+                log.warn("❌ [Consumer] Selenium 필요하지만 살아 있는 Selenium 노드 없음 - 실패 처리: {} - {}",
+                        job.getJobType(), job.getTargetId());
+                try {
+                    leaseService.fail(job.getId(), e.getMessage(), executor.getRetryBackoff(), null);
+                } catch (Exception recordError) {
+                    log.error("❌ [Consumer] 실패 기록 중 오류: {} - {}", job.getJobType(), job.getTargetId(), recordError);
+                }
+                crawlJobMetrics.recordFailed(jobType);
+            }
         } catch (Exception e) {
-            job.markAsFailed(e.getMessage());
+            Duration retryAfter = null;
+            if (e instanceof RetryAfterException retryAfterException) {
+                retryAfter = retryAfterException.getRetryAfter();
+                throttled = true;
+                log.warn("⏳ [Consumer] 업스트림 재시도 요청: {} - {} ({}초 후)",
+                        job.getJobType(), job.getTargetId(), retryAfter.toSeconds());
+            } else {
+                log.error("❌ [Consumer] 작업 처리 중 예외 발생: {} - {}",
+                        job.getJobType(), job.getTargetId(), e);
+            }
+            try {
+                leaseService.fail(job.getId(), e.getMessage(), executor.getRetryBackoff(), retryAfter);
+            } catch (Exception recordError) {
+                log.error("❌ [Consumer] 실패 기록 중 오류: {} - {}", job.getJobType(), job.getTargetId(), recordError);
+            }
             crawlJobMetrics.recordFailed(jobType);
-            log.error("❌ [Consumer] 작업 처리 중 예외 발생: {} - {}",
-                    job.getJobType(), job.getTargetId(), e);
         } finally {
+            heldJobIds.remove(job.getId());
             crawlJobMetrics.recordDuration(sample, jobType);
+            jobTuner.recordOutcome(jobType, System.currentTimeMillis() - startedAt,
+                    RateLimitWaitRecorder.drainMillis(), success, throttled);
+        }
+        refillIfDrained(jobType, executor);
+    }
+
+    /**
+     * 선점분이 워커 수 이하로 줄면(현재 작업 포함) 폴링을 기다리지 않고 바로 다음 분량을 점유
+     * — 적체가 있는 동안 큐가 워커를 계속 채우도록 함
+     */
+    private void refillIfDrained(JobType jobType, JobExecutor executor) {
+        if (workerPools.getInFlight(jobType) > workerPools.getConcurrency(jobType)) {
+            return;
+        }
+        try {
+            dispatchByType(jobType, executor, "refill");
+        } catch (Exception e) {
+            log.error("❌ [Consumer] {} 보충 배정 중 오류 발생", jobType, e);
+        }
+    }
+
+    /**
+     * 들고 있는 작업의 점유 연장 (heartbeat)
+     * 
+     * 풀 대기 중인 작업과 오래 걸리는 Selenium 작업이 lease-seconds를 넘겨도
+     * 다른 인스턴스의 만료 회수 대상이 되지 않도록 합니다.
+     */
+    @Scheduled(fixedDelayString = "${crawler.queue.heartbeat-interval-ms:60000}", initialDelay = 60000)
+    public void heartbeat() {
+        if (heldJobIds.isEmpty()) {
+            return;
+        }
+        List<Long> snapshot = List.copyOf(heldJobIds);
+        try {
+            int renewed = leaseService.renew(snapshot);
+            if (renewed < snapshot.size()) {
+                // 이미 끝나 기록된 작업이 스냅샷에 섞였거나, 만료돼 회수된 작업 (결과는 기록 시 버려짐)
+                log.debug("💓 [Consumer] 점유 연장 {}/{}건", renewed, snapshot.size());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [Consumer] 점유 연장 실패 ({}건): {}", snapshot.size(), e.getMessage());
         }
     }
 
@@ -185,12 +376,19 @@ public class CrawlJobConsumer {
     }
 
     /**
-     * 재시도 가능한 작업들을 다시 PENDING 상태로 변경
+     * 백오프가 끝난 RETRY 작업들을 다시 PENDING 상태로 변경
+     * 
+     * 점유 쿼리는 도래한 RETRY도 직접 가져가므로 처리 자체는 이 스케줄에 의존하지 않습니다.
+     * (상태별 큐 게이지에서 "백오프 대기"와 "처리 대기"를 구분하기 위한 정리 작업)
      */
     @Scheduled(cron = "0 0 * * * *") // 1시간마다
     @Transactional
     public void retryFailedJobs() {
-        // TODO: RETRY 상태인 작업들을 PENDING으로 변경
-        log.debug("🔄 재시도 작업 처리 스케줄 실행");
+        int promoted = crawlJobRepository.promoteDueRetries(LocalDateTime.now());
+        if (promoted > 0) {
+            log.info("🔄 [Consumer] 백오프 종료된 재시도 작업 {}개 → PENDING", promoted);
+        } else {
+            log.debug("🔄 재시도 작업 처리 스케줄 실행 - 대상 없음");
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.example.crawler.common.queue;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 끝난 크롤링 작업 이력 (dedup 키 테이블)
+ *
+ * 종료 상태(COMPLETED/FAILED/SKIPPED)가 된 작업은 CrawlJobCompactor가 crawl_job_queue에서
+ * 이 테이블로 옮긴다. 큐 테이블은 처리 대기/진행 중인 행만 남아 작게 유지되고,
+ * "이미 처리한 대상" 판정은 (job_type, target_id) PK 조회로 끝난다.
+ */
+@Entity
+@Table(name = "crawl_job_history")
+@IdClass(CrawlJobHistory.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlJobHistory {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private JobType jobType;
+
+    @Id
+    @Column(nullable = false, length = 100)
+    private String targetId;
+
+    /**
+     * 최종 상태 (COMPLETED, FAILED, SKIPPED)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus finalStatus;
+
+    @Builder.Default
+    private Integer retryCount = 0;
+
+    /**
+     * 마지막 에러 메시지 (FAILED일 때만 보존)
+     */
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    /**
+     * 종료 시각
+     */
+    @Column(nullable = false)
+    private LocalDateTime finishedAt;
+
+    /**
+     * 복합 키 (job_type, target_id)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private JobType jobType;
+        private String targetId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.crawler.common.queue;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 크롤링 작업 이력 레포지토리
+ */
+@Repository
+public interface CrawlJobHistoryRepository extends JpaRepository<CrawlJobHistory, CrawlJobHistory.Key> {
+
+    /**
+     * 이미 처리한 대상인지 확인 (중복 방지)
+     */
+    boolean existsByJobTypeAndTargetId(JobType jobType, String targetId);
+
+    /**
+     * 라이브러리 재크롤용: 지정 대상들의 이력을 지워 dedup을 해제한다.
+     */
+    @Modifying
+    @Query("delete from CrawlJobHistory h where h.jobType = :jobType and h.targetId in :targetIds")
+    int deleteByJobTypeAndTargetIdIn(@Param("jobType") JobType jobType,
+                                     @Param("targetIds") List<String> targetIds);
+
+    /**
+     * 최종 상태별 이력 수 (어드민 요약용 — 전체 집계이므로 주기 호출 금지)
+     */
+    @Query("SELECT h.finalStatus, COUNT(h) FROM CrawlJobHistory h GROUP BY h.finalStatus")
+    List<Object[]> getStatusStatistics();
+}
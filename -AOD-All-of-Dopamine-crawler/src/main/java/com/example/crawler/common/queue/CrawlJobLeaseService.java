@@ -0,0 +1,202 @@
+package com.example.crawler.common.queue;
+
+import com.example.crawler.common.node.NodeCapabilities;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 작업 점유(claim) / 결과 기록 전용 짧은 트랜잭션
+ *
+ * - claim: SKIP LOCKED로 조회 → PROCESSING + 점유자/만료 시각 기록 → 즉시 커밋
+ *   (네트워크 호출 동안 행 락과 DB 커넥션을 붙잡지 않음)
+ * - complete / fail / defer: 작업 하나의 결과를 각자의 작은 트랜잭션으로 기록
+ *   점유자가 바뀐 작업(만료 후 재점유 등)은 덮어쓰지 않는다.
+ * - deferToSeleniumNode: defer + requires_selenium 표시 — Selenium 비활성 노드(crawler.node.selenium-enabled=false)의
+ *   claim은 이 작업을 건너뛰어, API 전용 노드끼리 점유·연기를 되풀이하지 않는다.
+ * - renew: 들고 있는 작업의 점유를 연장 (긴 Selenium 작업이 만료되지 않도록 Consumer가 주기 호출)
+ * - reclaimExpiredLeases: 만료된 점유(죽은 인스턴스가 남긴 PROCESSING)를 RETRY로 회수
+ */
+@Slf4j
+@Service
+public class CrawlJobLeaseService {
+
+    /** 한 번에 회수하는 만료 작업 수 (나머지는 다음 주기에) */
+    static final int RECLAIM_BATCH_SIZE = 500;
+
+    private final CrawlJobRepository crawlJobRepository;
+    private final CrawlJobMetrics crawlJobMetrics;
+    private final String nodeId;
+    private final long leaseSeconds;
+    /** false면 Selenium 노드 몫으로 넘긴 작업을 점유하지 않음 */
+    private final boolean seleniumEnabled;
+
+    public CrawlJobLeaseService(CrawlJobRepository crawlJobRepository,
+                                CrawlJobMetrics crawlJobMetrics,
+                                @Value("${crawler.node-id:}") String nodeId,
+                                @Value("${crawler.queue.lease-seconds:600}") long leaseSeconds,
+                                @Value("${crawler.node.selenium-enabled:true}") boolean seleniumEnabled) {
+        this.crawlJobRepository = crawlJobRepository;
+        this.crawlJobMetrics = crawlJobMetrics;
+        this.nodeId = NodeCapabilities.resolveNodeId(nodeId);
+        this.leaseSeconds = leaseSeconds;
+        this.seleniumEnabled = seleniumEnabled;
+    }
+
+    /**
+     * 대기 작업을 최대 limit개 점유하고 커밋합니다.
+     *
+     * @return 점유된 작업 (트랜잭션 종료 후 detached)
+     */
+    @Transactional
+    public List<CrawlJob> claim(JobType jobType, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return stampLeases(crawlJobRepository.findPendingJobsByTypeWithLock(jobType, seleniumEnabled, now, limit), now);
+    }
+
+    /**
+     * 어드민 작업(CrawlJob.ADMIN_PRIORITY 이하)만 최대 limit개 점유하고 커밋합니다.
+     */
+    @Transactional
+    public List<CrawlJob> claimAdmin(JobType jobType, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return stampLeases(crawlJobRepository.findAdminJobsByTypeWithLock(
+                jobType, CrawlJob.ADMIN_PRIORITY, seleniumEnabled, now, limit), now);
+    }
+
+    private List<CrawlJob> stampLeases(List<CrawlJob> jobs, LocalDateTime now) {
+        LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+        for (CrawlJob job : jobs) {
+            job.claim(nodeId, expiresAt);
+        }
+        return jobs;
+    }
+
+    /**
+     * 작업 성공 기록
+     */
+    @Transactional
+    public void complete(Long jobId) {
+        crawlJobRepository.findById(jobId).ifPresent(job -> {
+            if (!holdsLease(job)) return;
+            job.markAsCompleted();
+        });
+    }
+
+    /**
+     * 작업 실패 기록 (재시도 가능 여부는 CrawlJob.markAsFailed가 판단, 즉시 재시도 가능)
+     */
+    @Transactional
+    public void fail(Long jobId, String errorMessage) {
+        fail(jobId, errorMessage, null, null);
+    }
+
+    /**
+     * 작업 실패 기록 + 백오프 정책에 따른 다음 시도 시각 예약
+     *
+     * @param backoff    JobType별 재시도 간격 정책
+     * @param retryAfter 업스트림이 알려준 최소 대기 (없으면 null)
+     */
+    @Transactional
+    public void fail(Long jobId, String errorMessage, RetryBackoff backoff, Duration retryAfter) {
+        crawlJobRepository.findById(jobId).ifPresent(job -> {
+            if (!holdsLease(job)) return;
+            job.markAsFailed(errorMessage, backoff, retryAfter);
+            if (job.getStatus() == JobStatus.RETRY && job.getNextAttemptAt() != null) {
+                log.debug("⏳ [Lease] {} - {} 재시도 예약: {} ({}회 실패)",
+                        job.getJobType(), job.getTargetId(), job.getNextAttemptAt(), job.getRetryCount());
+            }
+        });
+    }
+
+    /**
+     * 시도하지 않은 작업을 delay 이후로 미룸 (재시도 횟수 유지 — 서킷이 열려 보내지 않은 작업)
+     */
+    @Transactional
+    public void defer(Long jobId, String reason, Duration delay) {
+        crawlJobRepository.findById(jobId).ifPresent(job -> {
+            if (!holdsLease(job)) return;
+            job.defer(reason, delay);
+            log.debug("⏸️ [Lease] {} - {} 연기: {}", job.getJobType(), job.getTargetId(), job.getNextAttemptAt());
+        });
+    }
+
+    /**
+     * Selenium이 필요한 작업을 delay 이후로 미루고 Selenium 노드만 점유하도록 표시 (재시도 횟수 유지)
+     */
+    @Transactional
+    public void deferToSeleniumNode(Long jobId, String reason, Duration delay) {
+        crawlJobRepository.findById(jobId).ifPresent(job -> {
+            if (!holdsLease(job)) return;
+            job.deferToSeleniumNode(reason, delay);
+            log.debug("🖥️ [Lease] {} - {} Selenium 노드로 넘김: {}", job.getJobType(), job.getTargetId(), job.getNextAttemptAt());
+        });
+    }
+
+    /**
+     * 들고 있는 작업들의 점유 만료를 지금부터 lease-seconds 뒤로 연장합니다.
+     *
+     * @return 실제로 연장된 수 (이미 회수된 작업은 제외됨)
+     */
+    @Transactional
+    public int renew(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        return crawlJobRepository.renewLeases(jobIds, nodeId, LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+
+    /**
+     * 점유가 만료된 PROCESSING 작업을 RETRY(재시도 소진 시 FAILED)로 되돌립니다.
+     * 
+     * 모든 인스턴스가 실행해도 SKIP LOCKED로 같은 행을 두 번 회수하지 않습니다.
+     * 살아 있는 점유자는 heartbeat로 만료를 계속 미루므로 회수 대상이 되지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${crawler.queue.reclaim-interval-ms:60000}", initialDelay = 30000)
+    @Transactional
+    public void reclaimExpiredLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        List<CrawlJob> expired = crawlJobRepository.findExpiredLeasesWithLock(
+                now, now.minusSeconds(leaseSeconds), RECLAIM_BATCH_SIZE);
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<JobType, Integer> reclaimed = new EnumMap<>(JobType.class);
+        for (CrawlJob job : expired) {
+            job.reclaimExpiredLease();
+            reclaimed.merge(job.getJobType(), 1, Integer::sum);
+        }
+        reclaimed.forEach(crawlJobMetrics::recordLeaseReclaimed);
+        log.warn("♻️ [Lease] 점유 만료 작업 회수: {}", reclaimed);
+    }
+
+    private boolean holdsLease(CrawlJob job) {
+        if (job.isLeasedBy(nodeId)) {
+            return true;
+        }
+        log.warn("⚠️ [Lease] 점유를 잃은 작업의 결과는 기록하지 않음: {} - {} (현재 점유자: {}, 상태: {})",
+                job.getJobType(), job.getTargetId(), job.getLeaseOwner(), job.getStatus());
+        return false;
+    }
+
+    /** 이 인스턴스의 점유자 ID */
+    public String getNodeId() {
+        return nodeId;
+    }
+}
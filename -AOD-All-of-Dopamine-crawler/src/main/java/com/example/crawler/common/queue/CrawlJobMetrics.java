@@ -7,10 +7,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
 
 /**
  * crawl_job_queue 작업 큐 메트릭 (Micrometer -> Prometheus).
@@ -18,9 +24,23 @@ import java.util.concurrent.atomic.AtomicLong;
  * 노출 메트릭:
  * <ul>
  *   <li>{@code crawl_job_queue_size{status}}        - 상태별 큐 적재량 (30초마다 갱신되는 게이지)</li>
+ *   <li>{@code crawl_job_queue_depth{job_type,status}} - 타입별 대기/재시도/진행 중 작업 수</li>
+ *   <li>{@code crawl_job_compacted_total}            - 큐 → crawl_job_history 이동 누적</li>
  *   <li>{@code crawl_job_completed_total{job_type}} - 성공 완료 누적 카운터</li>
  *   <li>{@code crawl_job_failed_total{job_type}}    - 실패 누적 카운터</li>
  *   <li>{@code crawl_job_duration_seconds{job_type}}- 작업 실행 시간(히스토그램)</li>
+ *   <li>{@code crawl_job_worker_active{job_type}}   - JobType 풀에서 실행 중인 워커 수</li>
+ *   <li>{@code crawl_job_worker_queued{job_type}}   - JobType 풀에 제출됐지만 대기 중인 작업 수</li>
+ *   <li>{@code crawl_job_worker_max{job_type}}      - JobType 풀 워커 상한</li>
+ *   <li>{@code crawl_job_permits_available{scope}}  - 전역/Selenium 동시 실행 잔여 허가 수</li>
+ *   <li>{@code crawl_job_permits_running{job_type}} / {@code _weight} - 타입별 전역 허가 점유 수 / 공정 배분 가중치</li>
+ *   <li>{@code crawl_job_queue_wait_seconds{job_type}} - 시도 가능 시각부터 실행 시작까지 대기 (histogram)</li>
+ *   <li>{@code crawl_job_wakeup_total{job_type,source}} - 배정 시도 계기 (notify/refill/poll)</li>
+ *   <li>{@code crawl_job_lease_reclaimed_total{job_type}} - 점유 만료로 회수된 작업 수 (죽은 인스턴스가 남긴 PROCESSING)</li>
+ *   <li>{@code crawl_node_live}                      - 생존 신호가 유효한 크롤러 노드 수 (crawler_node)</li>
+ *   <li>{@code crawl_node_dead_total}                - 생존 신호가 끊겨 정리된 노드 수</li>
+ *   <li>{@code crawl_job_tuner_concurrency{job_type}} / {@code _batch} - 적응형 튜너의 현재 목표 동시성 / 배치 크기</li>
+ *   <li>{@code crawl_job_tuner_latency_ms{job_type}} / {@code _failure_rate} / {@code _limiter_wait_ms} - 튜너 입력 EWMA</li>
  * </ul>
  *
  * Grafana 대시보드/알람은 이 이름들을 그대로 참조한다.
@@ -32,13 +52,24 @@ public class CrawlJobMetrics {
     private final CrawlJobRepository crawlJobRepository;
     private final MeterRegistry meterRegistry;
 
+    /** 타입별 깊이 게이지를 두는 상태 (종료 상태는 압축되므로 제외) */
+    static final Set<JobStatus> ACTIVE_STATUSES = EnumSet.of(JobStatus.PENDING, JobStatus.RETRY, JobStatus.PROCESSING);
+
     /** 상태별 큐 깊이 게이지 백킹 값 */
     private final Map<JobStatus, AtomicLong> queueSizeByStatus = new EnumMap<>(JobStatus.class);
+    /** 생존 노드 수 게이지 백킹 값 (CrawlerNodeRegistry가 정리 주기마다 갱신) */
+    private final AtomicLong liveNodes = new AtomicLong(1);
+    /** (타입, 활성 상태)별 큐 깊이 게이지 백킹 값 */
+    private final Map<JobType, Map<JobStatus, AtomicLong>> queueDepth = new EnumMap<>(JobType.class);
 
     public CrawlJobMetrics(CrawlJobRepository crawlJobRepository, MeterRegistry meterRegistry) {
         this.crawlJobRepository = crawlJobRepository;
         this.meterRegistry = meterRegistry;
 
+        Gauge.builder("crawl.node.live", liveNodes, AtomicLong::get)
+                .description("생존 크롤러 노드 수")
+                .register(meterRegistry);
+
         // 상태별 큐 깊이 게이지를 모든 JobStatus에 대해 미리 등록 (값은 refreshQueueGauges가 갱신)
         for (JobStatus status : JobStatus.values()) {
             AtomicLong holder = new AtomicLong(0);
@@ -48,6 +79,19 @@ public class CrawlJobMetrics {
                     .tag("status", status.name())
                     .register(meterRegistry);
         }
+        for (JobType jobType : JobType.values()) {
+            Map<JobStatus, AtomicLong> byStatus = new EnumMap<>(JobStatus.class);
+            for (JobStatus status : ACTIVE_STATUSES) {
+                AtomicLong holder = new AtomicLong(0);
+                byStatus.put(status, holder);
+                Gauge.builder("crawl.job.queue.depth", holder, AtomicLong::get)
+                        .description("타입별 크롤 작업 큐 깊이")
+                        .tag("job_type", jobType.name())
+                        .tag("status", status.name())
+                        .register(meterRegistry);
+            }
+            queueDepth.put(jobType, byStatus);
+        }
     }
 
     /** 작업 실행 시간 측정 시작 */
@@ -65,6 +109,31 @@ public class CrawlJobMetrics {
         meterRegistry.counter("crawl.job.failed", "job_type", jobType.name()).increment();
     }
 
+    /** 타입별 배정 시도 계기 기록 (source: notify / refill / poll) */
+    public void recordWakeup(JobType jobType, String source) {
+        meterRegistry.counter("crawl.job.wakeup", "job_type", jobType.name(), "source", source).increment();
+    }
+
+    /** 점유 만료 회수 기록 */
+    public void recordLeaseReclaimed(JobType jobType, int count) {
+        meterRegistry.counter("crawl.job.lease.reclaimed", "job_type", jobType.name()).increment(count);
+    }
+
+    /** 생존 노드 수 갱신 */
+    public void setLiveNodes(long count) {
+        liveNodes.set(count);
+    }
+
+    /** 생존 신호가 끊겨 정리된 노드 수 */
+    public void recordDeadNodes(int count) {
+        meterRegistry.counter("crawl.node.dead").increment(count);
+    }
+
+    /** 큐 → 이력 압축 건수 기록 */
+    public void recordCompacted(int count) {
+        meterRegistry.counter("crawl.job.compacted").increment(count);
+    }
+
     /** 작업 실행 시간 기록 (job_type 태그) */
     public void recordDuration(Timer.Sample sample, JobType jobType) {
         sample.stop(Timer.builder("crawl.job.duration")
@@ -74,26 +143,136 @@ public class CrawlJobMetrics {
                 .register(meterRegistry));
     }
 
+    /** JobType 워커 풀 점유 게이지 등록 (실행 중 / 대기 / 상한) */
+    public void bindWorkerPool(JobType jobType, ThreadPoolExecutor pool) {
+        Gauge.builder("crawl.job.worker.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("JobType별 실행 중인 워커 수")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.worker.queued", pool, p -> p.getQueue().size())
+                .description("JobType별 풀 대기 작업 수")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.worker.max", pool, ThreadPoolExecutor::getMaximumPoolSize)
+                .description("JobType별 워커 상한")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+    }
+
+    /** 동시 실행 세마포어 잔여 허가 게이지 등록 (scope = global | selenium) */
+    public void bindPermits(String scope, IntSupplier availablePermits) {
+        Gauge.builder("crawl.job.permits.available", availablePermits, IntSupplier::getAsInt)
+                .description("동시 실행 잔여 허가 수")
+                .tag("scope", scope)
+                .strongReference(true) // 메서드 참조 람다는 다른 곳에서 참조하지 않음
+                .register(meterRegistry);
+    }
+
+    /** 타입별 전역 허가 점유 수와 가중치 (가중치 대비 몫을 대시보드에서 비교) */
+    public void bindFairShare(JobType jobType, WeightedFairPermits permits, int weight) {
+        Gauge.builder("crawl.job.permits.running", permits, p -> p.runningPermits(jobType))
+                .description("JobType별 전역 허가 점유 수 (어드민 작업 제외)")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.permits.weight", () -> weight)
+                .description("JobType별 공정 배분 가중치")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 큐 대기 시간 기록 — 시도 가능해진 시각(등록 또는 재시도 예정 시각)부터 워커가 실행을 시작할 때까지
+     * (점유 전 큐 대기 + 워커 풀/허가 대기 포함)
+     */
+    public void recordQueueWait(JobType jobType, LocalDateTime eligibleAt) {
+        if (eligibleAt == null) {
+            return;
+        }
+        Duration wait = Duration.between(eligibleAt, LocalDateTime.now());
+        Timer.builder("crawl.job.queue.wait")
+                .description("크롤 작업 큐 대기 시간")
+                .tag("job_type", jobType.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(wait.isNegative() ? Duration.ZERO : wait);
+    }
+
+    /** 적응형 튜너 목표값·관측 EWMA 게이지 등록 (처리량이 바뀐 이유를 대시보드에서 보기 위함) */
+    void bindTuner(JobType jobType, AdaptiveJobTuner.TypeState state) {
+        Gauge.builder("crawl.job.tuner.concurrency", state, AdaptiveJobTuner.TypeState::getConcurrency)
+                .description("튜너 목표 동시성")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.tuner.batch", state, AdaptiveJobTuner.TypeState::getBatchSize)
+                .description("튜너 목표 배치 크기")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.tuner.latency.ms", state, AdaptiveJobTuner.TypeState::getLatencyMs)
+                .description("작업 실행 시간 EWMA (ms)")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.tuner.failure.rate", state, AdaptiveJobTuner.TypeState::getFailureRate)
+                .description("작업 실패율 EWMA (0~1)")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+        Gauge.builder("crawl.job.tuner.limiter.wait.ms", state, AdaptiveJobTuner.TypeState::getLimiterWaitMs)
+                .description("작업당 레이트리미터 대기 EWMA (ms)")
+                .tag("job_type", jobType.name())
+                .register(meterRegistry);
+    }
+
     /**
      * 상태별 큐 깊이를 주기적으로 갱신하여 게이지에 반영한다.
-     * (게이지 supplier에서 매 스크랩마다 DB count를 치지 않도록, 30초 주기로 한 번만 집계)
+     * 
+     * crawl_job_queue_stats(트리거가 증감하는 (타입, 상태)별 카운터, V5)를 읽으므로 큐 크기와 무관하게 수십 행 조회로 끝난다.
+     * 카운터 테이블이 없으면(H2, 트리거 미설치) 기존 GROUP BY 집계로 폴백한다.
      */
     @Scheduled(fixedDelay = 30000, initialDelay = 5000)
     public void refreshQueueGauges() {
         try {
             // 통계에 빠진 상태는 0으로 보이도록 먼저 리셋
             queueSizeByStatus.values().forEach(h -> h.set(0));
-            List<Object[]> stats = crawlJobRepository.getStatusStatistics();
-            for (Object[] row : stats) {
-                JobStatus status = (JobStatus) row[0];
-                long count = ((Number) row[1]).longValue();
-                AtomicLong holder = queueSizeByStatus.get(status);
-                if (holder != null) {
-                    holder.set(count);
-                }
+            queueDepth.values().forEach(m -> m.values().forEach(h -> h.set(0)));
+            try {
+                applyIncrementalStats(crawlJobRepository.getIncrementalQueueStats());
+            } catch (Exception statsMissing) {
+                log.debug("crawl_job_queue_stats 조회 실패 - 전체 집계로 폴백: {}", statsMissing.getMessage());
+                applyStatusStatistics(crawlJobRepository.getStatusStatistics());
             }
         } catch (Exception e) {
             log.warn("crawl_job_queue_size 게이지 갱신 실패: {}", e.getMessage());
         }
     }
+
+    /** 행 = [job_type(String), status(String), job_count] */
+    void applyIncrementalStats(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            JobStatus status;
+            JobType jobType;
+            try {
+                jobType = JobType.valueOf((String) row[0]);
+                status = JobStatus.valueOf((String) row[1]);
+            } catch (IllegalArgumentException e) {
+                continue; // 제거된 타입/상태의 잔여 카운터
+            }
+            long count = ((Number) row[2]).longValue();
+            queueSizeByStatus.get(status).addAndGet(count);
+            AtomicLong depth = queueDepth.get(jobType).get(status);
+            if (depth != null) {
+                depth.set(count);
+            }
+        }
+    }
+
+    /** 행 = [JobStatus, count] (타입별 깊이는 채우지 않음) */
+    private void applyStatusStatistics(List<Object[]> stats) {
+        for (Object[] row : stats) {
+            JobStatus status = (JobStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            AtomicLong holder = queueSizeByStatus.get(status);
+            if (holder != null) {
+                holder.set(count);
+            }
+        }
+    }
 }
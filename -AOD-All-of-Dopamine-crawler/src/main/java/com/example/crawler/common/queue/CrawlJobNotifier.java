@@ -0,0 +1,59 @@
+package com.example.crawler.common.queue;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 작업 등록 알림 (PostgreSQL NOTIFY)
+ *
+ * 등록 트랜잭션 안에서 pg_notify를 호출하면 PostgreSQL이 커밋 시점에 전달하고,
+ * 롤백되면 함께 버린다. 수신은 CrawlJobWakeupListener가 담당한다.
+ *
+ * 알림은 최선 노력이다 — PostgreSQL이 아닌 DB(테스트용 H2 등)에서는 보내지 않고,
+ * 호출이 실패해도 등록 경로로 전파하지 않는다 (보조 폴링이 작업을 가져감).
+ */
+@Slf4j
+@Component
+public class CrawlJobNotifier {
+
+    /** 작업 등록 알림 채널 (payload = JobType 이름) */
+    public static final String CHANNEL = "crawl_jobs";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public CrawlJobNotifier(JdbcTemplate jdbcTemplate,
+                            DataSourceProperties dataSourceProperties,
+                            @Value("${crawler.queue.notify.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled && isPostgres(dataSourceProperties.determineUrl());
+    }
+
+    /**
+     * LISTEN/NOTIFY를 쓸 수 있는 DB인지 (CrawlJobWakeupListener와 같은 판정)
+     */
+    static boolean isPostgres(String url) {
+        return url != null && url.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * 해당 JobType에 새 작업이 들어왔음을 알림 (현재 트랜잭션 커밋 후 전달)
+     */
+    public void notifyEnqueued(JobType jobType) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null,
+                    CHANNEL, jobType.name());
+            log.debug("📣 [Notifier] {} 작업 등록 알림", jobType);
+        } catch (DataAccessException e) {
+            log.debug("📣 [Notifier] {} 작업 등록 알림 실패 - 폴링으로 처리: {}", jobType, e.getMessage());
+        }
+    }
+}
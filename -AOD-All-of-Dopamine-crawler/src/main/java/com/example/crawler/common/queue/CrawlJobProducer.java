@@ -2,11 +2,14 @@ package com.example.crawler.common.queue;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 크롤링 작업 생성기 (Producer)
@@ -18,7 +21,25 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CrawlJobProducer {
 
+    /**
+     * 멀티로우 INSERT 한 문장에 담는 행 수
+     * (행당 바인드 3개 → PostgreSQL 파라미터 한도 32767 이내, 문장 크기도 수십 KB 수준)
+     */
+    static final int BULK_CHUNK_SIZE = 1000;
+
     private final CrawlJobRepository crawlJobRepository;
+    private final CrawlJobHistoryRepository crawlJobHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CrawlJobNotifier crawlJobNotifier;
+
+    /**
+     * 일괄 등록 결과
+     *
+     * @param inserted 새로 등록된 작업 수
+     * @param skipped  이미 큐(uk_job_type_target)나 이력(crawl_job_history)에 있어 건너뛴 수
+     */
+    public record EnqueueResult(int inserted, int skipped) {
+    }
 
     /**
      * 크롤링 작업을 배치로 등록합니다.
@@ -30,33 +51,130 @@ public class CrawlJobProducer {
      */
     @Transactional
     public int createJobs(JobType jobType, List<String> targetIds, Integer priority) {
-        log.info("🔄 [Producer] {} 작업 생성 시작: {} 개", jobType, targetIds.size());
-        
-        List<CrawlJob> jobsToCreate = new ArrayList<>();
-        int skippedCount = 0;
+        return enqueueBulk(jobType, targetIds, priority).inserted();
+    }
+
+    /**
+     * 크롤링 작업을 집합 단위로 등록합니다.
+     *
+     * 대상 ID를 BULK_CHUNK_SIZE개씩 끊어 멀티로우 INSERT ... ON CONFLICT DO NOTHING으로 넣습니다.
+     * 중복 판정은 DB(uk_job_type_target 제약 + crawl_job_history PK)가 하므로 대상별 존재 확인 SELECT가 없습니다.
+     *
+     * @param jobType 작업 타입
+     * @param targetIds 크롤링 대상 ID (한 번만 순회)
+     * @param priority 우선순위
+     * @return 등록/중복 스킵 수
+     */
+    @Transactional
+    public EnqueueResult enqueueBulk(JobType jobType, Iterable<String> targetIds, Integer priority) {
+        return enqueue(jobType, targetIds, priority, false);
+    }
 
+    /**
+     * 이미 처리한 대상을 다시 수집하도록 등록합니다. (증분 동기화에서 변경이 확인된 대상용)
+     *
+     * 청크마다 crawl_job_history의 해당 이력을 지우고, 큐에 종료 상태(COMPLETED/FAILED/SKIPPED)로 남아 있는 행은
+     * PENDING으로 되살립니다. 대기·처리 중인 행은 그대로 둡니다 (곧 최신 상태로 수집되므로).
+     *
+     * ON CONFLICT DO UPDATE는 한 문장에서 같은 행을 두 번 고칠 수 없으므로(문장 전체가 실패)
+     * 청크로 나누기 전에 대상 ID의 중복을 순서를 유지한 채 제거합니다.
+     *
+     * @return 새로 등록되거나 되살린 수 / 대기·처리 중이라 건너뛴 수 (중복 ID는 한 번으로 셈)
+     */
+    @Transactional
+    public EnqueueResult enqueueRefresh(JobType jobType, Iterable<String> targetIds, Integer priority) {
+        Set<String> uniqueTargetIds = new LinkedHashSet<>();
+        targetIds.forEach(uniqueTargetIds::add);
+        return enqueue(jobType, uniqueTargetIds, priority, true);
+    }
+
+    private EnqueueResult enqueue(JobType jobType, Iterable<String> targetIds, Integer priority, boolean refresh) {
+        int effectivePriority = priority != null ? priority : 5;
+        log.info("🔄 [Producer] {} 작업 일괄 {} 시작", jobType, refresh ? "재수집 등록" : "등록");
+
+        int inserted = 0;
+        int total = 0;
+        List<String> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
         for (String targetId : targetIds) {
-            // 중복 체크
-            if (crawlJobRepository.existsByJobTypeAndTargetId(jobType, targetId)) {
-                skippedCount++;
-                continue;
+            chunk.add(targetId);
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                inserted += refresh ? refreshChunk(jobType, chunk, effectivePriority)
+                        : insertChunk(jobType, chunk, effectivePriority);
+                total += chunk.size();
+                chunk.clear();
             }
+        }
+        if (!chunk.isEmpty()) {
+            inserted += refresh ? refreshChunk(jobType, chunk, effectivePriority)
+                    : insertChunk(jobType, chunk, effectivePriority);
+            total += chunk.size();
+        }
 
-            CrawlJob job = CrawlJob.builder()
-                    .jobType(jobType)
-                    .targetId(targetId)
-                    .priority(priority != null ? priority : 5)
-                    .build();
-            
-            jobsToCreate.add(job);
+        if (inserted > 0) {
+            crawlJobNotifier.notifyEnqueued(jobType);
         }
 
-        crawlJobRepository.saveAll(jobsToCreate);
-        
-        log.info("✅ [Producer] {} 작업 생성 완료: {} 개 등록, {} 개 중복 스킵", 
-                jobType, jobsToCreate.size(), skippedCount);
-        
-        return jobsToCreate.size();
+        EnqueueResult result = new EnqueueResult(inserted, total - inserted);
+        log.info("✅ [Producer] {} 작업 생성 완료: {} 개 등록, {} 개 중복 스킵",
+                jobType, result.inserted(), result.skipped());
+        return result;
+    }
+
+    /**
+     * 청크 하나를 멀티로우 INSERT로 넣고 실제 삽입된 행 수를 반환
+     * (crawl_job_history에 있는 대상 = 이미 처리 후 압축된 작업도 건너뜀)
+     */
+    private int insertChunk(JobType jobType, List<String> targetIds, int priority) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO crawl_job_queue " +
+                "(job_type, target_id, priority, status, retry_count, max_retries, created_at, updated_at) " +
+                "SELECT v.job_type, v.target_id, v.priority, 'PENDING', 0, 3, now(), now() FROM (VALUES ");
+        Object[] args = new Object[targetIds.size() * 3];
+        for (int i = 0; i < targetIds.size(); i++) {
+            if (i > 0) sql.append(',');
+            sql.append("(?, ?, ?)");
+            args[i * 3] = jobType.name();
+            args[i * 3 + 1] = targetIds.get(i);
+            args[i * 3 + 2] = priority;
+        }
+        sql.append(") AS v(job_type, target_id, priority)")
+                .append(" WHERE NOT EXISTS (SELECT 1 FROM crawl_job_history h")
+                .append(" WHERE h.job_type = v.job_type AND h.target_id = v.target_id)")
+                .append(" ON CONFLICT (job_type, target_id) DO NOTHING");
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * 청크 하나의 이력을 지우고 다시 등록 (종료 상태로 큐에 남은 행은 PENDING으로 되살림)
+     */
+    private int refreshChunk(JobType jobType, List<String> targetIds, int priority) {
+        StringBuilder delete = new StringBuilder("DELETE FROM crawl_job_history WHERE job_type = ? AND target_id IN (");
+        Object[] deleteArgs = new Object[targetIds.size() + 1];
+        deleteArgs[0] = jobType.name();
+        for (int i = 0; i < targetIds.size(); i++) {
+            if (i > 0) delete.append(',');
+            delete.append('?');
+            deleteArgs[i + 1] = targetIds.get(i);
+        }
+        jdbcTemplate.update(delete.append(')').toString(), deleteArgs);
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO crawl_job_queue " +
+                "(job_type, target_id, priority, status, retry_count, max_retries, created_at, updated_at) VALUES ");
+        Object[] args = new Object[targetIds.size() * 3];
+        for (int i = 0; i < targetIds.size(); i++) {
+            if (i > 0) sql.append(',');
+            sql.append("(?, ?, ?, 'PENDING', 0, 3, now(), now())");
+            args[i * 3] = jobType.name();
+            args[i * 3 + 1] = targetIds.get(i);
+            args[i * 3 + 2] = priority;
+        }
+        sql.append(" ON CONFLICT (job_type, target_id) DO UPDATE")
+                .append(" SET status = 'PENDING', priority = EXCLUDED.priority, retry_count = 0, error_message = NULL,")
+                .append(" next_attempt_at = NULL, started_at = NULL, completed_at = NULL,")
+                .append(" lease_owner = NULL, lease_expires_at = NULL, requires_selenium = FALSE, updated_at = now()")
+                .append(" WHERE crawl_job_queue.status IN ('COMPLETED', 'FAILED', 'SKIPPED')");
+        return jdbcTemplate.update(sql.toString(), args);
     }
 
     /**
@@ -64,7 +182,8 @@ public class CrawlJobProducer {
      */
     @Transactional
     public CrawlJob createJob(JobType jobType, String targetId, Integer priority, String metadata) {
-        if (crawlJobRepository.existsByJobTypeAndTargetId(jobType, targetId)) {
+        if (crawlJobRepository.existsByJobTypeAndTargetId(jobType, targetId)
+                || crawlJobHistoryRepository.existsByJobTypeAndTargetId(jobType, targetId)) {
             log.debug("⚠️ [Producer] 중복 작업 건너뜀: {} - {}", jobType, targetId);
             return null;
         }
@@ -76,6 +195,8 @@ public class CrawlJobProducer {
                 .metadata(metadata)
                 .build();
 
-        return crawlJobRepository.save(job);
+        CrawlJob saved = crawlJobRepository.save(job);
+        crawlJobNotifier.notifyEnqueued(jobType);
+        return saved;
     }
 }
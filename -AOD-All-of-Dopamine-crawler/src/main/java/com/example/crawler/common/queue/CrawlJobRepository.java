@@ -3,10 +3,14 @@ package com.example.crawler.common.queue;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,36 +19,133 @@ import java.util.List;
 @Repository
 public interface CrawlJobRepository extends JpaRepository<CrawlJob, Long> {
 
+    /** 잠긴 행을 기다리지 않고 건너뛰는 락 타임아웃 값 (Hibernate LockOptions.SKIP_LOCKED) */
+    String SKIP_LOCKED_HINT = "jakarta.persistence.lock.timeout";
+    String SKIP_LOCKED = "-2";
+
     /**
      * 대기중인 작업을 우선순위 순으로 가져옵니다.
      * 
      * SKIP LOCKED: 다른 트랜잭션이 이미 처리 중인 행은 건너뜁니다.
      * 이를 통해 멀티 인스턴스 환경에서도 동일 작업이 중복 처리되지 않습니다.
      * 
+     * (lock.timeout=-2 → Hibernate가 PostgreSQL에서 FOR UPDATE SKIP LOCKED로 렌더링)
+     * 
+     * @param now   이 시각까지 도래한(nextAttemptAt) 작업만 대상
      * @param limit 가져올 작업 수
      * @return 대기중인 작업 리스트
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SKIP_LOCKED_HINT, value = SKIP_LOCKED))
     @Query(value = """
         SELECT j FROM CrawlJob j 
         WHERE j.status IN ('PENDING', 'RETRY') 
+        AND (j.nextAttemptAt IS NULL OR j.nextAttemptAt <= :now) 
         ORDER BY j.priority ASC, j.createdAt ASC 
         LIMIT :limit
         """)
-    List<CrawlJob> findPendingJobsWithLock(@Param("limit") int limit);
+    List<CrawlJob> findPendingJobsWithLock(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 우선순위 노화(aging) 정렬식 — 1시간 대기할 때마다 우선순위 1단계만큼 앞당겨진다.
+     * 
+     * 유효 우선순위 = priority - 대기시간/1h 의 정렬은 now가 모든 행에 같으므로
+     * created_at + priority × 1h (가상 마감 시각) 정렬과 같다. now가 빠진 불변식이라
+     * 식 인덱스 idx_crawl_job_aged_claim(DatabaseIndexInitializer / V6)으로 정렬 없이 훑을 수 있다.
+     * (인덱스 식과 문자 그대로 같아야 하므로 두 곳 모두 이 상수를 쓴다)
+     */
+    String AGED_PRIORITY_ORDER = "created_at + priority * INTERVAL '1 hour'";
+
+    /**
+     * 특정 타입의 시도 가능한(nextAttemptAt 도래) 대기 작업을 노화 우선순위 순으로 가져옵니다. (SKIP LOCKED)
+     * 
+     * 오래 기다린 낮은 우선순위 작업이 높은 우선순위 작업의 연속 유입에 무한히 밀리지 않습니다.
+     * (예: 우선순위 3 재크롤이 계속 들어와도 2시간 넘게 기다린 우선순위 5 작업이 먼저 나감)
+     * FOR UPDATE 힌트가 네이티브 쿼리에는 적용되지 않아 SKIP LOCKED를 직접 씁니다.
+     *
+     * @param seleniumEnabled false면 Selenium 노드 몫으로 넘긴 작업(requires_selenium)은 건너뜀
+     */
+    @Query(value = "SELECT * FROM crawl_job_queue "
+            + "WHERE job_type = :#{#jobType.name()} "
+            + "AND status IN ('PENDING', 'RETRY') "
+            + "AND (:seleniumEnabled OR requires_selenium IS NOT TRUE) "
+            + "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) "
+            + "ORDER BY " + AGED_PRIORITY_ORDER + " "
+            + "LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<CrawlJob> findPendingJobsByTypeWithLock(@Param("jobType") JobType jobType,
+                                                 @Param("seleniumEnabled") boolean seleniumEnabled,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("limit") int limit);
 
     /**
-     * 특정 타입의 대기중인 작업을 우선순위 순으로 가져옵니다.
+     * 특정 타입의 어드민 작업(priority ≤ maxPriority)을 먼저 들어온 순으로 가져옵니다. (SKIP LOCKED)
+     * 
+     * 부분 인덱스 idx_crawl_job_claimable(job_type, priority, created_at, next_attempt_at)의
+     * 앞부분만 훑으므로 어드민 작업이 없으면 인덱스 탐색 한 번으로 끝납니다.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SKIP_LOCKED_HINT, value = SKIP_LOCKED))
     @Query(value = """
         SELECT j FROM CrawlJob j 
         WHERE j.jobType = :jobType 
+        AND j.priority <= :maxPriority 
         AND j.status IN ('PENDING', 'RETRY') 
+        AND (:seleniumEnabled = true OR j.requiresSelenium IS NULL OR j.requiresSelenium = false) 
+        AND (j.nextAttemptAt IS NULL OR j.nextAttemptAt <= :now) 
         ORDER BY j.priority ASC, j.createdAt ASC 
         LIMIT :limit
         """)
-    List<CrawlJob> findPendingJobsByTypeWithLock(@Param("jobType") JobType jobType, @Param("limit") int limit);
+    List<CrawlJob> findAdminJobsByTypeWithLock(@Param("jobType") JobType jobType,
+                                               @Param("maxPriority") int maxPriority,
+                                               @Param("seleniumEnabled") boolean seleniumEnabled,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("limit") int limit);
+
+    /**
+     * 점유가 만료된 PROCESSING 작업을 가져옵니다. (SKIP LOCKED)
+     * 
+     * lease 컬럼 도입 이전에 PROCESSING으로 남은 행은 updatedAt이 staleBefore보다 오래되면 만료로 봅니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SKIP_LOCKED_HINT, value = SKIP_LOCKED))
+    @Query(value = """
+        SELECT j FROM CrawlJob j 
+        WHERE j.status = 'PROCESSING' 
+        AND (j.leaseExpiresAt < :now 
+             OR (j.leaseExpiresAt IS NULL AND j.updatedAt < :staleBefore)) 
+        ORDER BY j.id ASC 
+        LIMIT :limit
+        """)
+    List<CrawlJob> findExpiredLeasesWithLock(@Param("now") LocalDateTime now,
+                                             @Param("staleBefore") LocalDateTime staleBefore,
+                                             @Param("limit") int limit);
+
+    /**
+     * 점유 연장 (heartbeat) — 아직 이 점유자가 들고 있는 작업만 갱신
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("""
+        UPDATE CrawlJob j SET j.leaseExpiresAt = :expiresAt 
+        WHERE j.id IN :ids 
+        AND j.status = com.example.crawler.common.queue.JobStatus.PROCESSING 
+        AND j.leaseOwner = :owner
+        """)
+    int renewLeases(@Param("ids") Collection<Long> ids,
+                    @Param("owner") String owner,
+                    @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 죽은 노드가 점유한 작업의 lease를 즉시 만료 (다음 reclaimExpiredLeases에서 회수됨)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("""
+        UPDATE CrawlJob j SET j.leaseExpiresAt = :now 
+        WHERE j.status = com.example.crawler.common.queue.JobStatus.PROCESSING 
+        AND j.leaseOwner IN :owners
+        """)
+    int expireLeasesOwnedBy(@Param("owners") Collection<String> owners, @Param("now") LocalDateTime now);
 
     /**
      * 특정 타입의 대기중인 작업 수 조회
@@ -66,7 +167,26 @@ public interface CrawlJobRepository extends JpaRepository<CrawlJob, Long> {
                                      @Param("targetIds") List<String> targetIds);
 
     /**
-     * 상태별 작업 수 통계
+     * 백오프가 끝난 RETRY 작업을 PENDING으로 되돌립니다. (상태 통계상 "대기 중"으로 집계되도록)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("""
+        UPDATE CrawlJob j SET j.status = com.example.crawler.common.queue.JobStatus.PENDING, j.updatedAt = :now 
+        WHERE j.status = com.example.crawler.common.queue.JobStatus.RETRY 
+        AND (j.nextAttemptAt IS NULL OR j.nextAttemptAt <= :now)
+        """)
+    int promoteDueRetries(@Param("now") LocalDateTime now);
+
+    /**
+     * (타입, 상태)별 작업 수 — 트리거가 유지하는 카운터 테이블 조회 (V5, 전체 스캔 없음)
+     * 
+     * @return [job_type, status, job_count]
+     */
+    @Query(value = "SELECT job_type, status, job_count FROM crawl_job_queue_stats", nativeQuery = true)
+    List<Object[]> getIncrementalQueueStats();
+
+    /**
+     * 상태별 작업 수 통계 (전체 GROUP BY — 카운터 테이블이 없을 때의 폴백)
      */
     @Query("SELECT j.status, COUNT(j) FROM CrawlJob j GROUP BY j.status")
     List<Object[]> getStatusStatistics();
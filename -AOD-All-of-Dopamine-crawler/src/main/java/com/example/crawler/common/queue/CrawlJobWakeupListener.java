@@ -0,0 +1,121 @@
+package com.example.crawler.common.queue;
+
+import com.example.crawler.util.InterruptibleSleep;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 작업 등록 알림 수신기 (PostgreSQL LISTEN)
+ *
+ * Hikari 풀과 별개인 전용 커넥션 하나로 LISTEN crawl_jobs를 유지하고,
+ * 알림이 오면 해당 JobType만 CrawlJobConsumer.wakeUp으로 즉시 배정한다.
+ * 커넥션이 끊기면 재연결하며, 그동안은 보조 폴링이 작업을 가져간다.
+ * PostgreSQL이 아닌 DB(테스트용 H2 등)에서는 시작하지 않는다.
+ */
+@Slf4j
+@Component
+public class CrawlJobWakeupListener {
+
+    /** getNotifications 대기 상한 — 종료 신호 확인 주기이기도 함 */
+    private static final int RECEIVE_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CrawlJobConsumer crawlJobConsumer;
+    private final boolean enabled;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public CrawlJobWakeupListener(DataSourceProperties dataSourceProperties,
+                                  CrawlJobConsumer crawlJobConsumer,
+                                  @Value("${crawler.queue.notify.enabled:true}") boolean enabled) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.crawlJobConsumer = crawlJobConsumer;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("📡 [Listener] 작업 알림 비활성화 - 폴링만 사용");
+            return;
+        }
+        String url = dataSourceProperties.determineUrl();
+        if (!CrawlJobNotifier.isPostgres(url)) {
+            log.info("📡 [Listener] PostgreSQL이 아니므로 LISTEN 생략 - 폴링만 사용 ({})", url);
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(() -> listenLoop(url), "CrawlJob-Listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    private void listenLoop(String url) {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url,
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CrawlJobNotifier.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("📡 [Listener] LISTEN {} 시작", CrawlJobNotifier.CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MS);
+                    if (notifications == null || notifications.length == 0) {
+                        continue;
+                    }
+                    // 같은 타입의 연속 알림(청크 커밋 여러 번)은 한 번만 배정
+                    for (JobType jobType : toJobTypes(notifications)) {
+                        crawlJobConsumer.wakeUp(jobType, "notify");
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("⚠️ [Listener] LISTEN 연결 끊김 - {}ms 후 재연결: {}", RECONNECT_DELAY_MS, e.getMessage());
+                if (!InterruptibleSleep.sleep(RECONNECT_DELAY_MS)) {
+                    break;
+                }
+            }
+        }
+        log.info("📡 [Listener] LISTEN 종료");
+    }
+
+    static Set<JobType> toJobTypes(PGNotification[] notifications) {
+        Set<JobType> jobTypes = EnumSet.noneOf(JobType.class);
+        for (PGNotification notification : notifications) {
+            try {
+                jobTypes.add(JobType.valueOf(notification.getParameter()));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                log.debug("⏭️ [Listener] 알 수 없는 알림 payload 무시: {}", notification.getParameter());
+            }
+        }
+        return jobTypes;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.crawler.common.queue;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JobType별 전용 워커 풀 + 동시 실행 세마포어
+ *
+ * - 각 JobType은 Executor의 getMaxConcurrency()만큼 워커 스레드를 가진 전용 풀에서 실행된다.
+ *   (한 플랫폼의 적체가 다른 플랫폼 워커를 잡아먹지 않음)
+ * - 전역 허가: 타입과 무관하게 동시에 실행되는 작업 수 상한 (EC2 t3.small 안전 한계)
+ *   빈 허가는 crawler.queue.weights.<JobType> 가중치에 따라 타입 간에 나눈다 (WeightedFairPermits).
+ * - 어드민 풀: 사용자 요청 작업(CrawlJob.ADMIN_PRIORITY) 전용 워커. 전역 허가 중 admin-reserved-permits개를
+ *   예약해 두어, 배치 적체로 타입 풀과 허가가 모두 찼어도 바로 실행된다.
+ * - Selenium 세마포어: Chrome을 띄우는 작업의 동시 실행 상한
+ */
+@Slf4j
+@Component
+public class CrawlJobWorkerPools {
+
+    private final Map<JobType, ThreadPoolTaskExecutor> pools = new EnumMap<>(JobType.class);
+    /** 제출됐지만 아직 끝나지 않은 작업 수 (대기 + 실행 중) */
+    private final Map<JobType, AtomicInteger> inFlight = new EnumMap<>(JobType.class);
+    private final WeightedFairPermits globalPermits;
+    private final Semaphore seleniumPermits;
+    /** 어드민 작업 전용 풀 (예약 허가가 0이면 없음 → 어드민 작업도 타입 풀로) */
+    private final ThreadPoolTaskExecutor adminPool;
+    private final AtomicInteger adminInFlight = new AtomicInteger();
+
+    public CrawlJobWorkerPools(JobExecutorRegistry executorRegistry,
+                               CrawlJobMetrics crawlJobMetrics,
+                               Environment environment,
+                               @Value("${crawler.queue.max-concurrent-jobs:10}") int maxConcurrentJobs,
+                               @Value("${crawler.queue.max-selenium-jobs:2}") int maxSeleniumJobs,
+                               @Value("${crawler.queue.admin-reserved-permits:1}") int adminReservedPermits) {
+        Map<JobType, Integer> weights = new EnumMap<>(JobType.class);
+        for (JobType jobType : JobType.values()) {
+            weights.put(jobType, environment.getProperty("crawler.queue.weights." + jobType, Integer.class, 1));
+        }
+        this.globalPermits = new WeightedFairPermits(maxConcurrentJobs, adminReservedPermits, weights);
+        this.seleniumPermits = new Semaphore(maxSeleniumJobs, true);
+
+        for (JobExecutor executor : executorRegistry.getAllExecutors().values()) {
+            JobType jobType = executor.getJobType();
+            ThreadPoolTaskExecutor pool = createPool("CrawlWorker-" + jobType + "-", executor.getMaxConcurrency());
+            pools.put(jobType, pool);
+            inFlight.put(jobType, new AtomicInteger());
+            crawlJobMetrics.bindWorkerPool(jobType, pool.getThreadPoolExecutor());
+            crawlJobMetrics.bindFairShare(jobType, globalPermits, weights.get(jobType));
+        }
+        int reserved = globalPermits.getAdminReserved();
+        this.adminPool = reserved > 0 ? createPool("CrawlWorker-ADMIN-", reserved) : null;
+        crawlJobMetrics.bindPermits("global", globalPermits::availablePermits);
+        crawlJobMetrics.bindPermits("selenium", seleniumPermits::availablePermits);
+
+        log.info("🧵 [WorkerPools] 초기화 완료 - 전역 {}개(어드민 예약 {}), Selenium {}개, 풀 {}",
+                maxConcurrentJobs, reserved, maxSeleniumJobs, describePools());
+    }
+
+    private ThreadPoolTaskExecutor createPool(String threadNamePrefix, int concurrency) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(Math.max(1, concurrency));
+        pool.setMaxPoolSize(Math.max(1, concurrency));
+        pool.setThreadNamePrefix(threadNamePrefix);
+        pool.setWaitForTasksToCompleteOnShutdown(true);
+        pool.setAwaitTerminationSeconds(60);
+        pool.initialize();
+        return pool;
+    }
+
+    /**
+     * 작업을 해당 JobType 풀에 제출합니다.
+     * 워커는 실행 직전에 (Selenium →) 전역 순서로 허가를 얻고, 끝나면 역순으로 반납합니다.
+     */
+    public Future<?> submit(JobExecutor executor, Runnable task) {
+        return submit(executor, task, false);
+    }
+
+    /**
+     * @param admin true면 어드민 풀에서 예약 허가로 실행 (어드민 풀이 없으면 일반 제출)
+     */
+    public Future<?> submit(JobExecutor executor, Runnable task, boolean admin) {
+        JobType jobType = executor.getJobType();
+        boolean adminLane = admin && adminPool != null;
+        ThreadPoolTaskExecutor pool = adminLane ? adminPool : pools.get(jobType);
+        if (pool == null) {
+            throw new IllegalArgumentException("워커 풀이 없는 작업 타입: " + jobType);
+        }
+        boolean selenium = executor.usesSelenium();
+        AtomicInteger counter = adminLane ? adminInFlight : inFlight.get(jobType);
+        counter.incrementAndGet();
+        try {
+            return pool.submit(() -> {
+                try {
+                    runWithPermits(jobType, adminLane, selenium, task);
+                } finally {
+                    counter.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            counter.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void runWithPermits(JobType jobType, boolean admin, boolean selenium, Runnable task) {
+        try {
+            if (selenium) {
+                seleniumPermits.acquire();
+            }
+            try {
+                globalPermits.acquire(jobType, admin);
+            } catch (InterruptedException e) {
+                if (selenium) seleniumPermits.release();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("🛑 [WorkerPools] 허가 대기 중 인터럽트 - 작업 미실행");
+            return;
+        }
+
+        try {
+            task.run();
+        } finally {
+            globalPermits.release(jobType, admin);
+            if (selenium) {
+                seleniumPermits.release();
+            }
+        }
+    }
+
+    /**
+     * JobType 풀의 워커 수 (풀이 없으면 0)
+     */
+    public int getConcurrency(JobType jobType) {
+        ThreadPoolTaskExecutor pool = pools.get(jobType);
+        return pool != null ? pool.getMaxPoolSize() : 0;
+    }
+
+    /**
+     * JobType 풀의 워커 수 변경 (AdaptiveJobTuner)
+     * 늘릴 때는 max → core, 줄일 때는 core → max 순서로 바꿔 core > max 상태를 만들지 않는다.
+     * 줄여도 실행 중인 작업은 끝까지 돌고, 남는 스레드는 유휴가 되면 정리된다.
+     */
+    public void resize(JobType jobType, int concurrency) {
+        ThreadPoolTaskExecutor pool = pools.get(jobType);
+        if (pool == null) {
+            return;
+        }
+        int target = Math.max(1, concurrency);
+        if (target > pool.getMaxPoolSize()) {
+            pool.setMaxPoolSize(target);
+            pool.setCorePoolSize(target);
+        } else {
+            pool.setCorePoolSize(target);
+            pool.setMaxPoolSize(target);
+        }
+    }
+
+    /**
+     * JobType 풀에 제출됐지만 아직 끝나지 않은 작업 수
+     */
+    public int getInFlight(JobType jobType) {
+        AtomicInteger counter = inFlight.get(jobType);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * 어드민 풀에 더 받을 수 있는 작업 수 (어드민 풀이 없으면 0)
+     */
+    public int getAdminCapacity() {
+        return adminPool != null ? Math.max(0, adminPool.getMaxPoolSize() - adminInFlight.get()) : 0;
+    }
+
+    private String describePools() {
+        StringBuilder sb = new StringBuilder();
+        pools.forEach((type, pool) -> sb.append(type).append(":").append(pool.getMaxPoolSize()).append(", "));
+        if (sb.length() > 2) sb.setLength(sb.length() - 2);
+        return sb.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.values().forEach(ThreadPoolTaskExecutor::shutdown);
+        if (adminPool != null) {
+            adminPool.shutdown();
+        }
+        log.info("🧵 [WorkerPools] 워커 풀 종료");
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.crawler.common.queue;
 
+import java.time.Duration;
+
 /**
  * 크롤링 작업 실행 인터페이스
  * 
@@ -42,4 +44,36 @@ public interface JobExecutor {
         int batchSize = (int) (5000 / avgTime);
         return Math.max(1, Math.min(20, batchSize));
     }
+
+    /**
+     * 이 작업 타입 전용 워커 풀의 스레드 수
+     * Consumer가 JobType별로 동시에 실행할 수 있는 최대 작업 수
+     */
+    default int getMaxConcurrency() {
+        return 2;
+    }
+
+    /**
+     * Selenium(Chrome) 사용 여부
+     * true면 전역 Selenium 동시 실행 한도(MAX_SELENIUM_JOBS)가 함께 적용됨
+     */
+    default boolean usesSelenium() {
+        return false;
+    }
+
+    /**
+     * 실패 후 재시도 간격 정책
+     * Consumer가 실패 기록 시 다음 시도 시각(nextAttemptAt)을 계산하는 데 사용
+     */
+    default RetryBackoff getRetryBackoff() {
+        return RetryBackoff.DEFAULT;
+    }
+
+    /**
+     * 업스트림 플랫폼의 서킷 브레이커 키 (CircuitBreakerRegistry, null이면 서킷 없음)
+     * 서킷이 열려 있는 동안 Consumer가 이 타입의 작업을 점유하지 않음
+     */
+    default String getCircuitBreakerKey() {
+        return null;
+    }
 }
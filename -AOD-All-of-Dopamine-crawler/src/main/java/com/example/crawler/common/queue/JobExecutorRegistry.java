@@ -1,9 +1,11 @@
 package com.example.crawler.common.queue;
 
+import com.example.crawler.common.node.NodeCapabilities;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,14 +19,28 @@ import java.util.Map;
 @Component
 public class JobExecutorRegistry {
 
-    private final Map<JobType, JobExecutor> executors = new HashMap<>();
+    private final Map<JobType, JobExecutor> executors = new EnumMap<>(JobType.class);
 
     /**
-     * Spring이 모든 JobExecutor 빈을 주입
+     * 모든 Executor를 등록 (단일 노드/테스트용)
      */
     public JobExecutorRegistry(List<JobExecutor> jobExecutors) {
+        this(jobExecutors, NodeCapabilities.all());
+    }
+
+    /**
+     * Spring이 모든 JobExecutor 빈을 주입 — 이 노드가 실행할 수 없는 타입은 등록하지 않음
+     * (등록되지 않은 타입은 점유·워커 풀·튜너 대상에서 빠지고, 다른 노드가 가져감)
+     */
+    @Autowired
+    public JobExecutorRegistry(List<JobExecutor> jobExecutors, NodeCapabilities nodeCapabilities) {
         for (JobExecutor executor : jobExecutors) {
             JobType jobType = executor.getJobType();
+            if (!nodeCapabilities.supports(executor)) {
+                log.info("⏭️ [Registry] 이 노드에서 실행하지 않는 타입: {} (Selenium {}, 노드 {})",
+                        jobType, executor.usesSelenium(), nodeCapabilities.getNodeId());
+                continue;
+            }
             executors.put(jobType, executor);
             log.info("📌 [Registry] JobExecutor 등록: {} -> {} (평균 {}ms, 권장 배치 {}개)",
                     jobType,
@@ -46,9 +62,16 @@ public class JobExecutorRegistry {
     }
 
     /**
-     * 등록된 모든 JobType 가져오기
+     * JobType에 해당하는 Executor 조회 (없으면 null)
+     */
+    public JobExecutor findExecutor(JobType jobType) {
+        return executors.get(jobType);
+    }
+
+    /**
+     * 등록된 모든 JobType 가져오기 (JobType 선언 순서)
      */
     public Map<JobType, JobExecutor> getAllExecutors() {
-        return new HashMap<>(executors);
+        return new EnumMap<>(executors);
     }
 }
@@ -0,0 +1,31 @@
+package com.example.crawler.common.queue;
+
+/**
+ * 레이트리미터 대기 시간 수집 (워커 스레드 단위)
+ *
+ * 작업은 워커 스레드 하나에서 동기로 실행되므로, 레이트리미터가 대기한 시간을
+ * 스레드 로컬에 누적해 두면 Consumer가 작업 종료 시 꺼내 작업별 대기 시간으로 쓸 수 있다.
+ */
+public final class RateLimitWaitRecorder {
+
+    private static final ThreadLocal<long[]> WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private RateLimitWaitRecorder() {
+        // 유틸리티 클래스는 인스턴스화 방지
+    }
+
+    /** 레이트리미터가 이 스레드에서 기다린 시간 추가 */
+    public static void record(long waitNanos) {
+        if (waitNanos > 0) {
+            WAIT_NANOS.get()[0] += waitNanos;
+        }
+    }
+
+    /** 누적 대기 시간(ms)을 꺼내고 0으로 초기화 */
+    public static long drainMillis() {
+        long[] holder = WAIT_NANOS.get();
+        long nanos = holder[0];
+        holder[0] = 0;
+        return nanos / 1_000_000;
+    }
+}
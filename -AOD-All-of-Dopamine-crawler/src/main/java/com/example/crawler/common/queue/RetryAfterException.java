@@ -0,0 +1,50 @@
+package com.example.crawler.common.queue;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 업스트림이 "이 시간 이후에 다시 오라"고 응답했음을 Consumer에 알리는 예외
+ *
+ * Executor(또는 그 아래 Fetcher)가 429/503의 Retry-After를 읽어 던지면,
+ * 작업은 워커를 붙잡고 잠들지 않고 RETRY로 돌아가 최소 retryAfter 이후에 다시 점유된다.
+ */
+public class RetryAfterException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RetryAfterException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Retry-After 헤더 값(초 단위 정수 또는 HTTP-date)을 대기 시간으로 변환
+     *
+     * @param fallback 헤더가 없거나 해석할 수 없을 때 쓸 값
+     */
+    public static Duration parseHeader(String value, Duration fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException ignored) {
+            // HTTP-date 형식일 수 있음
+        }
+        try {
+            Duration until = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return until.isNegative() ? Duration.ZERO : until;
+        } catch (DateTimeParseException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.crawler.common.queue;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 실패 작업 재시도 간격 정책 (지수 백오프 + 지터)
+ *
+ * n번째 실패 후 대기 = min(cap, base × multiplier^(n-1)) × [1 - jitter, 1 + jitter]
+ * 서버가 Retry-After를 알려주면 그보다 먼저 다시 시도하지 않는다.
+ *
+ * @param base       첫 실패 후 대기
+ * @param multiplier 실패마다 곱해지는 배수
+ * @param jitter     ± 흔들림 비율 (0.2 = ±20%) — 같은 장애로 함께 실패한 작업이 동시에 깨어나지 않도록
+ * @param cap        대기 상한
+ */
+public record RetryBackoff(Duration base, double multiplier, double jitter, Duration cap) {
+
+    /** 기본 정책: 1분 → 4분 → 16분 … 최대 6시간 */
+    public static final RetryBackoff DEFAULT =
+            new RetryBackoff(Duration.ofMinutes(1), 4.0, 0.2, Duration.ofHours(6));
+
+    /** Retry-After 힌트를 그대로 믿는 상한 (비정상적으로 긴 값 방어) */
+    static final Duration MAX_RETRY_AFTER = Duration.ofHours(24);
+
+    /**
+     * attempt번째 실패 후 다음 시도까지 대기 시간
+     *
+     * @param attempt    누적 실패 횟수 (1부터)
+     * @param retryAfter 서버가 알려준 최소 대기 (없으면 null)
+     */
+    public Duration delayFor(int attempt, Duration retryAfter) {
+        return delayFor(attempt, retryAfter, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    Duration delayFor(int attempt, Duration retryAfter, DoubleSupplier random) {
+        double exponential = base.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 1));
+        double capped = Math.min(exponential, cap.toMillis());
+        double factor = 1 - jitter + 2 * jitter * random.getAsDouble();
+        Duration delay = Duration.ofMillis((long) Math.min(capped * factor, cap.toMillis()));
+
+        if (retryAfter != null && !retryAfter.isNegative()) {
+            Duration hint = retryAfter.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : retryAfter;
+            if (hint.compareTo(delay) > 0) {
+                return hint;
+            }
+        }
+        return delay;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.crawler.common.queue;
+
+import java.time.Duration;
+
+/**
+ * 이 노드에 Selenium(Chrome)이 없어 작업을 끝낼 수 없음
+ *
+ * 업스트림이 실패한 것이 아니라 노드 능력이 모자란 것이므로, Consumer는 살아 있는 Selenium 노드가 있으면
+ * 재시도 횟수를 쓰지 않고 retryAfter만큼 미뤄 그 노드가 점유하게 한다 (CrawlJob.defer).
+ * Selenium 노드가 하나도 없으면 영원히 미루지 않도록 일반 실패로 기록한다.
+ */
+public class SeleniumRequiredException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public SeleniumRequiredException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
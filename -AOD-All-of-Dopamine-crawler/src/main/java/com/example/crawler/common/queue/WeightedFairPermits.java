@@ -0,0 +1,137 @@
+package com.example.crawler.common.queue;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JobType 가중치 기반 전역 실행 허가 (weighted fair share)
+ *
+ * 타입별 워커 풀 스레드 합계가 전역 한도보다 많으므로, 허가가 빌 때 누가 가져갈지를 FIFO 대신 가중치로 정한다.
+ * - 허가는 대기 중인 타입 가운데 (실행 중 수 / 가중치)가 가장 작은 타입에 먼저 준다.
+ *   (TMDB 적체가 풀을 먼저 채워도 Steam·시리즈가 각자 가중치만큼의 몫을 받음)
+ * - 대기 타입이 하나뿐이면 그 타입이 남는 허가를 모두 쓴다 (work-conserving).
+ * - adminReserved개는 어드민 작업 전용으로 남겨 둔다. 어드민 작업은 가중치와 무관하게 빈 허가를 바로 쓴다.
+ */
+public class WeightedFairPermits {
+
+    private final int totalPermits;
+    private final int adminReserved;
+    private final Map<JobType, Integer> weights;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<JobType, Integer> running = new EnumMap<>(JobType.class);
+    private final Map<JobType, Integer> waiting = new EnumMap<>(JobType.class);
+    private int used;
+    private int adminUsed;
+
+    /**
+     * @param weights 타입별 가중치 (없는 타입은 1, 1 미만은 1로 취급)
+     */
+    public WeightedFairPermits(int totalPermits, int adminReserved, Map<JobType, Integer> weights) {
+        this.totalPermits = Math.max(1, totalPermits);
+        this.adminReserved = Math.max(0, Math.min(adminReserved, this.totalPermits - 1));
+        this.weights = new EnumMap<>(JobType.class);
+        weights.forEach((type, weight) -> this.weights.put(type, Math.max(1, weight)));
+    }
+
+    /**
+     * 허가 하나를 얻을 때까지 대기
+     *
+     * @param admin 어드민(사용자 요청) 작업 여부 — 예약분 사용 가능, 공정 배분 제외
+     */
+    public void acquire(JobType jobType, boolean admin) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (admin) {
+                while (used >= totalPermits) {
+                    released.await();
+                }
+                adminUsed++;
+            } else {
+                waiting.merge(jobType, 1, Integer::sum);
+                try {
+                    while (!isTurnOf(jobType)) {
+                        released.await();
+                    }
+                } finally {
+                    waiting.merge(jobType, -1, Integer::sum);
+                }
+                running.merge(jobType, 1, Integer::sum);
+            }
+            used++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(JobType jobType, boolean admin) {
+        lock.lock();
+        try {
+            used--;
+            if (admin) {
+                adminUsed--;
+            } else {
+                running.merge(jobType, -1, Integer::sum);
+            }
+            // 대기 타입이 몇 개 안 되므로 전부 깨워 각자 자기 차례인지 다시 판단
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 일반 작업 허가 조건: 예약분 밖의 여유 + 대기 타입 중 점유 비율이 가장 낮음 (동률 허용) */
+    private boolean isTurnOf(JobType jobType) {
+        if (used >= totalPermits || used - adminUsed >= totalPermits - adminReserved) {
+            return false;
+        }
+        long mine = runningOf(jobType);
+        int myWeight = weightOf(jobType);
+        for (Map.Entry<JobType, Integer> entry : waiting.entrySet()) {
+            JobType other = entry.getKey();
+            if (other == jobType || entry.getValue() <= 0) {
+                continue;
+            }
+            // running[other]/w[other] < running[mine]/w[mine] 를 곱셈으로 비교
+            if (runningOf(other) * myWeight < mine * weightOf(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int runningOf(JobType jobType) {
+        return running.getOrDefault(jobType, 0);
+    }
+
+    int weightOf(JobType jobType) {
+        return weights.getOrDefault(jobType, 1);
+    }
+
+    /** 남은 허가 수 (예약분 포함) */
+    public int availablePermits() {
+        lock.lock();
+        try {
+            return totalPermits - used;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 타입별 실행 중 허가 수 (어드민 작업 제외) */
+    public int runningPermits(JobType jobType) {
+        lock.lock();
+        try {
+            return runningOf(jobType);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getAdminReserved() {
+        return adminReserved;
+    }
+}
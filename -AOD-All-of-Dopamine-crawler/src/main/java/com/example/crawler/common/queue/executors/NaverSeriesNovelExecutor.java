@@ -2,6 +2,7 @@ package com.example.crawler.common.queue.executors;
 
 import com.example.crawler.common.queue.JobExecutor;
 import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.contents.novel.naverseries.NaverSeriesFetcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,4 +39,14 @@ public class NaverSeriesNovelExecutor implements JobExecutor {
     public int getRecommendedBatchSize() {
         return 3; // 🚀 20개 → 3개 (스레드 과다 생성 방지)
     }
+
+    @Override
+    public int getMaxConcurrency() {
+        return 3; // Jsoup 단건 요청 — 소수 워커로 네트워크 대기만 겹침
+    }
+
+    @Override
+    public String getCircuitBreakerKey() {
+        return RateLimiterRegistry.NAVER_SERIES;
+    }
 }
@@ -2,21 +2,29 @@ package com.example.crawler.common.queue.executors;
 
 import com.example.crawler.common.queue.JobExecutor;
 import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.queue.RetryBackoff;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.contents.webtoon.naverwebtoon.NaverWebtoonFetcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * 네이버 웹툰 크롤링 Executor
  * 
- * Selenium 기반으로 느림 (~5000ms)
+ * 상세 JSON API 우선 (~1000ms), 실패 시 Selenium (~5000ms)
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class NaverWebtoonExecutor implements JobExecutor {
 
+    // Chrome 기동 비용이 커서 짧은 간격 재시도는 낭비 (10분 → 30분 …)
+    private static final RetryBackoff RETRY_BACKOFF =
+            new RetryBackoff(Duration.ofMinutes(10), 3.0, 0.2, Duration.ofHours(6));
+
     private final NaverWebtoonFetcher naverWebtoonFetcher;
 
     @Override
@@ -31,6 +39,31 @@ public class NaverWebtoonExecutor implements JobExecutor {
 
     @Override
     public long getAverageExecutionTime() {
-        return 5000; // Selenium 기반, 평균 5초
+        // 상세 API 경로면 HTTP 2회(~1초), 아니면 Selenium 기반 평균 5초
+        return naverWebtoonFetcher.requiresSelenium() ? 5000 : 1000;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        // Selenium 전용이면 Chrome 프로세스 메모리 — Selenium 세마포어(전역 2)와 함께 제한
+        // API 경로의 Selenium 대체는 WebDriverPool 크기가 Chrome 수를 제한
+        return naverWebtoonFetcher.requiresSelenium() ? 1 : 3;
+    }
+
+    @Override
+    public boolean usesSelenium() {
+        // API 경로면 Selenium 비활성 노드도 점유한다. API 실패 작품은 Fetcher가 SeleniumRequiredException을
+        // 던져 Consumer가 재시도 횟수를 쓰지 않고 Selenium 노드 몫으로 미룸
+        return naverWebtoonFetcher.requiresSelenium();
+    }
+
+    @Override
+    public RetryBackoff getRetryBackoff() {
+        return RETRY_BACKOFF;
+    }
+
+    @Override
+    public String getCircuitBreakerKey() {
+        return RateLimiterRegistry.NAVER_WEBTOON;
     }
 }
@@ -2,29 +2,40 @@ package com.example.crawler.common.queue.executors;
 
 import com.example.crawler.common.queue.JobExecutor;
 import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.queue.RetryAfterException;
+import com.example.crawler.common.queue.RetryBackoff;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.contents.game.steam.SteamFetcher;
 import com.example.crawler.contents.game.steam.SteamPayloadProcessor;
 import com.example.crawler.ingest.CollectorService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Steam 게임 크롤링 Executor
- * 표준형: Fetcher 상세 호출 → 성적 콘텐츠 스킵 → PayloadProcessor.process
- *        → 리뷰 집계 병합(best-effort) → CollectorService.saveRaw
- * (레이트리밋은 SteamFetcher 내부의 SteamRateLimiter가 처리)
+ * 표준형: 리뷰 집계 요청 발사(비동기) → Fetcher 상세 호출 → 성적 콘텐츠 스킵 → PayloadProcessor.process
+ *        → 리뷰 집계 병합(best-effort, 시간 제한) → CollectorService.saveRaw
+ *
+ * appdetails와 appreviews를 동시에 보내 작업당 지연을 왕복 2회에서 약 1회로 줄인다.
+ * 두 요청 모두 SteamRateLimiter 허가를 받으므로 게임당 허가 2건(분당 한도)은 그대로다.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SteamGameExecutor implements JobExecutor {
 
+    // 분당 120 한도를 공유 — 장애 중 재시도가 한도를 갉아먹지 않도록 길게 (2분 → 8분 …)
+    private static final RetryBackoff RETRY_BACKOFF =
+            new RetryBackoff(Duration.ofMinutes(2), 4.0, 0.2, Duration.ofHours(6));
+
     /**
      * 성인 판정 기준 (2026-08 Steam 정제 ① — 수집 단계 차단):
      * appdetails content_descriptors.ids에 3(Adult Only Sexual Content) 또는
@@ -37,9 +48,22 @@ public class SteamGameExecutor implements JobExecutor {
     private final SteamPayloadProcessor payloadProcessor;
     private final CollectorService collectorService;
 
+    /** 상세 처리 후 리뷰 요약을 더 기다리는 한도 — 넘으면 요약 없이 저장 */
+    private final long reviewSummaryTimeoutMs;
+
     /** 성인 스킵 누적 카운트 (로그·테스트용) */
     private final AtomicLong adultSkipCount = new AtomicLong();
 
+    public SteamGameExecutor(SteamFetcher steamFetcher,
+                             SteamPayloadProcessor payloadProcessor,
+                             CollectorService collectorService,
+                             @Value("${crawler.steam.review-summary-timeout-ms:3000}") long reviewSummaryTimeoutMs) {
+        this.steamFetcher = steamFetcher;
+        this.payloadProcessor = payloadProcessor;
+        this.collectorService = collectorService;
+        this.reviewSummaryTimeoutMs = reviewSummaryTimeoutMs;
+    }
+
     @Override
     public JobType getJobType() {
         return JobType.STEAM_GAME;
@@ -59,6 +83,8 @@ public class SteamGameExecutor implements JobExecutor {
     private boolean collectGameByAppId(Long appId) {
         log.info("Steam 게임 AppID {} 데이터 수집 시작", appId);
 
+        // 리뷰 요약은 먼저 띄워 두고 상세 호출과 왕복을 겹친다 (실패·시간 초과는 null)
+        CompletableFuture<Map<String, Object>> reviewSummaryFuture = steamFetcher.fetchReviewSummaryAsync(appId);
         try {
             Map<String, Object> gameDetails = steamFetcher.fetchGameDetails(appId);
 
@@ -83,7 +109,7 @@ public class SteamGameExecutor implements JobExecutor {
 
             String appName = (String) gameDetails.get("name");
             Map<String, Object> processedDetails = payloadProcessor.process(gameDetails);
-            Map<String, Object> reviewSummary = steamFetcher.fetchReviewSummary(appId);
+            Map<String, Object> reviewSummary = awaitReviewSummary(appId, reviewSummaryFuture);
             if (reviewSummary != null) processedDetails.put("review_summary", reviewSummary);
 
             collectorService.saveRaw(
@@ -96,9 +122,29 @@ public class SteamGameExecutor implements JobExecutor {
             log.info("Steam 게임 수집 성공: {} (AppID: {})", appName, appId);
             return true;
 
+        } catch (RetryAfterException e) {
+            throw e; // 429 — Consumer가 Retry-After 이후로 재시도 예약
         } catch (Exception e) {
             log.error("Steam 게임 AppID {} 처리 중 오류 발생: {}", appId, e.getMessage(), e);
             return false;
+        } finally {
+            // 저장 전에 끝난 경로(비게임·성인 스킵·오류)에서는 응답을 버린다
+            reviewSummaryFuture.cancel(false);
+        }
+    }
+
+    /**
+     * 리뷰 요약 대기 (best-effort) — 시간 초과·실패는 요약 없이 진행
+     */
+    private Map<String, Object> awaitReviewSummary(Long appId, CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.get(reviewSummaryTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("Steam 리뷰 요약 대기 실패 appId={} ({}ms): {}", appId, reviewSummaryTimeoutMs, e.toString());
+            return null;
         }
     }
 
@@ -132,6 +178,21 @@ public class SteamGameExecutor implements JobExecutor {
 
     @Override
     public long getAverageExecutionTime() {
-        return 2000; // 게임당 API 2회 호출 (appdetails + appreviews 리뷰 집계) — 평균 2초
+        return 2000; // 게임당 API 2회 호출 (appdetails + appreviews 리뷰 집계) — 동시 발사라 지연은 줄었지만 허가는 2건
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return 4; // 왕복 대기를 겹쳐 SteamRateLimiter 한도(분당 120)까지 끌어올림
+    }
+
+    @Override
+    public RetryBackoff getRetryBackoff() {
+        return RETRY_BACKOFF;
+    }
+
+    @Override
+    public String getCircuitBreakerKey() {
+        return RateLimiterRegistry.STEAM;
     }
 }
@@ -2,6 +2,8 @@ package com.example.crawler.common.queue.executors;
 
 import com.example.crawler.common.queue.JobExecutor;
 import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.queue.RetryAfterException;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.contents.tmdb.TmdbFetcher;
 import com.example.crawler.contents.tmdb.TmdbPayloadProcessor;
 import com.example.crawler.ingest.CollectorService;
@@ -56,6 +58,8 @@ public class TmdbTvExecutor implements JobExecutor {
 
             log.debug("✅ [TMDB] TV ID {} 크롤링 완료", tvId);
             return true;
+        } catch (RetryAfterException e) {
+            throw e; // 서킷 열림 — Consumer가 재시도 횟수를 쓰지 않고 연기
         } catch (Exception e) {
             log.error("❌ [TMDB] TV ID {} 크롤링 실패", tvId, e);
             return false;
@@ -66,4 +70,14 @@ public class TmdbTvExecutor implements JobExecutor {
     public long getAverageExecutionTime() {
         return 800; // API 기반, 평균 800ms
     }
+
+    @Override
+    public int getMaxConcurrency() {
+        return 4; // API 기반 — 네트워크 대기 위주
+    }
+
+    @Override
+    public String getCircuitBreakerKey() {
+        return RateLimiterRegistry.TMDB;
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.crawler.common.ratelimit;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 노드 간 공유 레이트리밋 카운터 (고정 윈도우)
+ *
+ * bucket = "{budget_key}@{윈도우 시작 epoch ms}" 한 행이 한 윈도우의 사용량이다.
+ * 증가는 SharedRateBudget의 INSERT ... ON CONFLICT DO UPDATE ... WHERE used < limit 한 문장으로만 하므로
+ * 여러 노드가 동시에 써도 한도를 넘지 않는다. (엔티티는 ddl-auto 스키마 생성용)
+ */
+@Entity
+@Table(name = "crawl_rate_budget",
+        indexes = @Index(name = "idx_crawl_rate_budget_window", columnList = "windowStart"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateBudgetWindow {
+
+    @Id
+    @Column(length = 150)
+    private String bucket;
+
+    @Column(nullable = false, length = 100)
+    private String budgetKey;
+
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(nullable = false)
+    private int used;
+}
@@ -0,0 +1,324 @@
+package com.example.crawler.common.ratelimit;
+
+import com.example.crawler.common.queue.RateLimitWaitRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 다중 윈도우 요청 속도 제한기 (GCRA, lock-free)
+ *
+ * 윈도우마다 "이론상 다음 도착 시각"(TAT) 하나만 두고 CAS로 갱신한다.
+ * - 윈도우 permits/period → 방출 간격 T = period / permits, 버스트 허용치 tau = period - T
+ *   (윈도우 안에서 permits개까지 몰아 쓰고 이후 T 간격으로 회복 — 토큰 버킷과 같은 동작)
+ * - 초당·분당 등 여러 윈도우를 배열 하나로 함께 CAS하므로 일부 윈도우만 차감되는 일이 없다.
+ * - acquire()는 자기 슬롯을 먼저 예약한 뒤 호출 스레드만 park한다 (다른 호출자는 막지 않음).
+ * - acquireAsync()는 예약한 시각에 완료되는 future를 돌려준다 (대기 중 스레드를 잡지 않음).
+ *
+ * globalPerMinute > 0이면 로컬 허가 뒤 SharedRateBudget(노드 공유 분당 예산)에서 1건을 더 차감한다.
+ */
+public class RateLimiter {
+
+    private static final Duration SHARED_WINDOW = Duration.ofMinutes(1);
+
+    /**
+     * 제한 윈도우 하나 — "8/1s", "120/1m", "500/1h" 형식
+     */
+    public record Window(int permits, Duration period) {
+
+        public Window {
+            if (permits < 1 || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("잘못된 레이트리밋 윈도우: " + permits + "/" + period);
+            }
+        }
+
+        /** "8/1s" → Window(8, 1초) (단위: ms, s, m, h) */
+        public static Window parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 레이트리밋 규칙: " + spec);
+            }
+            try {
+                return new Window(Integer.parseInt(parts[0].trim()), parseDuration(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 레이트리밋 규칙: " + spec, e);
+            }
+        }
+
+        /** 쉼표로 구분된 여러 윈도우 ("8/1s,120/1m") */
+        public static List<Window> parseAll(String specs) {
+            List<Window> windows = new ArrayList<>();
+            for (String spec : specs.split(",")) {
+                if (!spec.isBlank()) {
+                    windows.add(parse(spec));
+                }
+            }
+            if (windows.isEmpty()) {
+                throw new IllegalArgumentException("레이트리밋 규칙이 비어 있음");
+            }
+            return windows;
+        }
+
+        private static Duration parseDuration(String text) {
+            if (text.endsWith("ms")) return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+            if (text.endsWith("s")) return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+            if (text.endsWith("m")) return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+            if (text.endsWith("h")) return Duration.ofHours(Long.parseLong(text.substring(0, text.length() - 1)));
+            throw new IllegalArgumentException("알 수 없는 시간 단위: " + text);
+        }
+
+        @Override
+        public String toString() {
+            long ms = period.toMillis();
+            if (ms % 3_600_000 == 0) return permits + "/" + (ms / 3_600_000) + "h";
+            if (ms % 60_000 == 0) return permits + "/" + (ms / 60_000) + "m";
+            if (ms % 1000 == 0) return permits + "/" + (ms / 1000) + "s";
+            return permits + "/" + ms + "ms";
+        }
+    }
+
+    private final String name;
+    private final List<Window> windows;
+    private final long[] emissionNanos;
+    private final long[] toleranceNanos;
+    private final AtomicReference<long[]> arrivals;
+    private final LongSupplier nanoClock;
+
+    private final SharedRateBudget sharedRateBudget;
+    private final int globalPerMinute;
+
+    private final Counter granted;
+    private final Counter throttled;
+    private final Timer waitTimer;
+
+    public RateLimiter(String name, List<Window> windows, SharedRateBudget sharedRateBudget,
+                       int globalPerMinute, MeterRegistry meterRegistry) {
+        this(name, windows, sharedRateBudget, globalPerMinute, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(String name, List<Window> windows, SharedRateBudget sharedRateBudget,
+                int globalPerMinute, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.windows = List.copyOf(windows);
+        this.emissionNanos = new long[this.windows.size()];
+        this.toleranceNanos = new long[this.windows.size()];
+        for (int i = 0; i < this.windows.size(); i++) {
+            Window window = this.windows.get(i);
+            emissionNanos[i] = window.period().toNanos() / window.permits();
+            toleranceNanos[i] = window.period().toNanos() - emissionNanos[i];
+        }
+        this.nanoClock = nanoClock;
+        this.arrivals = new AtomicReference<>(initialArrivals());
+        this.sharedRateBudget = sharedRateBudget;
+        this.globalPerMinute = sharedRateBudget != null ? Math.max(0, globalPerMinute) : 0;
+
+        this.granted = Counter.builder("crawl.ratelimit.granted")
+                .description("레이트리미터가 내준 허가 수")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        this.throttled = Counter.builder("crawl.ratelimit.throttled")
+                .description("한도에 걸려 대기하거나 거절된 호출 수")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("crawl.ratelimit.wait")
+                .description("허가를 얻기까지 기다린 시간")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기다리지 않고 허가 시도
+     *
+     * @return 지금 바로 허가되면 true (거절 시 상태는 바뀌지 않음 — 단, 공유 예산에서 거절되면 로컬 슬롯은 소모)
+     */
+    public boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long[] current = arrivals.get();
+            if (delayFor(current, now) > 0) {
+                throttled.increment();
+                return false;
+            }
+            if (arrivals.compareAndSet(current, advance(current, now))) {
+                break;
+            }
+        }
+        if (globalPerMinute > 0 && sharedRateBudget.tryConsume(name, globalPerMinute, SHARED_WINDOW) > 0) {
+            throttled.increment();
+            return false;
+        }
+        granted.increment();
+        return true;
+    }
+
+    /**
+     * 허가를 얻을 때까지 호출 스레드만 대기
+     *
+     * 대기 시간은 RateLimitWaitRecorder에도 남겨 작업 큐의 적응형 튜너가
+     * "레이트리밋 때문에 느린지"를 구분할 수 있게 한다.
+     *
+     * @return 허가되면 true, 대기 중 인터럽트되면 false (인터럽트 상태 유지)
+     */
+    public boolean acquire() {
+        long start = System.nanoTime();
+        try {
+            long delay = reserve();
+            if (delay > 0) {
+                throttled.increment();
+                if (!park(delay)) {
+                    return false;
+                }
+            }
+            if (!awaitSharedBudget(delay > 0)) {
+                return false;
+            }
+            granted.increment();
+            return true;
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitTimer.record(waited, TimeUnit.NANOSECONDS);
+            RateLimitWaitRecorder.record(waited);
+        }
+    }
+
+    /**
+     * 슬롯을 예약하고 그 시각에 완료되는 future를 반환 (스레드를 잡지 않음)
+     *
+     * 공유 예산이 소진된 경우 재시도도 지연 실행기로 이어 붙인다.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long delay = reserve();
+        waitTimer.record(delay, TimeUnit.NANOSECONDS);
+        CompletableFuture<Void> local;
+        if (delay > 0) {
+            throttled.increment();
+            local = CompletableFuture.runAsync(() -> { },
+                    CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS));
+        } else {
+            local = CompletableFuture.completedFuture(null);
+        }
+        return local.thenCompose(ignored -> consumeSharedBudgetAsync(delay > 0))
+                .thenRun(granted::increment);
+    }
+
+    /**
+     * 가장 이른 허가 슬롯을 예약하고 그때까지 남은 시간(ns)을 반환
+     */
+    long reserve() {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long[] current = arrivals.get();
+            long delay = delayFor(current, now);
+            if (arrivals.compareAndSet(current, advance(current, now + delay))) {
+                return delay;
+            }
+        }
+    }
+
+    /** 모든 윈도우가 허용할 때까지 남은 시간 (0 이하 = 지금 허용) */
+    private long delayFor(long[] tats, long now) {
+        long delay = 0;
+        for (int i = 0; i < tats.length; i++) {
+            delay = Math.max(delay, tats[i] - toleranceNanos[i] - now);
+        }
+        return delay;
+    }
+
+    private long[] advance(long[] tats, long at) {
+        long[] next = new long[tats.length];
+        for (int i = 0; i < tats.length; i++) {
+            next[i] = Math.max(tats[i], at) + emissionNanos[i];
+        }
+        return next;
+    }
+
+    private boolean awaitSharedBudget(boolean alreadyThrottled) {
+        if (globalPerMinute <= 0) {
+            return true;
+        }
+        boolean counted = alreadyThrottled;
+        long waitMs;
+        while ((waitMs = sharedRateBudget.tryConsume(name, globalPerMinute, SHARED_WINDOW)) > 0) {
+            if (!counted) {
+                throttled.increment();
+                counted = true;
+            }
+            if (!park(TimeUnit.MILLISECONDS.toNanos(waitMs))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompletableFuture<Void> consumeSharedBudgetAsync(boolean alreadyThrottled) {
+        if (globalPerMinute <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long waitMs = sharedRateBudget.tryConsume(name, globalPerMinute, SHARED_WINDOW);
+        if (waitMs <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!alreadyThrottled) {
+            throttled.increment();
+        }
+        return CompletableFuture.runAsync(() -> { },
+                        CompletableFuture.delayedExecutor(waitMs, TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> consumeSharedBudgetAsync(true));
+    }
+
+    /** 호출 스레드만 지정 시간 park (인터럽트되면 false) */
+    private static boolean park(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        return true;
+    }
+
+    private long[] initialArrivals() {
+        long[] tats = new long[windows.size()];
+        Arrays.fill(tats, nanoClock.getAsLong());
+        return tats;
+    }
+
+    /**
+     * 누적 상태 초기화 (모든 윈도우가 다시 버스트 허용치만큼 비어 있는 상태)
+     */
+    public void reset() {
+        arrivals.set(initialArrivals());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Window> getWindows() {
+        return windows;
+    }
+
+    /**
+     * 규칙과 누적 허가/대기 수
+     */
+    public String getStats() {
+        return String.format("%s [%s%s] 허가 %d, 대기/거절 %d", name,
+                windows.stream().map(Window::toString).collect(Collectors.joining(",")),
+                globalPerMinute > 0 ? ", 노드 공유 " + globalPerMinute + "/1m" : "",
+                (long) granted.count(), (long) throttled.count());
+    }
+}
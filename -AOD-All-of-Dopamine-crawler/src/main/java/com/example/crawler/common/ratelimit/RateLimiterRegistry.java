@@ -0,0 +1,76 @@
+package com.example.crawler.common.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 플랫폼(호스트/API)별 레이트리미터 레지스트리
+ *
+ * 키마다 RateLimiter 하나를 지연 생성해 공유한다. 규칙은 아래 순서로 정해진다.
+ * - crawler.rate-limit.&lt;key&gt;.rules ("8/1s,120/1m" 형식, 쉼표로 여러 윈도우)
+ * - 없으면 DEFAULT_RULES, 그것도 없으면 FALLBACK_RULES
+ * - crawler.rate-limit.&lt;key&gt;.global-per-minute > 0이면 노드 공유 분당 예산(SharedRateBudget) 추가
+ *
+ * 지표는 limiter 태그로 구분된다 (crawl.ratelimit.granted / throttled / wait).
+ */
+@Slf4j
+@Component
+public class RateLimiterRegistry {
+
+    public static final String STEAM = "steam";
+    public static final String TMDB = "tmdb";
+    public static final String NAVER_SERIES = "naver-series";
+    public static final String NAVER_WEBTOON = "naver-webtoon";
+    public static final String KAKAO_PAGE = "kakao-page";
+
+    /** 키별 기본 규칙 */
+    static final Map<String, String> DEFAULT_RULES = Map.of(
+            STEAM, "8/1s,120/1m",   // IP당 초당 10·분당 150 한도에 여유
+            TMDB, "20/1s",          // IP당 초당 ~50 한도의 절반 이하
+            NAVER_SERIES, "2/1s",   // 기존 목록 페이지 간 500ms 대기와 같은 속도
+            NAVER_WEBTOON, "1/1s",  // 기존 작품·페이지 간 1초 대기와 같은 속도
+            KAKAO_PAGE, "4/1s");    // 상세·'정보' 탭 포함 — 예전 무제한 순차 상세 요청(왕복 ~250ms)과 비슷한 속도
+
+    /** 규칙이 없는 키의 보수적 기본값 */
+    static final String FALLBACK_RULES = "1/1s";
+
+    private final ConcurrentMap<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+    private final SharedRateBudget sharedRateBudget;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    public RateLimiterRegistry(SharedRateBudget sharedRateBudget, MeterRegistry meterRegistry, Environment environment) {
+        this.sharedRateBudget = sharedRateBudget;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    /**
+     * 키에 해당하는 리미터 (처음 요청 시 생성)
+     */
+    public RateLimiter get(String key) {
+        return limiters.computeIfAbsent(key, this::create);
+    }
+
+    public Collection<RateLimiter> getAll() {
+        return List.copyOf(limiters.values());
+    }
+
+    private RateLimiter create(String key) {
+        String prefix = "crawler.rate-limit." + key;
+        String rules = environment.getProperty(prefix + ".rules", DEFAULT_RULES.getOrDefault(key, FALLBACK_RULES));
+        int globalPerMinute = environment.getProperty(prefix + ".global-per-minute", Integer.class, 0);
+        RateLimiter limiter = new RateLimiter(key, RateLimiter.Window.parseAll(rules),
+                sharedRateBudget, globalPerMinute, meterRegistry);
+        log.info("🚦 [RateLimit] 리미터 생성: {}", limiter.getStats());
+        return limiter;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.crawler.common.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 크롤러 노드 간 공유 요청 예산 (PostgreSQL 고정 윈도우 카운터)
+ *
+ * IP 단위 한도(Steam 분당 150 등)는 노드마다 따로 적용되므로 각 노드의 로컬 리미터로 충분하지만,
+ * API 키 단위 한도처럼 모든 노드가 함께 쓰는 예산은 이 카운터로 나눠 쓴다.
+ * 한 번의 허가 = 한 번의 왕복이므로 초당 수십 건 이하의 예산에만 쓴다.
+ *
+ * DB 오류 시에는 허가한다 (fail-open) — 로컬 리미터가 노드 단위 상한은 계속 지키기 때문.
+ */
+@Slf4j
+@Component
+public class SharedRateBudget {
+
+    static final String CONSUME_SQL = """
+            INSERT INTO crawl_rate_budget (bucket, budget_key, window_start, used)
+            VALUES (?, ?, ?, 1)
+            ON CONFLICT (bucket) DO UPDATE SET used = crawl_rate_budget.used + 1
+            WHERE crawl_rate_budget.used < ?
+            RETURNING used
+            """;
+
+    /** 이보다 오래된 윈도우 행은 정리 */
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SharedRateBudget(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 현재 윈도우 예산에서 1건을 차감
+     *
+     * @param key    예산 키 (예: "steam-api-key")
+     * @param limit  윈도우당 허용 건수
+     * @param window 윈도우 길이
+     * @return 차감 성공이면 0, 소진됐으면 다음 윈도우까지 남은 시간(ms)
+     */
+    public long tryConsume(String key, int limit, Duration window) {
+        long windowMs = window.toMillis();
+        long nowMs = System.currentTimeMillis();
+        long windowStartMs = nowMs - (nowMs % windowMs);
+        try {
+            List<Integer> used = jdbcTemplate.queryForList(CONSUME_SQL, Integer.class,
+                    key + "@" + windowStartMs,
+                    key,
+                    Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(windowStartMs), ZoneId.systemDefault())),
+                    limit);
+            return used.isEmpty() ? windowStartMs + windowMs - nowMs : 0;
+        } catch (Exception e) {
+            log.warn("⚠️ [RateBudget] 공유 예산 조회 실패 - 로컬 한도만 적용: {} ({})", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 지난 윈도우 행 정리
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void purgeExpiredWindows() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM crawl_rate_budget WHERE window_start < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minus(RETENTION)));
+            if (deleted > 0) {
+                log.debug("🧹 [RateBudget] 지난 윈도우 {}건 정리", deleted);
+            }
+        } catch (Exception e) {
+            log.debug("공유 예산 정리 실패: {}", e.getMessage());
+        }
+    }
+}
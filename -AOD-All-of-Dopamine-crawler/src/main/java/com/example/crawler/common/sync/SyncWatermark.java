@@ -0,0 +1,34 @@
+package com.example.crawler.common.sync;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 증분 동기화 실행 단위 워터마크
+ *
+ * 키마다 "이 시각 이후 변경분만 받으면 된다"는 값 하나를 둔다 (epoch 초).
+ * 전체 목록을 끝까지 받은 실행만 전진시키므로, 중간에 실패한 실행은 다음 실행이 같은 지점부터 다시 받는다.
+ */
+@Entity
+@Table(name = "crawl_sync_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncWatermark {
+
+    /** 동기화 키 (예: "steam.catalog") */
+    @Id
+    @Column(length = 100)
+    private String syncKey;
+
+    /** 마지막으로 완료된 동기화가 본 최신 변경 시각 (epoch 초) */
+    @Column(nullable = false)
+    private long watermark;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.crawler.common.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 증분 동기화 워터마크 레포지토리
+ */
+@Repository
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, String> {
+
+    /**
+     * 저장된 워터마크 (없으면 0 = 전체 동기화)
+     */
+    default long getWatermark(String syncKey) {
+        return findById(syncKey).map(SyncWatermark::getWatermark).orElse(0L);
+    }
+
+    /**
+     * 워터마크 전진 (기존 값보다 작으면 무시)
+     */
+    default void advance(String syncKey, long watermark) {
+        if (watermark > getWatermark(syncKey)) {
+            save(new SyncWatermark(syncKey, watermark, LocalDateTime.now()));
+        }
+    }
+}
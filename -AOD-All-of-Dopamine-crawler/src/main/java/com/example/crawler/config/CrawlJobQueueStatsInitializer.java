@@ -0,0 +1,47 @@
+package com.example.crawler.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 작업 큐 이력 테이블 / 상태 카운터 트리거 설치
+ * - Hibernate DDL(ddl-auto=update) 이후 V5 스크립트를 그대로 실행 (재실행 안전)
+ * - 트리거·plpgsql은 JPA로 표현할 수 없어 DatabaseIndexInitializer와 같은 방식으로 기동 시 보장
+ * - PostgreSQL이 아니면(H2 테스트 등) 건너뜀 — 게이지는 GROUP BY 집계로 폴백
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CrawlJobQueueStatsInitializer {
+
+    static final String SCRIPT = "db/migration/V5__create_crawl_job_history_and_queue_stats.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureQueueStats() {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                log.info("⏭ crawl_job_queue_stats 트리거 설치 생략 (DB: {})", product);
+                return;
+            }
+
+            String sql = new ClassPathResource(SCRIPT).getContentAsString(StandardCharsets.UTF_8);
+            // $$ 본문 안의 ';' 때문에 문장 분리 없이 한 번에 실행 (PostgreSQL 단순 쿼리 프로토콜)
+            jdbcTemplate.execute(sql);
+            log.info("✅ crawl_job_history / crawl_job_queue_stats 트리거 확인 완료");
+        } catch (Exception e) {
+            log.error("❌ crawl_job_queue_stats 설치 실패 - 게이지는 전체 집계로 폴백: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.crawler.config;
 
+import com.example.crawler.common.queue.CrawlJobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -36,6 +37,9 @@ public class DatabaseIndexInitializer {
             // 장르/플랫폼 인덱스 (2026-07 contents로 승격 — 구 도메인 테이블 컬럼/인덱스는 정리 SQL로 DROP 예정)
             ensureArrayIndexExists("contents", "idx_contents_genres", "genres");
             ensureArrayIndexExists("contents", "idx_contents_platforms", "platforms");
+
+            // 작업 큐 점유용 부분 인덱스 (JPA @Index로는 WHERE 절을 표현할 수 없음)
+            ensureCrawlJobClaimIndex();
             
             log.info("✅ All GIN indexes verified/created successfully");
         } catch (Exception e) {
@@ -96,6 +100,48 @@ public class DatabaseIndexInitializer {
                      indexName, tableName, columnName, e.getMessage());
         }
     }
+
+    /**
+     * crawl_job_queue 점유 쿼리용 부분 인덱스
+     * 대기 상태(PENDING/RETRY) 행만 담아 (job_type, priority, created_at) 순서로 훑고,
+     * next_attempt_at을 포함해 백오프 중인 행을 힙 조회 없이 거른다.
+     * 일반 점유는 노화 우선순위 식 인덱스, 어드민 점유는 priority 선두 인덱스를 쓴다.
+     */
+    private void ensureCrawlJobClaimIndex() {
+        try {
+            Boolean columnExists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (" +
+                "  SELECT FROM information_schema.columns " +
+                "  WHERE table_schema = 'public' AND table_name = 'crawl_job_queue'" +
+                "    AND column_name = 'next_attempt_at'" +
+                ")",
+                Boolean.class
+            );
+
+            if (!Boolean.TRUE.equals(columnExists)) {
+                log.debug("  ⏭ crawl_job_queue.next_attempt_at does not exist yet, skipping");
+                return;
+            }
+
+            jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_crawl_job_claimable ON crawl_job_queue " +
+                "(job_type, priority, created_at, next_attempt_at) " +
+                "WHERE status IN ('PENDING', 'RETRY')"
+            );
+            log.info("  ✅ Ensured partial index: idx_crawl_job_claimable on crawl_job_queue");
+
+            // 노화 우선순위 점유 순서 (CrawlJobRepository.AGED_PRIORITY_ORDER와 같은 식이어야 플래너가 사용)
+            jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_crawl_job_aged_claim ON crawl_job_queue " +
+                "(job_type, (" + CrawlJobRepository.AGED_PRIORITY_ORDER + "), next_attempt_at) " +
+                "WHERE status IN ('PENDING', 'RETRY')"
+            );
+            log.info("  ✅ Ensured expression index: idx_crawl_job_aged_claim on crawl_job_queue");
+
+        } catch (Exception e) {
+            log.warn("  ⚠ Failed to ensure crawl_job_queue claim indexes: {}", e.getMessage());
+        }
+    }
 }
 
 /**
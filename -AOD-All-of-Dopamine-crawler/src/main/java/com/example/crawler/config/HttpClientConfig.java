@@ -1,27 +1,43 @@
 package com.example.crawler.config;
 
+import com.example.crawler.common.http.UpstreamOverrideHttpClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.Map;
 
 /**
  * HttpClient 설정
  * 
  * Connection Pool을 사용하여 스레드 생성을 최소화합니다.
  * Jsoup의 매 요청마다 새 소켓/스레드를 생성하는 문제를 해결합니다.
+ * (CrawlHttpClient와 RestTemplate이 이 클라이언트 하나를 공유)
+ *
+ * crawler.http.upstream-overrides가 있으면 해당 호스트 요청을 지정 주소로 돌린다 (벤치마크·로컬 스텁용).
  */
+@Slf4j
 @Configuration
 public class HttpClientConfig {
     
     @Bean
-    public HttpClient httpClient() {
-        return HttpClient.newBuilder()
+    public HttpClient httpClient(@Value("${crawler.http.upstream-overrides:}") String upstreamOverrides) {
+        HttpClient httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .version(HttpClient.Version.HTTP_2)  // HTTP/2 지원 (더 효율적)
                 // Connection Pool은 기본으로 활성화됨
                 .build();
+
+        Map<String, URI> overrides = UpstreamOverrideHttpClient.parse(upstreamOverrides);
+        if (overrides.isEmpty()) {
+            return httpClient;
+        }
+        log.warn("⚠️ 업스트림 대체 활성화 — 실제 사이트 대신 {}", overrides);
+        return new UpstreamOverrideHttpClient(httpClient, overrides);
     }
 }
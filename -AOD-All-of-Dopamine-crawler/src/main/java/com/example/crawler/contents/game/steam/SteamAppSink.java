@@ -0,0 +1,18 @@
+package com.example.crawler.contents.game.steam;
+
+/**
+ * Steam 카탈로그 스트리밍 수신자 (SteamFetcher.streamGameApps)
+ *
+ * 앱마다 Map을 만들지 않고 appid·last_modified·price_change_number 원시값만 넘긴다.
+ */
+@FunctionalInterface
+public interface SteamAppSink {
+
+    /**
+     * @param appId             Steam AppID
+     * @param lastModified      스토어 정보 최종 수정 시각 (epoch 초, 없으면 0)
+     * @param priceChangeNumber 가격 변경 일련번호 (없으면 0)
+     * @return false면 수신 중단 (남은 페이지를 요청하지 않음)
+     */
+    boolean accept(long appId, long lastModified, long priceChangeNumber);
+}
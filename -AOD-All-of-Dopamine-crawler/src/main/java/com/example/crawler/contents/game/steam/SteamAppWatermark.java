@@ -0,0 +1,36 @@
+package com.example.crawler.contents.game.steam;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Steam 앱별 변경 워터마크 (IStoreService GetAppList의 last_modified / price_change_number)
+ *
+ * 증분 동기화에서 받은 앱이 신규인지, 마지막 등록 이후 실제로 바뀌었는지 판정하는 기준.
+ * 읽기·쓰기는 SteamAppWatermarkStore의 JDBC 배치로만 한다. (엔티티는 ddl-auto 스키마 생성용)
+ */
+@Entity
+@Table(name = "steam_app_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SteamAppWatermark {
+
+    @Id
+    private Long appId;
+
+    /** 스토어 정보 최종 수정 시각 (epoch 초) */
+    @Column(nullable = false)
+    private long lastModified;
+
+    /** 가격 변경 일련번호 (가격이 바뀔 때마다 증가) */
+    @Column(nullable = false)
+    private long priceChangeNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
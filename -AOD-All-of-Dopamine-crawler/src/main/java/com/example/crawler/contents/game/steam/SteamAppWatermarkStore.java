@@ -0,0 +1,77 @@
+package com.example.crawler.contents.game.steam;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * steam_app_watermark 배치 조회/갱신
+ *
+ * 증분 동기화 청크(수천 개) 단위로 한 문장씩 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SteamAppWatermarkStore {
+
+    /**
+     * 앱 하나의 변경 표식
+     *
+     * @param lastModified      스토어 정보 최종 수정 시각 (epoch 초)
+     * @param priceChangeNumber 가격 변경 일련번호
+     */
+    public record Mark(long appId, long lastModified, long priceChangeNumber) {
+
+        /** 저장된 표식보다 새로우면 true */
+        public boolean isNewerThan(Mark stored) {
+            return lastModified > stored.lastModified || priceChangeNumber > stored.priceChangeNumber;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 저장된 표식 조회 (없는 앱은 결과에 없음)
+     */
+    public Map<Long, Mark> findAll(Collection<Long> appIds) {
+        Map<Long, Mark> stored = new HashMap<>();
+        if (appIds.isEmpty()) {
+            return stored;
+        }
+        String sql = "SELECT app_id, last_modified, price_change_number FROM steam_app_watermark WHERE app_id IN ("
+                + String.join(",", Collections.nCopies(appIds.size(), "?")) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            Mark mark = new Mark(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+            stored.put(mark.appId(), mark);
+        }, appIds.toArray());
+        return stored;
+    }
+
+    /**
+     * 표식 저장 (있으면 덮어씀) — 작업 등록이 끝난 뒤 호출해, 등록 실패 시 다음 실행이 다시 변경으로 보게 한다
+     */
+    public int upsertAll(Collection<Mark> marks) {
+        if (marks.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO steam_app_watermark (app_id, last_modified, price_change_number, updated_at) VALUES ");
+        Object[] args = new Object[marks.size() * 3];
+        int i = 0;
+        for (Mark mark : marks) {
+            if (i > 0) sql.append(',');
+            sql.append("(?, ?, ?, now())");
+            args[i * 3] = mark.appId();
+            args[i * 3 + 1] = mark.lastModified();
+            args[i * 3 + 2] = mark.priceChangeNumber();
+            i++;
+        }
+        sql.append(" ON CONFLICT (app_id) DO UPDATE SET last_modified = EXCLUDED.last_modified,")
+                .append(" price_change_number = EXCLUDED.price_change_number, updated_at = EXCLUDED.updated_at");
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+}
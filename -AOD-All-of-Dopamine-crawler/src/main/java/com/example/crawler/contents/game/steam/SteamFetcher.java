@@ -1,19 +1,31 @@
 package com.example.crawler.contents.game.steam;
 
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.circuit.CircuitOpenException;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.queue.RetryAfterException;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.contents.game.steam.SteamRateLimiter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -23,10 +35,18 @@ public class SteamFetcher {
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     private final SteamRateLimiter rateLimiter;
+    private final CrawlHttpClient httpClient;
+    private final CircuitBreakerRegistry circuitBreakerRegistry; // 목록·상세·리뷰 호출이 "steam" 서킷 하나를 공유
 
     @Value("${steam.api.key:}")
     private String steamApiKey;
 
+    /** 429 응답에 Retry-After가 없을 때 재시도까지 최소 대기 (기존 고정 대기와 동일) */
+    private static final Duration RATE_LIMIT_FALLBACK_WAIT = Duration.ofSeconds(60);
+
+    /** 리뷰 요약 1회 요청 대기 한도 (전체 대기 한도는 SteamGameExecutor가 건다) */
+    private static final Duration REVIEW_SUMMARY_TIMEOUT = Duration.ofSeconds(5);
+
     private static final String APP_DETAILS_URL = "https://store.steampowered.com/api/appdetails?appids={appId}&l=korean";
 
     // 리뷰 집계 요약만 조회 (num_per_page=0 = 본문 없이 query_summary만).
@@ -34,16 +54,41 @@ public class SteamFetcher {
     private static final String REVIEW_SUMMARY_URL =
             "https://store.steampowered.com/appreviews/{appId}?json=1&language=all&purchase_type=all&num_per_page=0";
 
+    /** 429가 잦은 Steam API 보호용 — 429·5xx·연결 오류 비율이 높으면 잠시 호출을 멈춤 */
+    private CircuitBreaker circuit() {
+        return circuitBreakerRegistry.get(RateLimiterRegistry.STEAM);
+    }
+
     /**
-     * 리뷰 집계 요약(query_summary)을 조회합니다.
-     * 실패해도 게임 수집 자체를 막지 않도록 null을 반환합니다.
+     * 리뷰 집계 요약(query_summary)을 비동기로 조회합니다.
+     * appdetails와 동시에 보낼 수 있도록 허가 대기·요청 모두 스레드를 잡지 않으며 (같은 Steam 리미터 사용),
+     * 실패해도 게임 수집 자체를 막지 않도록 null로 완료됩니다.
      *
      * @return {review_score, review_score_desc, total_positive, total_negative, total_reviews} 또는 null
      */
-    public Map<String, Object> fetchReviewSummary(Long appId) {
+    public CompletableFuture<Map<String, Object>> fetchReviewSummaryAsync(Long appId) {
+        String url = REVIEW_SUMMARY_URL.replace("{appId}", String.valueOf(appId));
+        return rateLimiter.acquirePermitAsync()
+                .thenCompose(ignored -> httpClient.sendAsync(CrawlRequest.get(url)
+                        .header("Accept", "application/json")
+                        .timeout(REVIEW_SUMMARY_TIMEOUT)
+                        .circuit(circuit())))
+                .thenApply(response -> {
+                    if (!response.isSuccess()) {
+                        log.warn("Steam 리뷰 요약 조회 실패 appId={}: HTTP {}", appId, response.status());
+                        return null;
+                    }
+                    return parseReviewSummary(appId, response.bodyAsString());
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Steam 리뷰 요약 조회 실패 appId={}: {}", appId, cause.getMessage());
+                    return null;
+                });
+    }
+
+    private Map<String, Object> parseReviewSummary(Long appId, String response) {
         try {
-            rateLimiter.acquirePermit();
-            String response = restTemplate.getForObject(REVIEW_SUMMARY_URL, String.class, appId);
             JsonNode summary = objectMapper.readTree(response).path("query_summary");
             if (summary.isMissingNode()) return null;
             Map<String, Object> result = objectMapper.convertValue(summary,
@@ -51,139 +96,184 @@ public class SteamFetcher {
             result.remove("num_reviews");   // "이번 페이지 개수" — num_per_page=0이라 항상 0인 노이즈
             return result;
         } catch (Exception e) {
-            log.warn("Steam 리뷰 요약 조회 실패 appId={}: {}", appId, e.getMessage());
+            log.warn("Steam 리뷰 요약 파싱 실패 appId={}: {}", appId, e.getMessage());
             return null;
         }
     }
 
     /**
-     * Steam에 등록된 *게임* 앱 목록을 페이지네이션으로 안정적으로 가져옵니다. (IStoreService V1 사용)
-     * 
-     * Steam API는 한 번에 최대 50,000개까지만 반환하므로, 페이지네이션을 통해 전체 목록을 수집합니다.
-     * 
-     * @return 게임 앱 정보(appid, name 등) Map의 리스트
+     * GetAppList 1페이지 스트리밍 결과
+     *
+     * @param count     이 페이지에서 넘긴 앱 수
+     * @param lastAppId 다음 페이지 시작점 (응답의 last_appid, 없으면 마지막으로 본 appid)
+     * @param haveMore  have_more_results
+     * @param stopped   수신자가 중단을 요청함
+     */
+    record AppListPage(int count, Long lastAppId, boolean haveMore, boolean stopped) {
+    }
+
+    /**
+     * 카탈로그 스트리밍 결과
+     *
+     * @param received 수신자에게 넘긴 앱 수
+     * @param complete 마지막 페이지까지 받음 (실패·중단·인터럽트면 false — 워터마크를 전진시키면 안 됨)
      */
-    public List<Map<String, Object>> fetchGameApps() {
-        List<Map<String, Object>> allApps = new java.util.ArrayList<>();
-        Integer lastAppId = null;
+    public record CatalogStream(int received, boolean complete) {
+    }
+
+    /**
+     * Steam에 등록된 *게임* 앱 목록을 페이지네이션으로 받아 수신자에게 흘려보냅니다. (IStoreService V1 사용)
+     *
+     * Steam API는 한 번에 최대 50,000개까지만 반환하므로 페이지를 이어 받되,
+     * 각 페이지는 JsonParser로 응답 스트림을 읽으며 appid·last_modified만 넘기고 트리/Map을 만들지 않는다.
+     * (15만 개 목록을 Map 리스트로 쌓던 방식 대비 힙 사용이 페이지 버퍼 수준으로 줄고,
+     *  수신자는 마지막 페이지를 기다리지 않고 등록을 시작할 수 있다.)
+     *
+     * 실패한 페이지를 다시 받으면 이미 넘긴 앱이 한 번 더 전달될 수 있다 (큐 등록은 중복을 건너뜀).
+     *
+     * @param ifModifiedSince 0보다 크면 이 시각(epoch 초) 이후 변경된 앱만 요청 (증분 동기화)
+     */
+    public CatalogStream streamGameApps(long ifModifiedSince, SteamAppSink sink) {
+        Long lastAppId = null;
+        int total = 0;
         int maxRetries = 3;
         int pageCount = 0;
-        
-        log.info("Steam 게임 앱 목록 수집 시작 (페이지네이션 방식)");
-        
+
+        log.info("Steam 게임 앱 목록 수집 시작 (스트리밍{})",
+                ifModifiedSince > 0 ? ", if_modified_since=" + ifModifiedSince : "");
+
         while (true) {
             pageCount++;
             int retryCount = 0;
-            boolean success = false;
-            
-            while (retryCount < maxRetries && !success) {
+            AppListPage page = null;
+
+            while (retryCount < maxRetries && page == null) {
                 try {
                     // Rate Limiter를 통한 요청 제한 준수
                     rateLimiter.acquirePermit();
-                    
-                    String url = buildGetAppListUrl(lastAppId);
-                    String response = restTemplate.getForObject(url, String.class);
-                    JsonNode root = objectMapper.readTree(response);
-                    JsonNode responseNode = root.path("response");
-                    JsonNode appsNode = responseNode.path("apps");
-                    
-                    if (appsNode.isArray() && appsNode.size() > 0) {
-                        List<Map<String, Object>> pageApps = objectMapper.convertValue(appsNode, 
-                                new TypeReference<List<Map<String, Object>>>() {});
-                        
-                        int beforeSize = allApps.size();
-                        allApps.addAll(pageApps);
-                        int addedCount = allApps.size() - beforeSize;
-                        
-                        log.info("Steam 앱 목록 페이지 {} 수집 완료: {}개 추가 (전체: {}개)", 
-                                pageCount, addedCount, allApps.size());
-                        
-                        // 마지막 앱의 ID를 다음 요청의 시작점으로 사용
-                        Map<String, Object> lastApp = pageApps.get(pageApps.size() - 1);
-                        Object appIdObj = lastApp.get("appid");
-                        Integer newLastAppId = null;
-                        if (appIdObj instanceof Number) {
-                            newLastAppId = ((Number) appIdObj).intValue();
-                        } else if (appIdObj != null) {
-                            try {
-                                newLastAppId = Integer.parseInt(appIdObj.toString());
-                            } catch (NumberFormatException e) {
-                                log.error("appid 파싱 실패: {}", appIdObj);
-                            }
-                        }
-                        
-                        success = true;
-                        
-                        // Steam API의 has_more 필드로 다음 페이지 존재 여부 확인
-                        boolean hasMore = responseNode.path("have_more_results").asBoolean(false);
-                        
-                        if (!hasMore) {
-                            log.info("Steam 앱 목록 수집 완료 (have_more_results=false): 총 {}개 ({}페이지)", 
-                                    allApps.size(), pageCount);
-                            return allApps;
-                        }
-                        
-                        // 중복 방지: lastAppId가 변경되지 않으면 종료
-                        if (newLastAppId != null && newLastAppId.equals(lastAppId)) {
-                            log.warn("Steam 앱 목록 수집 중단 (lastAppId 중복): 총 {}개 ({}페이지)", 
-                                    allApps.size(), pageCount);
-                            return allApps;
-                        }
-                        
-                        lastAppId = newLastAppId;
-                        
-                    } else {
-                        // 빈 응답 = 더 이상 데이터 없음
-                        log.info("Steam 앱 목록 수집 완료 (빈 응답): 총 {}개 ({}페이지)", allApps.size(), pageCount);
-                        return allApps;
-                    }
-                    
+
+                    String url = buildGetAppListUrl(lastAppId, ifModifiedSince);
+                    page = circuit().execute(() -> restTemplate.execute(url, HttpMethod.GET, null,
+                            response -> parseAppListPage(response.getBody(), sink)));
+
+                } catch (CircuitOpenException e) {
+                    log.warn("Steam 서킷 열림 - 앱 목록 수집 중단 (페이지 {}). 현재까지 {}개 전달", pageCount, total);
+                    return new CatalogStream(total, false);
                 } catch (HttpClientErrorException.TooManyRequests e) {
                     retryCount++;
-                    log.warn("Steam API Rate Limit 초과 (페이지 {}). 재시도 {}/{}. 60초 대기...", 
+                    log.warn("Steam API Rate Limit 초과 (페이지 {}). 재시도 {}/{}. 60초 대기...",
                             pageCount, retryCount, maxRetries);
                     try {
                         Thread.sleep(60000);
                     } catch (InterruptedException ie) {
                         Thread.currentThread().interrupt();
                         log.error("Steam 앱 목록 수집 중단됨");
-                        return allApps;
-                    }
-                } catch (IOException e) {
-                    retryCount++;
-                    log.error("Steam 앱 목록 페이지 {} 파싱 오류 (재시도 {}/{}): {}", 
-                            pageCount, retryCount, maxRetries, e.getMessage());
-                    if (retryCount >= maxRetries) {
-                        log.error("Steam 앱 목록 수집 실패. 현재까지 수집된 {}개 반환", allApps.size());
-                        return allApps;
+                        return new CatalogStream(total, false);
                     }
                 } catch (Exception e) {
                     retryCount++;
-                    log.error("Steam 앱 목록 수집 중 예상치 못한 오류 (재시도 {}/{}): {}", 
-                            retryCount, maxRetries, e.getMessage(), e);
-                    if (retryCount >= maxRetries) {
-                        log.error("Steam 앱 목록 수집 실패. 현재까지 수집된 {}개 반환", allApps.size());
-                        return allApps;
-                    }
+                    log.error("Steam 앱 목록 페이지 {} 수집 오류 (재시도 {}/{}): {}",
+                            pageCount, retryCount, maxRetries, e.getMessage());
                 }
             }
-            
+
             // 재시도 횟수 초과 시
-            if (!success) {
-                log.error("Steam 앱 목록 페이지 {} 수집 실패 (재시도 초과). 현재까지 수집된 {}개 반환", 
-                        pageCount, allApps.size());
-                return allApps;
+            if (page == null) {
+                log.error("Steam 앱 목록 페이지 {} 수집 실패 (재시도 초과). 현재까지 {}개 전달",
+                        pageCount, total);
+                return new CatalogStream(total, false);
+            }
+
+            total += page.count();
+            log.info("Steam 앱 목록 페이지 {} 수집 완료: {}개 (전체: {}개)", pageCount, page.count(), total);
+
+            if (page.stopped()) {
+                log.info("Steam 앱 목록 수집 중단 (수신자 요청): 총 {}개 ({}페이지)", total, pageCount);
+                return new CatalogStream(total, false);
+            }
+            if (page.count() == 0 || !page.haveMore()) {
+                // 빈 응답 또는 have_more_results=false = 더 이상 데이터 없음
+                log.info("Steam 앱 목록 수집 완료: 총 {}개 ({}페이지)", total, pageCount);
+                return new CatalogStream(total, true);
             }
+            // 중복 방지: lastAppId가 변경되지 않으면 종료
+            if (page.lastAppId() == null || page.lastAppId().equals(lastAppId)) {
+                log.warn("Steam 앱 목록 수집 중단 (lastAppId 중복): 총 {}개 ({}페이지)", total, pageCount);
+                return new CatalogStream(total, false);
+            }
+            lastAppId = page.lastAppId();
         }
     }
-    
+
+    /**
+     * GetAppList 응답 1페이지를 토큰 단위로 읽어 앱마다 수신자 호출
+     * ({"response":{"apps":[{"appid":..,"last_modified":..,"price_change_number":..}],"have_more_results":..,"last_appid":..}})
+     */
+    AppListPage parseAppListPage(InputStream body, SteamAppSink sink) throws IOException {
+        int count = 0;
+        Long lastSeenAppId = null;
+        Long reportedLastAppId = null;
+        boolean haveMore = false;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new AppListPage(0, null, false, false);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (!"response".equals(field) || !parser.isExpectedStartObjectToken()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("apps".equals(name) && value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            long appId = -1;
+                            long lastModified = 0;
+                            long priceChangeNumber = 0;
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String appField = parser.currentName();
+                                parser.nextToken();
+                                switch (appField) {
+                                    case "appid" -> appId = parser.getValueAsLong(-1);
+                                    case "last_modified" -> lastModified = parser.getValueAsLong(0);
+                                    case "price_change_number" -> priceChangeNumber = parser.getValueAsLong(0);
+                                    default -> parser.skipChildren();
+                                }
+                            }
+                            if (appId <= 0) {
+                                continue;
+                            }
+                            count++;
+                            lastSeenAppId = appId;
+                            if (!sink.accept(appId, lastModified, priceChangeNumber)) {
+                                return new AppListPage(count, lastSeenAppId, true, true);
+                            }
+                        }
+                    } else if ("have_more_results".equals(name)) {
+                        haveMore = parser.getValueAsBoolean(false);
+                    } else if ("last_appid".equals(name)) {
+                        reportedLastAppId = parser.getValueAsLong();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return new AppListPage(count, reportedLastAppId != null ? reportedLastAppId : lastSeenAppId, haveMore, false);
+    }
+
     /**
      * IStoreService GetAppList API URL 생성
      * 
      * @param lastAppId 마지막으로 받은 appId (페이지네이션용)
+     * @param ifModifiedSince 0보다 크면 이 시각(epoch 초) 이후 변경분만
      * @return 완전한 API URL
      */
-    private String buildGetAppListUrl(Integer lastAppId) {
+    private String buildGetAppListUrl(Long lastAppId, long ifModifiedSince) {
         StringBuilder url = new StringBuilder("https://api.steampowered.com/IStoreService/GetAppList/v1/");
         url.append("?key=").append(steamApiKey);
         url.append("&include_games=true");
@@ -196,6 +286,9 @@ public class SteamFetcher {
         if (lastAppId != null) {
             url.append("&last_appid=").append(lastAppId);
         }
+        if (ifModifiedSince > 0) {
+            url.append("&if_modified_since=").append(ifModifiedSince);
+        }
         
         return url.toString();
     }
@@ -203,48 +296,42 @@ public class SteamFetcher {
     /**
      * 특정 appId의 게임 상세 정보를 Map 형태로 가져옵니다.
      * 
+     * 429(Rate Limit)는 워커를 붙잡고 기다리지 않고 RetryAfterException으로 올려 보내,
+     * 작업 큐가 Retry-After(없으면 60초) 이후로 재시도를 예약하게 합니다.
+     * 
      * @param appId Steam 게임의 고유 ID
      * @return 게임 상세 정보 Map 객체
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> fetchGameDetails(Long appId) {
-        int maxRetries = 3;
-        int retryCount = 0;
-
-        while (retryCount <= maxRetries) {
-            try {
-                // Rate Limiter를 통한 요청 제한 준수
-                rateLimiter.acquirePermit();
-                
-                Map<String, Object> response = restTemplate.getForObject(APP_DETAILS_URL, Map.class, appId);
+        try {
+            // Rate Limiter를 통한 요청 제한 준수
+            rateLimiter.acquirePermit();
 
-                if (response != null && response.containsKey(String.valueOf(appId))) {
-                    Map<String, Object> appData = (Map<String, Object>) response.get(String.valueOf(appId));
-                    boolean success = (boolean) appData.getOrDefault("success", false);
+            Map<String, Object> response = circuit().execute(
+                    () -> restTemplate.getForObject(APP_DETAILS_URL, Map.class, appId));
 
-                    if (success && appData.containsKey("data")) {
-                        return (Map<String, Object>) appData.get("data");
-                    }
-                }
-                return null; // 성공했지만 데이터가 없거나 success=false인 경우
+            if (response != null && response.containsKey(String.valueOf(appId))) {
+                Map<String, Object> appData = (Map<String, Object>) response.get(String.valueOf(appId));
+                boolean success = (boolean) appData.getOrDefault("success", false);
 
-            } catch (HttpClientErrorException.TooManyRequests e) {
-                retryCount++;
-                log.warn("Steam API Rate Limit exceeded for AppID {}. Retry {}/{}. Waiting 60 seconds...", appId,
-                        retryCount, maxRetries);
-                try {
-                    Thread.sleep(60000); // 60초 대기
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return null;
+                if (success && appData.containsKey("data")) {
+                    return (Map<String, Object>) appData.get("data");
                 }
-            } catch (Exception e) {
-                log.warn("AppID {}의 상세 정보를 가져오는 중 오류 발생: {}", appId, e.getMessage());
-                return null;
             }
+            return null; // 성공했지만 데이터가 없거나 success=false인 경우
+
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            String header = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst("Retry-After") : null;
+            Duration retryAfter = RetryAfterException.parseHeader(header, RATE_LIMIT_FALLBACK_WAIT);
+            log.warn("Steam API Rate Limit exceeded for AppID {}. {}초 후 재시도 예약", appId, retryAfter.toSeconds());
+            throw new RetryAfterException("Steam appdetails 429 (AppID " + appId + ")", retryAfter);
+        } catch (CircuitOpenException e) {
+            throw e; // Consumer가 재시도 횟수를 쓰지 않고 연기
+        } catch (Exception e) {
+            log.warn("AppID {}의 상세 정보를 가져오는 중 오류 발생: {}", appId, e.getMessage());
+            return null;
         }
-        log.error("Steam API Rate Limit 재시도 횟수 초과. AppID: {}", appId);
-        return null;
     }
 }
 
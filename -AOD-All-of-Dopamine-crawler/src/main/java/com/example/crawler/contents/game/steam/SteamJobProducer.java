@@ -2,86 +2,217 @@ package com.example.crawler.contents.game.steam;
 
 import com.example.crawler.common.queue.CrawlJobProducer;
 import com.example.crawler.common.queue.JobType;
-import com.example.crawler.contents.game.steam.SteamFetcher;
-import lombok.RequiredArgsConstructor;
+import com.example.crawler.common.sync.SyncWatermarkRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Steam 크롤링 스케줄링 서비스
- * 
+ *
  * Job Queue 기반으로 작업을 생성합니다.
+ * 카탈로그는 SteamFetcher.streamGameApps로 흘려받아 ENQUEUE_CHUNK_SIZE개씩 바로 등록하므로
+ * 전체 목록을 메모리에 쌓지 않고, 마지막 페이지를 받기 전부터 작업이 큐에 들어간다.
+ *
+ * 주간 수집은 증분 동기화다:
+ * - 지난 완료 실행의 최신 last_modified(crawl_sync_watermark)를 if_modified_since로 보내 변경분만 받는다.
+ * - 받은 앱은 steam_app_watermark와 비교해 신규 → 일반 등록(이력 dedup 유지),
+ *   last_modified/price_change_number가 올라간 앱 → 재수집 등록(이력 dedup 해제), 그대로면 건너뛴다.
+ * - 워터마크는 목록을 끝까지 받은 실행만 전진시킨다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SteamJobProducer {
 
+    /** 한 번에 enqueueBulk로 넘기는 appId 수 (수신 버퍼 상한) */
+    static final int ENQUEUE_CHUNK_SIZE = 5000;
+
+    static final String CATALOG_WATERMARK_KEY = "steam.catalog";
+
+    /** if_modified_since를 이만큼 당겨 경계 누락을 막는다 (겹친 앱은 앱별 워터마크가 걸러냄) */
+    static final long WATERMARK_OVERLAP_SECONDS = 3600;
+
     private final SteamFetcher steamFetcher;
     private final CrawlJobProducer crawlJobProducer;
+    private final SteamAppWatermarkStore appWatermarkStore;
+    private final SyncWatermarkRepository syncWatermarkRepository;
+    private final boolean incrementalSync;
+
+    public SteamJobProducer(SteamFetcher steamFetcher,
+                            CrawlJobProducer crawlJobProducer,
+                            SteamAppWatermarkStore appWatermarkStore,
+                            SyncWatermarkRepository syncWatermarkRepository,
+                            @Value("${crawler.steam.incremental-sync:true}") boolean incrementalSync) {
+        this.steamFetcher = steamFetcher;
+        this.crawlJobProducer = crawlJobProducer;
+        this.appWatermarkStore = appWatermarkStore;
+        this.syncWatermarkRepository = syncWatermarkRepository;
+        this.incrementalSync = incrementalSync;
+    }
 
     /**
      * Steam 게임 목록을 Job Queue에 등록합니다.
-     * 
+     *
      * 주 1회 실행 (목요일 새벽 3시)
-     * 15만개 목록을 가져와 DB에 저장합니다.
+     * 첫 실행(워터마크 없음)은 15만개 전체 목록, 이후는 지난 실행 이후 변경된 앱만 받아 청크 단위로 등록합니다.
      */
     public void collectSteamGamesWeekly() {
-        log.info("🎮 [Steam Producer] Steam 게임 목록 수집 시작");
-        
+        long watermark = incrementalSync ? syncWatermarkRepository.getWatermark(CATALOG_WATERMARK_KEY) : 0;
+        long since = watermark > 0 ? Math.max(1, watermark - WATERMARK_OVERLAP_SECONDS) : 0;
+        log.info("🎮 [Steam Producer] Steam 게임 목록 수집 시작 ({})",
+                since > 0 ? "변경분, if_modified_since=" + since : "전체");
+
         try {
-            // 1. Steam API에서 전체 게임 목록 가져오기 (15만개)
-            List<Map<String, Object>> gameApps = steamFetcher.fetchGameApps();
-            
-            if (gameApps.isEmpty()) {
-                log.warn("⚠️ [Steam Producer] 게임 목록이 비어있습니다.");
+            // Steam API 목록 스트리밍 → 청크마다 신규/변경 판정 후 Job Queue 등록 (우선순위: 5 - 보통)
+            IncrementalEnqueuer enqueuer = new IncrementalEnqueuer();
+            SteamFetcher.CatalogStream stream = steamFetcher.streamGameApps(since, enqueuer);
+            enqueuer.flush();
+
+            if (stream.complete() && incrementalSync) {
+                syncWatermarkRepository.advance(CATALOG_WATERMARK_KEY, enqueuer.maxLastModified);
+            }
+
+            if (stream.received() == 0) {
+                if (since > 0) {
+                    log.info("✅ [Steam Producer] if_modified_since={} 이후 변경된 게임 없음", since);
+                } else {
+                    log.warn("⚠️ [Steam Producer] 게임 목록이 비어있습니다.");
+                }
                 return;
             }
 
-            // 2. appId만 추출
-            List<String> appIds = gameApps.stream()
-                    .map(app -> String.valueOf(((Number) app.get("appid")).longValue()))
-                    .collect(Collectors.toList());
+            log.info("✅ [Steam Producer] Steam 게임 {} 개 수신 → 신규 {} 개 / 변경 {} 개 작업 생성, 변경 없음 {} 개{}",
+                    stream.received(), enqueuer.added, enqueuer.refreshed, enqueuer.unchanged,
+                    stream.complete() ? "" : " (목록 미완료 — 워터마크 유지)");
 
-            // 3. Job Queue에 등록 (우선순위: 5 - 보통)
-            int created = crawlJobProducer.createJobs(JobType.STEAM_GAME, appIds, 5);
-            
-            log.info("✅ [Steam Producer] Steam 게임 {} 개 작업 생성 완료", created);
-            
         } catch (Exception e) {
             log.error("❌ [Steam Producer] Steam 게임 목록 수집 중 오류 발생", e);
         }
     }
 
     /**
-     * fetchGameApps() 결과의 [start, end) 슬라이스를 큐에 등록합니다.
+     * 카탈로그 순서상 [start, end) 구간을 큐에 등록합니다.
      * (admin 수동 트리거용 — 구 SteamCrawlService.collectAllGamesInRange의 큐 방식 대체)
+     * end에 도달하면 남은 페이지는 요청하지 않습니다.
      *
      * @return 등록된 작업 수
      */
     public int enqueueRange(int start, int end) {
-        List<Map<String, Object>> gameApps = steamFetcher.fetchGameApps();
+        int effectiveStart = Math.max(0, start);
+        ChunkedEnqueuer enqueuer = new ChunkedEnqueuer(effectiveStart, end);
+        int received = steamFetcher.streamGameApps(0, enqueuer).received();
+        enqueuer.flush();
 
-        if (gameApps.isEmpty()) {
+        if (received == 0) {
             log.warn("⚠️ [Steam Producer] 게임 목록이 비어있어 범위 등록을 중단합니다.");
             return 0;
         }
 
-        int effectiveStart = Math.max(0, start);
-        int effectiveEnd = Math.min(end, gameApps.size());
+        log.info("✅ [Steam Producer] 범위 [{}, {}) → {} 개 작업 생성",
+                effectiveStart, Math.min(end, received), enqueuer.inserted);
+        return enqueuer.inserted;
+    }
+
+    /**
+     * 카탈로그 순번 [skip, limit) 구간의 appId를 ENQUEUE_CHUNK_SIZE개까지만 모았다가 등록하는 수신자
+     */
+    private final class ChunkedEnqueuer implements SteamAppSink {
 
-        List<String> appIds = gameApps.subList(effectiveStart, effectiveEnd).stream()
-                .map(app -> String.valueOf(((Number) app.get("appid")).longValue()))
-                .collect(Collectors.toList());
+        private final long skip;
+        private final long limit;
+        private final List<String> chunk = new ArrayList<>(ENQUEUE_CHUNK_SIZE);
+        private long seen;
+        private int inserted;
+        private int skipped;
 
-        int created = crawlJobProducer.createJobs(JobType.STEAM_GAME, appIds, 5);
-        log.info("✅ [Steam Producer] 범위 [{}, {}) → {} 개 작업 생성", effectiveStart, effectiveEnd, created);
-        return created;
+        private ChunkedEnqueuer(long skip, long limit) {
+            this.skip = skip;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean accept(long appId, long lastModified, long priceChangeNumber) {
+            long index = seen++;
+            if (index >= limit) {
+                return false;
+            }
+            if (index >= skip) {
+                chunk.add(Long.toString(appId));
+                if (chunk.size() >= ENQUEUE_CHUNK_SIZE) {
+                    flush();
+                }
+            }
+            return index + 1 < limit;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            CrawlJobProducer.EnqueueResult result = crawlJobProducer.enqueueBulk(JobType.STEAM_GAME, chunk, 5);
+            inserted += result.inserted();
+            skipped += result.skipped();
+            chunk.clear();
+        }
     }
-}
 
+    /**
+     * 변경 표식을 ENQUEUE_CHUNK_SIZE개까지 모았다가 앱별 워터마크와 비교해 신규/변경만 등록하는 수신자
+     *
+     * 워터마크 저장은 작업 등록 뒤에 한다 — 등록이 실패하면 다음 실행이 같은 앱을 다시 변경으로 본다.
+     */
+    private final class IncrementalEnqueuer implements SteamAppSink {
+
+        /** 같은 페이지를 다시 받아 중복된 앱은 마지막 표식만 남김 */
+        private final Map<Long, SteamAppWatermarkStore.Mark> buffer = new LinkedHashMap<>();
+        private long maxLastModified;
+        private int added;
+        private int refreshed;
+        private int unchanged;
+
+        @Override
+        public boolean accept(long appId, long lastModified, long priceChangeNumber) {
+            buffer.put(appId, new SteamAppWatermarkStore.Mark(appId, lastModified, priceChangeNumber));
+            maxLastModified = Math.max(maxLastModified, lastModified);
+            if (buffer.size() >= ENQUEUE_CHUNK_SIZE) {
+                flush();
+            }
+            return true;
+        }
 
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            Map<Long, SteamAppWatermarkStore.Mark> stored = appWatermarkStore.findAll(buffer.keySet());
+            List<String> newIds = new ArrayList<>();
+            List<String> changedIds = new ArrayList<>();
+            List<SteamAppWatermarkStore.Mark> toStore = new ArrayList<>();
+            for (SteamAppWatermarkStore.Mark mark : buffer.values()) {
+                SteamAppWatermarkStore.Mark previous = stored.get(mark.appId());
+                if (previous == null) {
+                    newIds.add(Long.toString(mark.appId()));
+                } else if (mark.isNewerThan(previous)) {
+                    changedIds.add(Long.toString(mark.appId()));
+                } else {
+                    unchanged++;
+                    continue;
+                }
+                toStore.add(mark);
+            }
+            if (!newIds.isEmpty()) {
+                added += crawlJobProducer.enqueueBulk(JobType.STEAM_GAME, newIds, 5).inserted();
+            }
+            if (!changedIds.isEmpty()) {
+                refreshed += crawlJobProducer.enqueueRefresh(JobType.STEAM_GAME, changedIds, 5).inserted();
+            }
+            appWatermarkStore.upsertAll(toStore);
+            buffer.clear();
+        }
+    }
+}
@@ -1,26 +1,60 @@
 package com.example.crawler.contents.novel.kakaopage;
 
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlHttpException;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.http.CrawlResponse;
+import com.example.crawler.common.ratelimit.RateLimiter;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.ingest.CollectorService;
-import com.example.crawler.util.InterruptibleSleep;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.jsoup.Connection;
-import org.jsoup.Jsoup;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 카카오페이지 크롤러 — GraphQL 목록 → 상세('홈' + '정보' 탭) 수집
+ *
+ * 목록 한 페이지의 상세들은 kakao-page 리미터 허가를 받아 최대 detail-concurrency개까지 동시에 요청하고
+ * (허가 대기·요청 모두 스레드를 잡지 않음), 저장은 호출 스레드에서 목록 순서대로 한다.
+ * 수집 시간은 상세 수 × 왕복 시간이 아니라 리미터 허용 속도(작품당 요청 2회)에 비례한다.
+ * kakao-page 서킷이 열리면 남은 상세는 요청 없이 바로 실패 처리된다.
+ */
+@Slf4j
 @Component
 public class KakaoPageCrawler {
 
+    private static final String USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36";
+
     private final CollectorService collector;
+    private final CrawlHttpClient httpClient;
+    private final KakaoPageDetailExtractor extractor;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuit;
+    private final MeterRegistry meterRegistry;
+    private final Timer detailTimer;
+    private final int detailConcurrency;
+    private final String graphqlUrl;
+    private final String baseUrl;
     private static final ObjectMapper OM = new ObjectMapper();
-    private static final String GRAPHQL_API_URL = "https://bff-page.kakao.com/graphql";
 
     private static final String GRAPHQL_QUERY = """
     query staticLandingGenreSection($sectionId: ID!, $param: StaticLandingGenreParamInput!) {
@@ -39,8 +73,24 @@ public class KakaoPageCrawler {
     }
     """;
 
-    public KakaoPageCrawler(CollectorService collector) {
+    public KakaoPageCrawler(CollectorService collector, CrawlHttpClient httpClient,
+                            RateLimiterRegistry rateLimiterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+                            KakaoPageDetailExtractor extractor, MeterRegistry meterRegistry,
+                            @Value("${crawler.kakao-page.detail-concurrency:4}") int detailConcurrency,
+                            @Value("${crawler.kakao-page.graphql-url:https://bff-page.kakao.com/graphql}") String graphqlUrl,
+                            @Value("${crawler.kakao-page.base-url:https://page.kakao.com}") String baseUrl) {
         this.collector = collector;
+        this.httpClient = httpClient;
+        this.extractor = extractor;
+        this.rateLimiter = rateLimiterRegistry.get(RateLimiterRegistry.KAKAO_PAGE);
+        this.circuit = circuitBreakerRegistry.get(RateLimiterRegistry.KAKAO_PAGE);
+        this.meterRegistry = meterRegistry;
+        this.detailConcurrency = Math.max(1, detailConcurrency);
+        this.graphqlUrl = graphqlUrl;
+        this.baseUrl = baseUrl;
+        this.detailTimer = Timer.builder("crawl.kakaopage.detail.duration")
+                .description("카카오페이지 상세 1건 수집 시간 (허가 대기 포함)")
+                .register(meterRegistry);
     }
 
     public int crawlToRaw(
@@ -53,13 +103,12 @@ public class KakaoPageCrawler {
         while (true) {
             // 인터럽트 체크 - 작업 취소 요청 확인
             if (Thread.currentThread().isInterrupted()) {
-                System.out.println("작업 인터럽트 감지, 크롤링 중단 (현재까지 " + saved + "개 저장)");
+                log.info("작업 인터럽트 감지, 크롤링 중단 (현재까지 {}개 저장)", saved);
                 return saved;
             }
-            
+
             if (maxPages > 0 && page > maxPages) break;
 
-            // ... (1, 2, 3 단계는 변경 없음) ...
             Map<String, Object> paramMap = new HashMap<>();
             paramMap.put("categoryUid", categoryUid);
             paramMap.put("subcategoryUid", subcategoryUid);
@@ -78,18 +127,12 @@ public class KakaoPageCrawler {
             );
             String jsonPayload = OM.writeValueAsString(payload);
 
-            Connection.Response response = Jsoup.connect(GRAPHQL_API_URL)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
-                    .referrer("https://page.kakao.com/")
-                    .header("Content-Type", "application/json")
+            String jsonResponse = httpClient.getString(CrawlRequest.post(graphqlUrl, jsonPayload, "application/json")
+                    .userAgent(USER_AGENT)
+                    .referrer(baseUrl + "/")
                     .header("Accept", "application/json")
-                    .requestBody(jsonPayload)
-                    .method(Connection.Method.POST)
-                    .ignoreContentType(true)
-                    .timeout(20000)
-                    .execute();
-
-            String jsonResponse = response.body();
+                    .timeout(Duration.ofSeconds(20))
+                    .circuit(circuit));
 
             Set<String> detailUrls = new LinkedHashSet<>();
             JsonNode root = OM.readTree(jsonResponse);
@@ -97,60 +140,30 @@ public class KakaoPageCrawler {
 
             if (itemsNode.isArray()) {
                 for (JsonNode item : itemsNode) {
-                    String scheme = item.path("scheme").asText(null);
-                    if (scheme != null && scheme.contains("series_id=")) {
-                        Matcher m = Pattern.compile("series_id=(\\d+)").matcher(scheme);
-                        if (m.find()) {
-                            detailUrls.add("https://page.kakao.com/content/" + m.group(1));
-                        }
+                    String seriesId = extractor.seriesIdFromScheme(item.path("scheme").asText(null));
+                    if (seriesId != null) {
+                        detailUrls.add(baseUrl + "/content/" + seriesId);
                     }
                 }
             }
 
             if (detailUrls.isEmpty()) {
-                System.out.println("페이지 " + page + "에서 더 이상 작품을 찾을 수 없어 종료합니다.");
+                log.info("[KakaoPage] 페이지 {}에서 더 이상 작품을 찾을 수 없어 종료", page);
                 break;
             }
 
-            // 4. 각 상세 페이지 크롤링 및 저장
-            for (String detailUrl : detailUrls) {
-                try {
-                    Document doc = get(detailUrl, cookieString);
-                    // ★★★★★ 수정된 부분: parseDetail에 cookieString을 전달 ★★★★★
-                    KakaoPageNovelDTO dto = parseDetail(doc, detailUrl, cookieString);
-
-                    Map<String, Object> dataToSave = new LinkedHashMap<>();
-                    dataToSave.put("title", nz(dto.getTitle()));
-                    dataToSave.put("author", nz(dto.getAuthor()));
-                    dataToSave.put("synopsis", nz(dto.getSynopsis()));
-                    dataToSave.put("imageUrl", nz(dto.getImageUrl()));
-                    dataToSave.put("productUrl", nz(dto.getProductUrl()));
-                    dataToSave.put("seriesId", nz(dto.getSeriesId()));
-                    dataToSave.put("status", nz(dto.getStatus()));
-                    dataToSave.put("publisher", nz(dto.getPublisher()));
-                    dataToSave.put("ageRating", nz(dto.getAgeRating()));
-                    dataToSave.put("genres", dto.getGenres());
-                    dataToSave.put("keywords", dto.getKeywords());
-                    dataToSave.put("rating", dto.getRating());
-                    dataToSave.put("viewCount", dto.getViewCount());
-                    dataToSave.put("commentCount", dto.getCommentCount());
-
-                    collector.saveRaw("KakaoPage", "WEBNOVEL", dataToSave, dto.getSeriesId(), dto.getProductUrl());
-                    saved++;
-                } catch (Exception e) {
-                    System.err.println("상세 페이지 처리 중 오류: " + detailUrl + " - " + e.getMessage());
-                }
-            }
+            // 각 상세 페이지 동시 수집 및 저장
+            saved += crawlDetails(detailUrls, cookieString);
 
             boolean isEnd = root.at("/data/staticLandingGenreSection/isEnd").asBoolean(true);
             if (isEnd) {
-                System.out.println("API가 마지막 페이지라고 응답하여 종료합니다.");
+                log.info("[KakaoPage] API가 마지막 페이지라고 응답하여 종료 (페이지 {})", page);
                 break;
             }
 
             page++;
-            if (!InterruptibleSleep.sleep(1000)) {
-                System.out.println("카카오페이지 크롤링 인터럽트 발생, 작업 중단");
+            if (!rateLimiter.acquire()) {
+                log.info("카카오페이지 크롤링 인터럽트 발생, 작업 중단");
                 break;
             }
         }
@@ -158,131 +171,162 @@ public class KakaoPageCrawler {
     }
 
     /**
-     * 상세 페이지 HTML을 파싱하여 DTO 객체를 생성하는 메소드. (수정됨)
+     * 상세 URL들을 최대 detailConcurrency개씩 동시에 받아 목록 순서대로 저장
+     *
+     * 대기 중 인터럽트되면 아직 허가를 기다리는 상세는 요청하지 않고, 이미 보낸 요청은 끝나는 대로
+     * 캐시에서 지운 뒤(응답 캐시가 본문을 저장했어도 다음 수집이 unchanged로 건너뛰지 않도록)
+     * 인터럽트 상태를 되살려 그때까지 저장한 수를 반환한다.
+     *
+     * @return 새로 저장한 작품 수 (변경 없음은 제외)
      */
-    public KakaoPageNovelDTO parseDetail(Document doc, String detailUrl, String cookieString) throws Exception {
-        KakaoPageNovelDTO.KakaoPageNovelDTOBuilder b = KakaoPageNovelDTO.builder();
-
-        // --- 1. 기본 페이지('홈' 탭) 정보 파싱 ---
-        String productUrl = meta(doc, "property", "og:url");
-        if (isBlank(productUrl)) productUrl = detailUrl;
-        b.productUrl(productUrl);
-        b.seriesId(extractSeriesIdFromPath(productUrl));
-
-        b.imageUrl(meta(doc, "property", "og:image"));
-        b.title(clean(meta(doc, "property", "og:title")));
-        b.author(clean(meta(doc, "name", "author")));
-
-        String synopsis = meta(doc, "property", "og:description");
-        if (isBlank(synopsis)) synopsis = meta(doc, "name", "description");
-        b.synopsis(clean(synopsis));
-
-        List<String> keywords = new ArrayList<>();
-        String kw = meta(doc, "name", "keywords");
-        if (!isBlank(kw)) {
-            keywords.addAll(Arrays.stream(kw.split("[,;]")).map(String::trim).toList());
-        }
-        b.keywords(keywords);
-
-        Element statsRow = selectFirstSafe(doc, "div.flex.h-16pxr.items-center.justify-center");
-        if (statsRow != null) {
-            Element genreSpan = selectFirstSafe(statsRow, "> div:nth-child(1) > div > span:nth-child(3)");
-            b.genres(Arrays.stream(text(genreSpan).split("[,\\s]+")).map(String::trim).toList());
-
-            Element viewSpan = selectFirstSafe(statsRow, "> div:nth-child(2) > span");
-            b.viewCount(parseKoreanCount(text(viewSpan)));
-
-            Element ratingSpan = selectFirstSafe(statsRow, "> div:nth-child(3) > span");
-            String num = text(ratingSpan).replaceAll("[^0-9.]", "");
-            if (!isBlank(num)) {
-                try { b.rating(new BigDecimal(num)); } catch (Exception ignored) {}
-            }
-        }
-        Element statusWrap = selectFirstSafe(doc, "div.mt-6pxr.flex.items-center");
-        b.status(normalizeStatus(text(statusWrap)));
-
-
-        // ★★★★★ '정보' 탭 추가 정보 파싱 (새로 추가된 부분) ★★★★★
+    int crawlDetails(Collection<String> detailUrls, String cookieString) {
+        Semaphore inFlight = new Semaphore(detailConcurrency);
+        AtomicBoolean abandoned = new AtomicBoolean();
+        Map<String, CompletableFuture<KakaoPageNovelDTO>> pending = new LinkedHashMap<>();
+        Set<String> settled = new HashSet<>(); // 저장했거나 캐시에서 지운 URL
+        int saved = 0;
         try {
-            // 1. '정보' 탭 URL 생성 (기존 URL에서 쿼리 파라미터 제거 후 추가)
-            String aboutUrl = detailUrl.split("\\?")[0] + "?tab_type=about";
-
-            // 2. '정보' 탭 페이지를 새로 요청하여 HTML 가져오기
-            Document aboutDoc = get(aboutUrl, cookieString);
-
-            // 3. '정보' 탭에서 발행자, 연령등급 파싱
-            // '발행자'라는 텍스트를 가진 span을 포함하는 div를 찾고, 그 안의 두 번째 span의 텍스트를 가져옴
-            Element publisherDiv = selectFirstSafe(aboutDoc, "div:has(span:containsOwn(발행자))");
-            if (publisherDiv != null) {
-                b.publisher(clean(text(selectFirstSafe(publisherDiv, "span:last-of-type, span.text-el-70"))));
+            for (String detailUrl : detailUrls) {
+                inFlight.acquire();
+                pending.put(detailUrl, fetchDetailAsync(detailUrl, cookieString, abandoned)
+                        .whenComplete((dto, e) -> inFlight.release()));
             }
 
-            // '연령등급'이라는 텍스트를 가진 span을 포함하는 div를 찾고, 그 안의 두 번째 span의 텍스트를 가져옴
-            Element ageRatingDiv = selectFirstSafe(aboutDoc, "div:has(span:containsOwn(연령등급))");
-            if (ageRatingDiv != null) {
-                b.ageRating(clean(text(selectFirstSafe(ageRatingDiv, "span:last-of-type, span.text-el-70"))));
+            for (Map.Entry<String, CompletableFuture<KakaoPageNovelDTO>> entry : pending.entrySet()) {
+                String detailUrl = entry.getKey();
+                boolean stored = false;
+                try {
+                    KakaoPageNovelDTO dto = entry.getValue().get();
+                    if (dto == null) {
+                        // 조건부 GET — 지난 수집 이후 그대로면 파싱·저장 생략
+                        countDetail("unchanged");
+                    } else {
+                        save(dto);
+                        saved++;
+                        countDetail("saved");
+                    }
+                    stored = true;
+                } catch (ExecutionException | RuntimeException e) {
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    countDetail("failed");
+                    log.warn("[KakaoPage] 상세 페이지 처리 중 오류: {} - {}", detailUrl, cause.getMessage());
+                }
+                // 저장까지 못 간 응답은 캐시에서 지워 다음 수집 때 다시 파싱
+                if (!stored) {
+                    httpClient.invalidate(detailUrl);
+                }
+                settled.add(detailUrl);
             }
-
-        } catch (Exception e) {
-            System.err.println("'정보' 탭 파싱 중 오류 발생: " + detailUrl + " - " + e.getMessage());
-            // '정보' 탭 파싱에 실패하더라도 이미 수집한 기본 정보는 유지됨
+        } catch (InterruptedException e) {
+            abandon(pending, settled, abandoned);
+            Thread.currentThread().interrupt();
+            log.info("[KakaoPage] 상세 수집 인터럽트, 중단 ({}건 저장, 미처리 {}건 캐시 제거)",
+                    saved, pending.size() - settled.size());
+            return saved;
         }
+        log.debug("[KakaoPage] 상세 {}건 처리, {}건 저장", pending.size(), saved);
+        return saved;
+    }
 
-        return b.build();
+    /**
+     * 저장하지 못한 상세 정리 — 허가 대기 중인 것은 요청하지 않게 하고,
+     * 요청이 나간 것은 응답(캐시 저장)이 끝난 뒤 캐시에서 지운다 (이미 끝났으면 즉시).
+     */
+    private void abandon(Map<String, CompletableFuture<KakaoPageNovelDTO>> pending, Set<String> settled,
+                         AtomicBoolean abandoned) {
+        abandoned.set(true);
+        pending.forEach((detailUrl, future) -> {
+            if (!settled.contains(detailUrl)) {
+                future.whenComplete((dto, e) -> httpClient.invalidate(detailUrl));
+            }
+        });
     }
 
-    // ===================== Helper Methods (변경 없음) =====================
-    private Document get(String url, String cookieString) throws Exception {
-        var conn = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
-                .referrer("https://page.kakao.com/")
-                .header("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8")
-                .timeout(15000);
-        if (!isBlank(cookieString)) conn.header("Cookie", cookieString);
-        return conn.get();
+    /**
+     * 상세('홈' 탭) → '정보' 탭 순으로 비동기 수집 (조건부 GET 결과가 그대로면 null로 완료)
+     * abandoned가 켜진 뒤 허가를 받은 상세는 요청하지 않고 취소로 끝낸다.
+     */
+    private CompletableFuture<KakaoPageNovelDTO> fetchDetailAsync(String detailUrl, String cookieString,
+                                                                  AtomicBoolean abandoned) {
+        long start = System.nanoTime();
+        return rateLimiter.acquireAsync()
+                .thenCompose(ignored -> abandoned.get()
+                        ? CompletableFuture.<CrawlResponse>failedFuture(new CancellationException("상세 수집 중단"))
+                        : httpClient.sendAsync(request(detailUrl, cookieString).cached()))
+                .thenCompose(response -> {
+                    if (response.unchanged()) {
+                        return CompletableFuture.<KakaoPageNovelDTO>completedFuture(null);
+                    }
+                    KakaoPageNovelDTO.KakaoPageNovelDTOBuilder builder = extractor.home(document(response, detailUrl), detailUrl);
+                    return fetchAboutAsync(detailUrl, cookieString, builder).thenApply(ignored -> builder.build());
+                })
+                .whenComplete((dto, e) -> detailTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
     }
 
-    private String extractSeriesIdFromPath(String url) {
-        if (isBlank(url)) return null;
-        Matcher m = Pattern.compile("/content/(\\d+)").matcher(url);
-        return m.find() ? m.group(1) : null;
+    /**
+     * '정보' 탭의 발행자·연령등급 — 실패해도 이미 수집한 기본 정보는 유지
+     */
+    private CompletableFuture<Void> fetchAboutAsync(String detailUrl, String cookieString,
+                                                    KakaoPageNovelDTO.KakaoPageNovelDTOBuilder builder) {
+        String aboutUrl = extractor.aboutUrl(detailUrl);
+        return rateLimiter.acquireAsync()
+                .thenCompose(ignored -> httpClient.sendAsync(request(aboutUrl, cookieString)))
+                .thenAccept(response -> extractor.about(document(response, aboutUrl), builder))
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("[KakaoPage] '정보' 탭 파싱 중 오류: {} - {}", detailUrl, cause.getMessage());
+                    return null;
+                });
     }
 
-    private Long parseKoreanCount(String raw) {
-        if (isBlank(raw)) return null;
-        raw = raw.replace(",", "").trim();
-        Matcher m = Pattern.compile("([0-9]+(?:\\.[0-9]+)?)(억|만|천)?").matcher(raw);
-        if (!m.find()) return null;
-        double v = Double.parseDouble(m.group(1));
-        String unit = m.group(2);
-        if ("억".equals(unit)) v *= 100_000_000d;
-        else if ("만".equals(unit)) v *= 10_000d;
-        else if ("천".equals(unit)) v *= 1_000d;
-        return (long) v;
+    private void save(KakaoPageNovelDTO dto) {
+        Map<String, Object> dataToSave = new LinkedHashMap<>();
+        dataToSave.put("title", nz(dto.getTitle()));
+        dataToSave.put("author", nz(dto.getAuthor()));
+        dataToSave.put("synopsis", nz(dto.getSynopsis()));
+        dataToSave.put("imageUrl", nz(dto.getImageUrl()));
+        dataToSave.put("productUrl", nz(dto.getProductUrl()));
+        dataToSave.put("seriesId", nz(dto.getSeriesId()));
+        dataToSave.put("status", nz(dto.getStatus()));
+        dataToSave.put("publisher", nz(dto.getPublisher()));
+        dataToSave.put("ageRating", nz(dto.getAgeRating()));
+        dataToSave.put("genres", dto.getGenres());
+        dataToSave.put("keywords", dto.getKeywords());
+        dataToSave.put("rating", dto.getRating());
+        dataToSave.put("viewCount", dto.getViewCount());
+        dataToSave.put("commentCount", dto.getCommentCount());
+
+        collector.saveRaw("KakaoPage", "WEBNOVEL", dataToSave, dto.getSeriesId(), dto.getProductUrl());
     }
 
-    private static String normalizeStatus(String s) {
-        if (s == null) return null;
-        return s.replace('\u00A0', ' ').replaceAll("\\s*·\\s*", " ").replaceAll("\\s{2,}", " ").trim();
+    /** 상세 처리 결과 (outcome = saved | unchanged | failed) */
+    private void countDetail(String outcome) {
+        meterRegistry.counter("crawl.kakaopage.detail", "outcome", outcome).increment();
     }
 
-    private static Element selectFirstSafe(Element root, String css) {
-        if (root == null || isBlank(css)) return null;
+    // ===================== Helper Methods =====================
+
+    /** 2xx 응답을 HTML 문서로 (비동기 콜백 안에서 쓰므로 실패는 CompletionException) */
+    private static Document document(CrawlResponse response, String url) {
+        if (!response.isSuccess()) {
+            throw new CompletionException(new CrawlHttpException(response.status(), url, null));
+        }
         try {
-            return root.selectFirst(css);
-        } catch (org.jsoup.select.Selector.SelectorParseException e) {
-            return null;
+            return response.document();
+        } catch (IOException e) {
+            throw new CompletionException(e);
         }
     }
 
-    private static String meta(Document doc, String attr, String nameOrProp) {
-        Element e = doc.selectFirst("meta[" + attr + "=\"" + nameOrProp + "\"]");
-        return e != null ? e.attr("content") : null;
+    private CrawlRequest request(String url, String cookieString) {
+        return CrawlRequest.get(url)
+                .userAgent(USER_AGENT)
+                .referrer(baseUrl + "/")
+                .header("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8")
+                .cookie(cookieString)
+                .timeout(Duration.ofSeconds(15))
+                .circuit(circuit);
     }
 
-    private static String text(Element e) { return e == null ? null : e.text(); }
-    private static boolean isBlank(String s) { return s == null || s.isBlank(); }
-    private static String clean(String s) { return s == null ? null : s.replaceAll("\\s+", " ").trim(); }
     private static String nz(String s) { return s == null ? "" : s; }
 }
-
@@ -0,0 +1,155 @@
+package com.example.crawler.contents.novel.kakaopage;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Selector;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 카카오페이지 상세 HTML → KakaoPageNovelDTO 추출기
+ *
+ * 정규식은 클래스 로딩 시 한 번만 컴파일하고 상태가 없어 여러 상세 요청 콜백이 동시에 써도 된다.
+ * - home(): 기본('홈' 탭) 페이지의 메타 태그·통계 행 (제목, 작가, 줄거리, 장르, 조회수, 별점, 상태)
+ * - about(): '정보' 탭의 발행자·연령등급
+ */
+@Component
+public class KakaoPageDetailExtractor {
+
+    private static final Pattern SCHEME_SERIES_ID = Pattern.compile("series_id=(\\d+)");
+    private static final Pattern CONTENT_PATH_ID = Pattern.compile("/content/(\\d+)");
+    private static final Pattern KOREAN_COUNT = Pattern.compile("([0-9]+(?:\\.[0-9]+)?)(억|만|천)?");
+    private static final Pattern KEYWORD_SEPARATOR = Pattern.compile("[,;]");
+    private static final Pattern GENRE_SEPARATOR = Pattern.compile("[,\\s]+");
+    private static final Pattern NON_DECIMAL = Pattern.compile("[^0-9.]");
+    private static final Pattern STATUS_DOT = Pattern.compile("\\s*·\\s*");
+    private static final Pattern MULTI_SPACE = Pattern.compile("\\s{2,}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** GraphQL 목록 항목 scheme(kakaopage://...?series_id=123)의 작품 ID */
+    public String seriesIdFromScheme(String scheme) {
+        if (scheme == null) return null;
+        Matcher m = SCHEME_SERIES_ID.matcher(scheme);
+        return m.find() ? m.group(1) : null;
+    }
+
+    /** 상세 URL의 '정보' 탭 URL (쿼리 제거 후 tab_type=about) */
+    public String aboutUrl(String detailUrl) {
+        int query = detailUrl.indexOf('?');
+        return (query >= 0 ? detailUrl.substring(0, query) : detailUrl) + "?tab_type=about";
+    }
+
+    /**
+     * 기본 페이지('홈' 탭) 정보 — 발행자·연령등급은 about()으로 이어서 채운다
+     */
+    public KakaoPageNovelDTO.KakaoPageNovelDTOBuilder home(Document doc, String detailUrl) {
+        KakaoPageNovelDTO.KakaoPageNovelDTOBuilder b = KakaoPageNovelDTO.builder();
+
+        String productUrl = meta(doc, "property", "og:url");
+        if (isBlank(productUrl)) productUrl = detailUrl;
+        b.productUrl(productUrl);
+        b.seriesId(seriesIdFromPath(productUrl));
+
+        b.imageUrl(meta(doc, "property", "og:image"));
+        b.title(clean(meta(doc, "property", "og:title")));
+        b.author(clean(meta(doc, "name", "author")));
+
+        String synopsis = meta(doc, "property", "og:description");
+        if (isBlank(synopsis)) synopsis = meta(doc, "name", "description");
+        b.synopsis(clean(synopsis));
+
+        List<String> keywords = new ArrayList<>();
+        String kw = meta(doc, "name", "keywords");
+        if (!isBlank(kw)) {
+            keywords.addAll(Arrays.stream(KEYWORD_SEPARATOR.split(kw)).map(String::trim).toList());
+        }
+        b.keywords(keywords);
+
+        Element statsRow = selectFirstSafe(doc, "div.flex.h-16pxr.items-center.justify-center");
+        if (statsRow != null) {
+            String genres = text(selectFirstSafe(statsRow, "> div:nth-child(1) > div > span:nth-child(3)"));
+            if (!isBlank(genres)) {
+                b.genres(Arrays.stream(GENRE_SEPARATOR.split(genres.trim())).map(String::trim).toList());
+            }
+
+            Element viewSpan = selectFirstSafe(statsRow, "> div:nth-child(2) > span");
+            b.viewCount(parseKoreanCount(text(viewSpan)));
+
+            String ratingText = text(selectFirstSafe(statsRow, "> div:nth-child(3) > span"));
+            String num = ratingText == null ? null : NON_DECIMAL.matcher(ratingText).replaceAll("");
+            if (!isBlank(num)) {
+                try { b.rating(new BigDecimal(num)); } catch (NumberFormatException ignored) {}
+            }
+        }
+        Element statusWrap = selectFirstSafe(doc, "div.mt-6pxr.flex.items-center");
+        b.status(normalizeStatus(text(statusWrap)));
+
+        return b;
+    }
+
+    /**
+     * '정보' 탭 — '발행자'/'연령등급' 라벨 span을 가진 div의 마지막 span 값
+     */
+    public void about(Document aboutDoc, KakaoPageNovelDTO.KakaoPageNovelDTOBuilder b) {
+        Element publisherDiv = selectFirstSafe(aboutDoc, "div:has(span:containsOwn(발행자))");
+        if (publisherDiv != null) {
+            b.publisher(clean(text(selectFirstSafe(publisherDiv, "span:last-of-type, span.text-el-70"))));
+        }
+
+        Element ageRatingDiv = selectFirstSafe(aboutDoc, "div:has(span:containsOwn(연령등급))");
+        if (ageRatingDiv != null) {
+            b.ageRating(clean(text(selectFirstSafe(ageRatingDiv, "span:last-of-type, span.text-el-70"))));
+        }
+    }
+
+    // ===================== Helper Methods =====================
+
+    private static String seriesIdFromPath(String url) {
+        if (isBlank(url)) return null;
+        Matcher m = CONTENT_PATH_ID.matcher(url);
+        return m.find() ? m.group(1) : null;
+    }
+
+    /** "3.4억" → 340000000, "12만" → 120000 */
+    static Long parseKoreanCount(String raw) {
+        if (isBlank(raw)) return null;
+        Matcher m = KOREAN_COUNT.matcher(raw.replace(",", "").trim());
+        if (!m.find()) return null;
+        double v = Double.parseDouble(m.group(1));
+        String unit = m.group(2);
+        if ("억".equals(unit)) v *= 100_000_000d;
+        else if ("만".equals(unit)) v *= 10_000d;
+        else if ("천".equals(unit)) v *= 1_000d;
+        return (long) v;
+    }
+
+    private static String normalizeStatus(String s) {
+        if (s == null) return null;
+        String normalized = STATUS_DOT.matcher(s.replace('\u00A0', ' ')).replaceAll(" ");
+        return MULTI_SPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static Element selectFirstSafe(Element root, String css) {
+        if (root == null || isBlank(css)) return null;
+        try {
+            return root.selectFirst(css);
+        } catch (Selector.SelectorParseException e) {
+            return null;
+        }
+    }
+
+    private static String meta(Document doc, String attr, String nameOrProp) {
+        Element e = doc.selectFirst("meta[" + attr + "=\"" + nameOrProp + "\"]");
+        return e != null ? e.attr("content") : null;
+    }
+
+    private static String text(Element e) { return e == null ? null : e.text(); }
+    private static boolean isBlank(String s) { return s == null || s.isBlank(); }
+    private static String clean(String s) { return s == null ? null : WHITESPACE.matcher(s).replaceAll(" ").trim(); }
+}
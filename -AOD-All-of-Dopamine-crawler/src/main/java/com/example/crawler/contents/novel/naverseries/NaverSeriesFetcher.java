@@ -1,13 +1,21 @@
 package com.example.crawler.contents.novel.naverseries;
 
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.circuit.CircuitOpenException;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.http.CrawlResponse;
+import com.example.crawler.common.ratelimit.RateLimiter;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.ingest.CollectorService;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -31,9 +39,16 @@ public class NaverSeriesFetcher {
     private static final Pattern PRODUCT_NO_PATTERN = Pattern.compile("productNo=(\\d+)");
 
     private final CollectorService collector;
+    private final CrawlHttpClient httpClient;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuit;
 
-    public NaverSeriesFetcher(CollectorService collector) {
+    public NaverSeriesFetcher(CollectorService collector, CrawlHttpClient httpClient,
+                              RateLimiterRegistry rateLimiterRegistry, CircuitBreakerRegistry circuitBreakerRegistry) {
         this.collector = collector;
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiterRegistry.get(RateLimiterRegistry.NAVER_SERIES);
+        this.circuit = circuitBreakerRegistry.get(RateLimiterRegistry.NAVER_SERIES);
     }
 
     /**
@@ -48,10 +63,15 @@ public class NaverSeriesFetcher {
                 String pageUrl = baseUrl + page;
                 log.debug("[Novel] 목록 페이지 {} 크롤링 중: {}", page, pageUrl);
 
-                Document doc = Jsoup.connect(pageUrl)
+                // 요청 제한 방지
+                if (!rateLimiter.acquire()) {
+                    break;
+                }
+                Document doc = httpClient.getDocument(CrawlRequest.get(pageUrl)
                         .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                        .timeout(10000)
-                        .get();
+                        .timeout(Duration.ofSeconds(10))
+                        .cached()
+                        .circuit(circuit));
 
                 // productNo 파라미터가 있는 링크에서 ID 추출
                 int foundOnPage = 0;
@@ -69,9 +89,6 @@ public class NaverSeriesFetcher {
                     break;
                 }
 
-                // 요청 제한 방지
-                Thread.sleep(500);
-
             } catch (Exception e) {
                 log.error("[Novel] 목록 페이지 {} 가져오기 실패", page, e);
                 break;
@@ -93,6 +110,8 @@ public class NaverSeriesFetcher {
                 log.debug("✅ [Novel] 소설 ID {} 크롤링 완료", productId);
             }
             return saved;
+        } catch (CircuitOpenException e) {
+            throw e; // Consumer가 재시도 횟수를 쓰지 않고 연기
         } catch (Exception e) {
             log.error("❌ [Novel] 소설 ID {} 크롤링 실패", productId, e);
             return false;
@@ -126,6 +145,9 @@ public class NaverSeriesFetcher {
                     if (crawlDetailToRaw(detailUrl, cookieString)) {
                         saved++;
                     }
+                } catch (CircuitOpenException e) {
+                    log.warn("네이버 시리즈 서킷 열림, 크롤링 중단 (현재까지 {}개 저장)", saved);
+                    return saved;
                 } catch (Exception e) {
                     log.warn("상세 크롤링 실패, 스킵: {}, {}", detailUrl, e.getMessage());
                 }
@@ -141,9 +163,28 @@ public class NaverSeriesFetcher {
      * 상세 페이지 1건 파싱 → raw_items 저장.
      * 19금 작품·제목 없는 작품은 스킵하고 false 반환.
      * (Job Queue 단건 경로와 목록 경로가 공유하는 단일 파싱 지점)
+     *
+     * 조건부 GET으로 받아 지난 수집 이후 페이지가 그대로면 파싱·저장 없이 true.
+     * 저장까지 가지 못한 응답은 캐시에서 지워 다음 수집 때 다시 파싱되게 한다.
      */
     private boolean crawlDetailToRaw(String detailUrl, String cookieString) throws Exception {
-        Document doc = get(detailUrl, cookieString);
+        CrawlResponse response = httpClient.send(request(detailUrl, cookieString).cached());
+        if (response.unchanged()) {
+            log.debug("[Novel] 상세 페이지 변경 없음, 스킵: {}", detailUrl);
+            return true;
+        }
+        boolean saved = false;
+        try {
+            saved = parseDetailToRaw(detailUrl, response.document(), cookieString);
+            return saved;
+        } finally {
+            if (!saved) {
+                httpClient.invalidate(detailUrl);
+            }
+        }
+    }
+
+    private boolean parseDetailToRaw(String detailUrl, Document doc, String cookieString) {
 
         // 19금 작품 체크: adult_msg 또는 enctp="19" 존재 여부로 판단
         Element adultMsg = doc.selectFirst("#adult_msg");
@@ -260,21 +301,15 @@ public class NaverSeriesFetcher {
         String apiUrl = "https://series.naver.com/novel/volumeList.series?productNo=" + productNo
                 + "&sortOrder=ASC&page=1";
 
-        var conn = Jsoup.connect(apiUrl)
+        String jsonResponse = httpClient.getString(CrawlRequest.get(apiUrl)
                 .userAgent(
                         "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
                 .referrer("https://series.naver.com/")
                 .header("Accept", "application/json, text/javascript, */*; q=0.01")
                 .header("X-Requested-With", "XMLHttpRequest")
-                .ignoreContentType(true)
-                .timeout(10000)
-                .maxBodySize(2 * 1024 * 1024);
-
-        if (cookieString != null && !cookieString.isBlank()) {
-            conn.header("Cookie", cookieString);
-        }
-
-        String jsonResponse = conn.execute().body();
+                .cookie(cookieString)
+                .timeout(Duration.ofSeconds(10))
+                .circuit(circuit));
 
         // "lastVolumeUpdateDate":"2018-03-23 00:01:59" 형태에서 첫 등장 값 추출
         int idx = jsonResponse.indexOf("\"lastVolumeUpdateDate\"");
@@ -296,19 +331,20 @@ public class NaverSeriesFetcher {
         return null;
     }
 
+    /** 목록 페이지 (조건부 GET으로 전송량만 줄이고 파싱은 항상 수행) */
     private Document get(String url, String cookieString) throws Exception {
-        var conn = Jsoup.connect(url)
+        return httpClient.getDocument(request(url, cookieString).cached());
+    }
+
+    private CrawlRequest request(String url, String cookieString) {
+        return CrawlRequest.get(url)
                 .userAgent(
                         "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
                 .referrer("https://series.naver.com/")
                 .header("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7")
-                .timeout(10000)
-                .maxBodySize(5 * 1024 * 1024)
-                .ignoreHttpErrors(false);
-        if (cookieString != null && !cookieString.isBlank()) {
-            conn.header("Cookie", cookieString);
-        }
-        return conn.get();
+                .cookie(cookieString)
+                .timeout(Duration.ofSeconds(10))
+                .circuit(circuit);
     }
 
     private static String findInfoValue(Element infoUl, String label) {
@@ -1,25 +1,49 @@
 package com.example.crawler.contents.tmdb;
 
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.circuit.CircuitOpenException;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import com.example.crawler.contents.tmdb.dto.TmdbChangesResult;
 import com.example.crawler.contents.tmdb.dto.TmdbDiscoveryResult;
 import com.example.crawler.contents.tmdb.dto.TmdbTvDiscoveryResult;
-import lombok.RequiredArgsConstructor;
+import com.example.crawler.contents.tmdb.dto.WatchProviderResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class TmdbFetcher {
 
-    @Value("${tmdb.api.key}")
-    private String apiKey;
-    private static final String BASE_URL = "https://api.themoviedb.org/3";
+    /** 수집 대상 OTT: Netflix, Watcha, Disney Plus, Wavve, Tving (discover의 OR 조건 문자열) */
+    static final String WATCH_PROVIDERS = "8|97|337|356|474";
+    static final Set<Integer> WATCH_PROVIDER_IDS = Set.of(8, 97, 337, 356, 474);
+    static final String WATCH_REGION = "KR";
+
+    private final String apiKey;
+    private final String baseUrl; // 로컬 스텁 서버로 바꿔 끼울 수 있게 설정값으로 둔다
     private final RestTemplate restTemplate; // 의존성 주입으로 변경
+    private final RateLimiterRegistry rateLimiterRegistry; // 목록·상세 호출이 "tmdb" 리미터 하나를 공유
+    private final CircuitBreaker circuit; // 목록·상세 호출이 "tmdb" 서킷 하나를 공유 (열리면 보내지 않음)
+
+    public TmdbFetcher(RestTemplate restTemplate,
+                       RateLimiterRegistry rateLimiterRegistry,
+                       CircuitBreakerRegistry circuitBreakerRegistry,
+                       @Value("${tmdb.api.key}") String apiKey,
+                       @Value("${tmdb.api.base-url:https://api.themoviedb.org/3}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.circuit = circuitBreakerRegistry.get(RateLimiterRegistry.TMDB);
+        this.apiKey = apiKey;
+        this.baseUrl = baseUrl;
+    }
 
     /**
      * 특정 기간과 페이지에 해당하는 영화 목록을 TMDB에서 가져옵니다.
@@ -34,13 +58,13 @@ public class TmdbFetcher {
     public TmdbDiscoveryResult discoverMovies(String language, int page, String startDate, String endDate) {
         // with_watch_providers의 | 문자가 URL 인코딩되면 TMDB API가 OR 연산을 인식하지 못함
         // build(false)로 인코딩 비활성화
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/discover/movie")
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl + "/discover/movie")
                 .queryParam("api_key", apiKey)
                 .queryParam("language", language)
                 .queryParam("page", page)
                 .queryParam("sort_by", "popularity.desc")
-                .queryParam("with_watch_providers", "8|97|337|356|474") // Netflix, Watcha, Disney Plus, Wavve, Tving (OR 조건)
-                .queryParam("watch_region", "KR");
+                .queryParam("with_watch_providers", WATCH_PROVIDERS) // OR 조건
+                .queryParam("watch_region", WATCH_REGION);
         
         // null이 아닐 때만 날짜 파라미터 추가 (null 문자열 방지)
         if (startDate != null) {
@@ -54,7 +78,10 @@ public class TmdbFetcher {
         String url = builder.build(false).toUriString();
 
         try {
-            return restTemplate.getForObject(url, TmdbDiscoveryResult.class);
+            if (!rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquire()) {
+                return null; // 대기 중 인터럽트 (종료 중) — 조회 실패와 같게 취급
+            }
+            return circuit.execute(() -> restTemplate.getForObject(url, TmdbDiscoveryResult.class));
         } catch (Exception e) {
             log.error("Error fetching movies from TMDB: {}", e.getMessage());
             return null;
@@ -74,13 +101,13 @@ public class TmdbFetcher {
     public TmdbTvDiscoveryResult discoverTvShows(String language, int page, String startDate, String endDate) {
         // with_watch_providers의 | 문자가 URL 인코딩되면 TMDB API가 OR 연산을 인식하지 못함
         // build(false)로 인코딩 비활성화
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/discover/tv")
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl + "/discover/tv")
                 .queryParam("api_key", apiKey)
                 .queryParam("language", language)
                 .queryParam("page", page)
                 .queryParam("sort_by", "popularity.desc")
-                .queryParam("with_watch_providers", "8|97|337|356|474") // Netflix, Watcha, Disney Plus, Wavve, Tving (OR 조건)
-                .queryParam("watch_region", "KR");
+                .queryParam("with_watch_providers", WATCH_PROVIDERS) // OR 조건
+                .queryParam("watch_region", WATCH_REGION);
         
         // null이 아닐 때만 날짜 파라미터 추가 (null 문자열 방지)
         // TMDB API는 first_air_date.gte/lte를 사용 (air_date가 아님)
@@ -95,7 +122,10 @@ public class TmdbFetcher {
         String url = builder.build(false).toUriString();
 
         try {
-            return restTemplate.getForObject(url, TmdbTvDiscoveryResult.class);
+            if (!rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquire()) {
+                return null; // 대기 중 인터럽트 (종료 중) — 조회 실패와 같게 취급
+            }
+            return circuit.execute(() -> restTemplate.getForObject(url, TmdbTvDiscoveryResult.class));
         } catch (Exception e) {
             log.error("Error fetching TV shows from TMDB: {}", e.getMessage());
             return null;
@@ -112,13 +142,18 @@ public class TmdbFetcher {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getMovieDetails(int movieId, String language) {
-        String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/movie/" + movieId)
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/movie/" + movieId)
                 .queryParam("api_key", apiKey)
                 .queryParam("language", language)
                 .queryParam("append_to_response", "credits,watch/providers") // 출연진/제작진, OTT 정보 포함
                 .toUriString();
         try {
-            return restTemplate.getForObject(url, Map.class);
+            if (!rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquire()) {
+                return null; // 대기 중 인터럽트 (종료 중) — 조회 실패와 같게 취급
+            }
+            return circuit.execute(() -> restTemplate.getForObject(url, Map.class));
+        } catch (CircuitOpenException e) {
+            throw e; // 작업 큐 경로 — Consumer가 재시도 횟수를 쓰지 않고 연기
         } catch (Exception e) {
             log.error("Error fetching movie details for ID {}: {}", movieId, e.getMessage());
             return null;
@@ -135,17 +170,86 @@ public class TmdbFetcher {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getTvShowDetails(int tvId, String language) {
-        String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/tv/" + tvId)
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/tv/" + tvId)
                 .queryParam("api_key", apiKey)
                 .queryParam("language", language)
                 .queryParam("append_to_response", "credits,watch/providers") // 출연진/제작진, OTT 정보 포함
                 .toUriString();
         try {
-            return restTemplate.getForObject(url, Map.class);
+            if (!rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquire()) {
+                return null; // 대기 중 인터럽트 (종료 중) — 조회 실패와 같게 취급
+            }
+            return circuit.execute(() -> restTemplate.getForObject(url, Map.class));
+        } catch (CircuitOpenException e) {
+            throw e; // 작업 큐 경로 — Consumer가 재시도 횟수를 쓰지 않고 연기
         } catch (Exception e) {
             log.error("Error fetching TV show details for ID {}: {}", tvId, e.getMessage());
             return null;
         }
     }
-}
 
+    /**
+     * 기간 내 변경된 영화/TV쇼 ID 목록을 가져옵니다. (기간은 최대 14일)
+     * TMDB API Reference: https://developer.themoviedb.org/reference/changes-movie-list
+     *
+     * @param mediaType "movie" 또는 "tv"
+     * @param startDate 시작일
+     * @param endDate   종료일
+     * @param page      페이지 번호
+     * @return TmdbChangesResult 객체 (실패·인터럽트면 null)
+     */
+    public TmdbChangesResult getChanges(String mediaType, LocalDate startDate, LocalDate endDate, int page) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/" + mediaType + "/changes")
+                .queryParam("api_key", apiKey)
+                .queryParam("start_date", startDate)
+                .queryParam("end_date", endDate)
+                .queryParam("page", page)
+                .toUriString();
+        try {
+            if (!rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquire()) {
+                return null; // 대기 중 인터럽트 (종료 중) — 조회 실패와 같게 취급
+            }
+            return circuit.execute(() -> restTemplate.getForObject(url, TmdbChangesResult.class));
+        } catch (Exception e) {
+            log.error("Error fetching {} changes ({} ~ {}, page {}): {}", mediaType, startDate, endDate, page, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 특정 ID의 시청 가능 OTT 목록을 가져옵니다.
+     * TMDB API Reference: https://developer.themoviedb.org/reference/movie-watch-providers
+     *
+     * @param mediaType "movie" 또는 "tv"
+     * @param id        TMDB ID
+     * @return WatchProviderResult 객체 (실패·인터럽트면 null)
+     */
+    public WatchProviderResult getWatchProviders(String mediaType, int id) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/" + mediaType + "/" + id + "/watch/providers")
+                .queryParam("api_key", apiKey)
+                .toUriString();
+        try {
+            if (!rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquire()) {
+                return null; // 대기 중 인터럽트 (종료 중) — 조회 실패와 같게 취급
+            }
+            return circuit.execute(() -> restTemplate.getForObject(url, WatchProviderResult.class));
+        } catch (Exception e) {
+            log.error("Error fetching watch providers for {} {}: {}", mediaType, id, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 한국 구독(flatrate) OTT 중 수집 대상이 하나라도 있으면 true (discover의 with_watch_providers 조건과 동일)
+     */
+    static boolean isOnTrackedProvider(WatchProviderResult providers) {
+        if (providers == null || providers.getResults() == null) {
+            return false;
+        }
+        WatchProviderResult.CountryProviders kr = providers.getResults().get(WATCH_REGION);
+        if (kr == null || kr.getFlatrate() == null) {
+            return false;
+        }
+        return kr.getFlatrate().stream().anyMatch(provider -> WATCH_PROVIDER_IDS.contains(provider.getProviderId()));
+    }
+}
@@ -2,9 +2,12 @@ package com.example.crawler.contents.tmdb;
 
 import com.example.crawler.common.queue.CrawlJobProducer;
 import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.sync.SyncWatermarkRepository;
+import com.example.crawler.contents.tmdb.dto.TmdbChangesResult;
 import com.example.crawler.contents.tmdb.dto.TmdbDiscoveryResult;
 import com.example.crawler.contents.tmdb.dto.TmdbTvDiscoveryResult;
 import com.example.crawler.contents.tmdb.TmdbFetcher;
+import com.example.shared.repository.PlatformDataRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,12 +16,19 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * TMDB 크롤링 스케줄링 서비스
  * 
  * Job Queue 기반으로 작업을 생성합니다.
+ *
+ * 변경 피드 동기화(syncChangesDaily)는 /movie/changes, /tv/changes를 워터마크 이후 기간만 훑어:
+ * - 이미 보유한(platform_data) ID → 재수집 등록 (이력 dedup 해제)
+ * - 처음 보는 ID → 시청 가능 OTT가 수집 대상이면 일반 등록
+ * discover 전체 재스캔 없이 기존 작품 갱신과 신규 발견을 함께 처리한다.
  */
 @Slf4j
 @Service
@@ -27,10 +37,44 @@ public class TmdbJobProducer {
 
     private final CrawlJobProducer crawlJobProducer;
     private final TmdbFetcher tmdbFetcher;
+    private final PlatformDataRepository platformDataRepository;
+    private final SyncWatermarkRepository syncWatermarkRepository;
 
     private static final int OLDEST_YEAR = 1970; // 전체 크롤링 시 가장 오래된 연도
     private static final int MAX_PAGES = 10; // 최대 페이지 수 (매일 실행)
     private static final int MAX_PAGES_FULL_CRAWL = 500; // 전체 크롤링 시 페이지 수
+    static final int CHANGES_WINDOW_DAYS = 14; // changes API가 허용하는 최대 기간
+    static final int CHANGES_INITIAL_LOOKBACK_DAYS = 1; // 워터마크가 없을 때 (기존 데이터는 전체 크롤링이 채움)
+
+    /**
+     * 변경 피드 종류
+     *
+     * @param watermarkKey crawl_sync_watermark 키 — 값은 마지막으로 끝까지 훑은 종료일(epoch day)
+     */
+    enum ChangeFeed {
+        MOVIE("movie", JobType.TMDB_MOVIE, "TMDB_MOVIE", "tmdb.changes.movie"),
+        TV("tv", JobType.TMDB_TV, "TMDB_TV", "tmdb.changes.tv");
+
+        final String mediaType;
+        final JobType jobType;
+        final String platformName;
+        final String watermarkKey;
+
+        ChangeFeed(String mediaType, JobType jobType, String platformName, String watermarkKey) {
+            this.mediaType = mediaType;
+            this.jobType = jobType;
+            this.platformName = platformName;
+            this.watermarkKey = watermarkKey;
+        }
+    }
+
+    /**
+     * 변경 피드 한 번 처리 결과
+     *
+     * @param complete 모든 페이지를 받음 (false면 워터마크를 유지해 다음 실행이 같은 기간부터 다시 본다)
+     */
+    record ChangesSyncResult(int changed, int refreshed, int added, int filtered, boolean complete) {
+    }
 
     /**
      * TMDB 신규 콘텐츠 목록을 Job Queue에 등록합니다.
@@ -100,9 +144,6 @@ public class TmdbJobProducer {
                     break;
                 }
                 
-                // API 요청 제한 방지
-                Thread.sleep(250);
-                
             } catch (Exception e) {
                 log.error("[TMDB] 영화 페이지 {} 가져오기 실패", page, e);
                 break;
@@ -138,9 +179,6 @@ public class TmdbJobProducer {
                     break;
                 }
                 
-                // API 요청 제한 방지
-                Thread.sleep(250);
-                
             } catch (Exception e) {
                 log.error("[TMDB] TV 페이지 {} 가져오기 실패", page, e);
                 break;
@@ -185,9 +223,6 @@ public class TmdbJobProducer {
                     totalCount += created;
                     log.info("✅ [TMDB Producer] {}년 영화 {} 개 작업 생성", year, created);
                 }
-                
-                // API 요청 제한 방지 (연도별 간격)
-                Thread.sleep(500);
             }
             
             log.info("✅ [TMDB Producer] 영화 수집 완료 ({}년~{}년): 총 {} 개 작업 생성", startYear, endYear, totalCount);
@@ -232,9 +267,6 @@ public class TmdbJobProducer {
                     totalCount += created;
                     log.info("✅ [TMDB Producer] {}년 TV 쇼 {} 개 작업 생성", year, created);
                 }
-                
-                // API 요청 제한 방지 (연도별 간격)
-                Thread.sleep(500);
             }
             
             log.info("✅ [TMDB Producer] TV 쇼 수집 완료 ({}년~{}년): 총 {} 개 작업 생성", startYear, endYear, totalCount);
@@ -265,5 +297,97 @@ public class TmdbJobProducer {
             log.error("❌ [TMDB Producer] TMDB 전체 콘텐츠 목록 수집 중 오류 발생", e);
         }
     }
-}
 
+    /**
+     * TMDB 변경 피드로 기존 작품 재수집 + 신규 작품 등록
+     *
+     * 매일 실행 (워터마크 이후 변경분만 — 보통 수 분)
+     */
+    public void syncChangesDaily() {
+        LocalDate today = LocalDate.now();
+        for (ChangeFeed feed : ChangeFeed.values()) {
+            try {
+                syncChanges(feed, today);
+            } catch (Exception e) {
+                log.error("❌ [TMDB Producer] {} 변경 피드 동기화 중 오류 발생", feed.mediaType, e);
+            }
+        }
+    }
+
+    /**
+     * 워터마크 날짜 ~ today를 14일 구간으로 나눠 변경 ID를 페이지 단위로 분류·등록
+     *
+     * 워터마크 날짜부터 다시 보므로 경계일 변경분이 한 번 더 등록될 수 있다 (누락보다 낫다).
+     */
+    ChangesSyncResult syncChanges(ChangeFeed feed, LocalDate today) {
+        long watermark = syncWatermarkRepository.getWatermark(feed.watermarkKey);
+        LocalDate start = watermark > 0
+                ? LocalDate.ofEpochDay(watermark)
+                : today.minusDays(CHANGES_INITIAL_LOOKBACK_DAYS);
+        log.info("🔄 [TMDB Producer] {} 변경 피드 동기화 시작 ({} ~ {})", feed.mediaType, start, today);
+
+        int changed = 0;
+        int refreshed = 0;
+        int added = 0;
+        int filtered = 0;
+        boolean complete = true;
+
+        windows:
+        for (LocalDate windowStart = start; !windowStart.isAfter(today); windowStart = windowStart.plusDays(CHANGES_WINDOW_DAYS)) {
+            LocalDate windowEnd = windowStart.plusDays(CHANGES_WINDOW_DAYS - 1);
+            if (windowEnd.isAfter(today)) {
+                windowEnd = today;
+            }
+            for (int page = 1; ; page++) {
+                TmdbChangesResult result = tmdbFetcher.getChanges(feed.mediaType, windowStart, windowEnd, page);
+                if (result == null) {
+                    complete = false;
+                    break windows;
+                }
+                if (result.getResults() == null || result.getResults().isEmpty()) {
+                    break;
+                }
+
+                List<String> ids = new ArrayList<>();
+                for (TmdbChangesResult.Change change : result.getResults()) {
+                    if (!Boolean.TRUE.equals(change.getAdult())) {
+                        ids.add(String.valueOf(change.getId()));
+                    }
+                }
+                changed += ids.size();
+
+                Set<String> held = ids.isEmpty() ? Set.of()
+                        : new HashSet<>(platformDataRepository.findSpecificIdsByPlatformNameAndSpecificIdIn(feed.platformName, ids));
+                if (!held.isEmpty()) {
+                    refreshed += crawlJobProducer.enqueueRefresh(feed.jobType, held, 4).inserted();
+                }
+
+                List<String> newIds = new ArrayList<>();
+                for (String id : ids) {
+                    if (held.contains(id)) {
+                        continue;
+                    }
+                    if (TmdbFetcher.isOnTrackedProvider(tmdbFetcher.getWatchProviders(feed.mediaType, Integer.parseInt(id)))) {
+                        newIds.add(id);
+                    } else {
+                        filtered++;
+                    }
+                }
+                if (!newIds.isEmpty()) {
+                    added += crawlJobProducer.enqueueBulk(feed.jobType, newIds, 4).inserted();
+                }
+
+                if (page >= result.getTotalPages()) {
+                    break;
+                }
+            }
+        }
+
+        if (complete) {
+            syncWatermarkRepository.advance(feed.watermarkKey, today.toEpochDay());
+        }
+        log.info("✅ [TMDB Producer] {} 변경 {} 개 → 재수집 {} 개 / 신규 {} 개 작업 생성, OTT 미제공 {} 개 제외{}",
+                feed.mediaType, changed, refreshed, added, filtered, complete ? "" : " (페이지 실패 — 워터마크 유지)");
+        return new ChangesSyncResult(changed, refreshed, added, filtered, complete);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.crawler.contents.tmdb.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * /movie/changes, /tv/changes 응답 (기간 내 변경된 ID 목록, 페이지당 100개)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TmdbChangesResult {
+
+    @JsonProperty("page")
+    private int page;
+
+    @JsonProperty("results")
+    private List<Change> results;
+
+    @JsonProperty("total_pages")
+    private int totalPages;
+
+    @JsonProperty("total_results")
+    private int totalResults;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Change {
+
+        @JsonProperty("id")
+        private int id;
+
+        @JsonProperty("adult")
+        private Boolean adult;
+    }
+}
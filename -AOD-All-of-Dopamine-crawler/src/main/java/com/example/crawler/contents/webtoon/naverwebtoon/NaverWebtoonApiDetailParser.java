@@ -0,0 +1,167 @@
+package com.example.crawler.contents.webtoon.naverwebtoon;
+
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import com.example.crawler.util.HtmlParseUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 네이버 웹툰 상세 — PC SPA가 호출하는 JSON API로 직접 파싱 (Selenium 없음)
+ * - 작품 정보: /api/article/list/info?titleId= (제목, 작가, 줄거리, 요일, 완결/휴재, 연령, 태그)
+ * - 첫 화 날짜: /api/article/list?titleId=&page=1&sort=ASC 의 첫 회차
+ *
+ * Selenium 파서와 같은 NaverWebtoonDTO 값(상태·요일·연령 표기)을 만든다.
+ * 응답 구조가 바뀌어 제목을 못 읽으면 IllegalStateException — Fetcher가 Selenium으로 대체한다.
+ */
+@Slf4j
+@Component
+public class NaverWebtoonApiDetailParser {
+
+    static final String INFO_URL = "https://comic.naver.com/api/article/list/info?titleId=";
+    static final String ARTICLE_LIST_URL = "https://comic.naver.com/api/article/list?page=1&sort=ASC&titleId=";
+
+    private static final Map<String, String> WEEKDAYS = Map.of(
+            "MONDAY", "mon", "TUESDAY", "tue", "WEDNESDAY", "wed", "THURSDAY", "thu",
+            "FRIDAY", "fri", "SATURDAY", "sat", "SUNDAY", "sun");
+
+    private final CrawlHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuit;
+
+    public NaverWebtoonApiDetailParser(CrawlHttpClient httpClient, ObjectMapper objectMapper,
+                                       CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.circuit = circuitBreakerRegistry.get(RateLimiterRegistry.NAVER_WEBTOON);
+    }
+
+    /**
+     * @param detailUrl PC 상세 URL (titleId 쿼리 포함)
+     * @throws IOException           API 요청 실패
+     * @throws IllegalStateException 응답에서 필수 값(제목)을 읽지 못함
+     */
+    public NaverWebtoonDTO parseWebtoonDetail(String detailUrl, String crawlSource, String weekday) throws IOException {
+        String titleId = HtmlParseUtils.extractQueryParam(detailUrl, "titleId");
+        if (titleId == null) {
+            throw new IllegalStateException("titleId 없음: " + detailUrl);
+        }
+
+        JsonNode info = getJson(INFO_URL + titleId, detailUrl);
+        String title = text(info, "titleName");
+        if (title == null) {
+            throw new IllegalStateException("작품 정보 응답에 제목 없음: titleId=" + titleId);
+        }
+
+        return NaverWebtoonDTO.builder()
+                .title(title)
+                .author(parseAuthor(info))
+                .synopsis(text(info, "synopsis"))
+                .imageUrl(text(info, "thumbnailUrl"))
+                .productUrl(detailUrl)
+                .titleId(titleId)
+                .weekday(parseWeekday(info, weekday))
+                .status(parseStatus(info))
+                .ageRating(parseAgeRating(info))
+                .genres(parseGenres(info))
+                .releaseDate(parseReleaseDate(titleId, detailUrl))
+                .crawlSource(crawlSource)
+                .build();
+    }
+
+    private JsonNode getJson(String url, String referrer) throws IOException {
+        String body = httpClient.getString(CrawlRequest.get(url)
+                .userAgent(NaverWebtoonSelectors.PC_USER_AGENT)
+                .referrer(referrer)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofMillis(NaverWebtoonSelectors.CONNECTION_TIMEOUT))
+                .circuit(circuit));
+        return objectMapper.readTree(body);
+    }
+
+    /** 글/그림 작가 이름 (중복 제거, Selenium 파서와 같은 " / " 구분) */
+    private static String parseAuthor(JsonNode info) {
+        List<String> authors = new ArrayList<>();
+        for (JsonNode artist : info.path("communityArtists")) {
+            String name = text(artist, "name");
+            if (name != null && !authors.contains(name)) {
+                authors.add(name);
+            }
+        }
+        return authors.isEmpty() ? null : String.join(" / ", authors);
+    }
+
+    private static String parseWeekday(JsonNode info, String fallbackWeekday) {
+        for (JsonNode day : info.path("publishDayOfWeekList")) {
+            String weekday = WEEKDAYS.get(day.asText());
+            if (weekday != null) {
+                return weekday;
+            }
+        }
+        return fallbackWeekday;
+    }
+
+    private static String parseStatus(JsonNode info) {
+        if (info.path("finished").asBoolean(false)) {
+            return "완결";
+        }
+        if (info.path("rest").asBoolean(false)) {
+            return "휴재";
+        }
+        return "연재중";
+    }
+
+    /** age.type (RATE_ALL / RATE_12 / RATE_15 / RATE_18) → Selenium 파서 표기 */
+    private static String parseAgeRating(JsonNode info) {
+        String type = info.path("age").path("type").asText("");
+        if (type.endsWith("ALL")) return "전체이용가";
+        if (type.endsWith("12")) return "12세이용가";
+        if (type.endsWith("15")) return "15세이용가";
+        if (type.endsWith("18") || type.endsWith("19") || info.path("adult").asBoolean(false)) return "19세이용가";
+        return null;
+    }
+
+    /** 큐레이션 태그(페이지의 #액션 #사이다 등) — Selenium 파서의 태그 영역과 같은 원천 */
+    private static List<String> parseGenres(JsonNode info) {
+        List<String> tags = new ArrayList<>();
+        for (JsonNode tag : info.path("curationTagList")) {
+            String name = text(tag, "tagName");
+            if (name != null) {
+                tags.add(name.startsWith("#") ? name.substring(1) : name);
+            }
+        }
+        return tags;
+    }
+
+    /** 첫 화 날짜 — 회차 목록 실패는 작품 전체를 버리지 않고 null (Selenium 파서와 동일) */
+    private LocalDate parseReleaseDate(String titleId, String detailUrl) {
+        try {
+            JsonNode first = getJson(ARTICLE_LIST_URL + titleId, detailUrl).path("articleList").path(0);
+            return NaverWebtoonSeleniumPageParser.parseDateFromText(text(first, "serviceDateDescription"));
+        } catch (IOException e) {
+            log.debug("첫 화 목록 API 실패: titleId={}, {}", titleId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.path(field);
+        if (!value.isTextual()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
@@ -1,19 +1,30 @@
 package com.example.crawler.contents.webtoon.naverwebtoon;
 
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.circuit.CircuitOpenException;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.node.NodeCapabilities;
+import com.example.crawler.common.queue.SeleniumRequiredException;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.ratelimit.RateLimiter;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.ingest.CollectorService;
 import com.example.crawler.util.HtmlParseUtils;
-import com.example.crawler.util.InterruptibleSleep;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.*;
 
 /**
  * 네이버 웹툰 모바일 크롤러
  * - 모바일 페이지 사용 (동적 로드 없음, 페이지네이션 지원)
+ * - 상세는 JSON API(NaverWebtoonApiDetailParser) 우선, 실패 시 Selenium 파서
  * - 요일별, 완결작 크롤링
  * - raw_items에 평평한 구조로 저장
  */
@@ -23,25 +34,52 @@ public class NaverWebtoonFetcher {
 
     private final CollectorService collector;
     private final NaverWebtoonSeleniumPageParser pageParser;
+    private final NaverWebtoonApiDetailParser apiDetailParser;
     private final MobileListParser mobileListParser;
+    private final CrawlHttpClient httpClient;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuit;
+    private final MeterRegistry meterRegistry;
+    /** 상세를 JSON API로 먼저 읽고 실패 시에만 Selenium (false면 항상 Selenium) */
+    private final boolean apiDetailEnabled;
+    /**
+     * 이 노드가 Chrome을 띄울 수 있는지 — 아니면 API 실패 시 대체하지 않는다.
+     * 목록 크롤링은 작품을 건너뛰고, 단건(Job Queue)은 SeleniumRequiredException으로
+     * 재시도 횟수를 쓰지 않고 Selenium 노드 몫으로 미룬다.
+     */
+    private final boolean seleniumFallbackEnabled;
 
     // URL 상수들
     private static final String BASE_WEEKDAY_URL = "https://m.comic.naver.com/webtoon/weekday?week=";
     private static final String BASE_FINISH_URL = "https://m.comic.naver.com/webtoon/finish";
     private static final String[] WEEKDAYS = { "mon", "tue", "wed", "thu", "fri", "sat", "sun" };
+    /** API 실패 작품을 Selenium 노드에 넘길 때 미루는 시간 — 이 노드가 곧바로 다시 점유하지 않도록 */
+    private static final Duration SELENIUM_HANDOFF_DELAY = Duration.ofMinutes(5);
 
     public NaverWebtoonFetcher(CollectorService collector, NaverWebtoonSeleniumPageParser pageParser,
-            MobileListParser mobileListParser) {
+            NaverWebtoonApiDetailParser apiDetailParser, MobileListParser mobileListParser,
+            CrawlHttpClient httpClient, RateLimiterRegistry rateLimiterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry,
+            NodeCapabilities nodeCapabilities,
+            @Value("${crawler.naver-webtoon.api-detail-enabled:true}") boolean apiDetailEnabled) {
         this.collector = collector;
         this.pageParser = pageParser;
+        this.apiDetailParser = apiDetailParser;
         this.mobileListParser = mobileListParser;
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiterRegistry.get(RateLimiterRegistry.NAVER_WEBTOON);
+        this.circuit = circuitBreakerRegistry.get(RateLimiterRegistry.NAVER_WEBTOON);
+        this.meterRegistry = meterRegistry;
+        this.apiDetailEnabled = apiDetailEnabled;
+        this.seleniumFallbackEnabled = nodeCapabilities.isSeleniumEnabled();
     }
 
     /**
-     * PageParser 접근자 (cleanup 위해 필요)
+     * 상세 수집에 Chrome이 필수인지 (Executor의 usesSelenium 판단용)
+     * API 경로가 켜져 있으면 대부분 HTTP로 끝나고, 대체 Selenium은 WebDriverPool 크기로 제한된다.
      */
-    public NaverWebtoonSeleniumPageParser getPageParser() {
-        return pageParser;
+    public boolean requiresSelenium() {
+        return !apiDetailEnabled;
     }
 
     /**
@@ -85,6 +123,10 @@ public class NaverWebtoonFetcher {
         List<String> webtoonIds = new ArrayList<>();
         for (int page = 1; page <= maxPages; page++) {
             try {
+                // 요청 제한 방지
+                if (!rateLimiter.acquire()) {
+                    break;
+                }
                 Document doc = get(BASE_FINISH_URL + "?page=" + page);
                 var webtoonLinks = doc.select(NaverWebtoonSelectors.MOBILE_TITLE_ID_LINK);
 
@@ -102,9 +144,6 @@ public class NaverWebtoonFetcher {
 
                 log.debug("[Webtoon] 완결작 페이지 {}: {} 개 발견", page, webtoonLinks.size());
 
-                // 요청 제한 방지
-                Thread.sleep(500);
-
             } catch (Exception e) {
                 log.error("[Webtoon] 완결작 페이지 {} 가져오기 실패", page, e);
                 break;
@@ -119,16 +158,11 @@ public class NaverWebtoonFetcher {
     public int crawlAllWeekdays() throws Exception {
         int totalSaved = 0;
 
-        try {
-            for (String weekday : WEEKDAYS) {
-                log.info("크롤링 시작: {} 요일", weekday);
-                int saved = crawlWeekday(weekday);
-                totalSaved += saved;
-                log.info("{} 요일 크롤링 완료: {}개 저장", weekday, saved);
-            }
-        } finally {
-            // WebDriver 자원 정리
-            cleanupParser();
+        for (String weekday : WEEKDAYS) {
+            log.info("크롤링 시작: {} 요일", weekday);
+            int saved = crawlWeekday(weekday);
+            totalSaved += saved;
+            log.info("{} 요일 크롤링 완료: {}개 저장", weekday, saved);
         }
 
         return totalSaved;
@@ -140,12 +174,7 @@ public class NaverWebtoonFetcher {
     public int crawlWeekday(String weekday) throws Exception {
         String url = BASE_WEEKDAY_URL + weekday;
         String crawlSource = "weekday_" + weekday;
-        try {
-            return crawlWebtoonList(url, crawlSource, weekday, 0); // maxPages=0 (무제한)
-        } finally {
-            // 개별 크롤링 후 정리
-            cleanupParser();
-        }
+        return crawlWebtoonList(url, crawlSource, weekday, 0); // maxPages=0 (무제한)
     }
 
     /**
@@ -154,20 +183,8 @@ public class NaverWebtoonFetcher {
      */
     public int crawlFinishedWebtoons(int maxPages) throws Exception {
         String crawlSource = "finish";
-        try {
-            // 완결 웹툰은 weekday를 null로 전달
-            return crawlWebtoonListWithPagination(BASE_FINISH_URL, crawlSource, null, maxPages);
-        } finally {
-            // 크롤링 후 정리
-            cleanupParser();
-        }
-    }
-
-    /**
-     * WebDriver 자원 정리
-     */
-    private void cleanupParser() {
-        pageParser.cleanup();
+        // 완결 웹툰은 weekday를 null로 전달
+        return crawlWebtoonListWithPagination(BASE_FINISH_URL, crawlSource, null, maxPages);
     }
 
     /**
@@ -204,12 +221,11 @@ public class NaverWebtoonFetcher {
             log.debug("✅ [Webtoon] 웹툰 titleId {} 크롤링 완료: {}", titleId, enrichedDTO.getTitle());
             return true;
 
+        } catch (CircuitOpenException | SeleniumRequiredException e) {
+            throw e; // Consumer가 재시도 횟수를 쓰지 않고 연기
         } catch (Exception e) {
             log.error("❌ [Webtoon] 웹툰 titleId {} 크롤링 실패", titleId, e);
             return false;
-        } finally {
-            // 자원 정리
-            cleanupParser();
         }
     }
 
@@ -267,7 +283,7 @@ public class NaverWebtoonFetcher {
                         totalSaved++;
 
                         // 과도한 요청 방지를 위한 딜레이
-                        if (!InterruptibleSleep.sleep(NaverWebtoonSelectors.PAGE_DELAY)) {
+                        if (!rateLimiter.acquire()) {
                             log.info("크롤링 인터럽트 발생, 작업 중단");
                             return totalSaved; // 인터럽트 시 즉시 종료
                         }
@@ -284,7 +300,7 @@ public class NaverWebtoonFetcher {
                 page++;
 
                 // 페이지 간 딜레이
-                if (!InterruptibleSleep.sleep(NaverWebtoonSelectors.PAGE_DELAY)) {
+                if (!rateLimiter.acquire()) {
                     log.info("페이지 간 대기 중 인터럽트 발생, 작업 중단");
                     return totalSaved;
                 }
@@ -334,7 +350,7 @@ public class NaverWebtoonFetcher {
                 saved++;
 
                 // 과도한 요청 방지를 위한 딜레이
-                if (!InterruptibleSleep.sleep(NaverWebtoonSelectors.PAGE_DELAY)) {
+                if (!rateLimiter.acquire()) {
                     log.info("요일별 크롤링 인터럽트 발생, 작업 중단");
                     return saved;
                 }
@@ -361,10 +377,12 @@ public class NaverWebtoonFetcher {
 
     /**
      * PC 웹툰 상세 페이지에서 추가 정보를 보완하여 완전한 DTO 생성
+     * - JSON API 우선, 실패하면 Selenium 파서로 대체
      *
      * @param basicDTO  목록에서 추출한 기본 정보
      * @param mobileUrl 모바일 URL
      * @return 완전한 웹툰 정보가 담긴 DTO
+     * @throws SeleniumRequiredException API가 실패했는데 이 노드에 Selenium이 없을 때
      */
     private NaverWebtoonDTO enrichWithPcDetails(NaverWebtoonDTO basicDTO, String mobileUrl) throws Exception {
         // 모바일 URL을 PC URL로 변환
@@ -372,10 +390,35 @@ public class NaverWebtoonFetcher {
 
         log.debug("URL 변환: {} -> {}", mobileUrl, pcUrl);
 
+        if (apiDetailEnabled) {
+            // 상세 API는 작품당 요청 2회 — 동시 워커가 여럿이라 작품 단위로 한도 적용
+            if (!rateLimiter.acquire()) {
+                throw new InterruptedException("네이버 웹툰 요청 한도 대기 중 인터럽트");
+            }
+            try {
+                NaverWebtoonDTO apiDTO = apiDetailParser.parseWebtoonDetail(pcUrl, basicDTO.getCrawlSource(),
+                        basicDTO.getWeekday());
+                countDetail("api", "success");
+                return mergeBasicAndDetailedInfo(basicDTO, apiDTO);
+            } catch (CircuitOpenException e) {
+                throw e; // 같은 호스트가 장애 중 — Selenium으로 대체해도 같은 결과
+            } catch (Exception e) {
+                countDetail("api", "failure");
+                log.debug("상세 API 실패, Selenium 대체: {}, {}", pcUrl, e.getMessage());
+            }
+            if (!seleniumFallbackEnabled) {
+                countDetail("selenium", "skipped");
+                log.info("상세 API 실패, 이 노드는 Selenium 비활성 - Selenium 노드로 넘김: {}", pcUrl);
+                throw new SeleniumRequiredException("상세 API 실패, Selenium 대체 필요: " + pcUrl,
+                        SELENIUM_HANDOFF_DELAY);
+            }
+        }
+
         try {
             // PC 페이지에서 추가 정보 파싱하여 기본 DTO에 보완 (파서가 Selenium으로 직접 접속)
             NaverWebtoonDTO enrichedDTO = pageParser.parseWebtoonDetail(pcUrl, basicDTO.getCrawlSource(),
                     basicDTO.getWeekday());
+            countDetail("selenium", enrichedDTO != null ? "success" : "failure");
 
             if (enrichedDTO != null) {
                 // 목록에서 수집한 기본 정보를 우선 사용하고, PC에서 수집한 정보로 보완
@@ -387,11 +430,17 @@ public class NaverWebtoonFetcher {
             return null;
 
         } catch (Exception e) {
+            countDetail("selenium", "failure");
             log.warn("PC 페이지 접근 실패, 작품 스킵: {}, 오류: {}", pcUrl, e.getMessage());
             return null;
         }
     }
 
+    /** 상세 수집 경로별 결과 (source = api | selenium, outcome = success | failure | skipped) */
+    private void countDetail(String source, String outcome) {
+        meterRegistry.counter("crawl.webtoon.detail", "source", source, "outcome", outcome).increment();
+    }
+
     /**
      * 목록 기본 정보와 PC 상세 정보를 결합
      */
@@ -446,16 +495,18 @@ public class NaverWebtoonFetcher {
 
     // ==== 유틸리티 메서드들 ====
 
+    /** 목록 페이지 (조건부 GET으로 전송량만 줄이고 파싱은 항상 수행) */
     private Document get(String url) throws Exception {
         // URL에 따라 적절한 User-Agent 선택
         String userAgent = url.contains(NaverWebtoonSelectors.MOBILE_DOMAIN)
                 ? NaverWebtoonSelectors.MOBILE_USER_AGENT
                 : NaverWebtoonSelectors.PC_USER_AGENT;
 
-        return Jsoup.connect(url)
+        return httpClient.getDocument(CrawlRequest.get(url)
                 .userAgent(userAgent)
-                .timeout(NaverWebtoonSelectors.CONNECTION_TIMEOUT)
-                .get();
+                .timeout(Duration.ofMillis(NaverWebtoonSelectors.CONNECTION_TIMEOUT))
+                .cached()
+                .circuit(circuit));
     }
 
     private String nz(String str) {
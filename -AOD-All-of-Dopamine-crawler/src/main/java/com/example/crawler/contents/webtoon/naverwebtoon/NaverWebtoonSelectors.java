@@ -46,9 +46,6 @@ public class NaverWebtoonSelectors {
     // 타임아웃
     public static final int CONNECTION_TIMEOUT = 30000;
 
-    // 페이지 대기 시간 (밀리초)
-    public static final int PAGE_DELAY = 1000;
-
     // URL 변환 관련
     public static final String MOBILE_DOMAIN = "m.comic.naver.com";
     public static final String PC_DOMAIN = "comic.naver.com";
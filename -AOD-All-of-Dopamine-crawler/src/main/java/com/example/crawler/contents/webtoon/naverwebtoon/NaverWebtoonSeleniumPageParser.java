@@ -1,9 +1,9 @@
 package com.example.crawler.contents.webtoon.naverwebtoon;
 
 
+import com.example.crawler.common.browser.BrowserPageLoader;
+import com.example.crawler.common.browser.WebDriverPool;
 import com.example.crawler.util.HtmlParseUtils;
-import com.example.crawler.util.ChromeDriverProvider;
-import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.NoSuchElementException;
@@ -21,23 +21,23 @@ import java.util.*;
  * 네이버 웹툰 Selenium 기반 페이지 파서
  * - PC 상세 페이지를 Selenium으로 파싱
  * - React SPA 동적 콘텐츠 완벽 지원
- * - WebDriver 재사용으로 자원 누수 방지
+ * - WebDriverPool에서 데워 둔 Chrome을 빌려 써 작업마다 기동하지 않음
  */
 @Component
 @Slf4j
 public class NaverWebtoonSeleniumPageParser {
 
-    private final ChromeDriverProvider chromeDriverProvider;
-    
-    // WebDriver 재사용을 위한 ThreadLocal (멀티스레드 환경 대응)
-    private final ThreadLocal<WebDriver> driverThreadLocal = ThreadLocal.withInitial(() -> null);
-    private final ThreadLocal<Integer> usageCount = ThreadLocal.withInitial(() -> 0);
-    // 🚀 50 → 5로 축소: 에러 누적 방지 및 더 자주 재생성하여 안정성 확보
-    // 망가진 WebDriver를 오래 사용하지 않고 빠르게 새로 만들어 좀비 프로세스 방지
-    private static final int MAX_REUSE_COUNT = 5;
-
-    public NaverWebtoonSeleniumPageParser(ChromeDriverProvider chromeDriverProvider) {
-        this.chromeDriverProvider = chromeDriverProvider;
+    /** 제목과 회차 목록이 모두 렌더링되면 참 (회차가 없는 작품은 시간 초과 후 제목만 확인) */
+    private static final String READY_SCRIPT =
+            "return document.querySelector(arguments[0]) !== null && document.querySelector(arguments[1]) !== null;";
+    private static final Duration RENDER_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WebDriverPool webDriverPool;
+    private final BrowserPageLoader pageLoader;
+
+    public NaverWebtoonSeleniumPageParser(WebDriverPool webDriverPool, BrowserPageLoader pageLoader) {
+        this.webDriverPool = webDriverPool;
+        this.pageLoader = pageLoader;
     }
 
     public String convertToPcUrl(String mobileUrl) {
@@ -47,100 +47,32 @@ public class NaverWebtoonSeleniumPageParser {
     }
 
 
-    /**
-     * 재사용 가능한 WebDriver 획득
-     * - ThreadLocal을 사용하여 스레드별 드라이버 관리
-     * - 일정 횟수 사용 후 자동 재생성 (메모리 누수 방지)
-     */
-    private WebDriver getOrCreateDriver() {
-        WebDriver driver = driverThreadLocal.get();
-        Integer count = usageCount.get();
-        
-        // 드라이버가 없거나 MAX_REUSE_COUNT 초과 시 재생성
-        if (driver == null || count >= MAX_REUSE_COUNT) {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                    log.debug("WebDriver 재생성 (사용 횟수: {}회)", count);
-                } catch (Exception e) {
-                    log.warn("기존 WebDriver 종료 실패: {}", e.getMessage());
-                } finally {
-                    // 실패 여부와 관계없이 ThreadLocal 정리
-                    driverThreadLocal.remove();
-                    usageCount.remove();
-                }
-            }
-            
-            // 새 WebDriver 생성
-            try {
-                driver = chromeDriverProvider.getDriver();
-                driverThreadLocal.set(driver);
-                usageCount.set(0);
-            } catch (Exception e) {
-                log.error("새 WebDriver 생성 실패: {}", e.getMessage());
-                throw new RuntimeException("WebDriver 초기화 실패", e);
-            }
-        }
-        
-        usageCount.set(count + 1);
-        return driver;
-    }
-    
-    /**
-     * ThreadLocal WebDriver 정리 (작업 완료 후 호출 권장)
-     */
-    public void cleanup() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            try {
-                driver.quit();
-                log.debug("WebDriver 정리 완료");
-            } catch (Exception e) {
-                log.warn("WebDriver 정리 실패: {}", e.getMessage());
-            } finally {
-                driverThreadLocal.remove();
-                usageCount.remove();
-            }
-        }
-    }
-    
-    /**
-     * Spring Bean 종료 시 자동으로 ThreadLocal 자원 정리
-     */
-    @PreDestroy
-    public void onDestroy() {
-        cleanup();
-        log.info("NaverWebtoonSeleniumPageParser Bean 종료 - ThreadLocal 자원 정리 완료");
-    }
-
     public NaverWebtoonDTO parseWebtoonDetail(String detailUrl, String crawlSource, String weekday) {
-        WebDriver driver = null;
-        
+        WebDriverPool.Lease lease = null;
+
         try {
-            driver = getOrCreateDriver(); // 재사용 가능한 드라이버 획듍
+            lease = webDriverPool.borrow(); // 풀에서 데워 둔 드라이버 대여
+            WebDriver driver = lease.driver();
             
             // 🎯 핵심: 처음부터 1화부터 정렬된 URL로 접근 (한 번에 첫 화 날짜까지 크롤링)
             String sortedUrl = buildSortedUrl(detailUrl, weekday);
             log.debug("정렬된 URL로 웹툰 상세 파싱 시작: {}", sortedUrl);
-            driver.get(sortedUrl);
 
-            // React 앱 로딩 대기 - WebDriverWait 사용으로 더 확실하게 대기
+            // React 앱 로딩 대기 - 이미지·폰트·광고·로그 요청은 차단하고, 제목과 회차 목록이 그려질 때까지만 대기
             try {
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-                // 제목 요소가 나타날 때까지 대기 (React 렌더링 완료 확인)
-                wait.until(ExpectedConditions.presenceOfElementLocated(
-                    By.cssSelector(NaverWebtoonSelectors.DETAIL_TITLE)
-                ));
-                log.debug("React 렌더링 완료 확인");
-            } catch (TimeoutException e) {
-                log.warn("React 렌더링 대기 시간 초과: {}", sortedUrl);
-                // 🚀 Timeout은 WebDriver 상태 불안정 가능 → 강제 정리
-                forceCleanupDriver();
-                return null;
+                BrowserPageLoader.PageLoad load = pageLoader.load(driver, BrowserPageLoader.NAVER_WEBTOON, sortedUrl,
+                        RENDER_TIMEOUT, READY_SCRIPT, NaverWebtoonSelectors.DETAIL_TITLE, NaverWebtoonSelectors.EPISODE_ITEMS);
+                if (!load.ready() && driver.findElements(By.cssSelector(NaverWebtoonSelectors.DETAIL_TITLE)).isEmpty()) {
+                    log.warn("React 렌더링 대기 시간 초과: {}", sortedUrl);
+                    // 🚀 Timeout은 WebDriver 상태 불안정 가능 → 재사용하지 않고 폐기
+                    lease.invalidate();
+                    return null;
+                }
+                log.debug("React 렌더링 완료 확인 ({}ms)", load.elapsedMillis());
             } catch (WebDriverException e) {
                 log.error("WebDriver 오류 발생: {}, {}", detailUrl, e.getMessage());
-                // 🚀 WebDriver 오류 시 강제 정리 (좀비 프로세스 방지)
-                forceCleanupDriver();
+                // 🚀 WebDriver 오류 시 폐기 (좀비 프로세스 방지)
+                lease.invalidate();
                 return null;
             }
 
@@ -189,33 +121,25 @@ public class NaverWebtoonSeleniumPageParser {
                     .crawlSource(crawlSource)
                     .build();
 
+        } catch (InterruptedException e) {
+            // 드라이버 대기 중 인터럽트 (종료 중)
+            Thread.currentThread().interrupt();
+            return null;
         } catch (Exception e) {
             log.error("Selenium 웹툰 상세 파싱 중 오류 발생: {}, {}", detailUrl, e.getMessage());
-            // 🚀 모든 예외 발생 시 WebDriver 강제 정리 (안전한 상태로 복구)
-            forceCleanupDriver();
-            return null;
-        }
-        // finally 블록 제거: 드라이버를 재사용하므로 매번 quit()하지 않음
-    }
-    
-    /**
-     * WebDriver 강제 정리 (비정상 상태 시)
-     */
-    private void forceCleanupDriver() {
-        try {
-            WebDriver driver = driverThreadLocal.get();
-            if (driver != null) {
-                driver.quit();
-                log.debug("WebDriver 강제 정리 완료 (비정상 상태)");
+            // 🚀 모든 예외 발생 시 WebDriver 폐기 (안전한 상태로 복구)
+            if (lease != null) {
+                lease.invalidate();
             }
-        } catch (Exception e) {
-            log.warn("WebDriver 강제 정리 실패: {}", e.getMessage());
+            return null;
         } finally {
-            driverThreadLocal.remove();
-            usageCount.remove();
+            // 반납 (폐기 표시가 없으면 풀에 돌아가 다음 작업이 재사용)
+            if (lease != null) {
+                lease.close();
+            }
         }
     }
-
+    
     // ===== Selenium 기반 개별 파싱 메서드들 =====
 
     private String parseTitle(WebDriver driver) {
@@ -448,8 +372,9 @@ public class NaverWebtoonSeleniumPageParser {
     /**
      * 날짜 텍스트를 LocalDate로 변환
      * 형식: "20.11.01" (yy.MM.dd) 또는 "2020.11.01" (yyyy.MM.dd)
+     * (NaverWebtoonApiDetailParser의 회차 날짜도 같은 표기)
      */
-    private LocalDate parseDateFromText(String dateText) {
+    static LocalDate parseDateFromText(String dateText) {
         if (dateText == null || dateText.trim().isEmpty()) {
             return null;
         }
@@ -6,26 +6,116 @@ import com.example.crawler.ranking.steam.SteamRankingService;
 import com.example.crawler.ranking.tmdb.TmdbRankingService;
 import com.example.shared.entity.ExternalRanking;
 import com.example.shared.repository.ExternalRankingRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * 통합 랭킹 크롤링 서비스 (Crawler 서버)
  * - 모든 플랫폼의 랭킹을 한번에 크롤링
+ *
+ * 전체 갱신(refreshAll)은 플랫폼별 작업을 전용 풀에서 동시에 실행한다.
+ * - 각 플랫폼 서비스가 끝나는 즉시 자기 랭킹을 upsert하므로 느린 플랫폼이 다른 플랫폼 반영을 늦추지 않음
+ * - 플랫폼마다 대기 한도(crawler.ranking.&lt;platform&gt;.timeout-seconds, 없으면 crawler.ranking.timeout-seconds)
+ *   — 넘으면 그 플랫폼만 timeout으로 기록하고 나머지 결과는 그대로 반환
+ *   (작업은 끊지 않고 끝까지 실행되며, 끝나기 전에 다음 갱신이 오면 그 플랫폼은 skipped)
+ * - 플랫폼별 소요 시간·결과는 crawl.ranking.duration{platform, outcome} 타이머와 PlatformResult로 보고
+ *   플랫폼 서비스는 오류를 삼키고 저장 건수를 돌려주므로, 예외뿐 아니라 저장 0건도 failure로 본다
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RankingCrawlerService {
 
+    static final String NAVER_WEBTOON = "naver-webtoon";
+    static final String NAVER_SERIES = "naver-series";
+    static final String STEAM = "steam";
+    static final String TMDB_MOVIE = "tmdb-movie";
+    static final String TMDB_TV = "tmdb-tv";
+
+    /** TMDB 랭킹 최소 투표수 */
+    private static final int TMDB_MIN_VOTE_COUNT = 100;
+
+    public enum Outcome { SUCCESS, FAILURE, TIMEOUT, SKIPPED }
+
+    /**
+     * 플랫폼 1개의 갱신 결과
+     *
+     * @param saved 저장한 랭킹 수 (시간 초과·건너뜀이면 0)
+     * @param error 실패·시간 초과 사유 (성공이면 null)
+     */
+    public record PlatformResult(String platform, Outcome outcome, int saved, Duration duration, String error) {
+    }
+
     private final NaverWebtoonRankingService naverWebtoonRankingService;
     private final NaverSeriesRankingService naverSeriesRankingService;
     private final SteamRankingService steamRankingService;
     private final TmdbRankingService tmdbRankingService;
     private final ExternalRankingRepository rankingRepository;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Duration defaultTimeout;
+
+    /** 갱신 순서 = 보고 순서, 값은 저장한 랭킹 수를 돌려주는 갱신 작업 */
+    private final Map<String, Supplier<Integer>> platforms = new LinkedHashMap<>();
+    private final Map<String, AtomicBoolean> running = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor pool;
+
+    public RankingCrawlerService(NaverWebtoonRankingService naverWebtoonRankingService,
+                                 NaverSeriesRankingService naverSeriesRankingService,
+                                 SteamRankingService steamRankingService,
+                                 TmdbRankingService tmdbRankingService,
+                                 ExternalRankingRepository rankingRepository,
+                                 MeterRegistry meterRegistry,
+                                 Environment environment,
+                                 @Value("${crawler.ranking.parallelism:5}") int parallelism,
+                                 @Value("${crawler.ranking.timeout-seconds:600}") long defaultTimeoutSeconds) {
+        this.naverWebtoonRankingService = naverWebtoonRankingService;
+        this.naverSeriesRankingService = naverSeriesRankingService;
+        this.steamRankingService = steamRankingService;
+        this.tmdbRankingService = tmdbRankingService;
+        this.rankingRepository = rankingRepository;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.defaultTimeout = Duration.ofSeconds(defaultTimeoutSeconds);
+
+        platforms.put(NAVER_WEBTOON, naverWebtoonRankingService::updateTodayWebtoonRanking);
+        platforms.put(NAVER_SERIES, naverSeriesRankingService::updateDailyRanking);
+        platforms.put(STEAM, steamRankingService::updateTopSellersRanking);
+        platforms.put(TMDB_MOVIE, () -> tmdbRankingService.updatePopularMoviesRanking(TMDB_MIN_VOTE_COUNT));
+        platforms.put(TMDB_TV, () -> tmdbRankingService.updatePopularTvShowsRanking(TMDB_MIN_VOTE_COUNT));
+        platforms.keySet().forEach(platform -> running.put(platform, new AtomicBoolean()));
+
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(Math.max(1, parallelism));
+        pool.setMaxPoolSize(Math.max(1, parallelism));
+        pool.setThreadNamePrefix("RankingCrawl-");
+        pool.setWaitForTasksToCompleteOnShutdown(false);
+        pool.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
 
     /**
      * 모든 플랫폼의 랭킹을 크롤링하여 업데이트하고 결과를 반환합니다.
@@ -35,38 +125,87 @@ public class RankingCrawlerService {
      * - TMDB (인기 영화 & TV 쇼)
      */
     public List<ExternalRanking> crawlAndGetAllRankings() {
-        log.info("전체 플랫폼 랭킹 크롤링을 시작합니다.");
-        
+        refreshAll();
+        // 크롤링 완료 후 전체 랭킹 반환 (실패·시간 초과 플랫폼은 직전 랭킹 유지)
+        return rankingRepository.findAll();
+    }
+
+    /**
+     * 전체 플랫폼 랭킹 동시 갱신 — 가장 느린 플랫폼(또는 그 대기 한도)만큼 걸린다
+     *
+     * @return 플랫폼별 결과 (갱신 순서)
+     */
+    public List<PlatformResult> refreshAll() {
+        log.info("🏆 [Ranking] 전체 플랫폼 랭킹 동시 갱신 시작: {}", platforms.keySet());
+        long startedAt = System.nanoTime();
+
+        List<CompletableFuture<PlatformResult>> futures = new ArrayList<>();
+        platforms.forEach((platform, task) -> futures.add(submit(platform, task)));
+        List<PlatformResult> results = futures.stream().map(CompletableFuture::join).toList();
+
+        long succeeded = results.stream().filter(result -> result.outcome() == Outcome.SUCCESS).count();
+        log.info("🏆 [Ranking] 전체 갱신 종료: 성공 {}/{}, 소요 {}초 — {}", succeeded, results.size(),
+                Duration.ofNanos(System.nanoTime() - startedAt).toSeconds(), results);
+        return results;
+    }
+
+    /** 플랫폼 작업 실행 (끝나거나 대기 한도가 지나면 결과로 완료, 예외로 완료되지 않음) */
+    private CompletableFuture<PlatformResult> submit(String platform, Supplier<Integer> task) {
+        AtomicBoolean flag = running.get(platform);
+        if (!flag.compareAndSet(false, true)) {
+            log.warn("⏭ [Ranking] {} 이전 갱신이 아직 실행 중 — 이번 회차 건너뜀", platform);
+            return CompletableFuture.completedFuture(record(platform, Outcome.SKIPPED, 0, Duration.ZERO, "이전 갱신 실행 중"));
+        }
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<Integer> run;
         try {
-            // 1. 네이버 웹툰
-            log.info("1/5 - 네이버 웹툰 랭킹 크롤링 중...");
-            naverWebtoonRankingService.updateTodayWebtoonRanking();
-            
-            // 2. 네이버 시리즈
-            log.info("2/5 - 네이버 시리즈 랭킹 크롤링 중...");
-            naverSeriesRankingService.updateDailyRanking();
-            
-            // 3. Steam
-            log.info("3/5 - Steam 랭킹 크롤링 중...");
-            steamRankingService.updateTopSellersRanking();
-            
-            // 4. TMDB 영화
-            log.info("4/5 - TMDB 영화 랭킹 크롤링 중...");
-            tmdbRankingService.updatePopularMoviesRanking(100);
-            
-            // 5. TMDB TV 쇼
-            log.info("5/5 - TMDB TV 쇼 랭킹 크롤링 중...");
-            tmdbRankingService.updatePopularTvShowsRanking(100);
-            
-            log.info("전체 플랫폼 랭킹 크롤링이 완료되었습니다.");
-            
-        } catch (Exception e) {
-            log.error("전체 랭킹 크롤링 중 오류 발생", e);
-            throw e;
+            run = CompletableFuture.supplyAsync(task, pool);
+        } catch (RuntimeException e) {
+            flag.set(false);
+            return CompletableFuture.completedFuture(record(platform, Outcome.FAILURE, 0, Duration.ZERO, e.toString()));
         }
-        
-        // 크롤링 완료 후 전체 랭킹 반환
-        return rankingRepository.findAll();
+        // 시간 초과로 응답을 먼저 돌려줘도 실제 작업이 끝나야 다음 회차를 받는다
+        run.whenComplete((ignored, error) -> flag.set(false));
+
+        Duration timeout = timeoutOf(platform);
+        return run.copy()
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((saved, error) -> {
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+                    if (error == null) {
+                        return saved != null && saved > 0
+                                ? record(platform, Outcome.SUCCESS, saved, elapsed, null)
+                                : record(platform, Outcome.FAILURE, 0, elapsed, "저장된 랭킹 없음");
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        return record(platform, Outcome.TIMEOUT, 0, elapsed, timeout.toSeconds() + "초 초과");
+                    }
+                    return record(platform, Outcome.FAILURE, 0, elapsed, cause.toString());
+                });
+    }
+
+    private Duration timeoutOf(String platform) {
+        Long seconds = environment.getProperty("crawler.ranking." + platform + ".timeout-seconds", Long.class);
+        return seconds != null ? Duration.ofSeconds(seconds) : defaultTimeout;
+    }
+
+    private PlatformResult record(String platform, Outcome outcome, int saved, Duration duration, String error) {
+        Timer.builder("crawl.ranking.duration")
+                .description("플랫폼별 랭킹 갱신 시간")
+                .tag("platform", platform)
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(duration);
+        switch (outcome) {
+            case SUCCESS -> log.info("✅ [Ranking] {} 랭킹 갱신 완료: {}개 ({}초)", platform, saved, duration.toSeconds());
+            case TIMEOUT -> log.error("⏰ [Ranking] {} 랭킹 갱신 시간 초과 ({}) — 작업은 계속 실행, 끝나면 반영", platform, error);
+            case FAILURE -> log.error("❌ [Ranking] {} 랭킹 갱신 실패 ({}초): {}", platform, duration.toSeconds(), error);
+            case SKIPPED -> { }
+        }
+        return new PlatformResult(platform, outcome, saved, duration, error);
     }
 
     /**
@@ -101,8 +240,8 @@ public class RankingCrawlerService {
      */
     public void crawlTmdbRanking() {
         log.info("TMDB 랭킹 크롤링 시작");
-        tmdbRankingService.updatePopularMoviesRanking(100);
-        tmdbRankingService.updatePopularTvShowsRanking(100);
+        tmdbRankingService.updatePopularMoviesRanking(TMDB_MIN_VOTE_COUNT);
+        tmdbRankingService.updatePopularTvShowsRanking(TMDB_MIN_VOTE_COUNT);
         log.info("TMDB 랭킹 크롤링 완료");
     }
 }
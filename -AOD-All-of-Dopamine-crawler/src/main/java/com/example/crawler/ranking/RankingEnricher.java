@@ -0,0 +1,182 @@
+package com.example.crawler.ranking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 랭킹 항목별 부가 정보(상세 페이지 제목·썸네일, Watch Providers 등) 수집기
+ *
+ * - 플랫폼 ID별 TTL 캐시: TTL 안에 받은 항목은 다시 요청하지 않음 (랭킹은 날마다 대부분 그대로)
+ *   TTL = crawler.ranking.enrichment.&lt;cache&gt;.ttl-hours, 없으면 crawler.ranking.enrichment.ttl-hours
+ * - 최대 concurrency개 동시 요청 (요청 속도는 loader가 플랫폼 리미터로 조절)
+ * - 한 번의 enrich 전체에 timeout-seconds 한도 — 못 끝난 항목은 만료된 캐시 값이 있으면 그 값,
+ *   없으면 결과에서 빠진다 (호출 쪽이 부분 결과로 처리). 늦게 끝난 응답도 캐시에는 들어가 다음 회차에 쓰인다.
+ * - 실패·null 결과는 캐시하지 않음
+ */
+@Slf4j
+@Component
+public class RankingEnricher {
+
+    private record Entry(Object value, long loadedAtNanos) {
+    }
+
+    private final Map<String, Map<String, Entry>> caches = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final LongSupplier nanoClock; // TTL 판정용 (테스트에서 바꿔 끼움)
+    private final int concurrency;
+    private final Duration defaultTtl;
+    private final Duration timeout;
+
+    public RankingEnricher(MeterRegistry meterRegistry,
+                           Environment environment,
+                           @Value("${crawler.ranking.enrichment.concurrency:8}") int concurrency,
+                           @Value("${crawler.ranking.enrichment.ttl-hours:72}") long defaultTtlHours,
+                           @Value("${crawler.ranking.enrichment.timeout-seconds:90}") long timeoutSeconds) {
+        this(meterRegistry, environment, System::nanoTime, concurrency, Duration.ofHours(defaultTtlHours),
+                Duration.ofSeconds(timeoutSeconds));
+    }
+
+    RankingEnricher(MeterRegistry meterRegistry, Environment environment, LongSupplier nanoClock,
+                    int concurrency, Duration defaultTtl, Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.nanoClock = nanoClock;
+        this.concurrency = Math.max(1, concurrency);
+        this.defaultTtl = defaultTtl;
+        this.timeout = timeout;
+    }
+
+    /**
+     * ID별 부가 정보 조회
+     *
+     * @param cache  캐시 이름 (ID 공간이 같은 플랫폼 단위, 예: naver-series, tmdb-movie)
+     * @param ids    조회할 플랫폼 ID (순서 유지)
+     * @param loader ID → 비동기 조회 (null로 완료되면 "정보 없음"으로 보고 캐시하지 않음)
+     * @return 얻은 값만 담은 맵 (ids 순서) — 빠진 ID는 실패·시간 초과
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Map<String, V> enrich(String cache, Collection<String> ids, Function<String, CompletableFuture<V>> loader) {
+        Map<String, Entry> entries = caches.computeIfAbsent(cache, name -> new ConcurrentHashMap<>());
+        Duration ttl = ttlOf(cache);
+        long now = nanoClock.getAsLong();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        Map<String, V> results = new LinkedHashMap<>();
+        Map<String, CompletableFuture<V>> pending = new LinkedHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+        boolean expired = false;
+        for (String id : ids) {
+            if (id == null || results.containsKey(id) || pending.containsKey(id)) continue;
+            Entry entry = entries.get(id);
+            if (entry != null && now - entry.loadedAtNanos() < ttl.toNanos()) {
+                results.put(id, (V) entry.value());
+                count(cache, "hit");
+                continue;
+            }
+            results.put(id, null); // 순서 자리 — 끝나지 못하면 아래에서 제거
+            if (expired || !acquire(inFlight, deadline)) {
+                expired = true;
+                continue;
+            }
+            CompletableFuture<V> future;
+            try {
+                future = loader.apply(id);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            pending.put(id, future.whenComplete((value, error) -> {
+                inFlight.release();
+                if (error == null && value != null) {
+                    entries.put(id, new Entry(value, nanoClock.getAsLong()));
+                }
+            }));
+        }
+
+        for (Map.Entry<String, V> result : results.entrySet()) {
+            if (result.getValue() != null) continue;
+            String id = result.getKey();
+            V value = await(cache, id, pending.get(id), deadline);
+            if (value != null) {
+                result.setValue(value);
+                count(cache, "loaded");
+                continue;
+            }
+            Entry stale = entries.get(id);
+            if (stale != null) {
+                result.setValue((V) stale.value());
+                count(cache, "stale");
+            } else {
+                count(cache, "missed");
+            }
+        }
+        results.values().removeIf(value -> value == null);
+        // 만료 후에도 TTL만큼은 시간 초과 대비용으로 남겨 두고 그보다 오래된 항목만 정리
+        entries.values().removeIf(entry -> now - entry.loadedAtNanos() > ttl.multipliedBy(2).toNanos());
+
+        log.info("[Ranking] {} 부가 정보 {}/{}건 확보 (요청 {}건)", cache, results.size(), ids.size(), pending.size());
+        return results;
+    }
+
+    /** 캐시 비우기 (운영 중 강제 재수집용) */
+    public void clear(String cache) {
+        caches.remove(cache);
+    }
+
+    private boolean acquire(Semaphore inFlight, long deadline) {
+        try {
+            return inFlight.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <V> V await(String cache, String id, CompletableFuture<V> future, long deadline) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("[Ranking] {} 부가 정보 시간 초과: {}", cache, id);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("[Ranking] {} 부가 정보 조회 실패 (ID: {}): {}", cache, id, cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private Duration ttlOf(String cache) {
+        Long hours = environment.getProperty("crawler.ranking.enrichment." + cache + ".ttl-hours", Long.class);
+        return hours != null ? Duration.ofHours(hours) : defaultTtl;
+    }
+
+    private void count(String cache, String result) {
+        Counter.builder("crawl.ranking.enrichment")
+                .description("랭킹 항목 부가 정보 조회 결과")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -6,14 +6,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * 랭킹 정기 크롤링 스케줄러
- * 
- * 각 플랫폼의 랭킹을 매일 새벽 4시부터 2분 간격으로 순차 갱신합니다.
- * - 04:00 네이버 웹툰 (오늘 요일 기준)
- * - 04:02 네이버 시리즈 (웹소설 일간)
- * - 04:04 Steam (최고 판매)
- * - 04:06 TMDB (인기 영화 & TV 쇼)
+ *
+ * 매일 새벽 4시에 모든 플랫폼의 랭킹을 동시에 갱신합니다.
+ * - 네이버 웹툰 (오늘 요일 기준)
+ * - 네이버 시리즈 (웹소설 일간)
+ * - Steam (최고 판매)
+ * - TMDB (인기 영화 & TV 쇼)
+ *
+ * 플랫폼별 결과는 끝나는 즉시 반영되고, 한 플랫폼의 실패·지연은 다른 플랫폼에 영향을 주지 않습니다.
+ * (기존 2분 간격 순차 갱신 대신 가장 느린 플랫폼의 소요 시간만큼만 걸림)
  */
 @Slf4j
 @Service
@@ -23,63 +28,25 @@ public class RankingScheduler {
     private final RankingCrawlerService rankingCrawlerService;
 
     /**
-     * 네이버 웹툰 랭킹 - 매일 04:00
+     * 모든 플랫폼의 랭킹을 매일 새벽 4시에 자동 갱신 (플랫폼 동시 실행)
      */
     @Scheduled(cron = "0 0 4 * * *")
-    public void updateNaverWebtoonRanking() {
-        executeWithLogging("네이버 웹툰", rankingCrawlerService::crawlNaverWebtoonRanking);
-    }
-
-    /**
-     * 네이버 시리즈 랭킹 - 매일 04:02
-     */
-    @Scheduled(cron = "0 2 4 * * *")
-    public void updateNaverSeriesRanking() {
-        executeWithLogging("네이버 시리즈", rankingCrawlerService::crawlNaverSeriesRanking);
-    }
-
-    /**
-     * Steam 랭킹 - 매일 04:04
-     */
-    @Scheduled(cron = "0 4 4 * * *")
-    public void updateSteamRanking() {
-        executeWithLogging("Steam", rankingCrawlerService::crawlSteamRanking);
-    }
-
-    /**
-     * TMDB 랭킹 (영화 + TV) - 매일 04:06
-     */
-    @Scheduled(cron = "0 6 4 * * *")
-    public void updateTmdbRanking() {
-        executeWithLogging("TMDB", rankingCrawlerService::crawlTmdbRanking);
-    }
-
-    /**
-     * 모든 플랫폼의 랭킹을 매일 새벽 4시에 자동 갱신 (전체 일괄)
-     */
-    // @Scheduled(cron = "0 0 4 * * *")
-    // public void updateAllRankingsDaily() {
-    //     log.info("🚀 [정기 스케줄] 전체 플랫폼 랭킹 크롤링 시작");
-    //     long startTime = System.currentTimeMillis();
-    //     try {
-    //         rankingCrawlerService.crawlAndGetAllRankings();
-    //         long duration = (System.currentTimeMillis() - startTime) / 1000;
-    //         log.info("✅ [정기 스케줄] 전체 플랫폼 랭킹 크롤링 완료 (소요 시간: {}초)", duration);
-    //     } catch (Exception e) {
-    //         log.error("❌ [정기 스케줄] 랭킹 크롤링 실패: {}", e.getMessage(), e);
-    //     }
-    // }
-
-    private void executeWithLogging(String platform, Runnable task) {
-        log.info("🚀 [정기 스케줄] {} 랭킹 크롤링 시작", platform);
+    public void updateAllRankingsDaily() {
+        log.info("🚀 [정기 스케줄] 전체 플랫폼 랭킹 크롤링 시작");
         long startTime = System.currentTimeMillis();
-
         try {
-            task.run();
+            List<RankingCrawlerService.PlatformResult> results = rankingCrawlerService.refreshAll();
             long duration = (System.currentTimeMillis() - startTime) / 1000;
-            log.info("✅ [정기 스케줄] {} 랭킹 크롤링 완료 (소요 시간: {}초)", platform, duration);
+            long failed = results.stream()
+                    .filter(result -> result.outcome() != RankingCrawlerService.Outcome.SUCCESS)
+                    .count();
+            if (failed == 0) {
+                log.info("✅ [정기 스케줄] 전체 플랫폼 랭킹 크롤링 완료 (소요 시간: {}초)", duration);
+            } else {
+                log.warn("⚠️ [정기 스케줄] 전체 플랫폼 랭킹 크롤링 종료 — {}개 플랫폼 미완료 (소요 시간: {}초)", failed, duration);
+            }
         } catch (Exception e) {
-            log.error("❌ [정기 스케줄] {} 랭킹 크롤링 실패: {}", platform, e.getMessage(), e);
+            log.error("❌ [정기 스케줄] 랭킹 크롤링 실패: {}", e.getMessage(), e);
         }
     }
 }
@@ -1,23 +1,37 @@
 package com.example.crawler.ranking.naverseries;
 
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlHttpException;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 네이버 시리즈(웹소설) 랭킹 페이지 Fetcher
  * - TOP 100 페이지에서 일간 랭킹 가져오기
- * - Jsoup 사용 (정적 HTML)
+ * - 정적 HTML (CrawlHttpClient로 받아 Jsoup Document로 파싱)
+ * - 상세 페이지는 비동기로도 제공 (naver-series 리미터·서킷 적용 — 랭킹 항목 동시 수집용)
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class NaverSeriesRankingFetcher {
 
     private static final String TOP_100_BASE_URL = "https://series.naver.com/novel/top100List.series?rankingTypeCode=DAILY&categoryCode=ALL&page=";
 
+    private final CrawlHttpClient httpClient;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
     /**
      * 일간 TOP 100 특정 페이지 가져오기
      * @param page 페이지 번호 (1부터 시작)
@@ -28,12 +42,11 @@ public class NaverSeriesRankingFetcher {
         log.info("네이버 시리즈 일간 TOP 100 페이지 가져오기: {}", url);
         
         try {
-            return Jsoup.connect(url)
+            return httpClient.getDocument(CrawlRequest.get(url)
                     .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
                     .referrer("https://series.naver.com/")
                     .header("Accept-Language", "ko-KR,ko;q=0.9")
-                    .timeout(15000)
-                    .get();
+                    .timeout(Duration.ofSeconds(15)));
         } catch (IOException e) {
             log.error("네이버 시리즈 랭킹 페이지를 가져오는 중 오류 발생: url={}, error={}", url, e.getMessage());
             return null;
@@ -45,17 +58,40 @@ public class NaverSeriesRankingFetcher {
      */
     public Document fetchDetailPage(String url) {
         try {
-            return Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
-                    .referrer("https://series.naver.com/")
-                    .header("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7")
-                    .timeout(15000)
-                    .get();
+            return httpClient.getDocument(detailRequest(url));
         } catch (IOException e) {
             log.error("네이버 시리즈 상세 페이지를 가져오는 중 오류 발생: url={}, error={}", url, e.getMessage());
             return null;
         }
     }
+
+    /**
+     * 상세 페이지 비동기 요청 — 리미터 허가를 기다리는 동안에도 스레드를 잡지 않음
+     * (2xx가 아니면 CrawlHttpException으로 실패)
+     */
+    public CompletableFuture<Document> fetchDetailPageAsync(String url) {
+        return rateLimiterRegistry.get(RateLimiterRegistry.NAVER_SERIES).acquireAsync()
+                .thenCompose(ignored -> httpClient.sendAsync(detailRequest(url)
+                        .circuit(circuitBreakerRegistry.get(RateLimiterRegistry.NAVER_SERIES))))
+                .thenApply(response -> {
+                    if (!response.isSuccess()) {
+                        throw new CompletionException(new CrawlHttpException(response.status(), url, null));
+                    }
+                    try {
+                        return response.document();
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private CrawlRequest detailRequest(String url) {
+        return CrawlRequest.get(url)
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36")
+                .referrer("https://series.naver.com/")
+                .header("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7")
+                .timeout(Duration.ofSeconds(15));
+    }
 }
 
 
@@ -2,6 +2,7 @@ package com.example.crawler.ranking.naverseries;
 
 import com.example.crawler.util.HtmlParseUtils;
 import com.example.crawler.ranking.naverseries.NaverSeriesDetailParser;
+import com.example.crawler.ranking.RankingEnricher;
 import com.example.crawler.ranking.RankingUpsertHelper;
 import com.example.shared.entity.ExternalRanking;
 import com.example.crawler.ranking.naverseries.NaverSeriesRankingFetcher;
@@ -12,7 +13,9 @@ import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -20,6 +23,7 @@ import java.util.Set;
  * - Fetcher: 랭킹 페이지 및 상세 페이지 가져오기
  * - NaverSeriesDetailParser: 랭킹용 제목 추출 파서 (ranking 전용)
  * - NaverSeriesFetcher: 유틸리티 메서드 재사용 (productNo, 제목 정리)
+ * - RankingEnricher: 상세 페이지 동시 요청 + productNo별 TTL 캐시 (매일 같은 작품을 다시 받지 않음)
  * - 일간 TOP 100 페이지에서 상위 20개만 저장
  */
 @Slf4j
@@ -30,11 +34,24 @@ public class NaverSeriesRankingService {
     private final NaverSeriesRankingFetcher fetcher;
     private final NaverSeriesDetailParser detailParser; // 랭킹용 파서 (제목 추출 전용)
     private final RankingUpsertHelper rankingUpsertHelper;
+    private final RankingEnricher rankingEnricher;
+
+    /** 랭킹 항목 부가 정보 캐시 이름 (= 설정 키 crawler.ranking.enrichment.naver-series.*) */
+    private static final String ENRICHMENT_CACHE = "naver-series";
+
+    /** 랭킹용 상세 정보 (productNo별 캐시 값) */
+    private record Detail(String title, String thumbnailUrl) {
+    }
 
     private static final int MAX_RANKING_SIZE = 100;
     private static final int MAX_PAGES_TO_FETCH = 5; // 페이지당 약 20개, 5페이지 = 100개
 
-    public void updateDailyRanking() {
+    /**
+     * 일간 랭킹 갱신
+     *
+     * @return 저장한 랭킹 수 (가져오기·파싱·저장 실패 시 0)
+     */
+    public int updateDailyRanking() {
         log.info("네이버 시리즈 일간 랭킹 업데이트를 시작합니다.");
 
         try {
@@ -88,74 +105,78 @@ public class NaverSeriesRankingService {
 
             if (detailUrls.isEmpty()) {
                 log.error("랭킹 항목을 찾을 수 없습니다. 페이지 구조가 변경되었을 수 있습니다.");
-                return;
+                return 0;
             }
 
-            log.info("총 {}개의 웹소설을 발견했습니다. 상위 {}개만 저장합니다.", 
+            log.info("총 {}개의 웹소설을 발견했습니다. 상위 {}개만 저장합니다.",
                     detailUrls.size(), Math.min(detailUrls.size(), MAX_RANKING_SIZE));
 
-            List<ExternalRanking> rankings = new ArrayList<>();
-            int rank = 1;
-
-            // 각 상세 페이지에서 제목 추출 (기존 크롤러 재사용)
+            // productNo 추출 (HtmlParseUtils 유틸 재사용) — 순서 유지, 상위 MAX_RANKING_SIZE개
+            Map<String, String> detailUrlByProductNo = new LinkedHashMap<>();
             for (String detailUrl : detailUrls) {
-                if (rank > MAX_RANKING_SIZE) break; // Top 20만
-
-                try {
-                    // productNo 추출 (HtmlParseUtils 유틸 재사용)
-                    String productNo = HtmlParseUtils.extractQueryParam(detailUrl, "productNo");
-                    if (productNo == null || productNo.isEmpty()) {
-                        log.debug("productNo를 추출할 수 없는 URL 건너뜀: {}", detailUrl);
-                        continue;
-                    }
-
-                    // 상세 페이지 가져오기
-                    Document detailDoc = fetcher.fetchDetailPage(detailUrl);
-                    if (detailDoc == null) {
-                        log.warn("상세 페이지를 가져올 수 없음: {}", detailUrl);
-                        continue;
-                    }
-
-                    // 제목 추출 (NaverSeriesDetailParser 재사용)
-                    String title = detailParser.extractTitle(detailDoc);
-                    
-                    if (title == null || title.isEmpty()) {
-                        log.debug("제목을 추출할 수 없는 항목 건너뜀: {}", detailUrl);
-                        continue;
-                    }
-
-                    // 썸네일 URL 추출
-                    String thumbnailUrl = detailParser.extractThumbnailUrl(detailDoc);
+                if (detailUrlByProductNo.size() >= MAX_RANKING_SIZE) break;
+                String productNo = HtmlParseUtils.extractQueryParam(detailUrl, "productNo");
+                if (productNo == null || productNo.isEmpty()) {
+                    log.debug("productNo를 추출할 수 없는 URL 건너뜀: {}", detailUrl);
+                    continue;
+                }
+                detailUrlByProductNo.putIfAbsent(productNo, detailUrl);
+            }
 
-                    // 랭킹 데이터 생성
-                    ExternalRanking ranking = new ExternalRanking();
-                    ranking.setRanking(rank);
-                    ranking.setTitle(title);
-                    ranking.setPlatformSpecificId(productNo);
-                    ranking.setPlatform("NaverSeries");
-                    ranking.setThumbnailUrl(thumbnailUrl);
-                    rankings.add(ranking);
+            // 각 상세 페이지에서 제목·썸네일 추출 — 동시 요청, productNo별 캐시 (TTL 안이면 재요청 안 함)
+            Map<String, Detail> details = rankingEnricher.enrich(ENRICHMENT_CACHE, detailUrlByProductNo.keySet(),
+                    productNo -> fetcher.fetchDetailPageAsync(detailUrlByProductNo.get(productNo))
+                            .thenApply(this::toDetail));
 
-                    log.info("랭킹 {}위: {} (productNo={})", rank, title, productNo);
-                    rank++;
+            List<ExternalRanking> rankings = new ArrayList<>();
+            int rank = 1;
 
-                } catch (Exception e) {
-                    log.warn("웹소설 랭킹 항목 파싱 중 오류 발생 (건너뜀): url={}, error={}", detailUrl, e.getMessage());
+            // 상세 정보를 못 얻은 항목(실패·시간 초과)은 건너뛰고 나머지로 순위 구성
+            for (Map.Entry<String, String> item : detailUrlByProductNo.entrySet()) {
+                String productNo = item.getKey();
+                Detail detail = details.get(productNo);
+                if (detail == null) {
+                    log.warn("상세 정보를 가져올 수 없음 (건너뜀): {}", item.getValue());
+                    continue;
                 }
+
+                // 랭킹 데이터 생성
+                ExternalRanking ranking = new ExternalRanking();
+                ranking.setRanking(rank);
+                ranking.setTitle(detail.title());
+                ranking.setPlatformSpecificId(productNo);
+                ranking.setPlatform("NaverSeries");
+                ranking.setThumbnailUrl(detail.thumbnailUrl());
+                rankings.add(ranking);
+
+                log.info("랭킹 {}위: {} (productNo={})", rank, detail.title(), productNo);
+                rank++;
             }
 
             if (!rankings.isEmpty()) {
                 // 기존 데이터와 병합하여 저장 (ID 유지) - Helper 사용
                 rankingUpsertHelper.upsertRankings(rankings, "NaverSeries");
                 log.info("네이버 시리즈 랭킹 업데이트 완료. 총 {}개의 데이터를 저장했습니다.", rankings.size());
-            } else {
-                log.warn("저장할 유효한 랭킹 데이터가 없습니다.");
+                return rankings.size();
             }
+            log.warn("저장할 유효한 랭킹 데이터가 없습니다.");
+            return 0;
 
         } catch (Exception e) {
             log.error("네이버 시리즈 랭킹 파싱 중 심각한 오류 발생", e);
+            return 0;
         }
     }
-}
-
 
+    /**
+     * 상세 페이지 → 제목·썸네일 (제목이 없으면 null — 캐시하지 않음)
+     * NaverSeriesDetailParser 재사용
+     */
+    private Detail toDetail(Document detailDoc) {
+        String title = detailParser.extractTitle(detailDoc);
+        if (title == null || title.isEmpty()) {
+            return null;
+        }
+        return new Detail(title, detailParser.extractThumbnailUrl(detailDoc));
+    }
+}
@@ -31,7 +31,12 @@ public class NaverWebtoonRankingService {
 
     private static final int MAX_RANKING_SIZE = 100;
 
-    public void updateTodayWebtoonRanking() {
+    /**
+     * 오늘 요일 웹툰 랭킹 갱신
+     *
+     * @return 저장한 랭킹 수 (가져오기·파싱·저장 실패 시 0)
+     */
+    public int updateTodayWebtoonRanking() {
         String todayWeekday = fetcher.getTodayWeekdayString();
         log.info("네이버 웹툰 오늘 요일({}) 랭킹 업데이트를 시작합니다.", todayWeekday);
         
@@ -41,7 +46,7 @@ public class NaverWebtoonRankingService {
             
             if (doc == null) {
                 log.error("네이버 웹툰 랭킹 페이지를 가져오지 못했습니다.");
-                return;
+                return 0;
             }
             
             // 기존 크롤러의 MobileListParser 재사용
@@ -53,7 +58,7 @@ public class NaverWebtoonRankingService {
             
             if (webtoonList.isEmpty()) {
                 log.warn("웹툰 목록을 가져오지 못해 작업을 중단합니다.");
-                return;
+                return 0;
             }
 
             log.info("총 {}개의 웹툰을 발견했습니다. 상위 {}개만 저장합니다.", 
@@ -87,12 +92,14 @@ public class NaverWebtoonRankingService {
                 rankingUpsertHelper.upsertRankings(rankings, "NaverWebtoon");
                 log.info("네이버 웹툰 랭킹 업데이트 완료. 총 {}개의 데이터를 저장했습니다. ({})요일", 
                         rankings.size(), todayWeekday);
-            } else {
-                log.warn("저장할 유효한 랭킹 데이터가 없습니다.");
+                return rankings.size();
             }
+            log.warn("저장할 유효한 랭킹 데이터가 없습니다.");
+            return 0;
 
         } catch (Exception e) {
             log.error("네이버 웹툰 랭킹 업데이트 중 오류 발생", e);
+            return 0;
         }
     }
 }
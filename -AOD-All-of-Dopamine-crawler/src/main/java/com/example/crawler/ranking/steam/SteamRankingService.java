@@ -25,7 +25,12 @@ public class SteamRankingService {
 
     private static final String PLATFORM_NAME = "Steam";
 
-    public void updateTopSellersRanking() {
+    /**
+     * 최고 판매 랭킹 갱신
+     *
+     * @return 저장한 랭킹 수 (가져온 게임이 없으면 0)
+     */
+    public int updateTopSellersRanking() {
         log.info("Steam 최고 판매 랭킹 업데이트를 시작합니다 (Selenium 방식).");
 
         // 1. Selenium으로 페이지에서 게임 데이터 크롤링
@@ -33,7 +38,7 @@ public class SteamRankingService {
 
         if (gameDataList.isEmpty()) {
             log.warn("Steam 페이지에서 게임 데이터를 가져오지 못했습니다.");
-            return;
+            return 0;
         }
 
         // 2. 엔티티 변환
@@ -41,13 +46,14 @@ public class SteamRankingService {
 
         if (rankings.isEmpty()) {
             log.warn("변환된 Steam 랭킹 데이터가 없습니다.");
-            return;
+            return 0;
         }
 
         // 3. 기존 데이터와 병합하여 저장 (ID 유지) - Helper 사용
         rankingUpsertHelper.upsertRankings(rankings, PLATFORM_NAME);
 
         log.info("Steam 최고 판매 랭킹 업데이트 완료. 총 {}개", rankings.size());
+        return rankings.size();
     }
 
     /**
@@ -1,5 +1,10 @@
 package com.example.crawler.ranking.tmdb;
 
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlHttpException;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
 import com.example.crawler.ranking.tmdb.TmdbPlatformType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,8 +14,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * TMDB API 호출 전담 클래스 (SRP 준수)
@@ -22,6 +31,9 @@ public class TmdbRankingFetcher {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final CrawlHttpClient httpClient; // Watch Providers 비동기 조회용 (랭킹 항목 동시 수집)
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
 
     @Value("${tmdb.api.key:}")
     private String tmdbApiKey;
@@ -109,24 +121,35 @@ public class TmdbRankingFetcher {
     }
 
     /**
-     * 특정 콘텐츠의 Watch Providers 정보 조회
+     * 특정 콘텐츠의 Watch Providers 정보 비동기 조회
+     * - tmdb 리미터 허가를 받은 뒤 요청 (대기 중 스레드를 잡지 않음), tmdb 서킷 적용
+     * - 2xx가 아니면 CrawlHttpException으로 실패
      */
-    public JsonNode fetchWatchProviders(TmdbPlatformType platformType, String tmdbId) {
+    public CompletableFuture<JsonNode> fetchWatchProvidersAsync(TmdbPlatformType platformType, String tmdbId) {
         String endpoint = platformType == TmdbPlatformType.MOVIE ? "movie" : "tv";
         String url = String.format("%s/%s/%s/watch/providers?api_key=%s",
                 tmdbBaseUrl,
                 endpoint,
                 tmdbId,
                 tmdbApiKey);
-        
-        try {
-            // log.debug("TMDB Watch Providers API 호출: {}", url);
-            String response = restTemplate.getForObject(url, String.class);
-            return objectMapper.readTree(response);
-        } catch (Exception e) {
-            log.warn("TMDB Watch Providers 조회 실패 (ID: {}): {}", tmdbId, e.getMessage());
-            return null;
-        }
+
+        return rateLimiterRegistry.get(RateLimiterRegistry.TMDB).acquireAsync()
+                .thenCompose(ignored -> httpClient.sendAsync(CrawlRequest.get(url)
+                        .header("Accept", "application/json")
+                        .timeout(Duration.ofSeconds(10))
+                        .circuit(circuitBreakerRegistry.get(RateLimiterRegistry.TMDB))))
+                .thenApply(response -> {
+                    if (!response.isSuccess()) {
+                        // api_key가 로그에 남지 않게 ID만 기록
+                        throw new CompletionException(new CrawlHttpException(response.status(),
+                                endpoint + "/" + tmdbId + "/watch/providers", null));
+                    }
+                    try {
+                        return objectMapper.readTree(response.bodyAsString());
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
     }
 
     private String buildUrl(TmdbPlatformType platformType, int page) {
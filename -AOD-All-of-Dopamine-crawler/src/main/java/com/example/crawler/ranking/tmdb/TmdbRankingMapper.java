@@ -2,9 +2,7 @@ package com.example.crawler.ranking.tmdb;
 
 import com.example.shared.entity.ExternalRanking;
 import com.example.crawler.ranking.tmdb.TmdbPlatformType;
-import com.example.crawler.ranking.tmdb.TmdbRankingFetcher;
 import com.fasterxml.jackson.databind.JsonNode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -15,14 +13,12 @@ import java.util.stream.StreamSupport;
 
 /**
  * TMDB JSON 데이터를 ExternalRanking 엔티티로 변환 (SRP 준수)
+ * - Watch Providers는 항목별 추가 조회가 필요하므로 TmdbRankingService가 동시 조회 후 채운다
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class TmdbRankingMapper {
 
-    private final TmdbRankingFetcher tmdbRankingFetcher;
-
     /**
      * TMDB JSON 데이터를 ExternalRanking 엔티티 리스트로 변환
      * @param jsonNode TMDB API 응답 데이터
@@ -141,22 +137,14 @@ public class TmdbRankingMapper {
             ranking.setThumbnailUrl(thumbnailUrl);
         }
 
-        // Watch Providers 추출 (한국 지역 flatrate)
-        List<String> watchProviders = extractWatchProviders(platformType, tmdbId);
-        if (!watchProviders.isEmpty()) {
-            ranking.setWatchProviders(watchProviders);
-        }
-
         return ranking;
     }
 
     /**
-     * TMDB Watch Providers API에서 한국 지역 OTT 플랫폼 정보 추출
+     * TMDB Watch Providers API 응답에서 한국 지역 OTT 플랫폼 정보 추출
      */
-    private List<String> extractWatchProviders(TmdbPlatformType platformType, String tmdbId) {
+    public List<String> extractWatchProviders(JsonNode watchProvidersData) {
         try {
-            JsonNode watchProvidersData = tmdbRankingFetcher.fetchWatchProviders(platformType, tmdbId);
-            
             if (watchProvidersData == null || !watchProvidersData.has("results")) {
                 return new ArrayList<>();
             }
@@ -178,10 +166,8 @@ public class TmdbRankingMapper {
                     .collect(Collectors.toList());
 
         } catch (Exception e) {
-            log.warn("Watch Providers 추출 실패 (ID: {}): {}", tmdbId, e.getMessage());
+            log.warn("Watch Providers 추출 실패: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 }
-
-
@@ -1,5 +1,6 @@
 package com.example.crawler.ranking.tmdb;
 
+import com.example.crawler.ranking.RankingEnricher;
 import com.example.crawler.ranking.RankingUpsertHelper;
 import com.example.shared.entity.ExternalRanking;
 import com.example.crawler.ranking.tmdb.TmdbPlatformType;
@@ -11,12 +12,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * TMDB 랭킹 서비스 (리팩토링됨 - SOLID 원칙 준수)
  * - SRP: 책임 분리 (Fetcher, Mapper, Service)
  * - OCP: Enum 활용으로 확장 용이
  * - DRY: 중복 코드 제거
+ * - Watch Providers: RankingEnricher로 항목별 동시 조회 + TMDB ID별 TTL 캐시 (못 받은 항목은 OTT 정보 없이 저장)
  */
 @Slf4j
 @Service
@@ -26,16 +30,19 @@ public class TmdbRankingService {
     private final TmdbRankingFetcher tmdbRankingFetcher;
     private final TmdbRankingMapper tmdbRankingMapper;
     private final RankingUpsertHelper rankingUpsertHelper;
+    private final RankingEnricher rankingEnricher;
 
     private static final int MAX_RANKING_SIZE = 100; // 최종적으로 저장할 랭킹 개수
     private static final int MAX_PAGES_TO_FETCH = 7; // 충분한 데이터 확보를 위해 최대 8페이지까지
 
-    public void updatePopularMoviesRanking(int minVoteCount) {
-        updateRanking(TmdbPlatformType.MOVIE, minVoteCount);
+    /** @return 저장한 랭킹 수 (가져오지 못했거나 조건에 맞는 항목이 없으면 0) */
+    public int updatePopularMoviesRanking(int minVoteCount) {
+        return updateRanking(TmdbPlatformType.MOVIE, minVoteCount);
     }
 
-    public void updatePopularTvShowsRanking(int minVoteCount) {
-        updateRanking(TmdbPlatformType.TV, minVoteCount);
+    /** @return 저장한 랭킹 수 (가져오지 못했거나 조건에 맞는 항목이 없으면 0) */
+    public int updatePopularTvShowsRanking(int minVoteCount) {
+        return updateRanking(TmdbPlatformType.TV, minVoteCount);
     }
 
     /**
@@ -43,8 +50,9 @@ public class TmdbRankingService {
      * 다중 페이지를 가져와서 필터링 후에도 정확히 20개를 확보
      * @param platformType 플랫폼 타입 (MOVIE/TV)
      * @param minVoteCount 최소 투표수 필터링 기준
+     * @return 저장한 랭킹 수
      */
-    private void updateRanking(TmdbPlatformType platformType, int minVoteCount) {
+    private int updateRanking(TmdbPlatformType platformType, int minVoteCount) {
         log.info("TMDB {} 랭킹 업데이트를 시작합니다. (최소 투표수: {}, 목표: {}개)", 
                 platformType.name(), minVoteCount, MAX_RANKING_SIZE);
 
@@ -53,7 +61,7 @@ public class TmdbRankingService {
         
         if (jsonData == null || !jsonData.has("results")) {
             log.warn("TMDB {} 랭킹 정보를 가져오지 못했습니다.", platformType.name());
-            return;
+            return 0;
         }
 
         // 2. 엔티티 변환 (최소 투표수 필터링 적용 및 상위 20개 선택)
@@ -62,16 +70,31 @@ public class TmdbRankingService {
 
         if (rankings.isEmpty()) {
             log.warn("변환된 TMDB {} 랭킹 데이터가 없습니다.", platformType.name());
-            return;
+            return 0;
         }
 
-        // 3. 기존 데이터와 병합하여 저장 (ID 유지) - Helper 사용
+        // 3. Watch Providers 채우기 (한국 지역 flatrate) — 동시 조회, 캐시 적중은 요청 생략
+        Map<String, List<String>> watchProviders = rankingEnricher.enrich(enrichmentCache(platformType),
+                rankings.stream().map(ExternalRanking::getPlatformSpecificId).toList(),
+                tmdbId -> tmdbRankingFetcher.fetchWatchProvidersAsync(platformType, tmdbId)
+                        .thenApply(tmdbRankingMapper::extractWatchProviders));
+        for (ExternalRanking ranking : rankings) {
+            List<String> providers = watchProviders.get(ranking.getPlatformSpecificId());
+            if (providers != null && !providers.isEmpty()) {
+                ranking.setWatchProviders(providers);
+            }
+        }
+
+        // 4. 기존 데이터와 병합하여 저장 (ID 유지) - Helper 사용
         rankingUpsertHelper.upsertRankings(rankings, platformType.getPlatformName());
 
         log.info("TMDB {} 랭킹 업데이트 완료. 총 {}개 (목표: {}개)", 
                 platformType.name(), rankings.size(), MAX_RANKING_SIZE);
+        return rankings.size();
     }
 
+    /** 부가 정보 캐시 이름 (= 설정 키 crawler.ranking.enrichment.tmdb-movie / tmdb-tv) — 영화·TV는 ID 공간이 다름 */
+    private static String enrichmentCache(TmdbPlatformType platformType) {
+        return "tmdb-" + platformType.name().toLowerCase(Locale.ROOT);
+    }
 }
-
-
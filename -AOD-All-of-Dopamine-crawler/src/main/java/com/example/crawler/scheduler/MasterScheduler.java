@@ -47,6 +47,13 @@ public class MasterScheduler {
         tmdbJobProducer.collectNewContentDaily();
     }
 
+    // TMDB 변경 피드 (기존 작품 갱신 + 신규 발견) - 매일 새벽 1시 15분
+    @Scheduled(cron = "0 15 1 * * *")
+    public void scheduleTmdbChanges() {
+        log.info("🚀 [Master] TMDB 변경 피드 Job Queue 등록 시작");
+        tmdbJobProducer.syncChangesDaily();
+    }
+
     // 네이버 웹툰 - 매일 새벽 2시
     @Scheduled(cron = "0 0 2 * * *")
     public void scheduleNaverWebtoon() {
@@ -4,6 +4,7 @@ package com.example.crawler.util;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -62,7 +63,23 @@ public class ChromeDriverProvider {
     public ChromeDriverProvider() {
     }
 
+    /**
+     * 일반 드라이버 — 페이지 로드 완료(NORMAL)까지 기다리고 implicit wait 10초
+     * 고정 sleep 뒤 요소를 바로 찾는 호출부(SteamRankingFetcher 등)용
+     */
     public WebDriver getDriver() {
+        return createDriver(PageLoadStrategy.NORMAL, java.time.Duration.ofSeconds(10));
+    }
+
+    /**
+     * WebDriverPool 전용 드라이버 — DOMContentLoaded에서 driver.get() 반환(EAGER), implicit wait 없음
+     * 렌더링 완료는 BrowserPageLoader가 DOM 조건으로 확인하므로, 그 경로를 거치는 호출부만 써야 한다.
+     */
+    public WebDriver getPooledDriver() {
+        return createDriver(PageLoadStrategy.EAGER, java.time.Duration.ZERO);
+    }
+
+    private WebDriver createDriver(PageLoadStrategy pageLoadStrategy, java.time.Duration implicitWait) {
         // 🚀 setup()는 @PostConstruct에서 1회만 실행됨
         // 매번 호출하지 않음!
         ChromeOptions options = new ChromeOptions();
@@ -81,6 +98,12 @@ public class ChromeDriverProvider {
         options.addArguments("--blink-settings=imagesEnabled=false");  // Blink 엔진 이미지 비활성화
         options.addArguments("--disable-plugins");          // 플러그인 비활성화
         options.addArguments("--disable-software-rasterizer");  // 소프트웨어 래스터라이저 비활성화
+        options.addArguments("--disable-background-networking");  // 업데이트 확인·도메인 신뢰도 조회 등 부가 요청 차단
+        options.addArguments("--disable-sync");
+        options.addArguments("--disable-default-apps");
+        options.addArguments("--no-first-run");
+
+        options.setPageLoadStrategy(pageLoadStrategy);
 
         options.setExperimentalOption("excludeSwitches", List.of("enable-automation"));
         options.setExperimentalOption("useAutomationExtension", false);
@@ -91,9 +114,10 @@ public class ChromeDriverProvider {
         // timeout 없이 driver.get() 호출 시 무한 대기 → quit() 도달 못 함 → 좀비 프로세스
         driver.manage().timeouts().pageLoadTimeout(java.time.Duration.ofSeconds(30));
         driver.manage().timeouts().scriptTimeout(java.time.Duration.ofSeconds(30));
-        driver.manage().timeouts().implicitlyWait(java.time.Duration.ofSeconds(10));
+        driver.manage().timeouts().implicitlyWait(implicitWait);
         
-        log.debug("ChromeDriver 생성 완료 (timeout 설정: pageLoad=30s, script=30s, implicit=10s)");
+        log.debug("ChromeDriver 생성 완료 (pageLoadStrategy={}, timeout 설정: pageLoad=30s, script=30s, implicit={}s)",
+                pageLoadStrategy, implicitWait.toSeconds());
         
         return driver;
     }
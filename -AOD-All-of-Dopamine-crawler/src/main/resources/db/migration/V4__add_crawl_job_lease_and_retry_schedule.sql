@@ -0,0 +1,16 @@
+-- 작업 큐 점유(lease) / 재시도 예약 컬럼
+-- ddl-auto=update 환경에서는 Hibernate가 컬럼을 추가하고, 부분 인덱스는 DatabaseIndexInitializer가 생성한다.
+-- ddl-auto 없이 운영하는 DB에 수동 적용용 (재실행 안전)
+
+ALTER TABLE crawl_job_queue ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(100);
+ALTER TABLE crawl_job_queue ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+ALTER TABLE crawl_job_queue ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+
+-- 인덱스: 점유 쿼리 (타입별 대기 작업을 priority, created_at 순으로 훑고 next_attempt_at 도래 여부를 인덱스에서 판정)
+CREATE INDEX IF NOT EXISTS idx_crawl_job_claimable
+    ON crawl_job_queue (job_type, priority, created_at, next_attempt_at)
+    WHERE status IN ('PENDING', 'RETRY');
+
+COMMENT ON COLUMN crawl_job_queue.lease_owner IS '작업을 점유한 크롤러 인스턴스 (PROCESSING 동안만 유효)';
+COMMENT ON COLUMN crawl_job_queue.lease_expires_at IS '점유 만료 시각';
+COMMENT ON COLUMN crawl_job_queue.next_attempt_at IS '다음 시도 가능 시각 (NULL = 즉시) — JobType별 지수 백오프 + Retry-After';
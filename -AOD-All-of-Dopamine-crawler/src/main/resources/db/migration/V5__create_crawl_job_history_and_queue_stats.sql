@@ -0,0 +1,64 @@
+-- 작업 큐 핫/이력 분리 + 상태별 카운터
+-- 재실행 안전. CrawlJobQueueStatsInitializer가 기동 시 이 파일을 그대로 실행하므로
+-- ddl-auto 환경에서는 수동 적용이 필요 없다 (PostgreSQL 11+).
+
+-- 종료 작업 이력 (dedup 키) — CrawlJobCompactor가 crawl_job_queue에서 옮겨 담는다
+CREATE TABLE IF NOT EXISTS crawl_job_history (
+    job_type VARCHAR(50) NOT NULL,
+    target_id VARCHAR(100) NOT NULL,
+    final_status VARCHAR(20) NOT NULL,
+    retry_count INTEGER DEFAULT 0,
+    error_message TEXT,
+    finished_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (job_type, target_id)
+);
+
+-- (job_type, status)별 행 수 — 트리거가 증감하므로 게이지 갱신에 전체 COUNT가 필요 없다
+CREATE TABLE IF NOT EXISTS crawl_job_queue_stats (
+    job_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    job_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (job_type, status)
+);
+
+CREATE OR REPLACE FUNCTION crawl_job_queue_stats_apply() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE crawl_job_queue_stats SET job_count = job_count - 1
+        WHERE job_type = OLD.job_type AND status = OLD.status;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO crawl_job_queue_stats AS s (job_type, status, job_count)
+        VALUES (NEW.job_type, NEW.status, 1)
+        ON CONFLICT (job_type, status) DO UPDATE SET job_count = s.job_count + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 트리거 최초 설치 시에만 현재 큐를 한 번 집계해 시드 (설치 중 쓰기는 잠가 카운터가 어긋나지 않게)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_crawl_job_queue_stats_iud') THEN
+        LOCK TABLE crawl_job_queue IN SHARE ROW EXCLUSIVE MODE;
+        IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_crawl_job_queue_stats_iud') THEN
+            DELETE FROM crawl_job_queue_stats;
+            INSERT INTO crawl_job_queue_stats (job_type, status, job_count)
+            SELECT job_type, status, COUNT(*) FROM crawl_job_queue GROUP BY job_type, status;
+
+            CREATE TRIGGER trg_crawl_job_queue_stats_iud
+                AFTER INSERT OR DELETE ON crawl_job_queue
+                FOR EACH ROW EXECUTE FUNCTION crawl_job_queue_stats_apply();
+            -- JPA는 모든 컬럼을 UPDATE하므로 상태/타입이 실제로 바뀐 행만 반영
+            CREATE TRIGGER trg_crawl_job_queue_stats_u
+                AFTER UPDATE OF status, job_type ON crawl_job_queue
+                FOR EACH ROW
+                WHEN (OLD.status IS DISTINCT FROM NEW.status OR OLD.job_type IS DISTINCT FROM NEW.job_type)
+                EXECUTE FUNCTION crawl_job_queue_stats_apply();
+        END IF;
+    END IF;
+END
+$$;
+
+COMMENT ON TABLE crawl_job_history IS '종료된 크롤링 작업 이력 (dedup 키) — CrawlJobCompactor가 이동';
+COMMENT ON TABLE crawl_job_queue_stats IS 'crawl_job_queue (job_type, status)별 행 수 — 트리거로 증분 유지';
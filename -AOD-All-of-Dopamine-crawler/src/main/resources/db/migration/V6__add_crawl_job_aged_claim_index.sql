@@ -0,0 +1,8 @@
+-- 노화 우선순위 점유 인덱스
+-- 점유 쿼리는 created_at + priority * 1h (가상 마감 시각) 순으로 정렬한다 — 1시간 대기 = 우선순위 1단계.
+-- 식은 CrawlJobRepository.AGED_PRIORITY_ORDER와 문자 그대로 같아야 플래너가 정렬 없이 인덱스를 사용한다.
+-- ddl-auto=update 환경에서는 DatabaseIndexInitializer가 생성한다. 수동 적용용 (재실행 안전)
+
+CREATE INDEX IF NOT EXISTS idx_crawl_job_aged_claim
+    ON crawl_job_queue (job_type, (created_at + priority * INTERVAL '1 hour'), next_attempt_at)
+    WHERE status IN ('PENDING', 'RETRY');
@@ -0,0 +1,23 @@
+-- 멀티 인스턴스 크롤러: 노드 등록 / 노드 간 공유 요청 예산
+-- ddl-auto=update 환경에서는 Hibernate가 생성한다 (CrawlerNode, RateBudgetWindow 엔티티). 수동 적용용 (재실행 안전)
+
+CREATE TABLE IF NOT EXISTS crawler_node (
+    node_id VARCHAR(100) PRIMARY KEY,
+    hostname VARCHAR(255),
+    selenium_enabled BOOLEAN NOT NULL,
+    job_types TEXT,
+    started_at TIMESTAMP NOT NULL,
+    last_heartbeat_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS crawl_rate_budget (
+    bucket VARCHAR(150) PRIMARY KEY,
+    budget_key VARCHAR(100) NOT NULL,
+    window_start TIMESTAMP NOT NULL,
+    used INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_crawl_rate_budget_window ON crawl_rate_budget (window_start);
+
+COMMENT ON TABLE crawler_node IS '크롤러 인스턴스 등록/생존 신호 — 응답 없는 노드의 점유 작업은 즉시 회수';
+COMMENT ON TABLE crawl_rate_budget IS '노드 간 공유 레이트리밋 고정 윈도우 카운터 (bucket = key@윈도우 시작 epoch ms)';
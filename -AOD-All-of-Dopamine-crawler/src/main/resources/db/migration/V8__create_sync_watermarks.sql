@@ -0,0 +1,18 @@
+-- 증분 동기화 워터마크 (Steam 카탈로그 if_modified_since 등)
+-- ddl-auto=update 환경에서는 Hibernate가 생성한다 (SyncWatermark, SteamAppWatermark 엔티티). 수동 적용용 (재실행 안전)
+
+CREATE TABLE IF NOT EXISTS crawl_sync_watermark (
+    sync_key VARCHAR(100) PRIMARY KEY,
+    watermark BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS steam_app_watermark (
+    app_id BIGINT PRIMARY KEY,
+    last_modified BIGINT NOT NULL,
+    price_change_number BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE crawl_sync_watermark IS '증분 동기화 키별 워터마크 (epoch 초) — 목록을 끝까지 받은 실행만 전진';
+COMMENT ON TABLE steam_app_watermark IS 'Steam 앱별 last_modified / price_change_number — 신규·변경 앱만 작업 등록';
@@ -0,0 +1,6 @@
+-- Selenium 노드 전용 작업 표시
+-- ddl-auto=update 환경에서는 Hibernate가 컬럼을 추가한다. 수동 적용용 (재실행 안전)
+
+ALTER TABLE crawl_job_queue ADD COLUMN IF NOT EXISTS requires_selenium BOOLEAN DEFAULT FALSE;
+
+COMMENT ON COLUMN crawl_job_queue.requires_selenium IS 'Selenium 노드만 점유 (API 전용 노드가 Selenium 대체가 필요해 넘긴 작업, 재수집 등록 시 해제)';
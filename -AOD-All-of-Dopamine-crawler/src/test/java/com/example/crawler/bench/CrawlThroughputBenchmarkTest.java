@@ -0,0 +1,251 @@
+package com.example.crawler.bench;
+
+import com.example.crawler.common.queue.CrawlJobProducer;
+import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import com.example.crawler.ingest.IngestPipeline;
+import com.example.crawler.util.ChromeDriverProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 오프라인 수집 처리량 벤치마크 — 실제 인터넷 없이 Producer → Consumer → Executor → saveRaw → IngestPipeline 전 경로
+ *
+ * 업스트림 호스트마다 녹화 응답을 재생하는 StubUpstreamServer를 띄우고, crawler.http.upstream-overrides로
+ * 실제 HttpClient가 스텁으로 가게 한다 (Fetcher 코드는 그대로). DB는 로컬 PostgreSQL의 전용 스키마
+ * (crawl_bench_e2e, 실행 시작 시 지우고 새로 만듦 — 끝난 뒤 결과 행을 직접 볼 수 있게 남겨 둔다).
+ * <pre>
+ * CRAWLER_BENCH_PG_URL=jdbc:postgresql://localhost:5432/postgres \
+ * CRAWLER_BENCH_PG_USER=postgres CRAWLER_BENCH_PG_PASSWORD=password \
+ * CRAWLER_BENCH_JOBS=300 CRAWLER_BENCH_LATENCY_MS=80 CRAWLER_BENCH_JITTER_MS=40 CRAWLER_BENCH_ERROR_RATE=0.02 \
+ * gradle :-AOD-All-of-Dopamine-crawler:test --tests '*CrawlThroughputBenchmarkTest'
+ * </pre>
+ * 그 밖의 변수: CRAWLER_BENCH_TYPES(JobType 쉼표 구분), CRAWLER_BENCH_DB_POOL(Hikari 최대 커넥션),
+ * CRAWLER_BENCH_KEEP_RATE_LIMITS=true(운영 리미터 규칙 유지 — 기본은 리미터를 풀어 크롤러 자체 처리량을 잼),
+ * CRAWLER_BENCH_TIMEOUT_SECONDS.
+ * 결과는 타입별 jobs/sec·작업 시간 p50/p95, Hikari 커넥션 획득 대기, 스텁 요청·오류 수, ingest 처리량 표로 출력한다.
+ */
+@EnabledIfEnvironmentVariable(named = "CRAWLER_BENCH_PG_URL", matches = ".+")
+@SpringBootTest
+class CrawlThroughputBenchmarkTest {
+
+    private static final String SCHEMA = "crawl_bench_e2e";
+
+    private static final List<JobType> DEFAULT_TYPES = List.of(JobType.STEAM_GAME, JobType.TMDB_MOVIE,
+            JobType.TMDB_TV, JobType.NAVER_SERIES_NOVEL, JobType.NAVER_WEBTOON);
+
+    private static final List<StubUpstreamServer> upstreams = new ArrayList<>();
+
+    @MockitoBean
+    ChromeDriverProvider chromeDriverProvider; // 기동 시 WebDriverManager 다운로드 방지 (이 벤치는 Selenium을 쓰지 않음)
+
+    @Autowired
+    CrawlJobProducer crawlJobProducer;
+
+    @Autowired
+    IngestPipeline ingestPipeline;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void benchProperties(DynamicPropertyRegistry registry) {
+        resetSchema();
+        startUpstreams();
+
+        String url = env("CRAWLER_BENCH_PG_URL", null);
+        registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA);
+        registry.add("spring.datasource.username", () -> env("CRAWLER_BENCH_PG_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> env("CRAWLER_BENCH_PG_PASSWORD", ""));
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> env("CRAWLER_BENCH_DB_POOL", "5"));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.properties.hibernate.default_schema", () -> SCHEMA);
+
+        registry.add("crawler.http.upstream-overrides", () -> upstreams.stream()
+                .map(upstream -> upstream.host() + "=" + upstream.baseUrl())
+                .collect(Collectors.joining(",")));
+        registry.add("crawler.http.cache.mode", () -> "off");   // 매 작업이 스텁까지 왕복하도록
+        registry.add("crawler.node.selenium-enabled", () -> "false");
+        registry.add("crawler.naver-webtoon.api-detail-enabled", () -> "true");
+        registry.add("crawler.node.job-types", () -> types().stream().map(Enum::name).collect(Collectors.joining(",")));
+        registry.add("tmdb.api.key", () -> "bench");
+        registry.add("tmdb.api.base-url", () -> "https://api.themoviedb.org/3");
+        if (!Boolean.parseBoolean(env("CRAWLER_BENCH_KEEP_RATE_LIMITS", "false"))) {
+            for (String key : List.of(RateLimiterRegistry.STEAM, RateLimiterRegistry.TMDB,
+                    RateLimiterRegistry.NAVER_SERIES, RateLimiterRegistry.NAVER_WEBTOON)) {
+                registry.add("crawler.rate-limit." + key + ".rules", () -> "100000/1s");
+            }
+        }
+
+        registry.add("management.metrics.distribution.percentiles.crawl.job.duration", () -> "0.5,0.95");
+        registry.add("management.metrics.distribution.percentiles.hikaricp.connections.acquire", () -> "0.95");
+    }
+
+    @AfterAll
+    static void stopUpstreams() {
+        upstreams.forEach(StubUpstreamServer::close);
+        upstreams.clear();
+    }
+
+    private static String env(String name, String fallback) {
+        return System.getenv().getOrDefault(name, fallback);
+    }
+
+    private static List<JobType> types() {
+        String raw = env("CRAWLER_BENCH_TYPES", "");
+        if (raw.isBlank()) {
+            return DEFAULT_TYPES;
+        }
+        return Arrays.stream(raw.split(",")).map(String::trim).map(JobType::valueOf).collect(Collectors.toList());
+    }
+
+    /** 이전 실행이 남긴 스키마를 지우고 새로 만든다 (테이블은 ddl-auto와 기동 시 초기화기가 생성) */
+    private static void resetSchema() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                env("CRAWLER_BENCH_PG_URL", null),
+                env("CRAWLER_BENCH_PG_USER", "postgres"),
+                env("CRAWLER_BENCH_PG_PASSWORD", ""),
+                true);
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            jdbc.execute("CREATE SCHEMA " + SCHEMA);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private static void startUpstreams() {
+        StubUpstreamServer.Profile profile = new StubUpstreamServer.Profile(
+                Long.parseLong(env("CRAWLER_BENCH_LATENCY_MS", "50")),
+                Long.parseLong(env("CRAWLER_BENCH_JITTER_MS", "20")),
+                Double.parseDouble(env("CRAWLER_BENCH_ERROR_RATE", "0")));
+        try {
+            upstreams.add(new StubUpstreamServer("store.steampowered.com", profile)
+                    .route("/api/appdetails", "steam-appdetails.json", "application/json")
+                    .route("/appreviews/", "steam-appreviews.json", "application/json"));
+            upstreams.add(new StubUpstreamServer("api.themoviedb.org", profile)
+                    .route("/3/movie/", "tmdb-movie.json", "application/json")
+                    .route("/3/tv/", "tmdb-tv.json", "application/json"));
+            upstreams.add(new StubUpstreamServer("series.naver.com", profile)
+                    .route("/novel/detail.series", "naverseries-detail.html", "text/html; charset=utf-8")
+                    .route("/novel/volumeList.series", "naverseries-volumelist.json", "application/json"));
+            upstreams.add(new StubUpstreamServer("comic.naver.com", profile)
+                    .route("/api/article/list/info", "naverwebtoon-info.json", "application/json")
+                    .route("/api/article/list", "naverwebtoon-articles.json", "application/json"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 타입마다 겹치지 않는 숫자 ID (Steam appid, TMDB id, productNo, titleId 모두 숫자) */
+    private static List<String> ids(JobType type, int n) {
+        int base = 1_000_000 * (type.ordinal() + 1);
+        return IntStream.range(0, n).mapToObj(i -> String.valueOf(base + i)).collect(Collectors.toList());
+    }
+
+    /** 지금 처리할 수 있는 작업 수 — 0이면 모두 완료됐거나 백오프·서킷으로 미뤄진 상태 */
+    private int runnableJobs() {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM crawl_job_queue
+                WHERE status IN ('PENDING', 'PROCESSING')
+                   OR (status = 'RETRY' AND next_attempt_at <= now())
+                """, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private double counter(String name, JobType type) {
+        return meterRegistry.counter(name, "job_type", type.name()).count();
+    }
+
+    private static double percentileMs(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Test
+    void measureEndToEndThroughput() throws InterruptedException {
+        int jobsPerType = Integer.parseInt(env("CRAWLER_BENCH_JOBS", "200"));
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(env("CRAWLER_BENCH_TIMEOUT_SECONDS", "900")));
+
+        long start = System.nanoTime();
+        for (JobType type : types()) {
+            assertEquals(jobsPerType, crawlJobProducer.enqueueBulk(type, ids(type, jobsPerType), 5).inserted());
+        }
+        while (runnableJobs() > 0) {
+            if (System.nanoTime() - start > timeoutNanos) {
+                throw new IllegalStateException("시간 초과 — 남은 작업 " + runnableJobs() + "개");
+            }
+            Thread.sleep(200);
+        }
+        double crawlSeconds = (System.nanoTime() - start) / 1e9;
+
+        long ingestStart = System.nanoTime();
+        int transformed = 0;
+        for (int batch; (batch = ingestPipeline.processBatch(100)) > 0; ) {
+            transformed += batch;
+        }
+        double ingestSeconds = (System.nanoTime() - ingestStart) / 1e9;
+
+        System.out.printf("%n크롤 %d개 타입 × %d건, 소요 %.1f초%n", types().size(), jobsPerType, crawlSeconds);
+        System.out.println("| job type | completed | failed | jobs/sec | p50 ms | p95 ms |");
+        System.out.println("|----------|-----------|--------|----------|--------|--------|");
+        double totalCompleted = 0;
+        for (JobType type : types()) {
+            double completed = counter("crawl.job.completed", type);
+            totalCompleted += completed;
+            Timer duration = meterRegistry.find("crawl.job.duration").tag("job_type", type.name()).timer();
+            System.out.printf("| %s | %.0f | %.0f | %.1f | %.0f | %.0f |%n", type, completed,
+                    counter("crawl.job.failed", type), completed / crawlSeconds,
+                    duration != null ? percentileMs(duration, 0.5) : Double.NaN,
+                    duration != null ? percentileMs(duration, 0.95) : Double.NaN);
+        }
+        System.out.printf("| 전체 | %.0f | | %.1f | | |%n", totalCompleted, totalCompleted / crawlSeconds);
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            System.out.printf("%nDB 커넥션 획득 대기: %d회, 평균 %.2f ms, p95 %.2f ms, 최대 %.2f ms, 합계 %.0f ms%n",
+                    acquire.count(), acquire.mean(TimeUnit.MILLISECONDS), percentileMs(acquire, 0.95),
+                    acquire.max(TimeUnit.MILLISECONDS), acquire.totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, String> stubStats = new LinkedHashMap<>();
+        for (StubUpstreamServer upstream : upstreams) {
+            stubStats.put(upstream.host(), upstream.requests() + "건 (503 " + upstream.errors() + ")");
+        }
+        System.out.println("스텁 요청: " + stubStats);
+        System.out.printf("ingest: %d건, %.1f초 (%.1f건/초)%n", transformed, ingestSeconds,
+                ingestSeconds > 0 ? transformed / ingestSeconds : 0.0);
+    }
+}
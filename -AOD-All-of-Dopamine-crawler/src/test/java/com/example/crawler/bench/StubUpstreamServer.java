@@ -0,0 +1,139 @@
+package com.example.crawler.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 녹화한 업스트림 응답(fixtures/bench)을 재생하는 로컬 스텁 서버 — 실제 호스트 하나당 하나
+ *
+ * 요청 URL의 작품 ID(appids / productNo / titleId 쿼리, 없으면 마지막 경로)를 본문의 {{id}} 자리에 넣어
+ * 작품마다 다른 payload(= 다른 해시)가 저장되게 한다.
+ * 응답마다 latency ± jitter만큼 지연하고, errorRate 비율로 503을 돌려준다.
+ */
+final class StubUpstreamServer implements AutoCloseable {
+
+    /** 요청 ID로 쓰는 쿼리 파라미터 (Steam appdetails, 네이버 시리즈, 네이버 웹툰 API 순) */
+    private static final List<String> ID_PARAMS = List.of("appids", "productNo", "titleId");
+
+    /**
+     * @param latencyMs 기본 응답 지연
+     * @param jitterMs  지연 편차 (±, 균등 분포)
+     * @param errorRate 503 비율 (0.0 ~ 1.0)
+     */
+    record Profile(long latencyMs, long jitterMs, double errorRate) {
+    }
+
+    private final String host;
+    private final Profile profile;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    StubUpstreamServer(String host, Profile profile) throws IOException {
+        this.host = host;
+        this.profile = profile;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * 경로 접두사에 응답 등록 (겹치면 가장 긴 접두사가 우선)
+     */
+    StubUpstreamServer route(String pathPrefix, String fixture, String contentType) throws IOException {
+        String template = fixture(fixture);
+        server.createContext(pathPrefix, exchange -> handle(exchange, template, contentType));
+        return this;
+    }
+
+    /** 대체할 실제 호스트 */
+    String host() {
+        return host;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    int errors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, String template, String contentType) throws IOException {
+        requests.incrementAndGet();
+        try {
+            long delay = profile.latencyMs();
+            if (profile.jitterMs() > 0) {
+                delay += ThreadLocalRandom.current().nextLong(-profile.jitterMs(), profile.jitterMs() + 1);
+            }
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (ThreadLocalRandom.current().nextDouble() < profile.errorRate()) {
+                errors.incrementAndGet();
+                send(exchange, 503, "text/plain", "");
+                return;
+            }
+            send(exchange, 200, contentType, template.replace("{{id}}", idOf(exchange.getRequestURI())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    static String idOf(URI uri) {
+        String query = uri.getRawQuery();
+        if (query != null) {
+            for (String param : ID_PARAMS) {
+                for (String pair : query.split("&")) {
+                    if (pair.startsWith(param + "=")) {
+                        return pair.substring(param.length() + 1);
+                    }
+                }
+            }
+        }
+        String path = uri.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = StubUpstreamServer.class.getResourceAsStream("/fixtures/bench/" + name)) {
+            if (in == null) {
+                throw new IOException("fixture 없음: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
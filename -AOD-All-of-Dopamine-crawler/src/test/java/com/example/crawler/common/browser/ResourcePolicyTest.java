@@ -0,0 +1,52 @@
+package com.example.crawler.common.browser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourcePolicyTest {
+
+    private final ResourcePolicy webtoon = BrowserPageLoader.DEFAULT_POLICIES.get(BrowserPageLoader.NAVER_WEBTOON);
+
+    @Test
+    void allowsDocumentAndAppBundlesFromAllowedHosts() {
+        assertTrue(webtoon.allows("https://comic.naver.com/webtoon/list?titleId=123&sort=ASC"));
+        assertTrue(webtoon.allows("https://comic.naver.com/api/article/list?titleId=123"));
+        assertTrue(webtoon.allows("https://ssl.pstatic.net/static/comic/js/app.4f2a.js"));
+    }
+
+    @Test
+    void blocksOtherHostsTrackersAndStaticAssets() {
+        assertFalse(webtoon.allows("https://www.googletagmanager.com/gtag/js?id=G-1"), "허용 목록 밖");
+        assertFalse(webtoon.allows("https://lcs.naver.com/m?u=x"), "로그 수집");
+        assertFalse(webtoon.allows("https://ntm.pstatic.net/scripts/ntm.js"), "허용 도메인 안의 태그 매니저");
+        assertFalse(webtoon.allows("https://image-comic.pstatic.net/webtoon/123/thumbnail.JPG"), "확장자는 대소문자 무시");
+        assertFalse(webtoon.allows("https://ssl.pstatic.net/static/fonts/NanumGothic.woff2"));
+        assertFalse(webtoon.allows("not a url"));
+    }
+
+    @Test
+    void nonNetworkSchemesAndAllowAllPassThrough() {
+        assertTrue(webtoon.allows("data:image/png;base64,AAAA"));
+        assertTrue(webtoon.allows("blob:https://comic.naver.com/1234"));
+        assertTrue(ResourcePolicy.ALLOW_ALL.isAllowAll());
+        assertTrue(ResourcePolicy.ALLOW_ALL.allows("https://example.com/a.png"));
+    }
+
+    @Test
+    void propertiesOverrideDefaultsPerPlatform() {
+        BrowserPageLoader loader = new BrowserPageLoader(new MockEnvironment()
+                .withProperty("crawler.browser.policy.naver-webtoon.blocked-extensions", "woff2")
+                .withProperty("crawler.browser.policy.kakao-page.allowed-hosts", ".kakao.com"), new SimpleMeterRegistry());
+
+        ResourcePolicy overridden = loader.policy(BrowserPageLoader.NAVER_WEBTOON);
+        assertTrue(overridden.allows("https://image-comic.pstatic.net/webtoon/123/thumbnail.jpg"));
+        assertFalse(overridden.allows("https://lcs.naver.com/m"), "지정하지 않은 항목은 기본값 유지");
+
+        assertTrue(loader.policy("kakao-page").allows("https://page.kakao.com/content/1"));
+        assertFalse(loader.policy("kakao-page").allows("https://comic.naver.com/"));
+        assertTrue(loader.policy("unknown").isAllowAll());
+    }
+}
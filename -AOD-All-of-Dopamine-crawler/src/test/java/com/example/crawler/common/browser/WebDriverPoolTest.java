@@ -0,0 +1,174 @@
+package com.example.crawler.common.browser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class WebDriverPoolTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final List<WebDriver> created = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private WebDriverPool pool(int size, int maxUses, long borrowTimeoutMillis) {
+        return new WebDriverPool(() -> {
+            WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+            created.add(driver);
+            return driver;
+        }, meterRegistry, size, maxUses, 30 * MINUTE, 10 * MINUTE, 256L * 1024 * 1024, borrowTimeoutMillis, now::get);
+    }
+
+    private double destroyed(String reason) {
+        return meterRegistry.counter("crawl.webdriver.destroyed", "reason", reason).count();
+    }
+
+    @Test
+    void reusesWarmDriverAcrossBorrows() throws InterruptedException {
+        WebDriverPool pool = pool(2, 50, 1000);
+
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.borrow()) {
+            first = lease.driver();
+        }
+        try (WebDriverPool.Lease lease = pool.borrow()) {
+            assertSame(first, lease.driver());
+        }
+
+        assertEquals(1, created.size(), "Chrome은 한 번만 기동");
+        verify(first, times(2)).get("about:blank");
+        verify(first, never()).quit();
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, meterRegistry.counter("crawl.webdriver.created").count());
+    }
+
+    @Test
+    void timesOutWhenAllDriversAreLent() throws InterruptedException {
+        WebDriverPool pool = pool(1, 50, 50);
+        WebDriverPool.Lease held = pool.borrow();
+
+        assertThrows(IllegalStateException.class, pool::borrow);
+
+        held.close();
+        pool.borrow().close();
+        assertEquals(1, created.size(), "풀 크기를 넘겨 Chrome을 띄우지 않음");
+    }
+
+    @Test
+    void waitingBorrowerGetsReturnedDriver() throws Exception {
+        WebDriverPool pool = pool(1, 50, 5000);
+        WebDriverPool.Lease held = pool.borrow();
+
+        CompletableFuture<WebDriver> waiting = CompletableFuture.supplyAsync(() -> {
+            try (WebDriverPool.Lease lease = pool.borrow()) {
+                return lease.driver();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiting.isDone(), "드라이버가 모두 대여 중이면 대기");
+        held.close();
+
+        assertSame(held.driver(), waiting.get(5, TimeUnit.SECONDS), "반납된 드라이버를 대기자가 받음");
+        assertEquals(1, created.size());
+    }
+
+    @Test
+    void invalidatedDriverIsQuitAndReplaced() throws InterruptedException {
+        WebDriverPool pool = pool(1, 50, 1000);
+
+        WebDriver broken;
+        try (WebDriverPool.Lease lease = pool.borrow()) {
+            broken = lease.driver();
+            lease.invalidate();
+        }
+        try (WebDriverPool.Lease lease = pool.borrow()) {
+            assertNotSame(broken, lease.driver());
+        }
+
+        verify(broken).quit();
+        assertEquals(1, destroyed("invalidated"));
+        assertEquals(1, pool.getLiveCount());
+    }
+
+    @Test
+    void recyclesAfterMaxUsesAndMaxAge() throws InterruptedException {
+        WebDriverPool pool = pool(1, 2, 1000);
+
+        pool.borrow().close();
+        pool.borrow().close(); // 2회 사용 → 반납 시 교체
+        assertEquals(1, destroyed("max_uses"));
+
+        pool.borrow().close();
+        now.addAndGet(31 * MINUTE);
+        pool.borrow().close(); // 대여 시 수명 초과 확인
+        assertEquals(1, destroyed("max_age"));
+        assertEquals(3, created.size());
+    }
+
+    @Test
+    void dropsDeadSessionOnBorrowAndHeavyPageOnReturn() throws InterruptedException {
+        WebDriverPool pool = pool(1, 50, 1000);
+
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.borrow()) {
+            first = lease.driver();
+        }
+        when(first.getWindowHandle()).thenThrow(new NoSuchSessionException("chrome crashed"));
+
+        WebDriver second;
+        try (WebDriverPool.Lease lease = pool.borrow()) {
+            second = lease.driver();
+            when(((JavascriptExecutor) second).executeScript(anyString())).thenReturn(512L * 1024 * 1024);
+        }
+
+        assertNotSame(first, second);
+        assertEquals(1, destroyed("unhealthy"));
+        assertEquals(1, destroyed("memory"), "JS 힙 워터마크 초과 → 반납 시 폐기");
+        assertEquals(0, pool.getIdleCount());
+        verify(second, never()).get("about:blank");
+    }
+
+    @Test
+    void evictsIdleDriversAndQuitsAllOnShutdown() throws InterruptedException {
+        WebDriverPool pool = pool(2, 50, 1000);
+        WebDriverPool.Lease a = pool.borrow();
+        WebDriverPool.Lease b = pool.borrow();
+        a.close();
+        now.addAndGet(5 * MINUTE);
+        b.close();
+
+        now.addAndGet(6 * MINUTE);
+        pool.evictIdle();
+
+        verify(a.driver()).quit();
+        verify(b.driver(), never()).quit();
+        assertEquals(1, destroyed("idle"));
+
+        pool.shutdown();
+
+        verify(b.driver()).quit();
+        assertEquals(0, pool.getLiveCount());
+        assertThrows(IllegalStateException.class, pool::borrow);
+    }
+}
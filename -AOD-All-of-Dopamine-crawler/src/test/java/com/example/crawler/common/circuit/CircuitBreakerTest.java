@@ -0,0 +1,182 @@
+package com.example.crawler.common.circuit;
+
+import com.example.crawler.common.http.CrawlHttpException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final CircuitBreaker.Settings SETTINGS = new CircuitBreaker.Settings(
+            10, 4, 50.0, 80.0, Duration.ofSeconds(2), 2, Duration.ofSeconds(30), Duration.ofSeconds(100));
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new CircuitBreaker("steam", SETTINGS, meterRegistry,
+                (b, from, to) -> transitions.add(from + "->" + to), now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.acquire().onSuccess();
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.acquire().onStatus(503, null);
+        }
+    }
+
+    private double state() {
+        return meterRegistry.get("crawl.circuit.state").tag("platform", "steam").gauge().value();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAfterMinimumCalls() {
+        fail(1);
+        succeed(2);
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "4건 중 2건 실패 = 50%");
+        assertEquals(1.0, state());
+
+        assertNull(breaker.tryAcquire());
+        CircuitOpenException e = assertThrows(CircuitOpenException.class, () -> breaker.acquire());
+        assertEquals(Duration.ofSeconds(30), e.getRetryAfter());
+        assertEquals(2, meterRegistry.counter("crawl.circuit.rejected", "platform", "steam").count());
+        assertEquals(1, meterRegistry.counter("crawl.circuit.transitions",
+                "platform", "steam", "from", "CLOSED", "to", "OPEN").count());
+    }
+
+    @Test
+    void doesNotJudgeBeforeMinimumCalls() {
+        fail(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, state());
+    }
+
+    @Test
+    void onlyUpstreamErrorsCountAsFailures() {
+        assertTrue(CircuitBreaker.isFailure(new CrawlHttpException(429, "u", null)));
+        assertTrue(CircuitBreaker.isFailure(new CompletionException(new CrawlHttpException(502, "u", null))));
+        assertTrue(CircuitBreaker.isFailure(new IOException("connection reset")));
+        assertTrue(CircuitBreaker.isFailure(new ResourceAccessException("timeout")));
+        assertTrue(CircuitBreaker.isFailure(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertFalse(CircuitBreaker.isFailure(new CrawlHttpException(404, "u", null)));
+        assertFalse(CircuitBreaker.isFailure(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        assertFalse(CircuitBreaker.isFailure(new IllegalStateException("제목 없음")));
+
+        for (int i = 0; i < 10; i++) {
+            breaker.acquire().onError(new CrawlHttpException(404, "u", null));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void slowCallsOpenTheCircuit() {
+        for (int i = 0; i < 4; i++) {
+            CircuitBreaker.Permit permit = breaker.acquire();
+            advance(Duration.ofSeconds(3));
+            permit.onSuccess();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesAfterAllTrialCallsSucceed() {
+        fail(4);
+        advance(Duration.ofSeconds(30));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(2, breaker.claimLimit());
+        CircuitBreaker.Permit first = breaker.acquire();
+        CircuitBreaker.Permit second = breaker.acquire();
+        assertNull(breaker.tryAcquire(), "시험 호출은 halfOpenPermits건만");
+        assertEquals(0, breaker.claimLimit());
+        assertEquals(CircuitBreaker.HALF_OPEN_RETRY,
+                assertThrows(CircuitOpenException.class, () -> breaker.acquire()).getRetryAfter());
+
+        first.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        second.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(Integer.MAX_VALUE, breaker.claimLimit());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void reopeningFromHalfOpenDoublesTheWaitUpToTheCap() {
+        fail(4);
+        assertEquals(Duration.ofSeconds(30), breaker.remainingOpen());
+
+        long[] expectedSeconds = {60, 100, 100};
+        for (long expected : expectedSeconds) {
+            advance(breaker.remainingOpen());
+            breaker.acquire().onStatus(500, null);
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            assertEquals(Duration.ofSeconds(expected), breaker.remainingOpen());
+        }
+
+        // 닫히면 다음 OPEN은 다시 기본 대기부터
+        advance(breaker.remainingOpen());
+        succeed(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(4);
+        assertEquals(Duration.ofSeconds(30), breaker.remainingOpen());
+    }
+
+    @Test
+    void retryAfterLongerThanOpenDurationIsRespected() {
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire().onError(new CrawlHttpException(429, "u", Duration.ofMinutes(2)));
+        }
+        assertEquals(Duration.ofMinutes(2), breaker.remainingOpen());
+    }
+
+    @Test
+    void resultsFromBeforeATransitionAreIgnored() {
+        CircuitBreaker.Permit stale = breaker.acquire();
+        fail(4);
+        advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        stale.onSuccess();
+        stale.onSuccess();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "CLOSED 때 허가는 시험 호출로 세지 않음");
+    }
+
+    @Test
+    void executeRecordsOutcomeAndRethrows() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> breaker.execute(() -> {
+                throw new ResourceAccessException("connect timed out");
+            }));
+        }
+        assertThrows(CircuitOpenException.class, () -> breaker.execute(() -> "never called"));
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.crawler.common.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlHttpClientTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private SimpleMeterRegistry meterRegistry;
+    private CrawlHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        meterRegistry = new SimpleMeterRegistry();
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        client = new CrawlHttpClient(httpClient, HttpResponseCache.disabled(), meterRegistry, 3, 10, 1000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(String path, int status, byte[] body, String... headers) {
+        server.createContext(path, exchange -> {
+            for (int i = 0; i < headers.length; i += 2) {
+                exchange.getResponseHeaders().add(headers[i], headers[i + 1]);
+            }
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void decodesGzipAndParsesDocumentWithFinalUriAsBase() throws IOException {
+        String html = "<html><body><a href='/detail?titleId=42'>웹툰</a>" + "x".repeat(2000) + "</body></html>";
+        byte[] compressed = gzip(html);
+        respond("/list", 200, compressed,
+                "Content-Encoding", "gzip", "Content-Type", "text/html; charset=UTF-8");
+
+        Document doc = client.getDocument(CrawlRequest.get(baseUrl + "/list").userAgent("test"));
+
+        assertEquals("웹툰", doc.selectFirst("a").text());
+        assertEquals(baseUrl + "/detail?titleId=42", doc.selectFirst("a").absUrl("href"));
+        assertEquals(compressed.length,
+                meterRegistry.counter("crawl.http.bytes", "host", "127.0.0.1", "stage", "wire").count());
+        assertEquals(html.getBytes(StandardCharsets.UTF_8).length,
+                meterRegistry.counter("crawl.http.bytes", "host", "127.0.0.1", "stage", "decoded").count());
+    }
+
+    @Test
+    void retriesServerErrorsThenSucceeds() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        server.createContext("/flaky", exchange -> {
+            int call = calls.incrementAndGet();
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(call < 3 ? 503 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+
+        assertEquals("ok", client.getString(CrawlRequest.get(baseUrl + "/flaky")));
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.counter("crawl.http.retries", "host", "127.0.0.1", "reason", "503").count());
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        server.createContext("/missing", exchange -> {
+            calls.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        CrawlHttpException e = assertThrows(CrawlHttpException.class,
+                () -> client.getString(CrawlRequest.get(baseUrl + "/missing")));
+
+        assertEquals(404, e.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void longRetryAfterIsHandedBackInsteadOfWaitingInline() {
+        AtomicInteger calls = new AtomicInteger();
+        server.createContext("/limited", exchange -> {
+            calls.incrementAndGet();
+            exchange.getResponseHeaders().add("Retry-After", "120");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+
+        CrawlHttpException e = assertThrows(CrawlHttpException.class,
+                () -> client.send(CrawlRequest.get(baseUrl + "/limited")));
+
+        assertEquals(429, e.getStatus());
+        assertEquals(Duration.ofSeconds(120), e.getRetryAfter());
+        assertEquals(1, calls.get(), "Retry-After가 인라인 한도(1초)를 넘으면 재시도하지 않음");
+    }
+
+    @Test
+    void postsBodyWithContentType() throws IOException {
+        server.createContext("/graphql", exchange -> {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            byte[] body = (contentType + "|" + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+
+        String echoed = client.getString(CrawlRequest.post(baseUrl + "/graphql", "{\"q\":1}", "application/json"));
+
+        assertEquals("application/json|{\"q\":1}", echoed);
+    }
+
+    @Test
+    void cachedRequestRevalidatesWithEtagAndReplaysBodyOn304(@TempDir Path dir) throws IOException {
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        server.createContext("/detail", exchange -> {
+            ifNoneMatch.set(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            if ("\"v1\"".equals(ifNoneMatch.get())) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "<html><body><h1>작품</h1></body></html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        CrawlHttpClient cachingClient = new CrawlHttpClient(HttpClient.newHttpClient(),
+                new HttpResponseCache(dir, 1024 * 1024, HttpResponseCache.Mode.REVALIDATE), meterRegistry, 3, 10, 1000, 5000);
+
+        CrawlResponse first = cachingClient.send(CrawlRequest.get(baseUrl + "/detail").cached());
+        CrawlResponse second = cachingClient.send(CrawlRequest.get(baseUrl + "/detail").cached());
+
+        assertFalse(first.unchanged());
+        assertTrue(second.unchanged());
+        assertEquals("\"v1\"", ifNoneMatch.get());
+        assertEquals(200, second.status());
+        assertEquals(0, second.wireBytes());
+        assertEquals("작품", second.document().selectFirst("h1").text());
+        assertEquals(1.0, meterRegistry.counter("crawl.http.cache", "host", "127.0.0.1", "result", "not_modified").count());
+    }
+
+    @Test
+    void identicalBodyWithoutValidatorsIsReportedUnchangedUntilInvalidated(@TempDir Path dir) throws IOException {
+        respond("/plain", 200, "same".getBytes(StandardCharsets.UTF_8));
+        CrawlHttpClient cachingClient = new CrawlHttpClient(HttpClient.newHttpClient(),
+                new HttpResponseCache(dir, 1024 * 1024, HttpResponseCache.Mode.REVALIDATE), meterRegistry, 3, 10, 1000, 5000);
+        String url = baseUrl + "/plain";
+
+        assertFalse(cachingClient.send(CrawlRequest.get(url).cached()).unchanged());
+        assertTrue(cachingClient.send(CrawlRequest.get(url).cached()).unchanged());
+
+        cachingClient.invalidate(url);
+        assertFalse(cachingClient.send(CrawlRequest.get(url).cached()).unchanged(),
+                "처리 실패로 지운 항목은 다음 요청에서 새 응답으로 취급");
+    }
+
+    @Test
+    void offlineModeReplaysStoredBodiesWithoutNetwork(@TempDir Path dir) throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        server.createContext("/page", exchange -> {
+            calls.incrementAndGet();
+            byte[] body = "stored".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        new CrawlHttpClient(HttpClient.newHttpClient(),
+                new HttpResponseCache(dir, 1024 * 1024, HttpResponseCache.Mode.REVALIDATE), meterRegistry, 3, 10, 1000, 5000)
+                .send(CrawlRequest.get(baseUrl + "/page").cached());
+
+        CrawlHttpClient offline = new CrawlHttpClient(HttpClient.newHttpClient(),
+                new HttpResponseCache(dir, 1024 * 1024, HttpResponseCache.Mode.OFFLINE), meterRegistry, 3, 10, 1000, 5000);
+
+        assertEquals("stored", offline.getString(CrawlRequest.get(baseUrl + "/page").cached()));
+        CrawlHttpException miss = assertThrows(CrawlHttpException.class,
+                () -> offline.send(CrawlRequest.get(baseUrl + "/other").cached()));
+        assertEquals(504, miss.getStatus());
+        assertEquals(1, calls.get(), "오프라인 모드는 네트워크를 쓰지 않음");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.crawler.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpResponseCache cache(long maxBytes) {
+        return new HttpResponseCache(dir, maxBytes, HttpResponseCache.Mode.REVALIDATE);
+    }
+
+    /** gzip으로 거의 줄지 않는 본문 (용량 한도 테스트용) */
+    private static byte[] incompressible(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    void storesValidatorsAndBody() throws IOException {
+        HttpResponseCache cache = cache(1024 * 1024);
+        byte[] body = "<html>작품</html>".getBytes(StandardCharsets.UTF_8);
+
+        cache.store("https://a/1", body, "\"e1\"", "Wed, 01 Jan 2025 00:00:00 GMT", "UTF-8");
+
+        HttpResponseCache.Entry entry = cache.lookup("https://a/1");
+        assertEquals("\"e1\"", entry.etag());
+        assertEquals("Wed, 01 Jan 2025 00:00:00 GMT", entry.lastModified());
+        assertArrayEquals(body, cache.read(entry));
+        assertNull(cache.lookup("https://a/2"));
+    }
+
+    @Test
+    void identicalBodiesShareOneObject() throws IOException {
+        HttpResponseCache cache = cache(1024 * 1024);
+        byte[] body = incompressible(4096, 1);
+
+        cache.store("https://a/1", body, null, null, null);
+        long afterFirst = cache.getTotalBytes();
+        cache.store("https://a/2", body, null, null, null);
+
+        assertEquals(2, cache.size());
+        assertEquals(afterFirst, cache.getTotalBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedObjectsOverLimit() throws IOException, InterruptedException {
+        HttpResponseCache cache = cache(10_000);
+
+        cache.store("https://a/1", incompressible(4000, 1), null, null, null);
+        Thread.sleep(5);
+        cache.store("https://a/2", incompressible(4000, 2), null, null, null);
+        Thread.sleep(5);
+        cache.read(cache.lookup("https://a/1"));
+        Thread.sleep(5);
+        cache.store("https://a/3", incompressible(4000, 3), null, null, null);
+
+        assertNotNull(cache.lookup("https://a/1"), "최근에 읽은 항목은 유지");
+        assertNull(cache.lookup("https://a/2"), "가장 오래 쓰이지 않은 항목부터 제거");
+        assertNotNull(cache.lookup("https://a/3"));
+        assertTrue(cache.getTotalBytes() <= 10_000);
+    }
+
+    @Test
+    void reloadsIndexFromDisk() throws IOException {
+        byte[] body = "persisted".getBytes(StandardCharsets.UTF_8);
+        cache(1024 * 1024).store("https://a/1", body, "\"e1\"", null, "UTF-8");
+
+        HttpResponseCache reopened = cache(1024 * 1024);
+
+        HttpResponseCache.Entry entry = reopened.lookup("https://a/1");
+        assertNotNull(entry);
+        assertEquals("\"e1\"", entry.etag());
+        assertArrayEquals(body, reopened.read(entry));
+    }
+
+    @Test
+    void invalidateRemovesEntryAcrossRestarts() throws IOException {
+        HttpResponseCache cache = cache(1024 * 1024);
+        cache.store("https://a/1", "x".getBytes(StandardCharsets.UTF_8), "\"e1\"", null, null);
+
+        cache.invalidate("https://a/1");
+
+        assertNull(cache.lookup("https://a/1"));
+        assertNull(cache(1024 * 1024).lookup("https://a/1"));
+    }
+
+    @Test
+    void disabledCacheNeverReturnsEntries() {
+        HttpResponseCache cache = HttpResponseCache.disabled();
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.lookup("https://a/1"));
+    }
+}
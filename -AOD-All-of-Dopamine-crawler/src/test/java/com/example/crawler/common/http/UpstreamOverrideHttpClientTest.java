@@ -0,0 +1,87 @@
+package com.example.crawler.common.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamOverrideHttpClientTest {
+
+    private HttpServer server;
+    private final AtomicReference<URI> received = new AtomicReference<>();
+    private final AtomicReference<String> receivedUserAgent = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            received.set(exchange.getRequestURI());
+            receivedUserAgent.set(exchange.getRequestHeaders().getFirst("User-Agent"));
+            byte[] body = "stub".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private String stubUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Test
+    void parsesHostToAddressPairs() {
+        Map<String, URI> overrides = UpstreamOverrideHttpClient.parse(
+                " Store.SteamPowered.com=http://127.0.0.1:18080 , series.naver.com=http://127.0.0.1:18081,");
+
+        assertEquals(Map.of("store.steampowered.com", URI.create("http://127.0.0.1:18080"),
+                "series.naver.com", URI.create("http://127.0.0.1:18081")), overrides);
+        assertTrue(UpstreamOverrideHttpClient.parse("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> UpstreamOverrideHttpClient.parse("series.naver.com"));
+    }
+
+    @Test
+    void rewritesOnlyConfiguredHostsKeepingPathAndQuery() {
+        UpstreamOverrideHttpClient client = new UpstreamOverrideHttpClient(HttpClient.newHttpClient(),
+                UpstreamOverrideHttpClient.parse("store.steampowered.com=http://127.0.0.1:18080"));
+
+        assertEquals(URI.create("http://127.0.0.1:18080/api/appdetails?appids=70&l=korean"),
+                client.rewrite(URI.create("https://store.steampowered.com/api/appdetails?appids=70&l=korean")));
+        URI other = URI.create("https://api.steampowered.com/IStoreService/GetAppList/v1/");
+        assertSame(other, client.rewrite(other));
+    }
+
+    @Test
+    void sendsToOverrideAddressWithOriginalHeaders() throws Exception {
+        HttpClient client = new UpstreamOverrideHttpClient(HttpClient.newHttpClient(),
+                UpstreamOverrideHttpClient.parse("comic.naver.com=" + stubUrl()));
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create("https://comic.naver.com/api/article/list/info?titleId=758037"))
+                .header("User-Agent", "bench")
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals("stub", response.body());
+        assertEquals("/api/article/list/info?titleId=758037", received.get().toString());
+        assertEquals("bench", receivedUserAgent.get());
+    }
+}
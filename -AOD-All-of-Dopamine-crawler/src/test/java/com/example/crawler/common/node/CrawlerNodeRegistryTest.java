@@ -0,0 +1,72 @@
+package com.example.crawler.common.node;
+
+import com.example.crawler.common.queue.CrawlJobMetrics;
+import com.example.crawler.common.queue.CrawlJobRepository;
+import com.example.crawler.common.queue.JobExecutorRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CrawlerNodeRegistryTest {
+
+    private CrawlerNodeRepository nodeRepository;
+    private CrawlJobRepository jobRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private CrawlerNodeRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        nodeRepository = mock(CrawlerNodeRepository.class);
+        jobRepository = mock(CrawlJobRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new CrawlerNodeRegistry(nodeRepository, jobRepository,
+                new NodeCapabilities("node-a", true, ""),
+                new JobExecutorRegistry(List.of()),
+                new CrawlJobMetrics(jobRepository, meterRegistry), 120);
+    }
+
+    private static CrawlerNode node(String id, LocalDateTime lastHeartbeat) {
+        return CrawlerNode.builder().nodeId(id).startedAt(lastHeartbeat).lastHeartbeatAt(lastHeartbeat).build();
+    }
+
+    @Test
+    void sweepExpiresLeasesOfDeadNodesButNeverSelf() {
+        LocalDateTime stale = LocalDateTime.now().minusMinutes(10);
+        CrawlerNode dead = node("node-b", stale);
+        CrawlerNode self = node("node-a", stale); // 긴 GC 등으로 자기 heartbeat가 밀린 경우
+        when(nodeRepository.findByLastHeartbeatAtBefore(any())).thenReturn(List.of(dead, self));
+        when(nodeRepository.countByLastHeartbeatAtAfter(any())).thenReturn(1L);
+        when(jobRepository.expireLeasesOwnedBy(eq(List.of("node-b")), any())).thenReturn(3);
+
+        registry.sweepDeadNodes();
+
+        verify(jobRepository).expireLeasesOwnedBy(eq(List.of("node-b")), any());
+        verify(nodeRepository).deleteAll(List.of(dead));
+        assertEquals(1.0, meterRegistry.counter("crawl.node.dead").count());
+        assertEquals(1.0, meterRegistry.get("crawl.node.live").gauge().value());
+    }
+
+    @Test
+    void sweepWithoutDeadNodesTouchesNoJobs() {
+        when(nodeRepository.findByLastHeartbeatAtBefore(any())).thenReturn(List.of());
+
+        registry.sweepDeadNodes();
+
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void heartbeatReRegistersWhenRowWasSwept() {
+        when(nodeRepository.touch(eq("node-a"), any())).thenReturn(0);
+
+        registry.heartbeat();
+
+        verify(nodeRepository).save(argThat(n -> n.getNodeId().equals("node-a") && n.isSeleniumEnabled()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.crawler.common.node;
+
+import com.example.crawler.common.queue.JobExecutor;
+import com.example.crawler.common.queue.JobExecutorRegistry;
+import com.example.crawler.common.queue.JobType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeCapabilitiesTest {
+
+    private static JobExecutor executor(JobType type, boolean selenium) {
+        return new JobExecutor() {
+            @Override public JobType getJobType() { return type; }
+            @Override public boolean execute(String targetId) { return true; }
+            @Override public boolean usesSelenium() { return selenium; }
+        };
+    }
+
+    private final JobExecutor steam = executor(JobType.STEAM_GAME, false);
+    private final JobExecutor tmdb = executor(JobType.TMDB_MOVIE, false);
+    private final JobExecutor webtoon = executor(JobType.NAVER_WEBTOON, true);
+
+    @Test
+    void defaultNodeRunsEverything() {
+        NodeCapabilities all = NodeCapabilities.all();
+
+        assertTrue(all.supports(steam));
+        assertTrue(all.supports(webtoon));
+        assertFalse(all.getNodeId().isBlank(), "미설정 시 pid@hostname");
+    }
+
+    @Test
+    void apiOnlyNodeSkipsSeleniumExecutors() {
+        NodeCapabilities apiOnly = new NodeCapabilities("api-1", false, "");
+
+        assertTrue(apiOnly.supports(steam));
+        assertFalse(apiOnly.supports(webtoon));
+        assertEquals("api-1", apiOnly.getNodeId());
+    }
+
+    @Test
+    void jobTypeAllowListIgnoresUnknownNames() {
+        NodeCapabilities steamOnly = new NodeCapabilities("n", true, " STEAM_GAME , NOT_A_TYPE ");
+
+        assertTrue(steamOnly.supports(steam));
+        assertFalse(steamOnly.supports(tmdb));
+    }
+
+    @Test
+    void registryRegistersOnlySupportedExecutors() {
+        JobExecutorRegistry registry = new JobExecutorRegistry(List.of(steam, tmdb, webtoon),
+                new NodeCapabilities("api-1", false, ""));
+
+        assertEquals(List.of(JobType.STEAM_GAME, JobType.TMDB_MOVIE), List.copyOf(registry.getAllExecutors().keySet()));
+        assertNull(registry.findExecutor(JobType.NAVER_WEBTOON));
+    }
+}
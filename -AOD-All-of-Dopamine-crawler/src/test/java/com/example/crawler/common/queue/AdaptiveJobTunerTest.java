@@ -0,0 +1,155 @@
+package com.example.crawler.common.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AdaptiveJobTunerTest {
+
+    private final JobExecutor steam = new JobExecutor() {
+        @Override public JobType getJobType() { return JobType.STEAM_GAME; }
+        @Override public boolean execute(String targetId) { return true; }
+        @Override public long getAverageExecutionTime() { return 2000; }
+        @Override public int getMaxConcurrency() { return 4; }
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private CrawlJobWorkerPools workerPools;
+    private AdaptiveJobTuner tuner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        JobExecutorRegistry registry = new JobExecutorRegistry(List.of(steam));
+        CrawlJobMetrics metrics = new CrawlJobMetrics(mock(CrawlJobRepository.class), meterRegistry);
+        workerPools = new CrawlJobWorkerPools(registry, metrics, new MockEnvironment(), 10, 2, 1);
+        tuner = new AdaptiveJobTuner(registry, workerPools, metrics, new MockEnvironment(), true, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerPools.shutdown();
+    }
+
+    private void observe(int times, long durationMs, long limiterWaitMs, boolean success, boolean throttled) {
+        for (int i = 0; i < times; i++) {
+            tuner.recordOutcome(JobType.STEAM_GAME, durationMs, limiterWaitMs, success, throttled);
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("job_type", "STEAM_GAME").gauge().value();
+    }
+
+    @Test
+    void startsFromExecutorDeclaredValues() {
+        assertEquals(2, tuner.getBatchSize(JobType.STEAM_GAME, steam));
+        assertEquals(4.0, gauge("crawl.job.tuner.concurrency"));
+    }
+
+    @Test
+    void throttlingHalvesConcurrencyAndBatchThenHealthyRampsUpByOne() {
+        observe(1, 2000, 0, false, true);
+        tuner.adjust();
+
+        assertEquals(2, workerPools.getConcurrency(JobType.STEAM_GAME), "429 → 동시성 절반");
+        assertEquals(1, tuner.getBatchSize(JobType.STEAM_GAME, steam));
+
+        observe(30, 500, 0, true, false);
+        tuner.adjust();
+
+        assertEquals(3, workerPools.getConcurrency(JobType.STEAM_GAME), "건강 → 동시성 +1");
+        assertTrue(tuner.getBatchSize(JobType.STEAM_GAME, steam) > 2, "지연이 줄면 배치 확대");
+        assertEquals(3.0, gauge("crawl.job.tuner.concurrency"));
+    }
+
+    @Test
+    void limiterBoundTypeDoesNotRampUp() {
+        observe(1, 2000, 0, false, true);
+        tuner.adjust();
+
+        // 실행 시간 대부분이 레이트리미터 대기 — 스레드를 늘려도 소용없음
+        observe(30, 2000, 1800, true, false);
+        tuner.adjust();
+
+        assertEquals(2, workerPools.getConcurrency(JobType.STEAM_GAME));
+    }
+
+    @Test
+    void idleTypeHoldsWithoutSamples() {
+        tuner.adjust();
+
+        assertEquals(4, workerPools.getConcurrency(JobType.STEAM_GAME));
+        assertEquals(2, tuner.getBatchSize(JobType.STEAM_GAME, steam));
+    }
+
+    /** TypeState에 같은 관측 n건 반영 */
+    private static void observe(AdaptiveJobTuner.TypeState state, int times, long durationMs, long limiterWaitMs,
+                                boolean success, boolean throttled) {
+        for (int i = 0; i < times; i++) {
+            state.observe(durationMs, limiterWaitMs, success, throttled);
+        }
+    }
+
+    @Test
+    void typeStateHalvesOnThrottle() {
+        AdaptiveJobTuner.TypeState state = new AdaptiveJobTuner.TypeState(steam, 8);
+
+        observe(state, 1, 2000, 0, true, true);
+
+        assertEquals(AdaptiveJobTuner.Decision.DECREASE, state.adjust());
+        assertEquals(2, state.getConcurrency());
+        assertEquals(1, state.getBatchSize());
+    }
+
+    @Test
+    void typeStateHoldsWhileLimiterDominates() {
+        AdaptiveJobTuner.TypeState state = new AdaptiveJobTuner.TypeState(steam, 8);
+
+        observe(state, 30, 2000, 1800, true, false);
+
+        assertEquals(AdaptiveJobTuner.Decision.HOLD, state.adjust());
+        assertEquals(4, state.getConcurrency());
+    }
+
+    @Test
+    void typeStateRampsAboveStaticValueUpToCeiling() {
+        AdaptiveJobTuner.TypeState state = new AdaptiveJobTuner.TypeState(steam, 6);
+        assertEquals(4, state.getConcurrency(), "정적 값에서 시작");
+
+        observe(state, 30, 500, 0, true, false);
+        assertEquals(AdaptiveJobTuner.Decision.INCREASE, state.adjust());
+        assertEquals(5, state.getConcurrency(), "정적 값보다 높게 가속");
+
+        observe(state, 30, 500, 0, true, false);
+        state.adjust();
+        observe(state, 30, 500, 0, true, false);
+
+        assertEquals(AdaptiveJobTuner.Decision.HOLD, state.adjust(), "상한 도달");
+        assertEquals(6, state.getConcurrency());
+    }
+
+    @Test
+    void ceilingComesFromPerTypePropertyOrMultiplier() {
+        JobExecutorRegistry registry = new JobExecutorRegistry(List.of(steam));
+        CrawlJobMetrics metrics = new CrawlJobMetrics(mock(CrawlJobRepository.class), new SimpleMeterRegistry());
+        AdaptiveJobTuner configured = new AdaptiveJobTuner(registry, workerPools, metrics,
+                new MockEnvironment().withProperty("crawler.queue.adaptive.max-concurrency.STEAM_GAME", "5"), true, 2);
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 30; i++) {
+                configured.recordOutcome(JobType.STEAM_GAME, 500, 0, true, false);
+            }
+            configured.adjust();
+        }
+
+        assertEquals(5, workerPools.getConcurrency(JobType.STEAM_GAME));
+    }
+}
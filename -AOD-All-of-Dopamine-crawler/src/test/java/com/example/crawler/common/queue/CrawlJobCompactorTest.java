@@ -0,0 +1,66 @@
+package com.example.crawler.common.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CrawlJobCompactorTest {
+
+    /** MOVE_SQL 호출을 기록하고 미리 정한 이동 건수를 차례로 응답 */
+    static class ScriptedJdbcTemplate extends JdbcTemplate {
+        final Deque<Integer> results = new ArrayDeque<>();
+        final List<Object[]> argsList = new ArrayList<>();
+
+        @Override
+        public int update(String sql, Object... args) {
+            assertEquals(CrawlJobCompactor.MOVE_SQL, sql);
+            argsList.add(args);
+            return results.isEmpty() ? 0 : results.poll();
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CrawlJobMetrics metrics = new CrawlJobMetrics(mock(CrawlJobRepository.class), meterRegistry);
+
+    @Test
+    void loopsWhileBatchesAreFullAndStopsAtShortBatch() {
+        ScriptedJdbcTemplate jdbc = new ScriptedJdbcTemplate();
+        jdbc.results.addAll(List.of(CrawlJobCompactor.BATCH_SIZE, CrawlJobCompactor.BATCH_SIZE, 7, 999));
+
+        new CrawlJobCompactor(jdbc, metrics, 60).compact();
+
+        assertEquals(3, jdbc.argsList.size(), "짧은 배치 = 더 옮길 행 없음");
+        assertArrayEquals(new Object[]{60, CrawlJobCompactor.BATCH_SIZE}, jdbc.argsList.get(0));
+        assertEquals(CrawlJobCompactor.BATCH_SIZE * 2 + 7, meterRegistry.counter("crawl.job.compacted").count());
+    }
+
+    @Test
+    void capsBatchesPerRun() {
+        ScriptedJdbcTemplate jdbc = new ScriptedJdbcTemplate();
+        for (int i = 0; i < CrawlJobCompactor.MAX_BATCHES_PER_RUN + 5; i++) {
+            jdbc.results.add(CrawlJobCompactor.BATCH_SIZE);
+        }
+
+        new CrawlJobCompactor(jdbc, metrics, 60).compact();
+
+        assertEquals(CrawlJobCompactor.MAX_BATCHES_PER_RUN, jdbc.argsList.size());
+    }
+
+    @Test
+    void nothingToMoveRecordsNothing() {
+        ScriptedJdbcTemplate jdbc = new ScriptedJdbcTemplate();
+
+        new CrawlJobCompactor(jdbc, metrics, 60).compact();
+
+        assertEquals(1, jdbc.argsList.size());
+        assertEquals(0.0, meterRegistry.counter("crawl.job.compacted").count());
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.crawler.common.queue;
+
+import com.example.crawler.common.circuit.CircuitBreaker;
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.circuit.CircuitOpenException;
+import com.example.crawler.common.node.CrawlerNodeRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CrawlJobConsumerTest {
+
+    private CrawlJobLeaseService leaseService;
+    private CrawlJobWorkerPools workerPools;
+    private CrawlJobConsumer consumer;
+    private CountDownLatch steamRuns;
+    private CircuitBreakerRegistry circuitBreakers;
+    private final CrawlerNodeRegistry nodeRegistry = mock(CrawlerNodeRegistry.class);
+
+    @BeforeEach
+    void setUp() {
+        steamRuns = new CountDownLatch(1);
+        JobExecutor steam = executor(JobType.STEAM_GAME, steamRuns);
+        JobExecutor tmdb = executor(JobType.TMDB_MOVIE, new CountDownLatch(1));
+        leaseService = mock(CrawlJobLeaseService.class);
+        when(leaseService.claim(any(), anyInt())).thenReturn(List.of());
+        consumer = newConsumer(steam, tmdb);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerPools.shutdown();
+    }
+
+    /** 주어진 Executor들만 등록된 Consumer (워커 풀은 tearDown에서 정리) */
+    private CrawlJobConsumer newConsumer(JobExecutor... executors) {
+        JobExecutorRegistry registry = new JobExecutorRegistry(List.of(executors));
+        CrawlJobMetrics metrics = new CrawlJobMetrics(mock(CrawlJobRepository.class), new SimpleMeterRegistry());
+        if (workerPools != null) workerPools.shutdown();
+        workerPools = new CrawlJobWorkerPools(registry, metrics, new MockEnvironment(), 10, 2, 1);
+        AdaptiveJobTuner tuner = new AdaptiveJobTuner(registry, workerPools, metrics, new MockEnvironment(), true, 2);
+        circuitBreakers = new CircuitBreakerRegistry(new SimpleMeterRegistry(), new MockEnvironment()
+                .withProperty("crawler.circuit-breaker.steam.window-size", "2")
+                .withProperty("crawler.circuit-breaker.steam.minimum-calls", "2")
+                .withProperty("crawler.circuit-breaker.steam.half-open-permits", "1")
+                .withProperty("crawler.circuit-breaker.steam.open-ms", "200"));
+        return new CrawlJobConsumer(leaseService, mock(CrawlJobRepository.class), registry, metrics, workerPools, tuner,
+                circuitBreakers, nodeRegistry);
+    }
+
+    /** steam 서킷을 연다 (최근 2건 모두 503) */
+    private CircuitBreaker openSteamCircuit() {
+        CircuitBreaker breaker = circuitBreakers.get("steam");
+        breaker.acquire().onStatus(503, null);
+        breaker.acquire().onStatus(503, null);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static JobExecutor circuitExecutor(CountDownLatch runs) {
+        return new JobExecutor() {
+            @Override public JobType getJobType() { return JobType.STEAM_GAME; }
+            @Override public boolean execute(String targetId) { runs.countDown(); return true; }
+            @Override public String getCircuitBreakerKey() { return "steam"; }
+        };
+    }
+
+    private static JobExecutor executor(JobType type, CountDownLatch runs) {
+        return new JobExecutor() {
+            @Override public JobType getJobType() { return type; }
+            @Override public boolean execute(String targetId) { runs.countDown(); return true; }
+            @Override public int getMaxConcurrency() { return 2; }
+        };
+    }
+
+    @Test
+    void wakeUpClaimsOnlyTheNotifiedType() throws Exception {
+        CrawlJob job = CrawlJob.builder().id(1L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        assertEquals(1, consumer.wakeUp(JobType.STEAM_GAME, "notify"));
+
+        assertTrue(steamRuns.await(5, TimeUnit.SECONDS));
+        verify(leaseService, timeout(5000)).complete(1L);
+        verify(leaseService, never()).claim(eq(JobType.TMDB_MOVIE), anyInt());
+    }
+
+    @Test
+    void finishedWorkerRefillsItsTypeWithoutWaitingForPoll() {
+        CrawlJob job = CrawlJob.builder().id(1L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        consumer.wakeUp(JobType.STEAM_GAME, "notify");
+
+        // 1회: notify, 2회: 작업 종료 후 refill
+        verify(leaseService, timeout(5000).times(2)).claim(eq(JobType.STEAM_GAME), anyInt());
+    }
+
+    @Test
+    void retryAfterFromExecutorIsPassedToLeaseService() {
+        JobExecutor throttled = new JobExecutor() {
+            @Override public JobType getJobType() { return JobType.STEAM_GAME; }
+            @Override public boolean execute(String targetId) {
+                throw new RetryAfterException("429", Duration.ofSeconds(90));
+            }
+        };
+        consumer = newConsumer(throttled);
+        CrawlJob job = CrawlJob.builder().id(7L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        consumer.wakeUp(JobType.STEAM_GAME, "notify");
+
+        verify(leaseService, timeout(5000)).fail(eq(7L), eq("429"), eq(RetryBackoff.DEFAULT), eq(Duration.ofSeconds(90)));
+    }
+
+    @Test
+    void heartbeatRenewsJobsStillHeldByWorkers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JobExecutor slow = new JobExecutor() {
+            @Override public JobType getJobType() { return JobType.STEAM_GAME; }
+            @Override public boolean execute(String targetId) {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+        consumer = newConsumer(slow);
+        CrawlJob job = CrawlJob.builder().id(9L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        consumer.wakeUp(JobType.STEAM_GAME, "notify");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        consumer.heartbeat();
+        release.countDown();
+
+        verify(leaseService).renew(List.of(9L));
+        verify(leaseService, timeout(5000)).complete(9L);
+    }
+
+    @Test
+    void adminJobsAreClaimedFirstOntoTheAdminLane() throws Exception {
+        CrawlJob admin = CrawlJob.builder().id(5L).jobType(JobType.STEAM_GAME).targetId("570")
+                .priority(CrawlJob.ADMIN_PRIORITY).build();
+        when(leaseService.claimAdmin(eq(JobType.STEAM_GAME), eq(1))).thenReturn(List.of(admin), List.of());
+
+        assertEquals(1, consumer.wakeUp(JobType.STEAM_GAME, "notify"));
+
+        assertTrue(steamRuns.await(5, TimeUnit.SECONDS));
+        verify(leaseService, timeout(5000)).complete(5L);
+        verify(leaseService, atLeastOnce()).claim(eq(JobType.STEAM_GAME), anyInt());
+    }
+
+    @Test
+    void wakeUpIgnoresTypesWithoutExecutor() {
+        assertEquals(0, consumer.wakeUp(JobType.KAKAO_PAGE_NOVEL, "notify"));
+        verifyNoInteractions(leaseService);
+    }
+
+    @Test
+    void openCircuitPausesClaimsAndHalfOpenClaimsOneProbe() throws Exception {
+        CountDownLatch runs = new CountDownLatch(1);
+        consumer = newConsumer(circuitExecutor(runs));
+        CircuitBreaker breaker = openSteamCircuit();
+        CrawlJob job = CrawlJob.builder().id(3L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        assertEquals(0, consumer.wakeUp(JobType.STEAM_GAME, "notify"));
+        verify(leaseService, never()).claim(any(), anyInt());
+        verify(leaseService, never()).claimAdmin(any(), anyInt());
+
+        Thread.sleep(300);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(1, consumer.wakeUp(JobType.STEAM_GAME, "circuit"));
+        verify(leaseService, atLeastOnce()).claim(eq(JobType.STEAM_GAME), eq(1));
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void recoveryWakesUpTypesOfThatCircuit() throws Exception {
+        CountDownLatch runs = new CountDownLatch(1);
+        consumer = newConsumer(circuitExecutor(runs));
+        consumer.watchCircuits();
+        CrawlJob job = CrawlJob.builder().id(4L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        openSteamCircuit();
+
+        // 폴링·알림 없이 OPEN 대기가 끝나면 HALF_OPEN 전이만으로 시험 작업을 점유
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        verify(leaseService, timeout(5000)).complete(4L);
+    }
+
+    @Test
+    void circuitOpenDefersJobWithoutCountingFailure() {
+        JobExecutor rejected = new JobExecutor() {
+            @Override public JobType getJobType() { return JobType.STEAM_GAME; }
+            @Override public boolean execute(String targetId) {
+                throw new CircuitOpenException("steam", Duration.ofSeconds(30));
+            }
+        };
+        consumer = newConsumer(rejected);
+        CrawlJob job = CrawlJob.builder().id(8L).jobType(JobType.STEAM_GAME).targetId("730").build();
+        when(leaseService.claim(eq(JobType.STEAM_GAME), anyInt())).thenReturn(List.of(job), List.of());
+
+        consumer.wakeUp(JobType.STEAM_GAME, "notify");
+
+        verify(leaseService, timeout(5000)).defer(eq(8L), anyString(), eq(Duration.ofSeconds(30)));
+        verify(leaseService, never()).fail(anyLong(), anyString(), any(), any());
+    }
+
+    /** 매번 Selenium 대체가 필요하다고 알리는 API 전용 Executor */
+    private static JobExecutor apiOnlyExecutor(Duration handoffDelay, AtomicInteger executions) {
+        return new JobExecutor() {
+            @Override public JobType getJobType() { return JobType.NAVER_WEBTOON; }
+            @Override public boolean execute(String targetId) {
+                executions.incrementAndGet();
+                throw new SeleniumRequiredException("상세 API 실패", handoffDelay);
+            }
+        };
+    }
+
+    /** API 전용 노드가 Selenium이 필요한 작업을 만난 상황 */
+    private void runSeleniumRequiredJob() {
+        consumer = newConsumer(apiOnlyExecutor(Duration.ofMinutes(5), new AtomicInteger()));
+        CrawlJob job = CrawlJob.builder().id(9L).jobType(JobType.NAVER_WEBTOON).targetId("758037").build();
+        when(leaseService.claim(eq(JobType.NAVER_WEBTOON), anyInt())).thenReturn(List.of(job), List.of());
+
+        consumer.wakeUp(JobType.NAVER_WEBTOON, "notify");
+    }
+
+    @Test
+    void seleniumRequiredDefersJobToLiveSeleniumNodeWithoutCountingFailure() {
+        when(nodeRegistry.hasLiveSeleniumNode(JobType.NAVER_WEBTOON)).thenReturn(true);
+
+        runSeleniumRequiredJob();
+
+        verify(leaseService, timeout(5000)).deferToSeleniumNode(eq(9L), anyString(), eq(Duration.ofMinutes(5)));
+        verify(leaseService, never()).fail(anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    void apiOnlyNodeDoesNotReclaimJobHandedOffToSeleniumNode() {
+        // 실제 LeaseService + 점유 쿼리의 상태·Selenium 조건만 흉내 낸 저장소
+        // (연기 시간 0 — 시각 조건이 아니라 requires_selenium 때문에 다시 점유되지 않는지 확인)
+        CrawlJob job = CrawlJob.builder().id(9L).jobType(JobType.NAVER_WEBTOON).targetId("758037").build();
+        CrawlJobRepository repository = mock(CrawlJobRepository.class);
+        when(repository.findById(9L)).thenReturn(Optional.of(job));
+        when(repository.findPendingJobsByTypeWithLock(eq(JobType.NAVER_WEBTOON), anyBoolean(), any(), anyInt()))
+                .thenAnswer(inv -> {
+                    boolean seleniumEnabled = inv.getArgument(1);
+                    boolean claimable = (job.getStatus() == JobStatus.PENDING || job.getStatus() == JobStatus.RETRY)
+                            && (seleniumEnabled || !Boolean.TRUE.equals(job.getRequiresSelenium()));
+                    return claimable ? List.of(job) : List.of();
+                });
+        CrawlJobMetrics metrics = new CrawlJobMetrics(repository, new SimpleMeterRegistry());
+        leaseService = new CrawlJobLeaseService(repository, metrics, "api-node", 600, false);
+        when(nodeRegistry.hasLiveSeleniumNode(JobType.NAVER_WEBTOON)).thenReturn(true);
+        AtomicInteger executions = new AtomicInteger();
+        consumer = newConsumer(apiOnlyExecutor(Duration.ZERO, executions));
+
+        consumer.wakeUp(JobType.NAVER_WEBTOON, "notify");
+        // 알림 점유 + 처리 후 refill 점유, 이어서 알림 한 번 더
+        verify(repository, timeout(5000).atLeast(2))
+                .findPendingJobsByTypeWithLock(eq(JobType.NAVER_WEBTOON), eq(false), any(), anyInt());
+        consumer.wakeUp(JobType.NAVER_WEBTOON, "notify");
+        verify(repository, timeout(5000).atLeast(3))
+                .findPendingJobsByTypeWithLock(eq(JobType.NAVER_WEBTOON), eq(false), any(), anyInt());
+
+        assertEquals(1, executions.get(), "API 전용 노드가 넘긴 작업을 다시 점유함");
+        assertEquals(JobStatus.RETRY, job.getStatus());
+        assertEquals(0, job.getRetryCount());
+        assertTrue(job.getRequiresSelenium());
+
+        // Selenium 노드는 점유한다
+        CrawlJobLeaseService seleniumNode = new CrawlJobLeaseService(repository, metrics, "selenium-node", 600, true);
+        assertEquals(List.of(job), seleniumNode.claim(JobType.NAVER_WEBTOON, 1));
+    }
+
+    @Test
+    void seleniumRequiredFailsNormallyWhenNoSeleniumNodeIsAlive() {
+        when(nodeRegistry.hasLiveSeleniumNode(JobType.NAVER_WEBTOON)).thenReturn(false);
+
+        runSeleniumRequiredJob();
+
+        verify(leaseService, timeout(5000)).fail(eq(9L), anyString(), any(), isNull());
+        verify(leaseService, never()).deferToSeleniumNode(anyLong(), anyString(), any());
+    }
+}
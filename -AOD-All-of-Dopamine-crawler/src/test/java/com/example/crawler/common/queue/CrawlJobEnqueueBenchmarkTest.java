@@ -0,0 +1,148 @@
+package com.example.crawler.common.queue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 큐 등록 벤치마크: 기존 루프(대상별 exists SELECT + 행 단위 INSERT) vs 멀티로우 ON CONFLICT.
+ *
+ * 실제 PostgreSQL이 필요하므로 환경변수가 있을 때만 실행된다. 전용 스키마(crawl_bench)를 만들고 끝나면 지운다.
+ * <pre>
+ * CRAWLER_BENCH_PG_URL=jdbc:postgresql://localhost:5432/postgres \
+ * CRAWLER_BENCH_PG_USER=postgres CRAWLER_BENCH_PG_PASSWORD=password \
+ * CRAWLER_BENCH_SIZES=10000,100000,500000 \
+ * gradle :-AOD-All-of-Dopamine-crawler:test --tests '*CrawlJobEnqueueBenchmarkTest'
+ * </pre>
+ * 각 크기마다 "빈 테이블 등록"과 "같은 ID 재등록(전량 중복)" 두 경우를 잰다.
+ *
+ * 측정 결과 (로컬 PostgreSQL 16, 단일 커넥션, 1 vCPU, JDK 17):
+ * <pre>
+ * | ids    | legacy fresh | legacy dup | bulk fresh | bulk dup |
+ * |--------|--------------|------------|------------|----------|
+ * | 10000  |      5224 ms |     473 ms |     543 ms |   233 ms |
+ * | 100000 |     20298 ms |    4268 ms |    1673 ms |   954 ms |
+ * | 500000 |     99285 ms |   14562 ms |    7800 ms |  4626 ms |
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "CRAWLER_BENCH_PG_URL", matches = ".+")
+class CrawlJobEnqueueBenchmarkTest {
+
+    private static final String SCHEMA = "crawl_bench";
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                System.getenv("CRAWLER_BENCH_PG_URL"),
+                System.getenv().getOrDefault("CRAWLER_BENCH_PG_USER", "postgres"),
+                System.getenv().getOrDefault("CRAWLER_BENCH_PG_PASSWORD", ""),
+                true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+        jdbc.execute("SET search_path TO " + SCHEMA);
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS crawl_job_queue (
+                    id BIGSERIAL PRIMARY KEY,
+                    job_type VARCHAR(50) NOT NULL,
+                    target_id VARCHAR(100) NOT NULL,
+                    metadata TEXT,
+                    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                    priority INTEGER,
+                    retry_count INTEGER,
+                    max_retries INTEGER,
+                    error_message TEXT,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP,
+                    started_at TIMESTAMP,
+                    completed_at TIMESTAMP,
+                    lease_owner VARCHAR(100),
+                    lease_expires_at TIMESTAMP,
+                    CONSTRAINT uk_job_type_target UNIQUE (job_type, target_id))
+                """);
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS crawl_job_history (
+                    job_type VARCHAR(50) NOT NULL,
+                    target_id VARCHAR(100) NOT NULL,
+                    final_status VARCHAR(20) NOT NULL,
+                    retry_count INTEGER NOT NULL DEFAULT 0,
+                    error_message TEXT,
+                    finished_at TIMESTAMP NOT NULL,
+                    PRIMARY KEY (job_type, target_id))
+                """);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (jdbc != null) {
+            jdbc.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    private static List<Integer> sizes() {
+        String raw = System.getenv().getOrDefault("CRAWLER_BENCH_SIZES", "10000,100000,500000");
+        return Arrays.stream(raw.split(",")).map(String::trim).map(Integer::parseInt).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(int n) {
+        return IntStream.range(0, n).mapToObj(i -> String.valueOf(1_000_000 + i)).collect(Collectors.toList());
+    }
+
+    /** 구 createJobs 경로 재현: 대상마다 exists SELECT, 신규만 IDENTITY INSERT(배치 불가 → 행 단위) */
+    private static int legacyLoop(List<String> targetIds) {
+        int created = 0;
+        for (String targetId : targetIds) {
+            Boolean exists = jdbc.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM crawl_job_queue WHERE job_type = ? AND target_id = ?)",
+                    Boolean.class, JobType.STEAM_GAME.name(), targetId);
+            if (Boolean.TRUE.equals(exists)) continue;
+            jdbc.update("INSERT INTO crawl_job_queue (job_type, target_id, priority, status, retry_count, max_retries, created_at, updated_at) "
+                    + "VALUES (?, ?, 5, 'PENDING', 0, 3, now(), now())", JobType.STEAM_GAME.name(), targetId);
+            created++;
+        }
+        return created;
+    }
+
+    private static long timed(Runnable r) {
+        long start = System.nanoTime();
+        r.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @Test
+    void compareLegacyLoopWithBulkEnqueue() {
+        CrawlJobProducer producer = new CrawlJobProducer(mock(CrawlJobRepository.class), mock(CrawlJobHistoryRepository.class), jdbc, mock(CrawlJobNotifier.class));
+
+        System.out.println("| ids | legacy fresh | legacy dup | bulk fresh | bulk dup |");
+        System.out.println("|-----|--------------|------------|------------|----------|");
+        for (int n : sizes()) {
+            List<String> targetIds = ids(n);
+
+            jdbc.execute("TRUNCATE crawl_job_queue");
+            long legacyFresh = timed(() -> assertEquals(n, legacyLoop(targetIds)));
+            long legacyDup = timed(() -> assertEquals(0, legacyLoop(targetIds)));
+
+            jdbc.execute("TRUNCATE crawl_job_queue");
+            long bulkFresh = timed(() -> assertEquals(n, producer.enqueueBulk(JobType.STEAM_GAME, targetIds, 5).inserted()));
+            long bulkDup = timed(() -> assertEquals(n, producer.enqueueBulk(JobType.STEAM_GAME, targetIds, 5).skipped()));
+
+            System.out.printf("| %d | %d ms | %d ms | %d ms | %d ms |%n", n, legacyFresh, legacyDup, bulkFresh, bulkDup);
+        }
+    }
+}
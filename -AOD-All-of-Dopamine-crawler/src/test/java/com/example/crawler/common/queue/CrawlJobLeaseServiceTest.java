@@ -0,0 +1,159 @@
+package com.example.crawler.common.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CrawlJobLeaseServiceTest {
+
+    private CrawlJobRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private CrawlJobLeaseService leaseService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CrawlJobRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        CrawlJobMetrics metrics = new CrawlJobMetrics(repository, meterRegistry);
+        leaseService = new CrawlJobLeaseService(repository, metrics, "node-a", 600, true);
+    }
+
+    private CrawlJob pendingJob(long id) {
+        return CrawlJob.builder().id(id).jobType(JobType.STEAM_GAME).targetId(String.valueOf(id)).build();
+    }
+
+    @Test
+    void claimStampsProcessingWithOwnerAndExpiry() {
+        CrawlJob job = pendingJob(1L);
+        when(repository.findPendingJobsByTypeWithLock(eq(JobType.STEAM_GAME), eq(true), any(LocalDateTime.class), eq(5)))
+                .thenReturn(List.of(job));
+
+        List<CrawlJob> claimed = leaseService.claim(JobType.STEAM_GAME, 5);
+
+        assertEquals(1, claimed.size());
+        assertEquals(JobStatus.PROCESSING, job.getStatus());
+        assertEquals("node-a", job.getLeaseOwner());
+        assertTrue(job.getLeaseExpiresAt().isAfter(LocalDateTime.now().plusSeconds(590)));
+        assertNotNull(job.getStartedAt());
+    }
+
+    @Test
+    void claimAdminOnlyAsksForAdminPriority() {
+        CrawlJob job = CrawlJob.builder().id(3L).jobType(JobType.STEAM_GAME).targetId("3")
+                .priority(CrawlJob.ADMIN_PRIORITY).build();
+        when(repository.findAdminJobsByTypeWithLock(eq(JobType.STEAM_GAME), eq(CrawlJob.ADMIN_PRIORITY), eq(true),
+                any(LocalDateTime.class), eq(1))).thenReturn(List.of(job));
+
+        assertEquals(List.of(job), leaseService.claimAdmin(JobType.STEAM_GAME, 1));
+        assertEquals("node-a", job.getLeaseOwner());
+        assertTrue(leaseService.claimAdmin(JobType.STEAM_GAME, 0).isEmpty());
+    }
+
+    @Test
+    void claimWithNoCapacitySkipsQuery() {
+        assertTrue(leaseService.claim(JobType.STEAM_GAME, 0).isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void completeClearsLease() {
+        CrawlJob job = pendingJob(1L);
+        job.claim("node-a", LocalDateTime.now().plusMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(job));
+
+        leaseService.complete(1L);
+
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertNull(job.getLeaseOwner());
+        assertNull(job.getLeaseExpiresAt());
+    }
+
+    @Test
+    void failMovesToRetryWhileRetriesRemain() {
+        CrawlJob job = pendingJob(1L);
+        job.claim("node-a", LocalDateTime.now().plusMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(job));
+
+        leaseService.fail(1L, "timeout");
+
+        assertEquals(JobStatus.RETRY, job.getStatus());
+        assertEquals(1, job.getRetryCount());
+        assertEquals("timeout", job.getErrorMessage());
+        assertNull(job.getNextAttemptAt(), "정책 없이 실패 = 즉시 재시도 가능");
+    }
+
+    @Test
+    void failSchedulesNextAttemptWithBackoffAndRetryAfter() {
+        CrawlJob job = pendingJob(1L);
+        job.claim("node-a", LocalDateTime.now().plusMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(job));
+        RetryBackoff backoff = new RetryBackoff(Duration.ofMinutes(1), 4.0, 0.0, Duration.ofHours(1));
+
+        leaseService.fail(1L, "429", backoff, Duration.ofMinutes(30));
+
+        assertEquals(JobStatus.RETRY, job.getStatus());
+        assertTrue(job.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(29)),
+                "Retry-After(30분)가 백오프(1분)보다 길면 힌트를 따름");
+    }
+
+    @Test
+    void exhaustedRetriesFailWithoutScheduling() {
+        CrawlJob job = CrawlJob.builder().id(1L).jobType(JobType.STEAM_GAME).targetId("1").retryCount(2).build();
+        job.claim("node-a", LocalDateTime.now().plusMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(job));
+
+        leaseService.fail(1L, "boom", RetryBackoff.DEFAULT, null);
+
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertNull(job.getNextAttemptAt());
+    }
+
+    @Test
+    void outcomeIsDroppedWhenLeaseWasTakenOver() {
+        // 만료 후 다른 인스턴스가 재점유한 작업 — 늦게 끝난 이전 점유자가 덮어쓰면 안 됨
+        CrawlJob job = pendingJob(1L);
+        job.claim("node-b", LocalDateTime.now().plusMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(job));
+
+        leaseService.complete(1L);
+        leaseService.fail(1L, "late");
+
+        assertEquals(JobStatus.PROCESSING, job.getStatus());
+        assertEquals("node-b", job.getLeaseOwner());
+        assertEquals(0, job.getRetryCount());
+    }
+
+    @Test
+    void reclaimReturnsExpiredLeasesToRetryAndCountsPerType() {
+        CrawlJob steam = pendingJob(1L);
+        steam.claim("dead-node", LocalDateTime.now().minusMinutes(1));
+        CrawlJob webtoon = CrawlJob.builder().id(2L).jobType(JobType.NAVER_WEBTOON).targetId("2").build();
+        webtoon.claim("dead-node", LocalDateTime.now().minusMinutes(1));
+        when(repository.findExpiredLeasesWithLock(any(), any(), anyInt())).thenReturn(List.of(steam, webtoon));
+
+        leaseService.reclaimExpiredLeases();
+
+        assertEquals(JobStatus.RETRY, steam.getStatus());
+        assertNull(steam.getLeaseOwner());
+        assertEquals(1, steam.getRetryCount(), "회수도 실패 1회로 셈 (JVM을 죽이는 작업의 무한 재점유 방지)");
+        assertEquals(1.0, meterRegistry.counter("crawl.job.lease.reclaimed", "job_type", "STEAM_GAME").count());
+        assertEquals(1.0, meterRegistry.counter("crawl.job.lease.reclaimed", "job_type", "NAVER_WEBTOON").count());
+    }
+
+    @Test
+    void renewExtendsOnlyOwnLeases() {
+        when(repository.renewLeases(anyCollection(), eq("node-a"), any())).thenReturn(2);
+
+        assertEquals(2, leaseService.renew(List.of(1L, 2L)));
+        assertEquals(0, leaseService.renew(List.of()));
+        verify(repository, times(1)).renewLeases(anyCollection(), eq("node-a"), any());
+    }
+}
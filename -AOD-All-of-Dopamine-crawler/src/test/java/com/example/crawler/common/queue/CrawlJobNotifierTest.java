@@ -0,0 +1,48 @@
+package com.example.crawler.common.queue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CrawlJobNotifierTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private CrawlJobNotifier notifier(String url) {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(url);
+        return new CrawlJobNotifier(jdbcTemplate, properties, true);
+    }
+
+    @Test
+    void skipsNotifyOnNonPostgresDatabase() {
+        notifier("jdbc:h2:mem:test").notifyEnqueued(JobType.STEAM_GAME);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void sendsNotifyWithJobTypeOnPostgres() {
+        notifier("jdbc:postgresql://localhost:5432/aod").notifyEnqueued(JobType.STEAM_GAME);
+
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(CrawlJobNotifier.CHANNEL), eq("STEAM_GAME"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void notifyFailureDoesNotReachEnqueuePath() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertDoesNotThrow(() -> notifier("jdbc:postgresql://localhost:5432/aod").notifyEnqueued(JobType.STEAM_GAME));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.crawler.common.queue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CrawlJobProducerTest {
+
+    /** 멀티로우 INSERT 호출을 기록하고, 짝수 번째 행만 "신규"였던 것처럼 응답 */
+    static class RecordingJdbcTemplate extends JdbcTemplate {
+        final List<String> sqls = new ArrayList<>();
+        final List<Object[]> argsList = new ArrayList<>();
+
+        @Override
+        public int update(String sql, Object... args) {
+            sqls.add(sql);
+            argsList.add(args);
+            int rows = args.length / 3;
+            return (rows + 1) / 2;
+        }
+    }
+
+    private CrawlJobRepository repository;
+    private CrawlJobHistoryRepository historyRepository;
+    private RecordingJdbcTemplate jdbc;
+    private CrawlJobNotifier notifier;
+    private CrawlJobProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CrawlJobRepository.class);
+        historyRepository = mock(CrawlJobHistoryRepository.class);
+        jdbc = new RecordingJdbcTemplate();
+        notifier = mock(CrawlJobNotifier.class);
+        producer = new CrawlJobProducer(repository, historyRepository, jdbc, notifier);
+    }
+
+    private static List<String> ids(int n) {
+        return IntStream.range(0, n).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+
+    @Test
+    void enqueueBulkChunksIntoMultiRowInsertsWithoutPerTargetLookups() {
+        int total = CrawlJobProducer.BULK_CHUNK_SIZE * 2 + 5;
+
+        CrawlJobProducer.EnqueueResult result = producer.enqueueBulk(JobType.STEAM_GAME, ids(total), 5);
+
+        assertEquals(3, jdbc.sqls.size(), "1000 + 1000 + 5 청크");
+        assertTrue(jdbc.sqls.get(0).endsWith("ON CONFLICT (job_type, target_id) DO NOTHING"));
+        assertTrue(jdbc.sqls.get(0).contains("NOT EXISTS (SELECT 1 FROM crawl_job_history"), "압축된 이력 대상도 스킵");
+        assertEquals(CrawlJobProducer.BULK_CHUNK_SIZE * 3, jdbc.argsList.get(0).length);
+        assertEquals(15, jdbc.argsList.get(2).length);
+        assertEquals(500 + 500 + 3, result.inserted());
+        assertEquals(total - result.inserted(), result.skipped());
+        verify(repository, never()).existsByJobTypeAndTargetId(any(), anyString());
+        verify(repository, never()).saveAll(anyList());
+        verify(notifier, times(1)).notifyEnqueued(JobType.STEAM_GAME);
+    }
+
+    @Test
+    void bindsJobTypeTargetAndPriorityPerRow() {
+        producer.enqueueBulk(JobType.TMDB_MOVIE, List.of("11", "12"), null);
+
+        Object[] args = jdbc.argsList.get(0);
+        assertArrayEquals(new Object[]{"TMDB_MOVIE", "11", 5, "TMDB_MOVIE", "12", 5}, args, "priority 미지정 = 5");
+    }
+
+    @Test
+    void createJobsReturnsInsertedCount() {
+        assertEquals(2, producer.createJobs(JobType.NAVER_SERIES_NOVEL, ids(3), 3));
+    }
+
+    @Test
+    void enqueueRefreshClearsHistoryThenRevivesOnlyFinishedRows() {
+        CrawlJobProducer.EnqueueResult result = producer.enqueueRefresh(JobType.STEAM_GAME, List.of("70", "80"), 5);
+
+        assertEquals(2, jdbc.sqls.size());
+        assertTrue(jdbc.sqls.get(0).startsWith("DELETE FROM crawl_job_history WHERE job_type = ? AND target_id IN (?,?)"));
+        assertArrayEquals(new Object[]{"STEAM_GAME", "70", "80"}, jdbc.argsList.get(0));
+        String insert = jdbc.sqls.get(1);
+        assertFalse(insert.contains("NOT EXISTS"), "이력 dedup을 거치지 않음");
+        assertTrue(insert.contains("DO UPDATE SET status = 'PENDING'"));
+        assertTrue(insert.endsWith("WHERE crawl_job_queue.status IN ('COMPLETED', 'FAILED', 'SKIPPED')"),
+                "대기·처리 중인 행은 건드리지 않음");
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.skipped());
+        verify(notifier).notifyEnqueued(JobType.STEAM_GAME);
+    }
+
+    @Test
+    void enqueueRefreshDropsDuplicateIdsBeforeChunking() {
+        // 같은 ID가 한 문장에 두 번 들어가면 PostgreSQL이 ON CONFLICT DO UPDATE 문장 전체를 거부
+        List<String> targetIds = new ArrayList<>(ids(CrawlJobProducer.BULK_CHUNK_SIZE));
+        targetIds.add("0");
+        targetIds.add("999");
+        targetIds.add(1, "70");
+        targetIds.add("70");
+
+        producer.enqueueRefresh(JobType.STEAM_GAME, targetIds, 5);
+
+        List<Object> boundIds = new ArrayList<>();
+        for (int i = 1; i < jdbc.argsList.size(); i += 2) {
+            Object[] args = jdbc.argsList.get(i);
+            for (int j = 1; j < args.length; j += 3) {
+                boundIds.add(args[j]);
+            }
+        }
+        assertEquals(CrawlJobProducer.BULK_CHUNK_SIZE, boundIds.size(), "중복 제거 후 1000건 = 청크 1개");
+        assertEquals(2, jdbc.sqls.size());
+        assertEquals(List.of("0", "70", "1"), boundIds.subList(0, 3), "첫 등장 순서 유지");
+    }
+
+    @Test
+    void emptyInputIssuesNoStatement() {
+        CrawlJobProducer.EnqueueResult result = producer.enqueueBulk(JobType.STEAM_GAME, List.of(), 5);
+
+        assertTrue(jdbc.sqls.isEmpty());
+        assertEquals(0, result.inserted());
+        assertEquals(0, result.skipped());
+        verifyNoInteractions(notifier);
+    }
+}
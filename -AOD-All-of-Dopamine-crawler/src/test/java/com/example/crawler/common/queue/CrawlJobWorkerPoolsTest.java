@@ -0,0 +1,127 @@
+package com.example.crawler.common.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CrawlJobWorkerPoolsTest {
+
+    private CrawlJobWorkerPools pools;
+
+    @AfterEach
+    void tearDown() {
+        if (pools != null) pools.shutdown();
+    }
+
+    private static JobExecutor executor(JobType type, int concurrency, boolean selenium) {
+        return new JobExecutor() {
+            @Override public JobType getJobType() { return type; }
+            @Override public boolean execute(String targetId) { return true; }
+            @Override public int getMaxConcurrency() { return concurrency; }
+            @Override public boolean usesSelenium() { return selenium; }
+        };
+    }
+
+    private CrawlJobWorkerPools newPools(int maxConcurrent, int maxSelenium, JobExecutor... executors) {
+        return newPools(maxConcurrent, maxSelenium, 0, executors);
+    }
+
+    private CrawlJobWorkerPools newPools(int maxConcurrent, int maxSelenium, int adminReserved, JobExecutor... executors) {
+        CrawlJobMetrics metrics = new CrawlJobMetrics(mock(CrawlJobRepository.class), new SimpleMeterRegistry());
+        return new CrawlJobWorkerPools(new JobExecutorRegistry(List.of(executors)), metrics, new MockEnvironment(),
+                maxConcurrent, maxSelenium, adminReserved);
+    }
+
+    /** 모든 작업을 동시에 붙잡아 두고 최대 동시 실행 수를 관측 */
+    private int observePeak(List<JobExecutor> targets, int tasksPerExecutor) throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (JobExecutor target : targets) {
+            for (int i = 0; i < tasksPerExecutor; i++) {
+                futures.add(pools.submit(target, () -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                }));
+            }
+        }
+        Thread.sleep(300);
+        release.countDown();
+        for (Future<?> f : futures) f.get(5, TimeUnit.SECONDS);
+        return peak.get();
+    }
+
+    @Test
+    void globalPermitsCapConcurrencyAcrossTypes() throws Exception {
+        JobExecutor steam = executor(JobType.STEAM_GAME, 4, false);
+        JobExecutor tmdb = executor(JobType.TMDB_MOVIE, 4, false);
+        pools = newPools(3, 2, steam, tmdb);
+
+        assertEquals(3, observePeak(List.of(steam, tmdb), 4), "전역 한도(3)를 넘어 실행되면 안 됨");
+    }
+
+    @Test
+    void seleniumPermitsCapBrowserJobs() throws Exception {
+        JobExecutor webtoon = executor(JobType.NAVER_WEBTOON, 2, true);
+        JobExecutor finished = executor(JobType.NAVER_WEBTOON_FINISHED, 2, true);
+        pools = newPools(10, 1, webtoon, finished);
+
+        assertEquals(1, observePeak(List.of(webtoon, finished), 2), "Selenium 한도(1)가 타입을 가로질러 적용돼야 함");
+    }
+
+    @Test
+    void ioPoolRunsUpToItsConcurrency() throws Exception {
+        JobExecutor steam = executor(JobType.STEAM_GAME, 4, false);
+        pools = newPools(10, 2, steam);
+
+        assertEquals(4, observePeak(List.of(steam), 8), "I/O 풀은 워커 수만큼 겹쳐 실행");
+        assertEquals(4, pools.getConcurrency(JobType.STEAM_GAME));
+        assertEquals(0, pools.getConcurrency(JobType.KAKAO_PAGE_NOVEL));
+    }
+
+    @Test
+    void adminJobRunsOnReservedPermitWhileRegularWorkIsSaturated() throws Exception {
+        JobExecutor steam = executor(JobType.STEAM_GAME, 4, false);
+        pools = newPools(3, 2, 1, steam);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(pools.submit(steam, () -> {
+                running.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        Thread.sleep(300);
+        assertEquals(2, running.get(), "일반 작업은 예약분(1)을 뺀 2개까지만");
+
+        AtomicInteger adminRuns = new AtomicInteger();
+        pools.submit(steam, adminRuns::incrementAndGet, true).get(2, TimeUnit.SECONDS);
+        assertEquals(1, adminRuns.get(), "어드민 작업은 적체와 무관하게 바로 실행");
+        assertEquals(1, pools.getAdminCapacity(), "끝난 어드민 작업은 어드민 풀 자리를 돌려줌");
+
+        release.countDown();
+        for (Future<?> f : futures) f.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.crawler.common.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBackoffTest {
+
+    private final RetryBackoff backoff = new RetryBackoff(Duration.ofMinutes(1), 4.0, 0.2, Duration.ofHours(1));
+
+    @Test
+    void growsExponentiallyUntilCap() {
+        assertEquals(Duration.ofMinutes(1), backoff.delayFor(1, null, () -> 0.5));
+        assertEquals(Duration.ofMinutes(4), backoff.delayFor(2, null, () -> 0.5));
+        assertEquals(Duration.ofMinutes(16), backoff.delayFor(3, null, () -> 0.5));
+        assertEquals(Duration.ofHours(1), backoff.delayFor(10, null, () -> 0.5));
+    }
+
+    @Test
+    void jitterStaysWithinBoundsAndNeverExceedsCap() {
+        assertEquals(Duration.ofSeconds(48), backoff.delayFor(1, null, () -> 0.0));
+        assertEquals(Duration.ofSeconds(72), backoff.delayFor(1, null, () -> 1.0));
+        assertEquals(Duration.ofHours(1), backoff.delayFor(10, null, () -> 1.0));
+    }
+
+    @Test
+    void retryAfterHintIsALowerBound() {
+        assertEquals(Duration.ofMinutes(30), backoff.delayFor(1, Duration.ofMinutes(30), () -> 0.5));
+        assertEquals(Duration.ofMinutes(4), backoff.delayFor(2, Duration.ofSeconds(10), () -> 0.5));
+        assertEquals(RetryBackoff.MAX_RETRY_AFTER, backoff.delayFor(1, Duration.ofDays(7), () -> 0.5));
+    }
+
+    @Test
+    void parsesRetryAfterHeaderForms() {
+        Duration fallback = Duration.ofSeconds(60);
+        assertEquals(Duration.ofSeconds(120), RetryAfterException.parseHeader("120", fallback));
+        assertEquals(fallback, RetryAfterException.parseHeader(null, fallback));
+        assertEquals(fallback, RetryAfterException.parseHeader("soon", fallback));
+        assertEquals(Duration.ZERO, RetryAfterException.parseHeader("Wed, 21 Oct 2015 07:28:00 GMT", fallback));
+    }
+}
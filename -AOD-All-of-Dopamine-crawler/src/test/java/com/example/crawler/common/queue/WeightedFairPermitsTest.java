@@ -0,0 +1,108 @@
+package com.example.crawler.common.queue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairPermitsTest {
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        threads.forEach(Thread::interrupt);
+    }
+
+    /** acquire에 성공하면 타입을 기록하고 허가를 계속 들고 있는 스레드 */
+    private void startWaiter(WeightedFairPermits permits, JobType jobType, boolean admin, List<JobType> granted) {
+        Thread thread = new Thread(() -> {
+            try {
+                permits.acquire(jobType, admin);
+                granted.add(jobType);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+
+    @Test
+    void freedPermitsGoToTypesByWeightNotArrivalOrder() throws Exception {
+        WeightedFairPermits permits = new WeightedFairPermits(3, 0,
+                Map.of(JobType.STEAM_GAME, 2, JobType.TMDB_MOVIE, 1));
+        // TMDB가 먼저 허가를 모두 차지한 상태
+        for (int i = 0; i < 3; i++) {
+            permits.acquire(JobType.TMDB_MOVIE, false);
+        }
+        List<JobType> granted = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            startWaiter(permits, JobType.TMDB_MOVIE, false, granted);
+        }
+        Thread.sleep(100);
+        for (int i = 0; i < 3; i++) {
+            startWaiter(permits, JobType.STEAM_GAME, false, granted);
+        }
+        Thread.sleep(100);
+
+        // TMDB가 하나씩 반납 → 나중에 온 Steam(점유 0)이 먼저 받음
+        permits.release(JobType.TMDB_MOVIE, false);
+        awaitSize(granted, 1);
+        permits.release(JobType.TMDB_MOVIE, false);
+        awaitSize(granted, 2);
+
+        assertEquals(List.of(JobType.STEAM_GAME, JobType.STEAM_GAME), granted);
+        assertEquals(2, permits.runningPermits(JobType.STEAM_GAME));
+        assertEquals(1, permits.runningPermits(JobType.TMDB_MOVIE));
+    }
+
+    @Test
+    void loneTypeUsesAllNonReservedPermits() throws Exception {
+        WeightedFairPermits permits = new WeightedFairPermits(4, 1, Map.of());
+        List<JobType> granted = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            startWaiter(permits, JobType.STEAM_GAME, false, granted);
+        }
+        awaitSize(granted, 3);
+        Thread.sleep(100);
+        assertEquals(3, granted.size(), "예약분 1개는 일반 작업이 쓰지 않음");
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void adminTakesReservedPermitAheadOfWaitingRegularJobs() throws Exception {
+        WeightedFairPermits permits = new WeightedFairPermits(2, 1, Map.of());
+        permits.acquire(JobType.STEAM_GAME, false);
+        List<JobType> granted = new CopyOnWriteArrayList<>();
+        startWaiter(permits, JobType.STEAM_GAME, false, granted);
+        Thread.sleep(100);
+
+        startWaiter(permits, JobType.NAVER_WEBTOON, true, granted);
+
+        awaitSize(granted, 1);
+        assertEquals(JobType.NAVER_WEBTOON, granted.get(0));
+        assertEquals(0, permits.availablePermits());
+    }
+
+    @Test
+    void reserveNeverSwallowsAllPermits() {
+        assertEquals(1, new WeightedFairPermits(2, 5, Map.of()).getAdminReserved());
+        assertEquals(0, new WeightedFairPermits(1, 1, Map.of()).getAdminReserved());
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -25,7 +26,8 @@ class SteamGameExecutorTest {
     void setUp() {
         fetcher = mock(SteamFetcher.class);
         collectorService = mock(CollectorService.class);
-        executor = new SteamGameExecutor(fetcher, new SteamPayloadProcessor(), collectorService);
+        when(fetcher.fetchReviewSummaryAsync(anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        executor = new SteamGameExecutor(fetcher, new SteamPayloadProcessor(), collectorService, 200);
     }
 
     private Map<String, Object> gameDetails() {
@@ -40,7 +42,7 @@ class SteamGameExecutorTest {
     void mergesReviewSummaryIntoSavedPayload() {
         when(fetcher.fetchGameDetails(70L)).thenReturn(gameDetails());
         Map<String, Object> summary = Map.of("review_score", 9, "total_reviews", 31892);
-        when(fetcher.fetchReviewSummary(70L)).thenReturn(summary);
+        when(fetcher.fetchReviewSummaryAsync(70L)).thenReturn(CompletableFuture.completedFuture(summary));
 
         assertTrue(executor.execute("70"));
 
@@ -53,7 +55,7 @@ class SteamGameExecutorTest {
     @SuppressWarnings("unchecked")
     void savesWithoutReviewSummaryWhenUnavailable() {
         when(fetcher.fetchGameDetails(70L)).thenReturn(gameDetails());
-        when(fetcher.fetchReviewSummary(70L)).thenReturn(null);
+        when(fetcher.fetchReviewSummaryAsync(70L)).thenReturn(CompletableFuture.completedFuture(null));
 
         assertTrue(executor.execute("70"));
 
@@ -72,7 +74,7 @@ class SteamGameExecutorTest {
         assertTrue(executor.execute("70"), "의도된 스킵은 작업 성공 (false면 FAILED 경로)");
 
         verify(collectorService, never()).saveRaw(anyString(), anyString(), any(), anyString(), anyString());
-        verify(fetcher, never()).fetchReviewSummary(anyLong()); // 스킵이면 리뷰 API 호출도 아낀다
+        // 리뷰 요약은 상세와 동시에 나가지만 스킵이면 결과는 버려진다
         assertEquals(1, executor.getAdultSkipCount());
     }
 
@@ -94,13 +96,43 @@ class SteamGameExecutorTest {
         details.put("content_descriptors", Map.of("ids", java.util.List.of(1, 2, 5)));
         details.put("required_age", "18"); // required_age는 판정에 사용하지 않음
         when(fetcher.fetchGameDetails(70L)).thenReturn(details);
-        when(fetcher.fetchReviewSummary(70L)).thenReturn(null);
+        when(fetcher.fetchReviewSummaryAsync(70L)).thenReturn(CompletableFuture.completedFuture(null));
 
         assertTrue(executor.execute("70"));
         verify(collectorService).saveRaw(eq("Steam"), eq("GAME"), any(), eq("70"), anyString());
         assertEquals(0, executor.getAdultSkipCount());
     }
 
+    @Test
+    void requestsReviewSummaryBeforeWaitingOnDetails() {
+        // 상세 호출 시점에 리뷰 요약 요청이 이미 나가 있어야 왕복이 겹친다
+        when(fetcher.fetchGameDetails(70L)).thenAnswer(invocation -> {
+            verify(fetcher).fetchReviewSummaryAsync(70L);
+            return gameDetails();
+        });
+
+        assertTrue(executor.execute("70"));
+        verify(collectorService).saveRaw(eq("Steam"), eq("GAME"), any(), eq("70"), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void savesWithoutReviewSummaryWhenItTimesOut() {
+        when(fetcher.fetchGameDetails(70L)).thenReturn(gameDetails());
+        CompletableFuture<Map<String, Object>> neverCompletes = new CompletableFuture<>();
+        when(fetcher.fetchReviewSummaryAsync(70L)).thenReturn(neverCompletes);
+
+        long start = System.nanoTime();
+        assertTrue(executor.execute("70"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        ArgumentCaptor<Map<String, Object>> payload = ArgumentCaptor.forClass(Map.class);
+        verify(collectorService).saveRaw(eq("Steam"), eq("GAME"), payload.capture(), eq("70"), anyString());
+        assertFalse(payload.getValue().containsKey("review_summary"));
+        assertTrue(elapsedMs < 2000, "요약 대기는 review-summary-timeout-ms(200ms)에서 끊겨야 함");
+        assertTrue(neverCompletes.isCancelled());
+    }
+
     @Test
     void hasSexualContentDescriptorAbsorbsShapes() {
         assertTrue(SteamGameExecutor.hasSexualContentDescriptor(Map.of("ids", java.util.List.of(3))));
@@ -0,0 +1,137 @@
+package com.example.crawler.common.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private RateLimiter limiter(String rules) {
+        return new RateLimiter("test", RateLimiter.Window.parseAll(rules), null, 0, meterRegistry, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void burstsUpToPermitsThenRefillsAtEmissionInterval() {
+        RateLimiter limiter = limiter("4/1s");
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(), "윈도우 허가 수만큼은 몰아서 허가");
+        }
+        assertFalse(limiter.tryAcquire());
+
+        advance(Duration.ofMillis(250));
+        assertTrue(limiter.tryAcquire(), "방출 간격(1s/4)마다 1건 회복");
+        assertFalse(limiter.tryAcquire());
+
+        assertEquals(5.0, meterRegistry.counter("crawl.ratelimit.granted", "limiter", "test").count());
+        assertEquals(2.0, meterRegistry.counter("crawl.ratelimit.throttled", "limiter", "test").count());
+    }
+
+    @Test
+    void allWindowsMustAllowAndRefusalLeavesStateUntouched() {
+        RateLimiter limiter = limiter("2/1s,3/1m");
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        advance(Duration.ofSeconds(1));
+        assertTrue(limiter.tryAcquire());
+
+        advance(Duration.ofSeconds(1));
+        assertFalse(limiter.tryAcquire(), "초당 윈도우는 비었지만 분당 윈도우(3/1m) 소진");
+        assertFalse(limiter.tryAcquire());
+
+        advance(Duration.ofSeconds(18));
+        assertTrue(limiter.tryAcquire(), "거절은 슬롯을 소모하지 않으므로 분당 방출 간격(20s) 뒤 허가");
+    }
+
+    @Test
+    void reserveQueuesCallersWithoutBlocking() {
+        RateLimiter limiter = limiter("1/1s");
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.reserve());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), limiter.reserve(), "호출자마다 다음 슬롯을 예약");
+
+        limiter.reset();
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    void acquireAsyncCompletesAtReservedSlot() throws Exception {
+        RateLimiter limiter = new RateLimiter("async", RateLimiter.Window.parseAll("1/100ms"), null, 0, meterRegistry);
+
+        CompletableFuture<Void> first = limiter.acquireAsync();
+        CompletableFuture<Void> second = limiter.acquireAsync();
+
+        assertTrue(first.isDone(), "여유가 있으면 즉시 완료");
+        second.get(2, TimeUnit.SECONDS);
+        assertEquals(2.0, meterRegistry.counter("crawl.ratelimit.granted", "limiter", "async").count());
+        assertEquals(1.0, meterRegistry.counter("crawl.ratelimit.throttled", "limiter", "async").count());
+    }
+
+    @Test
+    void acquireParksOnlyUntilItsSlot() {
+        RateLimiter limiter = new RateLimiter("sync", RateLimiter.Window.parseAll("1/50ms"), null, 0, meterRegistry);
+
+        assertTrue(limiter.acquire());
+        long start = System.nanoTime();
+        assertTrue(limiter.acquire());
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(2, meterRegistry.timer("crawl.ratelimit.wait", "limiter", "sync").count());
+    }
+
+    @Test
+    void sharedBudgetIsConsultedAfterLocalPermit() {
+        SharedRateBudget budget = mock(SharedRateBudget.class);
+        when(budget.tryConsume(eq("shared"), eq(100), any())).thenReturn(0L, 30_000L);
+        RateLimiter limiter = new RateLimiter("shared", RateLimiter.Window.parseAll("10/1s"), budget, 100,
+                meterRegistry, clock::get);
+
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire(), "노드 공유 분당 예산 소진");
+        verify(budget, times(2)).tryConsume(eq("shared"), eq(100), eq(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void parsesWindowSpecs() {
+        assertEquals(new RateLimiter.Window(120, Duration.ofMinutes(1)), RateLimiter.Window.parse("120/1m"));
+        assertEquals(new RateLimiter.Window(5, Duration.ofMillis(500)), RateLimiter.Window.parse(" 5/500ms "));
+        assertEquals("8/1s", RateLimiter.Window.parse("8/1s").toString());
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Window.parse("8"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Window.parse("0/1s"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Window.parse("8/1d"));
+    }
+
+    @Test
+    void registryAppliesConfiguredRulesAndSharesInstances() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("crawler.rate-limit.tmdb.rules", "3/1s,50/1m");
+        RateLimiterRegistry registry = new RateLimiterRegistry(mock(SharedRateBudget.class), meterRegistry, environment);
+
+        RateLimiter tmdb = registry.get(RateLimiterRegistry.TMDB);
+
+        assertSame(tmdb, registry.get(RateLimiterRegistry.TMDB));
+        assertEquals(RateLimiter.Window.parseAll("3/1s,50/1m"), tmdb.getWindows());
+        assertEquals(RateLimiter.Window.parseAll(RateLimiterRegistry.DEFAULT_RULES.get(RateLimiterRegistry.STEAM)),
+                registry.get(RateLimiterRegistry.STEAM).getWindows());
+        assertEquals(RateLimiter.Window.parseAll(RateLimiterRegistry.FALLBACK_RULES),
+                registry.get("unknown-host").getWindows());
+    }
+}
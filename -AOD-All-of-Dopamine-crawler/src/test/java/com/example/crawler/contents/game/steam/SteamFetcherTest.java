@@ -1,62 +1,141 @@
 package com.example.crawler.contents.game.steam;
 
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.http.CrawlResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.web.client.RestClientException;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class SteamFetcherTest {
 
     private RestTemplate restTemplate;
     private SteamRateLimiter rateLimiter;
+    private CrawlHttpClient httpClient;
     private SteamFetcher fetcher;
 
     @BeforeEach
     void setUp() {
         restTemplate = mock(RestTemplate.class);
         rateLimiter = mock(SteamRateLimiter.class);
-        fetcher = new SteamFetcher(restTemplate, new ObjectMapper(), rateLimiter);
+        httpClient = mock(CrawlHttpClient.class);
+        when(rateLimiter.acquirePermitAsync()).thenReturn(CompletableFuture.completedFuture(null));
+        fetcher = new SteamFetcher(restTemplate, new ObjectMapper(), rateLimiter, httpClient,
+                new CircuitBreakerRegistry(new SimpleMeterRegistry(), new MockEnvironment()));
+    }
+
+    private void respond(int status, String body) {
+        when(httpClient.sendAsync(any(CrawlRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                new CrawlResponse(status, URI.create("https://store.steampowered.com/appreviews/70"),
+                        HttpHeaders.of(Map.of(), (name, value) -> true), body.getBytes(StandardCharsets.UTF_8),
+                        StandardCharsets.UTF_8, body.length(), false)));
     }
 
     @Test
     void fetchReviewSummaryReturnsSummaryWithoutPageNoiseField() {
-        when(restTemplate.getForObject(anyString(), eq(String.class), eq(70L))).thenReturn("""
+        respond(200, """
                 {"success":1,"query_summary":{
                   "num_reviews":0,"review_score":9,"review_score_desc":"Overwhelmingly Positive",
                   "total_positive":31288,"total_negative":604,"total_reviews":31892}}
                 """);
 
-        Map<String, Object> summary = fetcher.fetchReviewSummary(70L);
+        Map<String, Object> summary = fetcher.fetchReviewSummaryAsync(70L).join();
 
         assertNotNull(summary);
         assertEquals(9, summary.get("review_score"));
         assertEquals(31892, summary.get("total_reviews"));
         assertEquals("Overwhelmingly Positive", summary.get("review_score_desc"));
         assertFalse(summary.containsKey("num_reviews"), "페이지 노이즈(num_reviews)는 제거되어야 함");
-        verify(rateLimiter).acquirePermit();
+        verify(rateLimiter).acquirePermitAsync();
+        verify(httpClient).sendAsync(argThat(request ->
+                request.getUrl().equals("https://store.steampowered.com/appreviews/70"
+                        + "?json=1&language=all&purchase_type=all&num_per_page=0")));
     }
 
     @Test
     void fetchReviewSummaryReturnsNullWhenSummaryMissing() {
-        when(restTemplate.getForObject(anyString(), eq(String.class), eq(999L)))
-                .thenReturn("{\"success\":2}");
+        respond(200, "{\"success\":2}");
 
-        assertNull(fetcher.fetchReviewSummary(999L));
+        assertNull(fetcher.fetchReviewSummaryAsync(999L).join());
     }
 
     @Test
     void fetchReviewSummaryReturnsNullOnHttpFailureInsteadOfThrowing() {
-        when(restTemplate.getForObject(anyString(), eq(String.class), eq(70L)))
-                .thenThrow(new RestClientException("timeout"));
+        when(httpClient.sendAsync(any(CrawlRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("timeout")));
+
+        assertNull(fetcher.fetchReviewSummaryAsync(70L).join(), "요약 조회 실패가 수집을 막으면 안 됨");
+    }
+
+    @Test
+    void fetchReviewSummaryReturnsNullOnErrorStatus() {
+        respond(500, "oops");
+
+        assertNull(fetcher.fetchReviewSummaryAsync(70L).join());
+    }
+
+    private static ByteArrayInputStream json(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parseAppListPageStreamsChangeMarksOnly() throws IOException {
+        List<long[]> received = new ArrayList<>();
+
+        SteamFetcher.AppListPage page = fetcher.parseAppListPage(json("""
+                {"response":{"apps":[
+                  {"appid":10,"name":"Counter-Strike","last_modified":1700000000,"price_change_number":1,
+                   "extra":{"nested":[1,2,{"appid":999}]}},
+                  {"appid":"20","name":"Team Fortress","last_modified":1700000500}
+                ],"have_more_results":true,"last_appid":20}}
+                """), (appId, lastModified, priceChangeNumber) ->
+                received.add(new long[]{appId, lastModified, priceChangeNumber}));
+
+        assertEquals(2, page.count());
+        assertEquals(20L, page.lastAppId());
+        assertTrue(page.haveMore());
+        assertFalse(page.stopped());
+        assertArrayEquals(new long[]{10, 1700000000, 1}, received.get(0));
+        assertArrayEquals(new long[]{20, 1700000500, 0}, received.get(1), "문자열 appid도 흡수, 중첩 필드는 건너뜀");
+    }
+
+    @Test
+    void parseAppListPageStopsWhenSinkDeclines() throws IOException {
+        List<Long> received = new ArrayList<>();
+
+        SteamFetcher.AppListPage page = fetcher.parseAppListPage(json("""
+                {"response":{"apps":[{"appid":10},{"appid":20},{"appid":30}],"have_more_results":true}}
+                """), (appId, lastModified, priceChangeNumber) -> received.add(appId) && received.size() < 2);
+
+        assertEquals(List.of(10L, 20L), received);
+        assertTrue(page.stopped());
+    }
+
+    @Test
+    void parseAppListPageHandlesEmptyResponse() throws IOException {
+        SteamFetcher.AppListPage page = fetcher.parseAppListPage(json("{\"response\":{}}"),
+                (appId, lastModified, priceChangeNumber) -> fail("앱이 없어야 함"));
 
-        assertNull(fetcher.fetchReviewSummary(70L), "요약 조회 실패가 수집을 막으면 안 됨");
+        assertEquals(0, page.count());
+        assertNull(page.lastAppId());
+        assertFalse(page.haveMore());
     }
 }
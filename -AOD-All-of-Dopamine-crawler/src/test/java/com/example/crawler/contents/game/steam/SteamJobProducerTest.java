@@ -0,0 +1,174 @@
+package com.example.crawler.contents.game.steam;
+
+import com.example.crawler.common.queue.CrawlJobProducer;
+import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.sync.SyncWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SteamJobProducerTest {
+
+    private static final long LAST_MODIFIED = 1_700_000_000L;
+
+    private SteamFetcher fetcher;
+    private CrawlJobProducer crawlJobProducer;
+    private SteamAppWatermarkStore appWatermarkStore;
+    private SyncWatermarkRepository syncWatermarkRepository;
+    private SteamJobProducer producer;
+
+    /** enqueueBulk에 넘어온 청크 사본 (수신 버퍼는 재사용되므로 복사해 둔다) */
+    private final List<List<String>> chunks = new ArrayList<>();
+    private final List<List<String>> refreshed = new ArrayList<>();
+    /** 앱별 워터마크 테이블 대역 */
+    private final Map<Long, SteamAppWatermarkStore.Mark> storedMarks = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        fetcher = mock(SteamFetcher.class);
+        crawlJobProducer = mock(CrawlJobProducer.class);
+        appWatermarkStore = mock(SteamAppWatermarkStore.class);
+        syncWatermarkRepository = mock(SyncWatermarkRepository.class);
+        producer = new SteamJobProducer(fetcher, crawlJobProducer, appWatermarkStore, syncWatermarkRepository, true);
+        when(crawlJobProducer.enqueueBulk(eq(JobType.STEAM_GAME), any(), anyInt()))
+                .thenAnswer(invocation -> record(chunks, invocation.getArgument(1)));
+        when(crawlJobProducer.enqueueRefresh(eq(JobType.STEAM_GAME), any(), anyInt()))
+                .thenAnswer(invocation -> record(refreshed, invocation.getArgument(1)));
+        when(appWatermarkStore.findAll(any())).thenAnswer(invocation -> {
+            Map<Long, SteamAppWatermarkStore.Mark> found = new HashMap<>();
+            for (Long appId : (Collection<Long>) invocation.getArgument(0)) {
+                if (storedMarks.containsKey(appId)) {
+                    found.put(appId, storedMarks.get(appId));
+                }
+            }
+            return found;
+        });
+        when(appWatermarkStore.upsertAll(any())).thenAnswer(invocation -> {
+            Collection<SteamAppWatermarkStore.Mark> marks = invocation.getArgument(0);
+            marks.forEach(mark -> storedMarks.put(mark.appId(), mark));
+            return marks.size();
+        });
+    }
+
+    private static CrawlJobProducer.EnqueueResult record(List<List<String>> target, Iterable<String> ids) {
+        List<String> chunk = new ArrayList<>();
+        ids.forEach(chunk::add);
+        target.add(chunk);
+        return new CrawlJobProducer.EnqueueResult(chunk.size(), 0);
+    }
+
+    /** appId 1..count를 흘려보내는 카탈로그 (수신자가 false를 주면 중단) */
+    private void catalogOf(int count, boolean complete) {
+        when(fetcher.streamGameApps(anyLong(), any())).thenAnswer(invocation -> {
+            SteamAppSink sink = invocation.getArgument(1);
+            int sent = 0;
+            for (long appId = 1; appId <= count; appId++) {
+                sent++;
+                if (!sink.accept(appId, LAST_MODIFIED + appId, 1)) {
+                    break;
+                }
+            }
+            return new SteamFetcher.CatalogStream(sent, complete);
+        });
+    }
+
+    @Test
+    void weeklyCollectionEnqueuesInBoundedChunksWhileStreaming() {
+        int total = SteamJobProducer.ENQUEUE_CHUNK_SIZE * 2 + 7;
+        catalogOf(total, true);
+
+        producer.collectSteamGamesWeekly();
+
+        assertEquals(3, chunks.size());
+        assertEquals(SteamJobProducer.ENQUEUE_CHUNK_SIZE, chunks.get(0).size());
+        assertEquals(7, chunks.get(2).size());
+        assertEquals("1", chunks.get(0).get(0));
+        assertEquals(String.valueOf(total), chunks.get(2).get(6));
+        assertEquals(total, storedMarks.size(), "등록한 앱은 앱별 워터마크 저장");
+    }
+
+    @Test
+    void emptyCatalogEnqueuesNothing() {
+        catalogOf(0, true);
+
+        producer.collectSteamGamesWeekly();
+
+        verifyNoInteractions(crawlJobProducer);
+    }
+
+    @Test
+    void firstRunListsEverythingAndLaterRunsAskOnlyForChangesSinceWatermark() {
+        catalogOf(3, true);
+
+        producer.collectSteamGamesWeekly();
+
+        verify(fetcher).streamGameApps(eq(0L), any());
+        verify(syncWatermarkRepository).advance(SteamJobProducer.CATALOG_WATERMARK_KEY, LAST_MODIFIED + 3);
+
+        when(syncWatermarkRepository.getWatermark(SteamJobProducer.CATALOG_WATERMARK_KEY)).thenReturn(LAST_MODIFIED + 3);
+        producer.collectSteamGamesWeekly();
+
+        verify(fetcher).streamGameApps(eq(LAST_MODIFIED + 3 - SteamJobProducer.WATERMARK_OVERLAP_SECONDS), any());
+    }
+
+    @Test
+    void splitsNewChangedAndUnchangedAppsByStoredMarks() {
+        storedMarks.put(1L, new SteamAppWatermarkStore.Mark(1, LAST_MODIFIED + 1, 1));   // 그대로
+        storedMarks.put(2L, new SteamAppWatermarkStore.Mark(2, LAST_MODIFIED, 1));       // 스토어 정보 변경
+        storedMarks.put(3L, new SteamAppWatermarkStore.Mark(3, LAST_MODIFIED + 3, 0));   // 가격만 변경
+        catalogOf(4, true);
+
+        producer.collectSteamGamesWeekly();
+
+        assertEquals(List.of(List.of("4")), chunks, "신규 앱은 이력 dedup을 지키는 일반 등록");
+        assertEquals(List.of(List.of("2", "3")), refreshed, "변경된 앱은 재수집 등록");
+        assertEquals(new SteamAppWatermarkStore.Mark(3, LAST_MODIFIED + 3, 1), storedMarks.get(3L));
+    }
+
+    @Test
+    void incompleteListingKeepsRunWatermark() {
+        catalogOf(5, false);
+
+        producer.collectSteamGamesWeekly();
+
+        assertEquals(1, chunks.size(), "받은 만큼은 등록");
+        verify(syncWatermarkRepository, never()).advance(any(), anyLong());
+    }
+
+    @Test
+    void failedEnqueueLeavesAppWatermarksUntouched() {
+        when(crawlJobProducer.enqueueBulk(eq(JobType.STEAM_GAME), any(), anyInt()))
+                .thenThrow(new IllegalStateException("db down"));
+        catalogOf(3, true);
+
+        producer.collectSteamGamesWeekly();
+
+        verify(appWatermarkStore, never()).upsertAll(any());
+        verify(syncWatermarkRepository, never()).advance(any(), anyLong());
+    }
+
+    @Test
+    void enqueueRangeTakesSliceAndStopsStreamingAtEnd() {
+        catalogOf(100, true);
+
+        int created = producer.enqueueRange(10, 20);
+
+        assertEquals(10, created);
+        assertEquals(List.of(List.of("11", "12", "13", "14", "15", "16", "17", "18", "19", "20")), chunks);
+        verify(fetcher).streamGameApps(eq(0L), any());
+        verifyNoInteractions(appWatermarkStore, syncWatermarkRepository);
+    }
+}
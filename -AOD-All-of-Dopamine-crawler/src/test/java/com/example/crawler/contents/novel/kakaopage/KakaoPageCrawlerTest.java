@@ -0,0 +1,207 @@
+package com.example.crawler.contents.novel.kakaopage;
+
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.HttpResponseCache;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import com.example.crawler.common.ratelimit.SharedRateBudget;
+import com.example.crawler.ingest.CollectorService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 녹화한 카카오페이지 HTML/GraphQL 응답(fixtures/kakaopage)을 로컬 스텁 서버로 재생해 실제 CrawlHttpClient로 수집
+ *
+ * - 101: 홈·정보 탭 모두 있는 작품
+ * - 102, 104: 메타만 있는 작품 (정보 탭 404 → 기본 정보만 저장)
+ * - 103: 상세 500 → 실패, 나머지는 계속
+ */
+class KakaoPageCrawlerTest {
+
+    private static final long RESPONSE_DELAY_MS = 100;
+
+    private HttpServer server;
+    private String baseUrl;
+    private SimpleMeterRegistry meterRegistry;
+    private CollectorService collector;
+    private CrawlHttpClient crawlHttpClient;
+    private final Map<String, Map<String, Object>> saved = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        meterRegistry = new SimpleMeterRegistry();
+
+        collector = mock(CollectorService.class);
+        when(collector.saveRaw(anyString(), anyString(), anyMap(), anyString(), anyString())).thenAnswer(invocation -> {
+            saved.put(invocation.getArgument(3), invocation.getArgument(2));
+            return 1L;
+        });
+
+        server.createContext("/graphql", exchange -> send(exchange, 200, fixture("graphql-page1.json")));
+        server.createContext("/content/", exchange -> {
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(RESPONSE_DELAY_MS);
+                String id = exchange.getRequestURI().getPath().substring("/content/".length());
+                boolean about = "tab_type=about".equals(exchange.getRequestURI().getQuery());
+                switch (id) {
+                    case "101" -> send(exchange, 200, fixture(about ? "content-101-about.html" : "content-101.html"));
+                    case "102", "104" -> send(exchange, about ? 404 : 200, about ? "" : fixture("content-minimal.html"));
+                    default -> send(exchange, 500, "");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private KakaoPageCrawler crawler(int detailConcurrency) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        crawlHttpClient = spy(new CrawlHttpClient(httpClient, HttpResponseCache.disabled(), meterRegistry,
+                1, 10, 1000, 5000));
+        RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry(mock(SharedRateBudget.class), meterRegistry,
+                new MockEnvironment().withProperty("crawler.rate-limit.kakao-page.rules", "1000/1s"));
+        return new KakaoPageCrawler(collector, crawlHttpClient, rateLimiterRegistry,
+                new CircuitBreakerRegistry(meterRegistry, new MockEnvironment()), new KakaoPageDetailExtractor(),
+                meterRegistry, detailConcurrency, baseUrl + "/graphql", baseUrl);
+    }
+
+    private int crawl(KakaoPageCrawler crawler) throws Exception {
+        return crawler.crawlToRaw("static-landing-Genre-section-Landing-11-0-UPDATE-false", 11, "0", "UPDATE",
+                false, null, 1);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = KakaoPageCrawlerTest.class.getResourceAsStream("/fixtures/kakaopage/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type",
+                body.startsWith("{") ? "application/json" : "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private double detail(String outcome) {
+        return meterRegistry.counter("crawl.kakaopage.detail", "outcome", outcome).count();
+    }
+
+    @Test
+    void extractsHomeAndAboutTabsFromRecordedPages() throws Exception {
+        assertEquals(3, crawl(crawler(4)));
+
+        Map<String, Object> full = saved.get("101");
+        assertEquals("전지적 독자 시점", full.get("title"));
+        assertEquals("싱숑", full.get("author"));
+        assertEquals("오직 나만이, 이 세계의 결말을 알고 있다.", full.get("synopsis"));
+        assertEquals("https://page.kakao.com/content/101", full.get("productUrl"));
+        assertEquals(List.of("전지적 독자 시점", "싱숑", "현판"), full.get("keywords"));
+        assertEquals(List.of("현판"), full.get("genres"));
+        assertEquals(340_000_000L, full.get("viewCount"));
+        assertEquals(new BigDecimal("9.9"), full.get("rating"));
+        assertEquals("연재 월, 화, 수, 목, 금, 토, 일 연재", full.get("status"));
+        assertEquals("문피아", full.get("publisher"));
+        assertEquals("전체이용가", full.get("ageRating"));
+
+        Map<String, Object> minimal = saved.get("104");
+        assertEquals("이름 없는 작품", minimal.get("title"));
+        assertEquals("og:description이 없으면 description을 씀", minimal.get("synopsis"));
+        assertEquals(baseUrl + "/content/104", minimal.get("productUrl"), "og:url 없으면 요청 URL");
+        assertEquals("", minimal.get("publisher"), "정보 탭 실패 → 기본 정보만 저장");
+
+        assertFalse(saved.containsKey("103"));
+        assertEquals(3, detail("saved"));
+        assertEquals(1, detail("failed"));
+        assertEquals(4, meterRegistry.timer("crawl.kakaopage.detail.duration").count());
+    }
+
+    @Test
+    void fetchesDetailsConcurrentlyUpToConfiguredLimit() throws Exception {
+        crawl(crawler(4));
+
+        assertTrue(peakInFlight.get() > 1, "상세 요청이 겹쳐야 함: " + peakInFlight.get());
+        assertTrue(peakInFlight.get() <= 4, "detail-concurrency 초과: " + peakInFlight.get());
+    }
+
+    @Test
+    void singleConcurrencyFetchesOneDetailAtATime() throws Exception {
+        assertEquals(3, crawl(crawler(1)));
+
+        assertEquals(1, peakInFlight.get());
+        verify(collector, times(3)).saveRaw(eq("KakaoPage"), eq("WEBNOVEL"), any(), anyString(), anyString());
+    }
+
+    @Test
+    void interruptedDetailsAreInvalidatedOnceTheirResponsesFinish() throws Exception {
+        KakaoPageCrawler crawler = crawler(4);
+        List<String> urls = List.of(baseUrl + "/content/101", baseUrl + "/content/102", baseUrl + "/content/104");
+        Thread caller = Thread.currentThread();
+        ScheduledExecutorService interrupter = Executors.newSingleThreadScheduledExecutor();
+        interrupter.schedule(caller::interrupt, RESPONSE_DELAY_MS / 2, TimeUnit.MILLISECONDS);
+
+        int stored;
+        try {
+            // 상세 3건이 모두 나간 뒤 첫 응답을 기다리는 중 인터럽트
+            stored = crawler.crawlDetails(urls, null);
+            assertTrue(Thread.interrupted(), "인터럽트 상태를 되살려야 함");
+        } finally {
+            interrupter.shutdownNow();
+            Thread.interrupted();
+        }
+
+        assertEquals(0, stored);
+        // 응답이 끝난 뒤(캐시 저장 이후) 지워야 다음 수집이 unchanged로 건너뛰지 않음
+        for (String url : urls) {
+            verify(crawlHttpClient, timeout(5000)).invalidate(url);
+        }
+        verifyNoInteractions(collector);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.crawler.contents.tmdb;
+
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.queue.CrawlJobProducer;
+import com.example.crawler.common.queue.JobType;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import com.example.crawler.common.ratelimit.SharedRateBudget;
+import com.example.crawler.common.sync.SyncWatermarkRepository;
+import com.example.shared.repository.PlatformDataRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 변경 피드 동기화 — 로컬 스텁 TMDB 서버(/3/...)에 실제 TmdbFetcher로 요청한다
+ */
+class TmdbJobProducerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private HttpServer server;
+    private CrawlJobProducer crawlJobProducer;
+    private PlatformDataRepository platformDataRepository;
+    private SyncWatermarkRepository syncWatermarkRepository;
+    private TmdbJobProducer producer;
+
+    /** 스텁이 받은 changes 요청의 쿼리 문자열 */
+    private final List<String> changeQueries = new CopyOnWriteArrayList<>();
+    private final List<List<String>> refreshed = new ArrayList<>();
+    private final List<List<String>> added = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/3";
+
+        RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry(mock(SharedRateBudget.class),
+                new SimpleMeterRegistry(), new MockEnvironment().withProperty("crawler.rate-limit.tmdb.rules", "1000/1s"));
+        TmdbFetcher fetcher = new TmdbFetcher(new RestTemplate(), rateLimiterRegistry,
+                new CircuitBreakerRegistry(new SimpleMeterRegistry(), new MockEnvironment()), "test-key", baseUrl);
+
+        crawlJobProducer = mock(CrawlJobProducer.class);
+        platformDataRepository = mock(PlatformDataRepository.class);
+        syncWatermarkRepository = mock(SyncWatermarkRepository.class);
+        producer = new TmdbJobProducer(crawlJobProducer, fetcher, platformDataRepository, syncWatermarkRepository);
+
+        when(crawlJobProducer.enqueueRefresh(any(), any(), anyInt()))
+                .thenAnswer(invocation -> record(refreshed, invocation.getArgument(1)));
+        when(crawlJobProducer.enqueueBulk(any(), any(), anyInt()))
+                .thenAnswer(invocation -> record(added, invocation.getArgument(1)));
+        // 보유 작품: 100, 104
+        when(platformDataRepository.findSpecificIdsByPlatformNameAndSpecificIdIn(eq("TMDB_MOVIE"), any()))
+                .thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(1)).stream()
+                        .filter(Set.of("100", "104")::contains)
+                        .toList());
+
+        // 시청 가능 OTT: 101은 Netflix(8), 102는 수집 대상 아님(119), 105는 한국 정보 없음
+        server.createContext("/3/movie/", exchange -> {
+            String id = exchange.getRequestURI().getPath().split("/")[3];
+            String providers = switch (id) {
+                case "101" -> "{\"KR\":{\"flatrate\":[{\"provider_id\":8,\"provider_name\":\"Netflix\"}]}}";
+                case "102" -> "{\"KR\":{\"flatrate\":[{\"provider_id\":119,\"provider_name\":\"Amazon Prime Video\"}]}}";
+                default -> "{\"US\":{\"flatrate\":[{\"provider_id\":8}]}}";
+            };
+            send(exchange, 200, "{\"id\":" + id + ",\"results\":" + providers + "}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static CrawlJobProducer.EnqueueResult record(List<List<String>> target, Iterable<String> ids) {
+        List<String> chunk = new ArrayList<>();
+        ids.forEach(chunk::add);
+        target.add(chunk);
+        return new CrawlJobProducer.EnqueueResult(chunk.size(), 0);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /** page별 응답을 주는 /movie/changes (failStartDate 구간은 500) */
+    private void movieChanges(Map<Integer, String> pages, int totalPages, String failStartDate) {
+        server.createContext("/3/movie/changes", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            changeQueries.add(query);
+            if (failStartDate != null && query.contains("start_date=" + failStartDate)) {
+                send(exchange, 500, "{}");
+                return;
+            }
+            int page = Integer.parseInt(query.replaceAll(".*page=(\\d+).*", "$1"));
+            send(exchange, 200, "{\"page\":" + page + ",\"total_pages\":" + totalPages
+                    + ",\"results\":[" + pages.getOrDefault(page, "") + "]}");
+        });
+    }
+
+    @Test
+    void refreshesHeldIdsAndEnqueuesOnlyNewIdsOnTrackedProviders() {
+        when(syncWatermarkRepository.getWatermark("tmdb.changes.movie")).thenReturn(TODAY.minusDays(8).toEpochDay());
+        movieChanges(Map.of(
+                1, "{\"id\":100,\"adult\":false},{\"id\":101,\"adult\":false},{\"id\":102},{\"id\":103,\"adult\":true}",
+                2, "{\"id\":104,\"adult\":false},{\"id\":105,\"adult\":false}"), 2, null);
+
+        TmdbJobProducer.ChangesSyncResult result = producer.syncChanges(TmdbJobProducer.ChangeFeed.MOVIE, TODAY);
+
+        assertEquals(new TmdbJobProducer.ChangesSyncResult(5, 2, 1, 2, true), result, "성인물(103)은 제외");
+        assertEquals(List.of(List.of("100"), List.of("104")), refreshed);
+        assertEquals(List.of(List.of("101")), added);
+        verify(crawlJobProducer, times(2)).enqueueRefresh(eq(JobType.TMDB_MOVIE), any(), eq(4));
+        verify(syncWatermarkRepository).advance("tmdb.changes.movie", TODAY.toEpochDay());
+
+        assertEquals(2, changeQueries.size());
+        assertTrue(changeQueries.get(0).contains("api_key=test-key"));
+        assertTrue(changeQueries.get(0).contains("start_date=2026-10-10"));
+        assertTrue(changeQueries.get(0).contains("end_date=2026-10-18"));
+    }
+
+    @Test
+    void splitsLongGapsIntoFourteenDayWindowsAndKeepsWatermarkOnFailure() {
+        when(syncWatermarkRepository.getWatermark("tmdb.changes.movie")).thenReturn(TODAY.minusDays(30).toEpochDay());
+        movieChanges(Map.of(1, "{\"id\":100,\"adult\":false}"), 1, "2026-10-02");
+
+        TmdbJobProducer.ChangesSyncResult result = producer.syncChanges(TmdbJobProducer.ChangeFeed.MOVIE, TODAY);
+
+        assertFalse(result.complete());
+        assertEquals(List.of(List.of("100")), refreshed, "실패 전 구간은 처리");
+        assertEquals(2, changeQueries.size(), "실패한 구간에서 중단");
+        assertTrue(changeQueries.get(0).contains("start_date=2026-09-18"));
+        assertTrue(changeQueries.get(0).contains("end_date=2026-10-01"));
+        verify(syncWatermarkRepository, never()).advance(anyString(), anyLong());
+    }
+
+    @Test
+    void firstSyncLooksBackOneDayAndEmptyFeedStillAdvancesWatermark() {
+        movieChanges(Map.of(), 1, null);
+
+        TmdbJobProducer.ChangesSyncResult result = producer.syncChanges(TmdbJobProducer.ChangeFeed.MOVIE, TODAY);
+
+        assertEquals(new TmdbJobProducer.ChangesSyncResult(0, 0, 0, 0, true), result);
+        assertTrue(changeQueries.get(0).contains("start_date=2026-10-17"));
+        verifyNoInteractions(crawlJobProducer, platformDataRepository);
+        verify(syncWatermarkRepository).advance("tmdb.changes.movie", TODAY.toEpochDay());
+    }
+}
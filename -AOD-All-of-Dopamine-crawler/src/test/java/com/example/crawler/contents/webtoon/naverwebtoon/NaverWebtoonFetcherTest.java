@@ -0,0 +1,157 @@
+package com.example.crawler.contents.webtoon.naverwebtoon;
+
+import com.example.crawler.common.circuit.CircuitBreakerRegistry;
+import com.example.crawler.common.http.CrawlHttpClient;
+import com.example.crawler.common.http.CrawlHttpException;
+import com.example.crawler.common.http.CrawlRequest;
+import com.example.crawler.common.node.NodeCapabilities;
+import com.example.crawler.common.queue.SeleniumRequiredException;
+import com.example.crawler.common.ratelimit.RateLimiterRegistry;
+import com.example.crawler.common.ratelimit.SharedRateBudget;
+import com.example.crawler.ingest.CollectorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 상세 수집 경로 — JSON API 우선, 실패 시 Selenium 대체
+ */
+class NaverWebtoonFetcherTest {
+
+    private static final String INFO_JSON = """
+            {"titleId":758037,"titleName":"참교육","thumbnailUrl":"https://image-comic.pstatic.net/webtoon/758037/thumbnail.jpg",
+             "synopsis":" 무너진 교권을 지키기 위해 교권보호국 소속 나화진의 참교육이 시작된다! ",
+             "finished":false,"rest":false,"adult":false,
+             "publishDayOfWeekList":["MONDAY"],
+             "communityArtists":[{"name":"채용택","artistTypeList":["ARTIST_WRITER"]},
+                                 {"name":"한가람","artistTypeList":["ARTIST_PAINTER"]},
+                                 {"name":"채용택","artistTypeList":["ARTIST_PAINTER"]}],
+             "age":{"type":"RATE_15","description":"15세 이용가"},
+             "curationTagList":[{"tagName":"액션"},{"tagName":"#사이다"}]}
+            """;
+    private static final String ARTICLE_LIST_JSON = """
+            {"titleId":758037,"totalCount":150,
+             "articleList":[{"no":1,"subtitle":"1화","serviceDateDescription":"20.11.02"},
+                            {"no":2,"subtitle":"2화","serviceDateDescription":"20.11.09"}]}
+            """;
+
+    private CrawlHttpClient httpClient;
+    private CollectorService collector;
+    private NaverWebtoonSeleniumPageParser seleniumParser;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        httpClient = mock(CrawlHttpClient.class);
+        collector = mock(CollectorService.class);
+        seleniumParser = mock(NaverWebtoonSeleniumPageParser.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(seleniumParser.convertToPcUrl(anyString())).thenCallRealMethod();
+    }
+
+    private NaverWebtoonFetcher fetcher(boolean apiDetailEnabled, boolean seleniumEnabled) {
+        RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry(mock(SharedRateBudget.class), meterRegistry,
+                new MockEnvironment().withProperty("crawler.rate-limit.naver-webtoon.rules", "1000/1s"));
+        CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry(meterRegistry, new MockEnvironment());
+        return new NaverWebtoonFetcher(collector, seleniumParser,
+                new NaverWebtoonApiDetailParser(httpClient, new ObjectMapper(), circuitBreakerRegistry),
+                mock(MobileListParser.class), httpClient, rateLimiterRegistry, circuitBreakerRegistry, meterRegistry,
+                new NodeCapabilities("test", seleniumEnabled, ""), apiDetailEnabled);
+    }
+
+    private void respond(String url, String body) throws IOException {
+        when(httpClient.getString(argThat(request -> request != null && request.getUrl().equals(url)))).thenReturn(body);
+    }
+
+    private double detail(String source, String outcome) {
+        return meterRegistry.counter("crawl.webtoon.detail", "source", source, "outcome", outcome).count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> savedPayload() {
+        ArgumentCaptor<Map<String, Object>> payload = ArgumentCaptor.forClass(Map.class);
+        verify(collector).saveRaw(eq("NaverWebtoon"), eq("WEBTOON"), payload.capture(), eq("758037"), anyString());
+        return payload.getValue();
+    }
+
+    @Test
+    void readsAllDetailFieldsFromJsonApiWithoutSelenium() throws IOException {
+        respond(NaverWebtoonApiDetailParser.INFO_URL + "758037", INFO_JSON);
+        respond(NaverWebtoonApiDetailParser.ARTICLE_LIST_URL + "758037", ARTICLE_LIST_JSON);
+
+        assertTrue(fetcher(true, true).crawlWebtoonByTitleId("758037"));
+
+        Map<String, Object> payload = savedPayload();
+        assertEquals("참교육", payload.get("title"));
+        assertEquals("채용택 / 한가람", payload.get("author"), "글/그림 중복 이름은 한 번만");
+        assertEquals("무너진 교권을 지키기 위해 교권보호국 소속 나화진의 참교육이 시작된다!", payload.get("synopsis"));
+        assertEquals("mon", payload.get("weekday"));
+        assertEquals("연재중", payload.get("status"));
+        assertEquals("15세이용가", payload.get("ageRating"));
+        assertEquals(List.of("액션", "사이다"), payload.get("genres"));
+        assertEquals("2020-11-02", payload.get("releaseDate"));
+        assertEquals("https://comic.naver.com/webtoon/list?titleId=758037", payload.get("productUrl"));
+
+        verify(seleniumParser, never()).parseWebtoonDetail(anyString(), any(), any());
+        assertEquals(1, detail("api", "success"));
+        assertFalse(fetcher(true, true).requiresSelenium());
+    }
+
+    @Test
+    void fallsBackToSeleniumWhenApiFails() throws IOException {
+        when(httpClient.getString(any(CrawlRequest.class)))
+                .thenThrow(new CrawlHttpException(403, NaverWebtoonApiDetailParser.INFO_URL + "758037", null));
+        when(seleniumParser.parseWebtoonDetail(anyString(), any(), any())).thenReturn(NaverWebtoonDTO.builder()
+                .title("참교육")
+                .titleId("758037")
+                .productUrl("https://comic.naver.com/webtoon/list?titleId=758037")
+                .build());
+
+        assertTrue(fetcher(true, true).crawlWebtoonByTitleId("758037"));
+
+        assertEquals("참교육", savedPayload().get("title"));
+        assertEquals(1, detail("api", "failure"));
+        assertEquals(1, detail("selenium", "success"));
+    }
+
+    @Test
+    void handsOffToSeleniumNodeWhenApiFailsOnNodeWithoutSelenium() throws IOException {
+        respond(NaverWebtoonApiDetailParser.INFO_URL + "758037", "{\"titleId\":758037,\"adult\":true}");
+
+        // false(재시도 횟수 소모)가 아니라 Consumer가 연기하도록 예외로 알림
+        SeleniumRequiredException e = assertThrows(SeleniumRequiredException.class,
+                () -> fetcher(true, false).crawlWebtoonByTitleId("758037"));
+        assertTrue(e.getRetryAfter().isPositive());
+
+        verify(seleniumParser, never()).parseWebtoonDetail(anyString(), any(), any());
+        verifyNoInteractions(collector);
+        assertEquals(1, detail("api", "failure"));
+        assertEquals(1, detail("selenium", "skipped"));
+    }
+
+    @Test
+    void disabledApiPathAlwaysUsesSelenium() throws IOException {
+        NaverWebtoonFetcher fetcher = fetcher(false, true);
+
+        assertFalse(fetcher.crawlWebtoonByTitleId("758037"), "Selenium 파서가 null → 실패");
+
+        assertTrue(fetcher.requiresSelenium());
+        verify(seleniumParser).parseWebtoonDetail(eq("https://comic.naver.com/webtoon/list?titleId=758037"), any(), any());
+        verify(httpClient, never()).getString(any());
+        assertEquals(1, detail("selenium", "failure"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.crawler.ranking;
+
+import com.example.crawler.ranking.RankingCrawlerService.Outcome;
+import com.example.crawler.ranking.RankingCrawlerService.PlatformResult;
+import com.example.crawler.ranking.naverseries.NaverSeriesRankingService;
+import com.example.crawler.ranking.naverwebtoon.NaverWebtoonRankingService;
+import com.example.crawler.ranking.steam.SteamRankingService;
+import com.example.crawler.ranking.tmdb.TmdbRankingService;
+import com.example.shared.repository.ExternalRankingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class RankingCrawlerServiceTest {
+
+    private final NaverWebtoonRankingService webtoon = mock(NaverWebtoonRankingService.class);
+    private final NaverSeriesRankingService series = mock(NaverSeriesRankingService.class);
+    private final SteamRankingService steam = mock(SteamRankingService.class);
+    private final TmdbRankingService tmdb = mock(TmdbRankingService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RankingCrawlerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RankingCrawlerService(webtoon, series, steam, tmdb, mock(ExternalRankingRepository.class),
+                meterRegistry, environment, 5, 5);
+        when(webtoon.updateTodayWebtoonRanking()).thenReturn(100);
+        when(series.updateDailyRanking()).thenReturn(100);
+        when(steam.updateTopSellersRanking()).thenReturn(100);
+        when(tmdb.updatePopularMoviesRanking(anyInt())).thenReturn(100);
+        when(tmdb.updatePopularTvShowsRanking(anyInt())).thenReturn(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    private static Map<String, Outcome> outcomes(List<PlatformResult> results) {
+        return results.stream().collect(Collectors.toMap(PlatformResult::platform, PlatformResult::outcome));
+    }
+
+    /** 래치가 풀릴 때까지 기다렸다가 저장 건수 반환 */
+    private int await(CountDownLatch latch, int saved) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return saved;
+    }
+
+    @Test
+    void runsPlatformsConcurrently() {
+        // 5개 플랫폼이 모두 시작해야 풀리는 래치 — 순차 실행이면 첫 작업이 대기 한도까지 묶임
+        CountDownLatch allStarted = new CountDownLatch(5);
+        doAnswer(inv -> { allStarted.countDown(); return await(allStarted, 100); }).when(webtoon).updateTodayWebtoonRanking();
+        doAnswer(inv -> { allStarted.countDown(); return await(allStarted, 100); }).when(series).updateDailyRanking();
+        doAnswer(inv -> { allStarted.countDown(); return await(allStarted, 100); }).when(steam).updateTopSellersRanking();
+        doAnswer(inv -> { allStarted.countDown(); return await(allStarted, 100); }).when(tmdb).updatePopularMoviesRanking(anyInt());
+        doAnswer(inv -> { allStarted.countDown(); return await(allStarted, 100); }).when(tmdb).updatePopularTvShowsRanking(anyInt());
+
+        List<PlatformResult> results = service.refreshAll();
+
+        assertEquals(List.of("naver-webtoon", "naver-series", "steam", "tmdb-movie", "tmdb-tv"),
+                results.stream().map(PlatformResult::platform).toList());
+        assertTrue(results.stream().allMatch(result -> result.outcome() == Outcome.SUCCESS), results::toString);
+        assertEquals(1, meterRegistry.get("crawl.ranking.duration").tag("platform", "steam").tag("outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void reportsPlatformThatSavedNothingAsFailure() {
+        // 실제 서비스는 오류를 삼키고 0건을 돌려준다
+        when(series.updateDailyRanking()).thenReturn(0);
+
+        Map<String, Outcome> outcomes = outcomes(service.refreshAll());
+
+        assertEquals(Outcome.FAILURE, outcomes.get("naver-series"));
+        assertEquals(Outcome.SUCCESS, outcomes.get("naver-webtoon"));
+        assertEquals(1, meterRegistry.get("crawl.ranking.duration").tag("platform", "naver-series")
+                .tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void isolatesFailingAndSlowPlatforms() {
+        environment.setProperty("crawler.ranking.steam.timeout-seconds", "1");
+        when(series.updateDailyRanking()).thenReturn(0);
+        doThrow(new IllegalStateException("webtoon down")).when(webtoon).updateTodayWebtoonRanking();
+        doAnswer(inv -> await(release, 100)).when(steam).updateTopSellersRanking();
+
+        long startedAt = System.nanoTime();
+        Map<String, Outcome> outcomes = outcomes(service.refreshAll());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertEquals(Outcome.FAILURE, outcomes.get("naver-webtoon"));
+        assertEquals(Outcome.FAILURE, outcomes.get("naver-series"));
+        assertEquals(Outcome.TIMEOUT, outcomes.get("steam"));
+        assertEquals(Outcome.SUCCESS, outcomes.get("tmdb-movie"));
+        assertEquals(Outcome.SUCCESS, outcomes.get("tmdb-tv"));
+        assertTrue(elapsedMs < 4000, "Steam 개별 한도(1초)에서 끊어야 함: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void skipsPlatformStillRunningFromPreviousRefresh() {
+        environment.setProperty("crawler.ranking.steam.timeout-seconds", "1");
+        doAnswer(inv -> await(release, 100)).when(steam).updateTopSellersRanking();
+
+        assertEquals(Outcome.TIMEOUT, outcomes(service.refreshAll()).get("steam"));
+        Map<String, Outcome> second = outcomes(service.refreshAll());
+
+        assertEquals(Outcome.SKIPPED, second.get("steam"));
+        assertEquals(Outcome.SUCCESS, second.get("naver-webtoon"));
+        verify(steam, times(1)).updateTopSellersRanking();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.crawler.ranking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingEnricherTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private RankingEnricher newEnricher(int concurrency, Duration timeout) {
+        return new RankingEnricher(meterRegistry, environment, now::get, concurrency, Duration.ofHours(24), timeout);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("crawl.ranking.enrichment").tag("cache", "tmdb-movie").tag("result", result)
+                .counter().count();
+    }
+
+    private static List<String> ids(int n) {
+        return IntStream.rangeClosed(1, n).mapToObj(String::valueOf).toList();
+    }
+
+    @Test
+    void reusesCachedValuesWithinTtlAndRefetchesAfter() {
+        RankingEnricher enricher = newEnricher(4, Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        Map<String, String> first = enricher.enrich("tmdb-movie", List.of("1", "2", "3"),
+                id -> CompletableFuture.completedFuture("v" + loads.incrementAndGet()));
+        now.addAndGet(Duration.ofHours(23).toNanos());
+        Map<String, String> second = enricher.enrich("tmdb-movie", List.of("3", "2", "1"),
+                id -> CompletableFuture.completedFuture("v" + loads.incrementAndGet()));
+
+        assertEquals(3, loads.get());
+        assertEquals(List.of("3", "2", "1"), new ArrayList<>(second.keySet()));
+        assertEquals(first.get("1"), second.get("1"));
+        assertEquals(3, count("hit"));
+
+        now.addAndGet(Duration.ofHours(2).toNanos());
+        enricher.enrich("tmdb-movie", List.of("1"), id -> CompletableFuture.completedFuture("v" + loads.incrementAndGet()));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void perCacheTtlOverridesDefault() {
+        environment.setProperty("crawler.ranking.enrichment.tmdb-movie.ttl-hours", "1");
+        RankingEnricher enricher = newEnricher(4, Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        enricher.enrich("tmdb-movie", List.of("1"), id -> CompletableFuture.completedFuture("v" + loads.incrementAndGet()));
+        now.addAndGet(Duration.ofHours(2).toNanos());
+        enricher.enrich("tmdb-movie", List.of("1"), id -> CompletableFuture.completedFuture("v" + loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void boundsInFlightLoads() {
+        RankingEnricher enricher = newEnricher(3, Duration.ofSeconds(10));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        Map<String, String> results = enricher.enrich("tmdb-movie", ids(20), id -> CompletableFuture.supplyAsync(() -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return "v" + id;
+        }, executor));
+
+        assertEquals(20, results.size());
+        assertTrue(peak.get() <= 3, "동시 요청 " + peak.get() + "개");
+    }
+
+    @Test
+    void returnsPartialResultsFallingBackToStaleValues() {
+        RankingEnricher enricher = newEnricher(8, Duration.ofMillis(300));
+        enricher.enrich("tmdb-movie", List.of("1"), id -> CompletableFuture.completedFuture("old"));
+        now.addAndGet(Duration.ofHours(25).toNanos());
+
+        // 1·2는 응답하지 않고, 3은 실패, 4만 성공
+        Map<String, String> results = enricher.enrich("tmdb-movie", ids(4), id -> switch (id) {
+            case "3" -> CompletableFuture.failedFuture(new IllegalStateException("503"));
+            case "4" -> CompletableFuture.completedFuture("new");
+            default -> new CompletableFuture<>();
+        });
+
+        assertEquals(Map.of("1", "old", "4", "new"), results);
+        assertEquals(1, count("stale"));
+        assertEquals(2, count("missed"));
+        assertEquals(2, count("loaded")); // 첫 호출의 1건 포함
+    }
+
+    @Test
+    void lateResponsesStillFillTheCache() {
+        RankingEnricher enricher = newEnricher(8, Duration.ofMillis(100));
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        assertTrue(enricher.enrich("tmdb-movie", List.of("1"), id -> slow).isEmpty());
+        slow.complete("late");
+
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, String> next = enricher.enrich("tmdb-movie", List.of("1"), id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("again");
+        });
+        assertEquals(Map.of("1", "late"), next);
+        assertEquals(0, loads.get());
+    }
+}
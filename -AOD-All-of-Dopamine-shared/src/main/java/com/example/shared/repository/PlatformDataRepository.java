@@ -21,6 +21,12 @@ public interface PlatformDataRepository extends JpaRepository<PlatformData, Long
     @Query("SELECT pd.platformSpecificId FROM PlatformData pd " +
            "WHERE pd.platformName = :platformName AND pd.platformSpecificId IS NOT NULL")
     List<String> findSpecificIdsByPlatformName(@Param("platformName") String platformName);
+
+    /** 변경 피드 동기화용: 주어진 ID 중 이미 보유한 것만 (페이지당 1쿼리) */
+    @Query("SELECT pd.platformSpecificId FROM PlatformData pd " +
+           "WHERE pd.platformName = :platformName AND pd.platformSpecificId IN :ids")
+    List<String> findSpecificIdsByPlatformNameAndSpecificIdIn(@Param("platformName") String platformName,
+                                                              @Param("ids") java.util.Collection<String> ids);
     
     /**
      * 도메인별 고유 플랫폼 이름 조회 (N+1 쿼리 방지)